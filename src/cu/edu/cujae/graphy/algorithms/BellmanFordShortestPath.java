@@ -48,6 +48,7 @@ public class BellmanFordShortestPath<T> extends AbstractAlgorithm<Map<Integer, P
     private final Queue<Integer> queue;
     private final int[] vertices;
     private final Set<Edge> edges;
+    private final WeightedGraph<T> graph;
 
     public BellmanFordShortestPath(WeightedGraph<T> graph, GraphIterator<T> iter)
     {
@@ -61,6 +62,7 @@ public class BellmanFordShortestPath<T> extends AbstractAlgorithm<Map<Integer, P
 
         // Inicializar campos de la clase
         this.edges = new HashSet<>();
+        this.graph = graph;
         this.distances = new HashMap<>(graph.size(), 0.25f);
         this.parents = new TreeMap<>();
         this.vertices = new int[graph.size()];
@@ -101,7 +103,7 @@ public class BellmanFordShortestPath<T> extends AbstractAlgorithm<Map<Integer, P
             {
                 int u = e.getStartNode().getLabel();
                 int v = e.getFinalNode().getLabel();
-                int weight = (int) e.getWeight().getValue();
+                int weight = (int) graph.edgeWeightAsDouble(e);
 
                 int d = distances.get(u) + weight;
                 if (distances.get(u) != Integer.MAX_VALUE && d < distances.get(v))
@@ -116,7 +118,7 @@ public class BellmanFordShortestPath<T> extends AbstractAlgorithm<Map<Integer, P
         {
             int u = edge.getStartNode().getLabel();
             int v = edge.getFinalNode().getLabel();
-            int w = (int) edge.getWeight().getValue();
+            int w = (int) graph.edgeWeightAsDouble(edge);
 
             int alt = distances.get(u) + w;
             if (distances.get(u) != Integer.MAX_VALUE && alt < distances.get(v))
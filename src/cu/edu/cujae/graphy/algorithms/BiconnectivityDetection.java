@@ -19,10 +19,11 @@
 package cu.edu.cujae.graphy.algorithms;
 
 import cu.edu.cujae.graphy.core.Graph;
+import cu.edu.cujae.graphy.core.iterators.DepthFirstTraversal;
+import cu.edu.cujae.graphy.core.iterators.DepthFirstTraversal.Direction;
+import cu.edu.cujae.graphy.core.iterators.DepthFirstTraversal.Event;
 import cu.edu.cujae.graphy.core.iterators.GraphIterator;
-import java.util.HashMap;
-import java.util.Set;
-import java.util.TreeSet;
+import cu.edu.cujae.graphy.core.properties.IntVertexProperty;
 
 /**
  * This algorithm checks if a given undirected graph is biconnected. A biconnected
@@ -39,6 +40,7 @@ import java.util.TreeSet;
 public class BiconnectivityDetection<T> extends AbstractAlgorithm<Boolean> {
     
     private int V;
+    private Graph<T> graph;
     private GraphIterator<T> iterator;
 
     public BiconnectivityDetection(Graph<T> graph) {
@@ -52,23 +54,29 @@ public class BiconnectivityDetection<T> extends AbstractAlgorithm<Boolean> {
         }
         
         this.V = graph.size();
+        this.graph = graph;
         this.iterator = graph.randomIterator();
     }
     
     @Override
     public Algorithm<Boolean> apply() {
         
-        Set<Integer> visited = new TreeSet<>();
+        DepthFirstTraversal traversal = new DepthFirstTraversal(graph, Direction.BOTH);
+        traversal.start(iterator.getLabel());
         
-        HashMap<Integer, Integer> parent = new HashMap<>();
+        IntVertexProperty disc = graph.newIntVertexProperty(0);
+        IntVertexProperty low = graph.newIntVertexProperty(0);
         
-        int discTime = 0;
-        HashMap<Integer, Integer> disc = new HashMap<>();
-        HashMap<Integer, Integer> low = new HashMap<>();
+        boolean articulationPoint = hasArticulationPoint(traversal, disc, low);
         
-        boolean articulationPoint = hasArticulationPoint(iterator, visited, parent, disc, low, discTime);
+        int visited = 0;
+        for(int label: graph.getLabels()) {
+            if(traversal.isDiscovered(label)) {
+                visited++;
+            }
+        }
         
-        if(!articulationPoint && visited.size() == V) {
+        if(!articulationPoint && visited == V) {
             setResult(Boolean.TRUE);
         }
         
@@ -78,51 +86,57 @@ public class BiconnectivityDetection<T> extends AbstractAlgorithm<Boolean> {
     
     
     /**
-     * This recursive function checks if a graph has an articulation point through DFS search
+     * This function checks if a graph has an articulation point through DFS search. The
+     * search keeps an explicit stack, so long paths do not exhaust the stack of the thread.
      * 
-     * @param iterator - The graph's iterator
-     * @param visited - Contains every visited vertex
-     * @param parent - The key is the current node's label and the value is its parent's in the DFS tree
-     * @param low - The key is the node's label and the value is the discovery time of it earliest visited adjacent node
-     * @param disc - The key is the current node's label and the value is its discovery time 
-     * @param discTime - The discovery time for the current node
+     * @param traversal - The depth-first traversal, started at the root of the DFS tree
+     * @param disc - The discovery time of every node
+     * @param low - The discovery time of the earliest visited node reachable from the subtree of every node
      * @return true if there is an articulation point, otherwise false
      */
-    private boolean hasArticulationPoint(GraphIterator<T> iterator, Set<Integer> visited, HashMap<Integer, Integer> parent, HashMap<Integer, Integer> low, HashMap<Integer, Integer> disc, int discTime) {
+    private boolean hasArticulationPoint(DepthFirstTraversal traversal, IntVertexProperty disc, IntVertexProperty low) {
         
-        int children = 0;
-        int currentLabel = iterator.getLabel();
-        visited.add(currentLabel);
-        discTime++;
-        disc.put(currentLabel, discTime);
-        low.put(currentLabel, discTime);
+        int rootChildren = 0;
+        int discTime = 0;
         
-        for(Integer adjLabel: iterator.getAllAdjacentVertices()) {
-            iterator.next(adjLabel);
+        for(Event event = traversal.advance(); event != null; event = traversal.advance()) {
+            int currentLabel = traversal.vertex();
             
-            if(!visited.contains(adjLabel)) {
-                children++;
-                parent.put(adjLabel, currentLabel);
-                
-                if(hasArticulationPoint(iterator, visited, parent, low, disc, discTime)){
-                    return true;
-                }
-                
-                low.put(currentLabel, Math.min(low.get(currentLabel), low.get(adjLabel)));
-                
-                if(!parent.containsKey(currentLabel) && children > 1) {
-                    return true;
-                }
-                
-                if(parent.containsKey(currentLabel) && low.get(adjLabel) >= disc.get(currentLabel)) {
-                    return true;
-                }
+            switch(event) {
+                case PRE_ORDER:
+                    discTime++;
+                    disc.set(currentLabel, discTime);
+                    low.set(currentLabel, discTime);
+                    break;
+                    
+                case NON_TREE_EDGE:
+                    int adjLabel = traversal.target();
+                    if(traversal.isRoot() || traversal.parent() != adjLabel) {
+                        low.set(currentLabel, Math.min(low.get(currentLabel), disc.get(adjLabel)));
+                    }
+                    break;
+                    
+                case POST_ORDER:
+                    if(traversal.isRoot()) {
+                        break;
+                    }
+                    
+                    int parentLabel = traversal.parent();
+                    low.set(parentLabel, Math.min(low.get(parentLabel), low.get(currentLabel)));
+                    
+                    if(traversal.depth() == 1) {
+                        // The root is an articulation point if it has more than one child
+                        if(++rootChildren > 1) {
+                            return true;
+                        }
+                    }
+                    
+                    else if(low.get(currentLabel) >= disc.get(parentLabel)) {
+                        return true;
+                    }
+                    break;
             }
-
-            else if(parent.get(currentLabel) != adjLabel) {
-                low.put(currentLabel, Math.min(low.get(currentLabel), disc.get(adjLabel)));
-            }
-        } 
+        }
         
         return false;
     }
@@ -22,6 +22,7 @@ import cu.edu.cujae.graphy.core.Graph;
 import cu.edu.cujae.graphy.core.iterators.GraphIterator;
 import java.util.Map;
 import java.util.TreeMap;
+import java.util.function.IntConsumer;
 
 /**
  * This algorithm checks if a given graph is bipartite. A bipartite graph is a 
@@ -71,24 +72,25 @@ public class BipartiteGraphDetection<T> extends AbstractAlgorithm<Boolean> {
             Integer current = bfsIterator.getLabel();
             
             //if there's a self loop return false
-            if(bfsIterator.getAllAdjacentVertices().contains(current)) {
+            if(bfsIterator.isAdjacent(current.intValue())) {
                 setResult(Boolean.FALSE);
                 break;
             }
             else {
                 //for each vertex in the graph
-                for(Integer lbl: bfsIterator.getAllAdjacentVertices()) {
+                IntConsumer color = lbl -> {
 
                     //the adjacent vertex is not colored assign it the alternate color
                     if(colors.get(lbl) == -1) {
                         colors.put(lbl, 1-colors.get(current));
                     }
-                    //the adjacent is colored the same as current mark conflict as true and break the for cycle
+                    //the adjacent is colored the same as current mark conflict as true
                     else if(colors.get(lbl) == colors.get(current)) {
                         setResult(Boolean.FALSE);
-                        break;
                     }
-                }
+                };
+                bfsIterator.forEachInNeighbor(color);
+                bfsIterator.forEachOutNeighbor(color);
             }
             bfsIterator.next();
             
@@ -19,7 +19,6 @@
 package cu.edu.cujae.graphy.algorithms;
 
 import cu.edu.cujae.graphy.core.Edge;
-import cu.edu.cujae.graphy.core.Weight;
 import cu.edu.cujae.graphy.core.WeightedGraph;
 import cu.edu.cujae.graphy.core.iterators.GraphIterator;
 import cu.edu.cujae.graphy.core.utility.GraphBuilders;
@@ -83,31 +82,30 @@ public class BoruvkaMinimalTree extends AbstractAlgorithm<WeightedGraph<?>>
         
         public Edge getLesserWeightEdge()
         {
-            Edge result = null;
-            float lesser = Float.MAX_VALUE;
+            Edge[] result = new Edge[1];
+            float[] lesser = {Float.MAX_VALUE};
             
             GraphIterator<?> i = graph.randomIterator();
             for (int v : this)
             {
                 i.next(v);
                 
-                for (Edge e : i.getEdgesDepartingSelf())
+                i.forEachOutEdge((from, to, e) ->
                 {
                     if (isInternal(e) == false)
                     {
-                        @SuppressWarnings ("unchecked")
-                        Weight<Number> weight = (Weight<Number>) e.getWeight();
+                        float weight = (float) graph.edgeWeightAsDouble(e);
                         
-                        if (weight.getValue().floatValue() < lesser)
+                        if (weight < lesser[0])
                         {
-                            result = e;
-                            lesser = weight.getValue().floatValue();
+                            result[0] = e;
+                            lesser[0] = weight;
                         }
                     }
-                }
+                });
             }
             
-            return result;
+            return result[0];
         }
         
         private boolean isInternal(Edge edge)
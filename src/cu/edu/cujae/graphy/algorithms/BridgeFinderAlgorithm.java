@@ -18,16 +18,14 @@
  */
 package cu.edu.cujae.graphy.algorithms;
 
-import cu.edu.cujae.graphy.core.Edge;
 import cu.edu.cujae.graphy.core.Graph;
-import cu.edu.cujae.graphy.core.iterators.GraphIterator;
+import cu.edu.cujae.graphy.core.iterators.DepthFirstTraversal;
+import cu.edu.cujae.graphy.core.iterators.DepthFirstTraversal.Direction;
+import cu.edu.cujae.graphy.core.iterators.DepthFirstTraversal.Event;
+import cu.edu.cujae.graphy.core.properties.IntVertexProperty;
 import cu.edu.cujae.graphy.utils.Pair;
 import java.util.LinkedList;
 import java.util.List;
-import java.util.Map;
-import java.util.Set;
-import java.util.TreeMap;
-import java.util.TreeSet;
 
 /**
  * Given an undirected graph finds all the bridges. Like articulation points, bridges represent vulnerabilities in a
@@ -36,14 +34,14 @@ import java.util.TreeSet;
  * <p>
  * The time complexity of this algorithm is <code>O(V + E)</code> and <code>O(B<sup>M</sup>)</code> where M is the
  * maximum branching of the DFS tree.
+ * <p>
+ * The depth-first search keeps an explicit stack, so long paths do not exhaust the stack of the thread.
  *
  * @author Javier Marrero
  */
 public class BridgeFinderAlgorithm extends AbstractAlgorithm<List<Pair<Integer, Integer>>>
 {
 
-    private static final int NIL = Integer.MIN_VALUE;
-
     private final Graph<?> G;
     private int time;
 
@@ -65,25 +63,20 @@ public class BridgeFinderAlgorithm extends AbstractAlgorithm<List<Pair<Integer,
     {
         // Initialize the algorithm parameters
         this.time = 0;
-        Set<Integer> visited = new TreeSet<>();
-        Map<Integer, Integer> disc = new TreeMap<>();
-        Map<Integer, Integer> low = new TreeMap<>();
-        Map<Integer, Integer> parent = new TreeMap<>();
-
-        // Initialize the parent map
-        for (int i : G.getLabels())
-        {
-            disc.put(i, 0);
-            low.put(i, 0);
-            parent.put(i, NIL);
-        }
+        IntVertexProperty disc = G.newIntVertexProperty(0);
+        IntVertexProperty low = G.newIntVertexProperty(0);
+        DepthFirstTraversal traversal = new DepthFirstTraversal(G, Direction.BOTH);
 
-        // Call the recursive vertex function to find all the bridges in the DFS tree
+        // Traverse every tree of the DFS forest to find all the bridges, discovery times start at one
         for (int i : G.getLabels())
         {
-            if (!visited.contains(i))
+            if (!traversal.isDiscovered(i))
             {
-                bridgeUtil(i, visited, disc, low, parent);
+                traversal.start(i);
+                for (Event event = traversal.advance(); event != null; event = traversal.advance())
+                {
+                    visit(traversal, event, disc, low);
+                }
             }
         }
 
@@ -91,45 +84,41 @@ public class BridgeFinderAlgorithm extends AbstractAlgorithm<List<Pair<Integer,
         return this;
     }
 
-    private void bridgeUtil(int u, Set<Integer> visited, Map<Integer, Integer> disc, Map<Integer, Integer> low,
-                            Map<Integer, Integer> parent)
+    private void visit(DepthFirstTraversal traversal, Event event, IntVertexProperty disc, IntVertexProperty low)
     {
-        // Mark the current node as visited
-        visited.add(u);
-
-        // Initialize discovery time and low value
-        low.put(u, ++time);
-        disc.put(u, low.get(u));
-
-        // Iterate for all the adjacent vertices
-        GraphIterator<?> i = G.iterator(u);
-        for (Edge e : i.getAllAdjacentEdges())
+        int u = traversal.vertex();
+        switch (event)
         {
-            int v = (i.getEdgesDepartingSelf().contains(e)) ? e.getFinalNode().getLabel() : e.getStartNode().getLabel();
-
-            if (visited.contains(v) == false)
-            {
-                parent.put(v, u);
-                bridgeUtil(v, visited, disc, low, parent);
-
-                // Check if the subtree rooted with v has a
-                // connection to one of the ancestors of u
-                low.put(u, Math.min(low.get(u), low.get(v)));
-
-                // If the lowest vertex reachable from subtree
-                // under v is below u in DFS tree, then u-v is
-                // a bridge
-                if (low.get(v) > disc.get(u))
+            case PRE_ORDER:
+                // Initialize discovery time and low value
+                low.set(u, ++time);
+                disc.set(u, low.get(u));
+                break;
+            case NON_TREE_EDGE:
+                // Update the low value of u for its ancestors, the edge back to the parent is the tree edge itself
+                int v = traversal.target();
+                if (traversal.isRoot() || v != traversal.parent())
                 {
-                    getResult().add(new Pair<>(u, v));
+                    low.set(u, Math.min(low.get(u), disc.get(v)));
                 }
-            }
-
-            // Update the low value of u for parent function calls
-            else if (v != parent.get(u))
-            {
-                low.put(u, Math.min(low.get(u), disc.get(v)));
-            }
+                break;
+            case POST_ORDER:
+                if (!traversal.isRoot())
+                {
+                    // Check if the subtree rooted with u has a
+                    // connection to one of the ancestors of its parent
+                    int p = traversal.parent();
+                    low.set(p, Math.min(low.get(p), low.get(u)));
+
+                    // If the lowest vertex reachable from subtree
+                    // under u is below its parent in DFS tree, then
+                    // the parent-u edge is a bridge
+                    if (low.get(u) > disc.get(p))
+                    {
+                        getResult().add(new Pair<>(p, u));
+                    }
+                }
+                break;
         }
     }
 
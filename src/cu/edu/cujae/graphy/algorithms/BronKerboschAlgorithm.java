@@ -21,8 +21,8 @@ package cu.edu.cujae.graphy.algorithms;
 import cu.edu.cujae.graphy.core.Graph;
 import cu.edu.cujae.graphy.core.iterators.GraphIterator;
 import cu.edu.cujae.graphy.utils.HashTuple;
+import java.util.Arrays;
 import java.util.Collection;
-import java.util.HashMap;
 import java.util.Set;
 import java.util.TreeSet;
 
@@ -37,13 +37,17 @@ import java.util.TreeSet;
  * The variant of the algorithm implemented is the one that involves a "pivot element" 
  * for efficiency purposes.
  * 
+ * The candidate sets are kept as bitsets over the vertices sorted by label, so
+ * unions, intersections and differences are computed 64 vertices at a time.
+ * 
  * @author Amaya D. Fuentes
  * @param <T>
  */
 public class BronKerboschAlgorithm<T> extends AbstractAlgorithm<Collection<Collection<Integer>>>
 {
-    private Set<Integer> vertices;
-    private HashMap<Integer, Collection<Integer>> neighbors;
+    private int[] labels;
+    private long[][] neighbors;
+    private long[] vertices;
 
     public BronKerboschAlgorithm(Graph<T> graph) {
         
@@ -57,17 +61,24 @@ public class BronKerboschAlgorithm<T> extends AbstractAlgorithm<Collection<Colle
             throw new IllegalArgumentException("The graph is empty.");
         }
             
-        //initialize class fields
-        this.vertices = new TreeSet<>();
-        this.neighbors = new HashMap<>();
-
+        //assign a bit to every vertex, in ascending order of labels
+        this.labels = new int[graph.size()];
+        int k = 0;
+        for(int label: graph.getLabels()) {
+            labels[k++] = label;
+        }
+        Arrays.sort(labels);
+        
         //get the vertices and their neighbors, excluding isolated vertices
-        GraphIterator<T> dfsIterator = (GraphIterator<T>) graph.depthFirstSearchIterator(true);
-        while(dfsIterator.hasNext()) {
-            dfsIterator.next();
-            if(!dfsIterator.getAllAdjacentVertices().isEmpty()) {
-                vertices.add(dfsIterator.getLabel());
-                neighbors.put(dfsIterator.getLabel(),dfsIterator.getAllAdjacentVertices());
+        int words = (labels.length + 63) >>> 6;
+        this.vertices = new long[words];
+        this.neighbors = new long[labels.length][words];
+        for(int i = 0; i < labels.length; i++) {
+            long[] row = neighbors[i];
+            graph.forEachOutNeighbor(labels[i], v -> set(row, indexOf(v)));
+            graph.forEachInNeighbor(labels[i], u -> set(row, indexOf(u)));
+            if(!isEmpty(row)) {
+                set(vertices, i);
             }
         }
     }
@@ -75,9 +86,9 @@ public class BronKerboschAlgorithm<T> extends AbstractAlgorithm<Collection<Colle
     @Override
     public Algorithm<Collection<Collection<Integer>>> apply() {
     
-        Set<Integer> P = vertices;
-        Set<Integer> R = new TreeSet<>();
-        Set<Integer> X = new TreeSet<>();
+        long[] P = vertices;
+        long[] R = new long[vertices.length];
+        long[] X = new long[vertices.length];
 
         maximalCliques(R, P, X);
 
@@ -92,19 +103,20 @@ public class BronKerboschAlgorithm<T> extends AbstractAlgorithm<Collection<Colle
      * @param P - The set of candidate vertices to be added to R
      * @param X - The set of processed vertices or belonging to a maximal clique
      */
-    private void maximalCliques(Set<Integer> R, Set<Integer> P, Set<Integer> X) {
+    private void maximalCliques(long[] R, long[] P, long[] X) {
         
-        if(P.isEmpty() && X.isEmpty()) {
+        if(isEmpty(P) && isEmpty(X)) {
             Collection<Collection<Integer>> result = getResult();
-            result.add(R);
+            result.add(toLabels(R));
         }
         else {
-            Set<Integer> P1 = new TreeSet<>(P);
-            Integer u = findPivot(unite(P1, X));
-            for(Integer v: remove(P, u)) {    
+            long[] P1 = P.clone();
+            int u = findPivot(unite(P1, X));
+            long[] candidates = remove(P, u);
+            for(int v = nextSetBit(candidates, 0); v >= 0; v = nextSetBit(candidates, v + 1)) {
                 maximalCliques(unite(R, v), intersect(P1, v), intersect(X, v));
-                P1.remove(v);
-                X.add(v);
+                P1[v >>> 6] &= ~(1L << v);
+                set(X, v);
             }
         }
     }
@@ -117,11 +129,14 @@ public class BronKerboschAlgorithm<T> extends AbstractAlgorithm<Collection<Colle
      * @param set - The set where the pivot will be found
      * @return The element of the set with the highest degree
      */
-    private Integer findPivot(Set<Integer> set) {
-        Integer pivot = null;
+    private int findPivot(long[] set) {
+        int pivot = -1;
         int maxDegree = 0;
-        for(Integer vertex: set) {
-            int degree = neighbors.get(vertex).size();
+        for(int vertex = nextSetBit(set, 0); vertex >= 0; vertex = nextSetBit(set, vertex + 1)) {
+            int degree = 0;
+            for(long word: neighbors[vertex]) {
+                degree += Long.bitCount(word);
+            }
             if(degree >= maxDegree) {
                 maxDegree = degree;
                 pivot = vertex;
@@ -140,9 +155,12 @@ public class BronKerboschAlgorithm<T> extends AbstractAlgorithm<Collection<Colle
      * @param vertex 
      * @return The set corresponding to the intersection
      */
-    private Set<Integer> intersect(Set<Integer> set, Integer vertex) {
-        Set<Integer> intersection = new TreeSet<>(set);
-        intersection.retainAll(neighbors.get(vertex));
+    private long[] intersect(long[] set, int vertex) {
+        long[] intersection = new long[set.length];
+        long[] row = neighbors[vertex];
+        for(int i = 0; i < set.length; i++) {
+            intersection[i] = set[i] & row[i];
+        }
         return intersection;
     }
     
@@ -153,9 +171,11 @@ public class BronKerboschAlgorithm<T> extends AbstractAlgorithm<Collection<Colle
      * @param set2
      * @return The set corresponding to the union of set1 and set2
      */
-    private Set<Integer> unite(Set<Integer> set1, Set<Integer> set2) {
-        Set<Integer> union = new TreeSet<>(set1);
-        union.addAll(set2);
+    private long[] unite(long[] set1, long[] set2) {
+        long[] union = new long[set1.length];
+        for(int i = 0; i < set1.length; i++) {
+            union[i] = set1[i] | set2[i];
+        }
         return union;
     }
     
@@ -167,9 +187,9 @@ public class BronKerboschAlgorithm<T> extends AbstractAlgorithm<Collection<Colle
      * @param vertex
      * @return The set corresponding to the union
      */
-    private Set<Integer> unite(Set<Integer> set, Integer vertex) {
-        Set<Integer> union = new TreeSet<>(set);
-        union.add(vertex);
+    private long[] unite(long[] set, int vertex) {
+        long[] union = set.clone();
+        set(union, vertex);
         return union;
     }
      
@@ -181,9 +201,64 @@ public class BronKerboschAlgorithm<T> extends AbstractAlgorithm<Collection<Colle
      * @param vertex
      * @return The set corresponding to the difference
      */
-    private Set<Integer> remove(Set<Integer> set, Integer vertex) {
-        Set<Integer> removal = new TreeSet<>(set);
-        removal.removeAll(neighbors.get(vertex));
+    private long[] remove(long[] set, int vertex) {
+        long[] removal = new long[set.length];
+        long[] row = neighbors[vertex];
+        for(int i = 0; i < set.length; i++) {
+            removal[i] = set[i] & ~row[i];
+        }
         return removal;
     }
+    
+    /**
+     * Method to get the position of a vertex in the sorted array of labels.
+     * 
+     * @param label
+     * @return The bit assigned to the vertex
+     */
+    private int indexOf(int label) {
+        return Arrays.binarySearch(labels, label);
+    }
+    
+    /**
+     * Method to translate a set of bits back into a set of labels
+     * 
+     * @param set
+     * @return The set of the labels of the vertices in the set
+     */
+    private Set<Integer> toLabels(long[] set) {
+        Set<Integer> result = new TreeSet<>();
+        for(int i = nextSetBit(set, 0); i >= 0; i = nextSetBit(set, i + 1)) {
+            result.add(labels[i]);
+        }
+        return result;
+    }
+    
+    private static boolean isEmpty(long[] set) {
+        for(long word: set) {
+            if(word != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+    
+    private static int nextSetBit(long[] set, int from) {
+        int word = from >>> 6;
+        if(word >= set.length) {
+            return -1;
+        }
+        long bits = set[word] & (-1L << from);
+        while(bits == 0) {
+            if(++word == set.length) {
+                return -1;
+            }
+            bits = set[word];
+        }
+        return (word << 6) + Long.numberOfTrailingZeros(bits);
+    }
+    
+    private static void set(long[] set, int i) {
+        set[i >>> 6] |= 1L << i;
+    }
 }
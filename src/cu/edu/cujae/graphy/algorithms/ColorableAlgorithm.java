@@ -26,6 +26,7 @@ import java.util.Map;
 import java.util.Set;
 import java.util.TreeMap;
 import java.util.TreeSet;
+import java.util.function.IntConsumer;
 
 /**
  * La coloración de grafos es un caso especial de etiquetas de grafos; es una
@@ -86,11 +87,13 @@ public class ColorableAlgorithm<T> extends AbstractAlgorithm<Boolean>
         while(!listOfVertices.isEmpty()){
             int v = listOfVertices.poll();
             iter.next(v);
-            for(int u : iter.getAllAdjacentVertices()){
+            IntConsumer unavailable = u -> {
                 if(colors.containsKey(u)){
                     unavailableColors.add(u);
                 }
-            }
+            };
+            iter.forEachInNeighbor(unavailable);
+            iter.forEachOutNeighbor(unavailable);
             int c = 1;
             while(unavailableColors.contains(c)){
                 c++;
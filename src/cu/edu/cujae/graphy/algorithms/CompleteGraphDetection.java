@@ -59,7 +59,7 @@ public class CompleteGraphDetection<T> extends AbstractAlgorithm<Boolean> {
         
         while(iter.hasNext() && !stop) {
             iter.next(); 
-            if(iter.getAllAdjacentEdges().size() != V - 1 || iter.isAdjacent(iter.getLabel())) {
+            if(iter.getAllAdjacentVertices().size() != V - 1 || iter.isAdjacent(iter.getLabel())) {
                 setResult(Boolean.FALSE);
                 stop = true;
             }
@@ -19,7 +19,7 @@
 package cu.edu.cujae.graphy.algorithms;
 
 import cu.edu.cujae.graphy.core.Graph;
-import cu.edu.cujae.graphy.core.iterators.GraphIterator;
+import cu.edu.cujae.graphy.core.iterators.DirectionOptimizingSearch;
 
 /**
  * This algorithm checks if a given graph, whether directed or undirected, is 
@@ -27,12 +27,16 @@ import cu.edu.cujae.graphy.core.iterators.GraphIterator;
  * to any other point in the vertex. That is, a connected graph can't have any
  * disconnected components or isolated vertices.
  * 
+ * The vertices reachable from the first vertex are found with a direction-optimizing
+ * breadth-first search, which follows the edges in both directions on undirected graphs.
+ * 
  * @author Amaya D. Fuentes
  * @param <T>
  */
 public class ConnectivityDetection<T> extends AbstractAlgorithm<Boolean> {
 
-    private GraphIterator<T> iterator;
+    private DirectionOptimizingSearch search;
+    private int source;
     private int V;
     
     public ConnectivityDetection(Graph<T> graph) {
@@ -43,7 +47,8 @@ public class ConnectivityDetection<T> extends AbstractAlgorithm<Boolean> {
             throw new IllegalArgumentException("The graph has no vertices.");
         }
         
-        this.iterator = (GraphIterator<T>) graph.depthFirstSearchIterator(false);
+        this.source = graph.getLabels().iterator().next();
+        this.search = new DirectionOptimizingSearch(graph);
         this.V = graph.size();
         
     }
@@ -51,13 +56,9 @@ public class ConnectivityDetection<T> extends AbstractAlgorithm<Boolean> {
     @Override
     public Algorithm<Boolean> apply() {
        
-        int count = 0;
-        while(iterator.hasNext()) {
-            iterator.next();
-            count++;
-        }
+        search.search(source);
         
-        if(count == V) {
+        if(search.reached() == V) {
             setResult(Boolean.TRUE);
         }
         
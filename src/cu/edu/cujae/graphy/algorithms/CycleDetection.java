@@ -18,7 +18,6 @@
  */
 package cu.edu.cujae.graphy.algorithms;
 
-import cu.edu.cujae.graphy.core.Edge;
 import cu.edu.cujae.graphy.core.Graph;
 import cu.edu.cujae.graphy.core.iterators.GraphIterator;
 import java.util.Objects;
@@ -63,19 +62,19 @@ public class CycleDetection<V> extends AbstractAlgorithm<Boolean>
             // Debug... may removeAt later
 //            System.out.println("Visiting node: " + iterator.getLabel() + " | visited: " + visited.toString());
             // Now for each adjacent node check if the node was visited
-            for (Edge e : iterator.getEdgesDepartingSelf())
+            iterator.forEachOutNeighbor(v -> 
             {
                 // Debug
-                //System.out.println("checking edge: " + e.getFinalNode().getLabel());
+                //System.out.println("checking edge: " + v);
 
-                if (visited.contains(e.getFinalNode().getLabel()))
+                if (visited.contains(v))
                 {
                     // DEBUG
 //                    System.out.println("FOUND CYCLE!");
 
                     setResult(Boolean.TRUE);
                 }
-            }
+            });
         }
 
         /* This is mandated by the interface */
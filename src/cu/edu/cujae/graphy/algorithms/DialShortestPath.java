@@ -18,7 +18,6 @@
  */
 package cu.edu.cujae.graphy.algorithms;
 
-import cu.edu.cujae.graphy.core.Edge;
 import cu.edu.cujae.graphy.core.WeightedGraph;
 import cu.edu.cujae.graphy.core.iterators.GraphIterator;
 import cu.edu.cujae.graphy.utils.Pair;
@@ -109,10 +108,9 @@ public class DialShortestPath extends AbstractAlgorithm<Map<Integer, Pair<Intege
             GraphIterator<?> u = graph.iterator(buckets.get(index).pop());
 
             // Paso 2: Procesar todos los adyacentes del vértice u y actualizar sus distancias si es requerido.
-            for (Edge e : u.getAllAdjacentEdges())
+            u.forEachAdjacentEdge((from, v, e) -> 
             {
-                int v = e.getFinalNode().getLabel();
-                int weight = (int) e.getWeight().getValue();
+                int weight = (int) graph.edgeWeightAsDouble(e);
 
                 int du = distances.get(u.getLabel());
                 int dv = distances.get(v);
@@ -126,7 +124,7 @@ public class DialShortestPath extends AbstractAlgorithm<Map<Integer, Pair<Intege
                     //Añadir vértice v a las distancias actualizadas de la cubeta.
                     buckets.get(dv).push(v);
                 }
-            }
+            });
         }
         for (int v : distances.keySet())
         {
@@ -18,7 +18,6 @@
  */
 package cu.edu.cujae.graphy.algorithms;
 
-import cu.edu.cujae.graphy.core.Edge;
 import cu.edu.cujae.graphy.core.WeightedGraph;
 import cu.edu.cujae.graphy.core.iterators.GraphIterator;
 import cu.edu.cujae.graphy.utils.Pair;
@@ -101,7 +100,7 @@ public class DijkstraShortestPath extends AbstractAlgorithm<Map<Integer, Pair<In
         {
             if (G.isVertexAdjacent(s, v))
             {
-                distances.put(v, (Integer) iter.getAdjacentEdge(v).getWeight().getValue());
+                distances.put(v, (int) G.edgeWeightAsDouble(iter.getAdjacentEdge(v)));
                 previous.put(v, iter.getLabel());
             }
             else
@@ -129,28 +128,19 @@ public class DijkstraShortestPath extends AbstractAlgorithm<Map<Integer, Pair<In
             int u = Q.poll();
             it.next(u);
 
-            for (Edge edge : it.getAllAdjacentEdges())
+            it.forEachAdjacentEdge((from, to, edge) -> 
             {
-                int v;
-                if (it.getEdgesDepartingSelf().contains(edge))
-                {
-                    v = edge.getFinalNode().getLabel();
-                }
-                else
-                {
-                    v = edge.getStartNode().getLabel();
-                }
-
+                int v = (from == u) ? to : from;
                 if (Q.contains(v))
                 {
-                    int alt = distances.get(u) + (int) edge.getWeight().getValue();
+                    int alt = distances.get(u) + (int) G.edgeWeightAsDouble(edge);
                     if (alt <= distances.get(v))
                     {
                         distances.put(v, alt);
                         previous.put(v, u);
                     }
                 }
-            }
+            });
         }
 
         // Create the shortest path sequence
@@ -18,7 +18,6 @@
  */
 package cu.edu.cujae.graphy.algorithms;
 
-import cu.edu.cujae.graphy.core.Edge;
 import cu.edu.cujae.graphy.core.Graph;
 import cu.edu.cujae.graphy.core.iterators.GraphIterator;
 import java.util.HashMap;
@@ -73,10 +72,7 @@ public class DynamicConnectivity<T>
         while (dfs.hasNext())
         {
             dfs.next();
-            for (Edge e : dfs.getAllAdjacentEdges())
-            {
-                apply(2, e.getStartNode().getLabel(), e.getFinalNode().getLabel());
-            }
+            dfs.forEachAdjacentEdge((u, v, e) -> apply(2, u, v));
         }
     }
 
@@ -70,8 +70,9 @@ public class EulerianCycleDetection<V> extends AbstractAlgorithm<Boolean>
         while (!isOdd && iterator.hasNext())
         {
             iterator.next();
-            int numberOfEdges = iterator.getAllAdjacentEdges().size();
-            if ((numberOfEdges == 0) || ((numberOfEdges % 2) != 0))
+            int[] numberOfEdges = new int[1];
+            iterator.forEachAdjacentEdge((u, v, edge) -> ++numberOfEdges[0]);
+            if ((numberOfEdges[0] == 0) || ((numberOfEdges[0] % 2) != 0))
             {
                 isOdd = true;
             }
@@ -100,7 +100,7 @@ public class ExistSimpleRoad<V> extends AbstractAlgorithm<Pair<Integer, List<Int
                         pero la arista y el peso sigue siendo la misma se realiza la comprobacion para no obtener un valor nulo*/
                         Edge edge = iterat.getAdjacentEdge(label2) != null ? iterat.getAdjacentEdge(label2) : iterat2.
                                 getAdjacentEdge(label1);
-                        trimatrix.put(iterat.getLabel(), iterat2.getLabel(), l, (Integer) edge.getWeight().getValue());
+                        trimatrix.put(iterat.getLabel(), iterat2.getLabel(), l, (int) graph.edgeWeightAsDouble(edge));
                     }
 
                     //En el caso de que haya mas de una arista de distancia entre los nodos
@@ -119,17 +119,12 @@ public class ExistSimpleRoad<V> extends AbstractAlgorithm<Pair<Integer, List<Int
                             {
                                 /*Se selecciona como distancia entre los nodosi y j el menor valor entre la distancia que ya se encuentra actualmente en la trimatrix y 
                                 el valor hasta la arista anterior sumado a la distancia entre a e i*/
-                                trimatrix.put(iterat.getLabel(), iterat2.getLabel(), l, Math.min(trimatrix.get(iterat.
-                                              getLabel(), iterat2.getLabel(), l), ((iterat.getAdjacentEdge(
-                                                                                    iterat3.getLabel()) != null)
-                                                                                   ? (Integer) iterat.getAdjacentEdge(
-                                                                                   iterat3.getLabel()).getWeight().
-                                                                                   getValue() : (Integer) iterat3.
-                                                                                   getAdjacentEdge(iterat.getLabel()).
-                                                                                   getWeight().getValue()) + trimatrix.
-                                                                                                 get(iterat3.getLabel(),
-                                                                                                     iterat2.getLabel(),
-                                                                                                     l - 1)));
+                                Edge edge = iterat.getAdjacentEdge(iterat3.getLabel()) != null ? iterat.
+                                        getAdjacentEdge(iterat3.getLabel()) : iterat3.getAdjacentEdge(label1);
+                                trimatrix.put(label1, label2, l, Math.min(trimatrix.get(label1, label2, l),
+                                                                          (int) graph.edgeWeightAsDouble(edge)
+                                                                                  + trimatrix.get(iterat3.getLabel(),
+                                                                                                  label2, l - 1)));
                             }
                         }
                     }
@@ -67,7 +67,7 @@ public class FirstLevelCommunities<V> extends AbstractAlgorithm<ArrayList<Collec
                 GraphIterator<V> iter = (GraphIterator<V>) graphCopy.breadthFirstSearchIterator(true);
                 restart = false;
                 //Mientras tenga siguiente el iterador y no sea necesario reiniciar el iterador
-                while (iter.hasNext() && !restart)
+                while (!restart && iter.hasNext())
                 {
                     iter.next();
                     LinkedList<Integer> adyacentes = new LinkedList<>(iter.getAllAdjacentVertices());
@@ -113,13 +113,10 @@ public class FirstLevelCommunities<V> extends AbstractAlgorithm<ArrayList<Collec
                         es decir, los que se tienen a ellos mismos como adyacentes y el vértice inicial
                         */
                         comunities.add(result);
-                        for (Integer i : result)
-                        {   
-                            /*Se eliminan los vértices de la comunidad seleccionada del clon del grafo
-                             y se activa la bandera booleana para reiniciar el iterador*/
-                            graphCopy.removeAt(i);
-                            restart = true;
-                        }
+                        /*Se eliminan de una vez los vértices de la comunidad seleccionada del clon del grafo
+                         y se activa la bandera booleana para reiniciar el iterador*/
+                        graphCopy.removeVertices(result.stream().mapToInt(Integer::intValue).toArray());
+                        restart = true;
                     }
                 }
                 //Se actualiza la lista de los vértices que pudieron quedar aislados al eliminar vértices del grafo
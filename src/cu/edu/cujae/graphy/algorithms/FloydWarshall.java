@@ -83,8 +83,7 @@ public class FloydWarshall<V> extends AbstractAlgorithm<Pair<MapBiArray<Integer,
                 // Si existe una arista adyacente se le asigna a distancia [i][j] el peso de dicha arista sino, seria INF
                 try
                 {
-                    distancia.put(label1, label2, (Integer) iterat1.getAdjacentEdge(iterat2.getLabel()).getWeight().
-                                  getValue());
+                    distancia.put(label1, label2, (int) graph.edgeWeightAsDouble(iterat1.getAdjacentEdge(label2)));
                 }
                 catch (InvalidOperationException ex)
                 {
@@ -18,10 +18,10 @@
  */
 package cu.edu.cujae.graphy.algorithms;
 
-import cu.edu.cujae.graphy.core.Weight;
 import cu.edu.cujae.graphy.core.WeightedGraph;
 import cu.edu.cujae.graphy.core.iterators.GraphIterator;
-import cu.edu.cujae.graphy.core.utility.Weights;
+import cu.edu.cujae.graphy.core.properties.DoubleEdgeProperty;
+import cu.edu.cujae.graphy.core.properties.EdgeIndex;
 import cu.edu.cujae.graphy.utils.Pair;
 import java.util.*;
 
@@ -53,7 +53,10 @@ public class FordFulkersonAlgorithm extends AbstractAlgorithm<Pair<Float, List<I
     private final int t;
     private float maxFlow;
     private final Map<Integer, Integer> parent; // To store path
-    private final WeightedGraph<?> rG; // Residual graph
+    private final EdgeIndex edges; // Edges of the graph
+    private final EdgeIndex reverseEdges; // Edges of the transposed graph, to reach the predecessors
+    private final DoubleEdgeProperty capacity;
+    private final DoubleEdgeProperty flow;
 
     // Constructor
     public FordFulkersonAlgorithm(WeightedGraph<?> graph, GraphIterator<?> source, GraphIterator<?> dest)
@@ -81,32 +84,15 @@ public class FordFulkersonAlgorithm extends AbstractAlgorithm<Pair<Float, List<I
         this.maxFlow = 0;
         this.parent = new HashMap<>();
 
-        // Create residual graph
-        try
+        // The residual capacity of (u, v) is capacity(u, v) - flow(u, v) + flow(v, u), so the residual graph is kept
+        // in two edge properties instead of a copy of the graph
+        this.edges = G.edgeIndex();
+        this.reverseEdges = G.transposedView().edgeIndex();
+        this.capacity = edges.newDoubleProperty(0.0);
+        this.flow = edges.newDoubleProperty(0.0);
+        for (int e = 0; e < edges.size(); ++e)
         {
-            this.rG = (WeightedGraph<?>) G.duplicate();
-
-            // For each arc in the graph, make a duplicate of the arc, of reversed direction, with zero weight
-            GraphIterator<?> it = this.rG.randomIterator();
-
-            for (int u : rG.getLabels())
-            {
-                it.next(u);
-                for (int v : rG.getLabels())
-                {
-                    // If there's no edge going from u to v add a new connection with weight equals to zero
-                    if (it.isAdjacentAndArriving(v) == false)
-                    {
-                        rG.connect(u, v, Weights.makeWeight(0.0f));
-                    }
-                }
-            }
-
-            // System.out.println(rG);
-        }
-        catch (CloneNotSupportedException ex)
-        {
-            throw new IllegalArgumentException("The provided graph is not cloneable nor duplicable.");
+            capacity.set(e, G.weightOf(edges.sourceOf(e), edges.targetOf(e)));
         }
     }
 
@@ -127,9 +113,8 @@ public class FordFulkersonAlgorithm extends AbstractAlgorithm<Pair<Float, List<I
             for (v = t; v != s; v = parent.get(v))
             {
                 u = parent.get(v);
-                GraphIterator<?> it = rG.iterator(u);
 
-                pathFlow = Math.min(pathFlow, (float) it.getAdjacentEdge(v).getWeight().getValue());
+                pathFlow = Math.min(pathFlow, (float) residual(u, v));
             }
 
             // update residual capacities of the edges and
@@ -138,16 +123,7 @@ public class FordFulkersonAlgorithm extends AbstractAlgorithm<Pair<Float, List<I
             {
                 u = parent.get(v);
 
-                GraphIterator<?> uIterator = rG.iterator(u);
-                GraphIterator<?> vIterator = rG.iterator(v);
-
-                @SuppressWarnings ("unchecked")
-                Weight<Float> directWeight = (Weight<Float>) uIterator.getAdjacentEdge(v).getWeight();
-                @SuppressWarnings ("unchecked")
-                Weight<Float> inverseWeight = (Weight<Float>) vIterator.getAdjacentEdge(u).getWeight();
-
-                directWeight.setValue(directWeight.getValue() - pathFlow);
-                inverseWeight.setValue(inverseWeight.getValue() + pathFlow);
+                push(u, v, pathFlow);
             }
 
             // Add path to the overall flow
@@ -194,11 +170,15 @@ public class FordFulkersonAlgorithm extends AbstractAlgorithm<Pair<Float, List<I
         while (!queue.isEmpty())
         {
             int u = queue.poll();
-            GraphIterator<?> aux = this.rG.iterator(u);
+            int successors = edges.outDegree(u);
+            int predecessors = reverseEdges.outDegree(u);
 
-            for (Integer v : rG.getLabels())
+            // Only successors and predecessors may have residual capacity left
+            for (int k = 0; k < successors + predecessors; ++k)
             {
-                if (seen.contains(v) == false && ((float) aux.getAdjacentEdge(v).getWeight().getValue() > 0.0f))
+                int v = (k < successors) ? edges.targetOf(edges.firstOutEdge(u) + k)
+                        : reverseEdges.targetOf(reverseEdges.firstOutEdge(u) + k - successors);
+                if (seen.contains(v) == false && ((float) residual(u, v) > 0.0f))
                 {
                     if (v == t)
                     {
@@ -215,4 +195,23 @@ public class FordFulkersonAlgorithm extends AbstractAlgorithm<Pair<Float, List<I
 
         return false;
     }
+
+    private void push(int u, int v, double amount)
+    {
+        // Cancel the flow going from v to u before sending more from u to v
+        double cancelled = Math.min(amount, flow.get(v, u));
+        if (cancelled > 0.0)
+        {
+            flow.set(v, u, flow.get(v, u) - cancelled);
+        }
+        if (amount > cancelled)
+        {
+            flow.set(u, v, flow.get(u, v) + amount - cancelled);
+        }
+    }
+
+    private double residual(int u, int v)
+    {
+        return capacity.get(u, v) - flow.get(u, v) + flow.get(v, u);
+    }
 }
@@ -18,7 +18,6 @@
  */
 package cu.edu.cujae.graphy.algorithms;
 
-import cu.edu.cujae.graphy.core.Edge;
 import cu.edu.cujae.graphy.core.WeightedGraph;
 import cu.edu.cujae.graphy.core.iterators.GraphIterator;
 import java.util.Collection;
@@ -160,10 +159,9 @@ public class FringeSearchShortestPath<T> extends AbstractAlgorithm<Collection<In
         
         GraphIterator<T> it = graph.iterator(start);
         
-        for(Edge e: it.getEdgesDepartingSelf()) {
+        it.forEachOutEdge((u, v, e) -> {
             
-            int v = e.getFinalNode().getLabel();
-            int weight = (int) e.getWeight().getValue();
+            int weight = (int) graph.edgeWeightAsDouble(e);
             
             int gStart = g.get(it.getLabel());
             int gv = g.get(v);
@@ -175,7 +173,7 @@ public class FringeSearchShortestPath<T> extends AbstractAlgorithm<Collection<In
             }
             
             initializeCostsFromStart(v);
-        }
+        });
     }
     
     /**
@@ -188,10 +186,9 @@ public class FringeSearchShortestPath<T> extends AbstractAlgorithm<Collection<In
         
         GraphIterator<T> it = graph.iterator(goal);
         
-        for(Edge e: it.getEdgesArrivingSelf()) {
+        it.forEachInEdge((v, u, e) -> {
             
-            int v = e.getStartNode().getLabel();
-            int weight = (int) e.getWeight().getValue();
+            int weight = (int) graph.edgeWeightAsDouble(e);
             
             int hEnd = h.get(it.getLabel());
             int hv = h.get(v);
@@ -201,7 +198,7 @@ public class FringeSearchShortestPath<T> extends AbstractAlgorithm<Collection<In
             }
             
             initializeCostsToGoal(v);
-        }
+        });
     }
     
     /**
@@ -215,12 +212,8 @@ public class FringeSearchShortestPath<T> extends AbstractAlgorithm<Collection<In
         
         int weight = 0;
         
-        GraphIterator<T> it = graph.iterator(u);
-        for(Edge e: it.getAllAdjacentEdges()) {
-            if(e.getFinalNode().getLabel() == v) {
-                weight = (int) e.getWeight().getValue();
-                break;
-            }
+        if(graph.existsEdgeWithDirection(u, v)) {
+            weight = (int) graph.weightOf(u, v);
         }
         
         return weight;
@@ -27,6 +27,7 @@ import java.util.Iterator;
 import java.util.Map;
 import java.util.Set;
 import java.util.TreeSet;
+import java.util.function.IntConsumer;
 
 /**
  * La coloración de grafos es un caso especial de etiquetas de grafos; es una
@@ -84,6 +85,13 @@ public class GreedyColoringAlgorithm<T> extends AbstractAlgorithm<Graph<T>>
         // Almacenar el color de los vértices adyacentes de "u"
         Set<Integer> available = new TreeSet<>();
         available.addAll(labels);
+        IntConsumer discard = i ->
+        {
+            if (result.get(i) != -1)
+            {
+                available.remove(result.get(i));
+            }
+        };
 
         // Asignar colores 
         while (it.hasNext())
@@ -92,13 +100,8 @@ public class GreedyColoringAlgorithm<T> extends AbstractAlgorithm<Graph<T>>
             int u = it.next();
             GraphIterator<T> ite = graph.iterator(u);
 
-            for (int i : ite.getAllAdjacentVertices())
-            {
-                if (result.get(i) != -1)
-                {
-                    available.remove(result.get(i));
-                }
-            }
+            ite.forEachInNeighbor(discard);
+            ite.forEachOutNeighbor(discard);
 
             // Encontrar el primer color disponible
             int cr = 0;
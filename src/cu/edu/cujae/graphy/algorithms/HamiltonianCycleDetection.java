@@ -21,6 +21,7 @@ package cu.edu.cujae.graphy.algorithms;
 import cu.edu.cujae.graphy.core.Graph;
 import cu.edu.cujae.graphy.core.iterators.GraphIterator;
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.LinkedList;
 import java.util.List;
 
@@ -39,6 +40,7 @@ public class HamiltonianCycleDetection<V> extends AbstractAlgorithm<List<Integer
 {
 
     private final Graph<V> graph;
+    private final BitSet onPath;
     private final int V;
     private final ArrayList<Integer> vertices;
 
@@ -48,6 +50,7 @@ public class HamiltonianCycleDetection<V> extends AbstractAlgorithm<List<Integer
 
         // Input parameters
         this.graph = graph;
+        this.onPath = new BitSet(graph.size());
         this.V = graph.size();
         this.vertices = new ArrayList<>(V);
     }
@@ -67,6 +70,10 @@ public class HamiltonianCycleDetection<V> extends AbstractAlgorithm<List<Integer
 
         // Add the vertex zero
         path.add(vertices.get(0));
+        if (vertices.get(0) >= 0)
+        {
+            onPath.set(vertices.get(0));
+        }
 
         // Start adding other vertices
         if (walk(path, 1) == false)
@@ -92,7 +99,7 @@ public class HamiltonianCycleDetection<V> extends AbstractAlgorithm<List<Integer
 
         // Check if the vertex has already been included
         // If not, return true, else, false
-        return !path.contains(v);
+        return !onPath.get(v);
     }
 
     private boolean walk(List<Integer> path, int pos)
@@ -108,6 +115,7 @@ public class HamiltonianCycleDetection<V> extends AbstractAlgorithm<List<Integer
                 if (isSafe(v, path, pos))
                 {
                     path.add(pos, v);
+                    onPath.set(v);
 
                     if (walk(path, pos + 1))
                     {
@@ -115,6 +123,7 @@ public class HamiltonianCycleDetection<V> extends AbstractAlgorithm<List<Integer
                     }
 
                     path.remove(pos);
+                    onPath.clear(v);
                 }
             }
         }
@@ -57,7 +57,7 @@ public class IsolatedVertices<V> extends AbstractAlgorithm<LinkedList<Integer>>
             {
                 dfs.next();
                 //Si no ha sido visitado y no tiene aristas dirigidas hacia él
-                if (!visited.contains(dfs.getLabel()) && dfs.getAdjacentVerticesArrivingSelf().isEmpty())
+                if (!visited.contains(dfs.getLabel()) && dfs.inDegree() == 0)
                 {
                     aislados.add(dfs.getLabel());
                     visited.add(dfs.getLabel());
@@ -72,7 +72,7 @@ public class IsolatedVertices<V> extends AbstractAlgorithm<LinkedList<Integer>>
             {
                 dfs.next();
                 //Si no ha sido visitado y no tiene aristas adyacentes
-                if (!visited.contains(dfs.getLabel()) && dfs.getAllAdjacentEdges().isEmpty())
+                if (!visited.contains(dfs.getLabel()) && dfs.inDegree() == 0 && dfs.outDegree() == 0)
                 {
                     aislados.add(dfs.getLabel());
                     visited.add(dfs.getLabel());
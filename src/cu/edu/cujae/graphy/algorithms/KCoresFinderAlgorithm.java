@@ -80,8 +80,7 @@ public class KCoresFinderAlgorithm<T> extends AbstractAlgorithm<Tuple<Tuple<Inte
         // Store degrees of all vertices
         for(int i: vertices)
         {
-            it.next(i);
-            vDegree.put(i, it.getAllAdjacentVertices().size());
+            vDegree.put(i, graph.degree(i));
             
             if(vDegree.get(i) < minDeg)
             {
@@ -115,13 +114,13 @@ public class KCoresFinderAlgorithm<T> extends AbstractAlgorithm<Tuple<Tuple<Inte
                 t.add(j);
                 
                 it.next(j);
-                for(int i: it.getAdjacentVerticesArrivingSelf())
+                it.forEachInNeighbor(i -> 
                 {
                     if(vDegree.get(i) >= k)
                     {
                         t.add(i);
                     }
-                }
+                });
                 result.add(t);
             }
         }
@@ -18,81 +18,26 @@
  */
 package cu.edu.cujae.graphy.algorithms;
 
-import cu.edu.cujae.graphy.core.Edge;
 import cu.edu.cujae.graphy.core.Graph;
-import cu.edu.cujae.graphy.core.iterators.GraphIterator;
-import java.util.ArrayList;
-import java.util.Map;
+import cu.edu.cujae.graphy.core.defaults.DefaultMultigraph;
+import cu.edu.cujae.graphy.core.properties.EdgeIndex;
 import java.util.Random;
-import java.util.TreeMap;
 
 /**
  * Given an undirected and unweighted graph, find the smallest cut (smallest number of edges that disconnects the graph
  * into two components). The input graph may have parallel edges.
+ * <p>
+ * Each run copies the graph into a {@link DefaultMultigraph} and contracts random edges on it until two vertices are
+ * left; the edges between them are the cut. Contracting an edge merges the edge arrays of its endpoints, keeping the
+ * parallel edges that appear and dropping the self loops.
  *
  * @author Javier Marrero
  */
 public class KargerMinimumCut extends AbstractAlgorithm<Integer>
 {
 
-    private static final class Subset
-    {
-
-        // A utility function to find set of an element i
-        // (uses path compression technique)
-        public static int find(Map<Integer, Subset> subsets, int i)
-        {
-            if (subsets.get(i).parent != i)
-            {
-                subsets.get(i).parent = find(subsets, subsets.get(i).parent);
-            }
-            return subsets.get(i).parent;
-        }
-
-        // A function that does union of two sets of x and y
-        // (uses union by rank)
-        public static void union(Map<Integer, Subset> subsets, int x, int y)
-        {
-            int xroot = find(subsets, x);
-            int yroot = find(subsets, y);
-
-            // Attach smaller rank tree under root of high
-            // rank tree (Union by Rank)
-            if (subsets.get(xroot).rank < subsets.get(yroot).rank)
-            {
-                subsets.get(xroot).parent = yroot;
-            }
-            else
-            {
-                if (subsets.get(xroot).rank > subsets.get(yroot).rank)
-                {
-                    subsets.get(yroot).parent = xroot;
-                }
-                // If ranks are same, then make one as root and
-                // increment its rank by one
-                else
-                {
-                    subsets.get(yroot).parent = xroot;
-                    subsets.get(xroot).rank++;
-                }
-            }
-        }
-
-        protected int rank;
-        protected int parent;
-
-        public Subset(int parent, int rank)
-        {
-            this.parent = parent;
-            this.rank = rank;
-        }
-    }
-
-    private final int E;
     private final Graph<?> G;
-    private final ArrayList<Edge> edge;
     private final Random random;
-    private final int V;
 
     public KargerMinimumCut(Graph<?> graph)
     {
@@ -109,73 +54,59 @@ public class KargerMinimumCut extends AbstractAlgorithm<Integer>
         // Initialize the class fields
         this.G = graph;
         this.random = new Random();
-        this.V = graph.size();
-
-        this.edge = new ArrayList<>(V * 2);
-        GraphIterator<?> dfsIterator = (GraphIterator<?>) graph.depthFirstSearchIterator(true);
-        while (dfsIterator.hasNext())
-        {
-            dfsIterator.next();
-            edge.addAll(dfsIterator.getEdgesDepartingSelf());
-        }
-
-        this.E = edge.size();
     }
 
     @Override
     public Algorithm<Integer> apply()
     {
-        // Allocate memory for the new subset
-        Map<Integer, Subset> subsets = new TreeMap<>();
+        DefaultMultigraph<Object> multigraph = copyGraph();
 
-        // Create V subsets with single elements
-        for (int v : G.getLabels())
+        // Keep contracting vertices until there are 2 vertices, or no edge is left if the graph is disconnected
+        while (multigraph.size() > 2 && multigraph.edgeCount() > 0)
         {
-            subsets.put(v, new Subset(v, 0));
+            // Pick a random edge and merge its endpoints
+            int e = multigraph.edgeAt(random.nextInt(multigraph.edgeCount()));
+            multigraph.contract(multigraph.sourceOf(e), multigraph.targetOf(e));
         }
 
-        // Initially, there are V vertices
-        int vertexCount = V;
+        // Now we have two vertices (or subsets) left in the contracted graph, and every edge left joins them
+        setResult(multigraph.edgeCount());
+        return this;
+    }
 
-        // Keep contracting vertices until there are
-        // 2 vertices.
-        while (vertexCount > 2)
+    private DefaultMultigraph<Object> copyGraph()
+    {
+        DefaultMultigraph<Object> multigraph = new DefaultMultigraph<>(false, false, G.size(), G.size() * 2);
+        for (int v : G.getLabels())
         {
-            // Pick a random edge
-            int i = random.nextInt(E);
-
-            // Find vertices (or sets) of two corners
-            // of current edge
-            int subset1 = Subset.find(subsets, edge.get(i).getStartNode().getLabel());
-            int subset2 = Subset.find(subsets, edge.get(i).getFinalNode().getLabel());
+            multigraph.add(v, null);
+        }
 
-            if (subset1 != subset2)
+        // Self loops are never cut, so they are left out
+        if (G instanceof DefaultMultigraph)
+        {
+            DefaultMultigraph<?> source = (DefaultMultigraph<?>) G;
+            for (int k = 0; k < source.edgeCount(); ++k)
             {
-                // System.out.println("Contracting edge " + edge.get(i).getStartNode().getLabel() + "-" + edge.get(i).
-                //        getFinalNode().getLabel());
-                vertexCount--;
-                Subset.union(subsets, subset1, subset2);
+                int e = source.edgeAt(k);
+                if (source.sourceOf(e) != source.targetOf(e))
+                {
+                    multigraph.addEdge(source.sourceOf(e), source.targetOf(e));
+                }
             }
         }
-
-        // Now we have two vertices (or subsets) left in
-        // the contracted graph, so count the edges between
-        // two components and return the count.
-        int cutedges = 0;
-        for (int i = 0; i < E; i++)
+        else
         {
-            int subset1 = Subset.find(subsets, edge.get(i).getStartNode().getLabel());
-            int subset2 = Subset.find(subsets, edge.get(i).getFinalNode().getLabel());
-
-            if (subset1 != subset2)
+            EdgeIndex edges = G.edgeIndex();
+            for (int e = 0; e < edges.size(); ++e)
             {
-                cutedges++;
+                if (edges.sourceOf(e) != edges.targetOf(e))
+                {
+                    multigraph.addEdge(edges.sourceOf(e), edges.targetOf(e));
+                }
             }
         }
-
-        // This is mandated by the interface
-        setResult(cutedges);
-        return this;
+        return multigraph;
     }
 
 }
@@ -25,6 +25,7 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.Queue;
+import java.util.function.IntConsumer;
 
 /**
  * En <i>teoría de grafos</i>, la <b>centralidad de Katz de un nodo</b> es una medida
@@ -75,27 +76,29 @@ public class KatzCentrality<V> extends AbstractAlgorithm<Integer>
             Queue<Integer> cola = new LinkedList<>();
             nivel.put(current, 0);
 
-            double centrality = 0;
+            double[] centrality = new double[1];
 
             while (nivel.size() != cantVertices)
             {
                 GraphIterator<V> iterat1 = graph.iterator(current);
-                for (Integer node : iterat1.getAllAdjacentVertices())
+                int newLevel = nivel.get(current) + 1;
+                IntConsumer visit = node ->
                 {
                     if (!nivel.containsKey(node))
                     {
-                        int newLevel = nivel.get(current) + 1;
-                        centrality += Math.pow(alpha, newLevel);
+                        centrality[0] += Math.pow(alpha, newLevel);
                         nivel.put(node, newLevel);
                         cola.add(node);
                     }
-                }
+                };
+                iterat1.forEachInNeighbor(visit);
+                iterat1.forEachOutNeighbor(visit);
                 if (!cola.isEmpty())
                 {
                     current = cola.poll();
                 }
             }
-            centralityValue.add(new Nodo(current, centrality));
+            centralityValue.add(new Nodo(current, centrality[0]));
         }
 
         Collections.sort(centralityValue, Collections.reverseOrder());
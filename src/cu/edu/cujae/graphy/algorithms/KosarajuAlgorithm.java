@@ -18,17 +18,15 @@
  */
 package cu.edu.cujae.graphy.algorithms;
 
-import cu.edu.cujae.graphy.core.Edge;
 import cu.edu.cujae.graphy.core.Graph;
+import cu.edu.cujae.graphy.core.iterators.DepthFirstTraversal;
+import cu.edu.cujae.graphy.core.iterators.DepthFirstTraversal.Direction;
+import cu.edu.cujae.graphy.core.iterators.DepthFirstTraversal.Event;
 import cu.edu.cujae.graphy.core.iterators.GraphIterator;
-import java.util.ArrayDeque;
-import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Set;
 import java.util.TreeSet;
-import java.util.logging.Level;
-import java.util.logging.Logger;
 
 /**
  * El <b>algoritmo de Kosaraju</b> está basado en <i>DFS</i> utilizado para encontrar
@@ -51,7 +49,6 @@ public class KosarajuAlgorithm<T> extends AbstractAlgorithm<List<Set<Integer>>>
 {
 
     private final Graph<T> graph;
-    private final GraphIterator<T> iter;
     private final int source;
 
     public KosarajuAlgorithm(Graph<T> graph, GraphIterator<T> v)
@@ -63,73 +60,56 @@ public class KosarajuAlgorithm<T> extends AbstractAlgorithm<List<Set<Integer>>>
                     "Attempted to apply Kosaraju algorithm to an undirected graph.");
         }
         this.graph = graph;
-        this.iter = (GraphIterator<T>) graph.depthFirstSearchIterator(v.getLabel(), false);
         this.source = v.getLabel();
     }
 
     @Override
     public Algorithm<List<Set<Integer>>> apply()
     {
-        //Paso 1: crear pila y realizar DFS al grafo, guardando sus labels.
-        ArrayDeque<Integer> stack = new ArrayDeque<>();
-        while (iter.hasNext())
+        //Paso 1: realizar DFS al grafo, guardando los labels en el orden en que terminan (post-orden).
+        DepthFirstTraversal forward = new DepthFirstTraversal(graph);
+        int[] finished = new int[graph.size()];
+        int count = 0;
+
+        forward.start(source);
+        for (Event event = forward.advance(); event != null; event = forward.advance())
         {
-            iter.next();
-            stack.push(iter.getLabel());
+            if (event == Event.POST_ORDER)
+            {
+                finished[count++] = forward.vertex();
+            }
         }
 
-        // System.out.println(stack);
-        try
+        //Paso 2: recorrer el grafo traspuesto siguiendo las aristas entrantes, sin copiar el grafo. Los vértices
+        //no alcanzados desde el origen se excluyen del recorrido.
+        DepthFirstTraversal backward = new DepthFirstTraversal(graph, Direction.IN);
+        for (int label : graph.getLabels())
         {
-            //Paso 2: obtener grafo traspuesto.
-            Graph<T> transposedGraph = graph.duplicate();
+            if (!forward.isDiscovered(label))
             {
-                Set<Edge> visitedEdges = new HashSet<>(graph.size());
-                for (int v : transposedGraph.getLabels())
-                {
-                    GraphIterator<T> it = (GraphIterator<T>) transposedGraph.iterator(v);
-                    for (Edge e : it.getEdgesDepartingSelf())
-                    {
-                        if (!visitedEdges.contains(e))
-                        {
-                            e.reverseApparentDirection();
-                            visitedEdges.add(e);
-                        }
-                        // System.out.println(e);
-                    }
-                }
+                backward.exclude(label);
             }
+        }
 
-            // System.out.println(transposedGraph);
-            //Paso 3: obtener SCC del vértice tomado como origen.
-            Set<Integer> visited = new TreeSet<>();
-            while (!stack.isEmpty())
+        //Paso 3: obtener las SCC en orden decreciente de terminación, cada árbol del recorrido es una SCC.
+        for (int i = count - 1; i >= 0; --i)
+        {
+            if (!backward.isDiscovered(finished[i]))
             {
-                int vlabel = stack.pop();
-                if (!visited.contains(vlabel))
-                {
-                    GraphIterator<T> v = (GraphIterator<T>) transposedGraph.depthFirstSearchIterator(vlabel, false);
-                    Set<Integer> scc = new TreeSet<>();
+                Set<Integer> scc = new TreeSet<>();
 
-                    while (v.hasNext())
+                backward.start(finished[i]);
+                for (Event event = backward.advance(); event != null; event = backward.advance())
+                {
+                    if (event == Event.PRE_ORDER)
                     {
-                        v.next();
-
-                        if (!visited.contains(v.getLabel()))
-                        {
-                            scc.add(v.getLabel());
-                        }
-                        visited.add(v.getLabel());
+                        scc.add(backward.vertex());
                     }
-
-                    getResult().add(scc);
                 }
+
+                getResult().add(scc);
             }
         }
-        catch (CloneNotSupportedException ex)
-        {
-            Logger.getLogger(KosarajuAlgorithm.class.getName()).log(Level.SEVERE, null, ex);
-        }
         return this;
     }
 
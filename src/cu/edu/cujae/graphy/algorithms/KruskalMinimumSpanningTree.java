@@ -69,20 +69,19 @@ public class KruskalMinimumSpanningTree<V> extends AbstractAlgorithm<WeightedGra
         while (iter.hasNext())
         {
             iter.next();
-            Collection<Edge> coll = iter.getAllAdjacentEdges();
-            for (Edge e : coll)
+            iter.forEachAdjacentEdge((u, v, e) ->
             {
                 if (!edges.contains(e))
                 {
                     edges.add(e);
                 }
-            }
+            });
         }
 
         //Sort all the edges in non-decreasing order of their weight
         Collections.sort(edges, (Edge e1, Edge e2) -> 
                  {
-                     return (Integer) e1.getWeight().getValue() - (Integer) e2.getWeight().getValue();
+                     return Double.compare(graph.edgeWeightAsDouble(e1), graph.edgeWeightAsDouble(e2));
                  });
 
         Collection<Integer> labels = graph.getLabels();
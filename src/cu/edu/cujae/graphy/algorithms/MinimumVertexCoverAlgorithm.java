@@ -26,6 +26,7 @@ import cu.edu.cujae.graphy.utils.Tuple;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.Set;
+import java.util.function.IntConsumer;
 
 /**
  * Algoritmo para resolve el problema de la cobertura del vértice.
@@ -55,24 +56,22 @@ public class MinimumVertexCoverAlgorithm<T> extends AbstractAlgorithm<Tuple<Inte
     @Override
     public Algorithm<Tuple<Integer>> apply() 
     {
-        GraphIterator<?> it;
-        
         // Consider all edges one by one 
         for(int u: graph.getLabels())
         {
             if(!visited.contains(u))
             {
-                it = graph.iterator(u);
-                for(int i : it.getAllAdjacentVertices())
+                GraphIterator<?> it = graph.iterator(u);
+                IntConsumer cover = v ->
                 {
-                    int v = it.getLabel();
-                    if(!visited.contains(v))
+                    if(!visited.contains(u) && !visited.contains(v))
                     {
                         visited.add(v);
                         visited.add(u);
-                        break;
                     }
-                } 
+                };
+                it.forEachInNeighbor(cover);
+                it.forEachOutNeighbor(cover);
             }
         }
         
@@ -57,8 +57,8 @@ public class PrimMinimalTree<T> extends AbstractAlgorithm<WeightedGraph<T>>
         GraphIterator<T> iterator = graph.iterator(0);
 
         Set<T> addedNodes = new HashSet<>();
-        PriorityQueue<Edge> queue = new PriorityQueue<>((Edge a, Edge b) -> Integer.compare((Integer) a.getWeight().
-                getValue(), (Integer) b.getWeight().getValue()));
+        PriorityQueue<Edge> queue = new PriorityQueue<>((Edge a, Edge b) -> Double.compare(graph.edgeWeightAsDouble(a),
+                                                                                          graph.edgeWeightAsDouble(b)));
 
         for (int i = 0; i < graph.size() - 1; i++)
         {
@@ -18,26 +18,18 @@
  */
 package cu.edu.cujae.graphy.algorithms;
 
-import cu.edu.cujae.graphy.core.Edge;
 import cu.edu.cujae.graphy.core.Graph;
 import cu.edu.cujae.graphy.core.iterators.GraphIterator;
+import cu.edu.cujae.graphy.core.iterators.ParallelBreadthFirstSearch;
 import cu.edu.cujae.graphy.utils.HashTuple;
 import cu.edu.cujae.graphy.utils.Tuple;
-import static java.lang.Boolean.FALSE;
-import static java.lang.Boolean.TRUE;
-import java.util.ArrayDeque;
-import java.util.HashMap;
-import java.util.HashSet;
-import java.util.Map;
-import java.util.Queue;
-import java.util.Set;
-import java.util.Stack;
-import java.util.TreeMap;
-import java.util.Vector;
 
 /**
  * Dado un grafo no dirigido G(V,E) con N vértices y M aristas, se encuentra el 
  * número mínimo de aristas ente un par dado de vértices (u,v).
+ * <p>
+ * El recorrido por niveles usa una búsqueda en anchura que expande cada nivel en
+ * paralelo, por lo que en grafos grandes aprovecha todos los núcleos disponibles.
  * 
  * @author Amanda Mendez
  * @param<T>
@@ -45,90 +37,41 @@ import java.util.Vector;
 public class ShortestPathUnweightedGraph<T> extends AbstractAlgorithm<Tuple<Integer>>
 {
     private final Tuple<Integer> path; 
-    private final Graph<T> graph;
+    private final ParallelBreadthFirstSearch search;
     private final GraphIterator<T> itU;
     private final GraphIterator<T> itV;
-    private final Map<Integer, Integer> parents;
-    private final int[] vertices;
-    private final  Map<Integer,Integer> distances;
-    private int u;
-    private int v;
     
     public ShortestPathUnweightedGraph(Graph<T> graph,GraphIterator<T> itU,GraphIterator<T> itV)
     {
-         super(new HashTuple());
+         super(new HashTuple<>());
          
          // Initialize fields 
-         this.path = new HashTuple();
-         this.graph = graph;
+         this.path = new HashTuple<>();
+         this.search = new ParallelBreadthFirstSearch(graph);
          this.itU = itU;
          this.itV = itV;
-         this.vertices = new int[graph.size()];
-         this.distances = new HashMap<>();
-         this.parents = new TreeMap<>();
-         this.u = 0;
-         this.v = 0;
-         
-        // Get vertex
-        int i = 0;
-
-        GraphIterator<T> dfs = (GraphIterator<T>) graph.depthFirstSearchIterator(false);
-        while (dfs.hasNext())
-        {
-            dfs.next();
-            vertices[i++] = dfs.getLabel();
-        }
-        
-         // Initialize distances as 0
-         for (int e : vertices)
-        {
-            distances.put(v, 0);
-            parents.put(v, null);
-        }
     }
 
     @Override
     public Algorithm<Tuple<Integer>> apply() 
     {
-        // Keep track of visited
-        Set<Integer> visited = new HashSet<>();
-        
-        // Queue
-        Queue<Integer> queue = new ArrayDeque<>();
-        u = (int) itU.next();
-        queue.add(u);
-        visited.add(u);
-        
-        while(!queue.isEmpty())
-        {
-            int q = queue.poll();
-            GraphIterator<T> it = graph.iterator(q);
-            
-            for(int e : it.getAllAdjacentVertices())
-            {
-                if(visited.contains(e))
-                {
-                   // Update distance for i
-                    distances.put(e, distances.get(q) + 1);
-                    parents.put(e, q);
-                    queue.add(e);
-                    visited.add(e);
-                }
-            }
-        }
+        int u = itU.getLabel();
+        int v = itV.getLabel();
         
-        Stack<Integer> stack = new Stack<Integer>();
-        int k = v; 
-        while(parents.get(k) != null)
+        // Recorrer por niveles desde u, deteniéndose en el nivel que alcanza a v
+        search.start(u);
+        while (!search.isReached(v) && search.step())
         {
-            stack.push(parents.get(k));
+            // Cada paso expande un nivel
         }
         
-        while(!stack.isEmpty())
+        // Reconstruir el camino siguiendo los padres desde v hasta u
+        for (int w : search.pathTo(v))
         {
-            path.add(stack.pop());
+            path.add(w);
         }
         path.freeze();
+        setResult(path);
         
        return this;
     }
@@ -54,7 +54,7 @@ public class TreeDetection<V> extends AbstractAlgorithm<Boolean>
             int node = dfs.getLabel();
 
             /*Verificar si ya se ha visitado ese nodo antes o si a ese nodo entra más de una arista*/
-            if (visited.contains(node) || dfs.getEdgesArrivingSelf().size() > 1)
+            if (visited.contains(node) || dfs.inDegree() > 1)
             {
                 setResult(Boolean.FALSE);
                 stop = true;
@@ -0,0 +1,73 @@
+/*
+ * Copyright (C) 2022 CUJAE.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+package cu.edu.cujae.graphy.algorithms;
+
+import cu.edu.cujae.graphy.core.Graph;
+
+/**
+ * Counts the triangles of a graph, that is, the sets of three vertices adjacent to each other. Directed graphs are
+ * treated as their underlying undirected graph.
+ * <p>
+ * Every triangle is found from its edge joining the two vertices with the smallest labels, as a common neighbor
+ * reported by {@link Graph#intersectNeighbors(int, int, java.util.function.IntConsumer)} with a larger label than
+ * both. The neighbors of each vertex are listed by intersecting it with itself, so edges joining the same vertices in
+ * both directions are visited once.
+ *
+ * @author Javier Marrero
+ * @param <T>
+ */
+public class TriangleCounting<T> extends AbstractAlgorithm<Long>
+{
+
+    private final Graph<T> graph;
+
+    public TriangleCounting(Graph<T> graph)
+    {
+        super(0L);
+        this.graph = graph;
+    }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public Algorithm<Long> apply()
+    {
+        long[] count = new long[1];
+        for (int u : graph.getLabels())
+        {
+            graph.intersectNeighbors(u, u, v ->
+            {
+                if (v > u)
+                {
+                    graph.intersectNeighbors(u, v, w ->
+                    {
+                        if (w > v)
+                        {
+                            ++count[0];
+                        }
+                    });
+                }
+            });
+        }
+        setResult(count[0]);
+        return this;
+    }
+
+}
@@ -0,0 +1,42 @@
+/*
+ * Copyright (C) 2022 CUJAE.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+package cu.edu.cujae.graphy.core;
+
+/**
+ * A callback used to walk over the edges of a {@link Node} without copying the node's internal containers. The edge
+ * is reported along with the labels of its departing and arrival nodes, so the most common traversals do not need to
+ * touch the {@link Node} objects at all.
+ * <p>
+ * Visitors must not modify the structure of the graph while being called.
+ *
+ * @author Javier Marrero
+ */
+@FunctionalInterface
+public interface EdgeVisitor
+{
+
+    /**
+     * Called once for every visited edge.
+     *
+     * @param u    the label of the departing node of the edge.
+     * @param v    the label of the arrival node of the edge.
+     * @param edge the visited {@link Edge}.
+     */
+    public void visit(int u, int v, Edge edge);
+}
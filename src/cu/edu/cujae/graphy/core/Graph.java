@@ -18,9 +18,18 @@
  */
 package cu.edu.cujae.graphy.core;
 
+import cu.edu.cujae.graphy.core.iterators.DirectionOptimizingSearch;
 import cu.edu.cujae.graphy.core.iterators.GraphIterator;
+import cu.edu.cujae.graphy.core.iterators.ParallelBreadthFirstSearch;
+import cu.edu.cujae.graphy.core.iterators.TraversalContext;
+import cu.edu.cujae.graphy.core.properties.DoubleVertexProperty;
+import cu.edu.cujae.graphy.core.properties.EdgeIndex;
+import cu.edu.cujae.graphy.core.properties.IntVertexProperty;
+import cu.edu.cujae.graphy.core.properties.MarkVertexProperty;
+import cu.edu.cujae.graphy.core.properties.ObjectVertexProperty;
 import java.util.Collection;
 import java.util.Iterator;
+import java.util.function.IntConsumer;
 
 /**
  * The <code>Graph</code> interface represents a graph as an abstract
@@ -86,6 +95,36 @@ public interface Graph<T> extends Iterable<T>, Collection<T>
      */
     public Iterator<T> breadthFirstSearchIterator(int v, boolean includeDisconnected);
 
+    /**
+     * Returns a BFS iterator to the selected node. The traversal advances as vertices are requested, so a caller that
+     * stops early only pays for the vertices it has seen. Only when <code>backtracking</code> is true does the iterator
+     * record the vertices it returns, which {@link GraphIterator#back()} needs to step back over them. The graph must
+     * not be structurally modified while the traversal is in progress.
+     *
+     * @param v                   the label of the node.
+     * @param includeDisconnected
+     * @param backtracking        true if the iterator must support {@link GraphIterator#back()}.
+     *
+     * @return a {@link Iterator} instance.
+     */
+    public Iterator<T> breadthFirstSearchIterator(int v, boolean includeDisconnected, boolean backtracking);
+
+    /**
+     * Returns a BFS iterator to the selected node that keeps its visited marks and frontier in the given context
+     * instead of allocating them, so that repeated traversals reusing a context allocate nothing once its buffers have
+     * grown. The context must not serve another traversal until this one is done with it. The iterator does not
+     * support {@link GraphIterator#back()}.
+     *
+     * @param v                   the label of the node.
+     * @param includeDisconnected
+     * @param context
+     *
+     * @return a {@link Iterator} instance.
+     *
+     * @see TraversalContext#acquire()
+     */
+    public Iterator<T> breadthFirstSearchIterator(int v, boolean includeDisconnected, TraversalContext context);
+
     /**
      * Returns a BFS iterator to a random node in the graph.
      *
@@ -122,6 +161,24 @@ public interface Graph<T> extends Iterable<T>, Collection<T>
      */
     public boolean connect(Node<T> u, Node<T> v);
 
+    /**
+     * Returns the number of edges departing from or arriving to the vertex, as {@link Node#degree()} does. Self loops
+     * are counted twice.
+     *
+     * @param u
+     *
+     * @return
+     */
+    public int degree(int u);
+
+    /**
+     * Returns the degree distribution of this graph: the element <i>d</i> of the returned array is the number of
+     * vertices whose {@link #degree(int)} is <i>d</i>, and the length of the array is one more than the maximum degree.
+     *
+     * @return
+     */
+    public int[] degreeHistogram();
+
     /**
      * Generates an iterator that performs a depth first search.Depth first traversal for a graph is similar to depth
      * first traversal of a tree, the only catch being that, unlike trees, graphs may contain cycles (a node may be
@@ -152,6 +209,38 @@ public interface Graph<T> extends Iterable<T>, Collection<T>
      */
     public Iterator<T> depthFirstSearchIterator(int v, boolean includeDisconnected);
 
+    /**
+     * Returns a DFS iterator to the selected node. The traversal keeps an explicit stack instead of recursing, so it
+     * handles paths of any length, and advances as vertices are requested. Only when <code>backtracking</code> is true
+     * does the iterator record the vertices it returns, which {@link GraphIterator#back()} needs to step back over
+     * them. The graph must not be structurally modified while the traversal is in progress.
+     *
+     * @param v                   the label of the node.
+     * @param includeDisconnected
+     * @param backtracking        true if the iterator must support {@link GraphIterator#back()}.
+     *
+     * @return a {@link Iterator} instance.
+     *
+     * @see cu.edu.cujae.graphy.core.iterators.DepthFirstTraversal
+     */
+    public Iterator<T> depthFirstSearchIterator(int v, boolean includeDisconnected, boolean backtracking);
+
+    /**
+     * Returns a DFS iterator to the selected node that keeps its marks and stack in the given context instead of
+     * allocating them, so that repeated traversals reusing a context allocate nothing once its buffers have grown. The
+     * context must not serve another traversal until this one is done with it. The iterator does not support
+     * {@link GraphIterator#back()}.
+     *
+     * @param v                   the label of the node.
+     * @param includeDisconnected
+     * @param context
+     *
+     * @return a {@link Iterator} instance.
+     *
+     * @see TraversalContext#acquire()
+     */
+    public Iterator<T> depthFirstSearchIterator(int v, boolean includeDisconnected, TraversalContext context);
+
     /**
      * Generates an iterator that performs a depth first search, grabbing a random node as the root.
      *
@@ -162,6 +251,21 @@ public interface Graph<T> extends Iterable<T>, Collection<T>
      */
     public Iterator<T> depthFirstSearchIterator(boolean includeDisconnected);
 
+    /**
+     * Returns an iterator over the vertices reachable from the selected node in breadth-first order, level by level,
+     * driven by a {@link DirectionOptimizingSearch}: every level is expanded either top-down or bottom-up, whichever
+     * checks fewer edges, which makes the traversal several times faster on graphs of low diameter. Within a level
+     * the vertices may come in a different order than from {@link #breadthFirstSearchIterator(int, boolean)}. The
+     * levels are expanded as vertices are requested. The iterator does not support {@link GraphIterator#back()}.
+     *
+     * @param v                   the label of the node.
+     * @param includeDisconnected
+     * @param parallel            true to expand the levels that go bottom-up in parallel.
+     *
+     * @return a {@link Iterator} instance.
+     */
+    public Iterator<T> directionOptimizingSearchIterator(int v, boolean includeDisconnected, boolean parallel);
+
     /**
      * Disconnects the {@link Edge} passed as argument.
      *
@@ -199,6 +303,21 @@ public interface Graph<T> extends Iterable<T>, Collection<T>
      */
     public Graph<T> duplicate() throws CloneNotSupportedException;
 
+    /**
+     * Returns the number of edges of this graph. Every undirected edge is counted once.
+     *
+     * @return
+     */
+    public int edgeCount();
+
+    /**
+     * Numbers the edges this graph has now with dense identifiers. Edge properties built from the index keep per-edge
+     * state in primitive arrays, so algorithms do not have to modify or copy the graph to annotate its edges.
+     *
+     * @return a new {@link EdgeIndex}
+     */
+    public EdgeIndex edgeIndex();
+
     /**
      * Tests if exists and {@link Edge} <code>e</code> such that there's a connection between nodes <code>u</code> and
      * <code>v</code> where <b>u</b> is the departing node and <b>v</b> is the arrival node.
@@ -210,6 +329,46 @@ public interface Graph<T> extends Iterable<T>, Collection<T>
      */
     public boolean existsEdgeWithDirection(int u, int v);
 
+    /**
+     * Calls the visitor for every edge arriving to the node with label <code>u</code>, reading the adjacency structure
+     * directly instead of copying it.
+     *
+     * @see Node#forEachInEdge(cu.edu.cujae.graphy.core.EdgeVisitor)
+     * @param u
+     * @param visitor
+     */
+    public void forEachInEdge(int u, EdgeVisitor visitor);
+
+    /**
+     * Calls the action with the label of every vertex having an edge that arrives to the node with label
+     * <code>u</code>.
+     *
+     * @see Node#forEachInNeighbor(java.util.function.IntConsumer)
+     * @param u
+     * @param action
+     */
+    public void forEachInNeighbor(int u, IntConsumer action);
+
+    /**
+     * Calls the visitor for every edge departing the node with label <code>u</code>, reading the adjacency structure
+     * directly instead of copying it.
+     *
+     * @see Node#forEachOutEdge(cu.edu.cujae.graphy.core.EdgeVisitor)
+     * @param u
+     * @param visitor
+     */
+    public void forEachOutEdge(int u, EdgeVisitor visitor);
+
+    /**
+     * Calls the action with the label of every vertex reachable through an edge departing the node with label
+     * <code>u</code>.
+     *
+     * @see Node#forEachOutNeighbor(java.util.function.IntConsumer)
+     * @param u
+     * @param action
+     */
+    public void forEachOutNeighbor(int u, IntConsumer action);
+
     /**
      * Returns all the node labels of this graph.
      *
@@ -217,6 +376,32 @@ public interface Graph<T> extends Iterable<T>, Collection<T>
      */
     public Collection<Integer> getLabels();
 
+    /**
+     * Returns the number of edges arriving to the vertex.
+     *
+     * @param u
+     *
+     * @return
+     *
+     * @see Node#inDegree()
+     */
+    public int inDegree(int u);
+
+    /**
+     * Performs the action on the label of every vertex adjacent to both <code>u</code> and <code>v</code>, in either
+     * direction, once per vertex. This is the building block of triangle counting and clique enumeration: the common
+     * neighbors are found by merging the adjacencies of both vertices as sorted arrays, galloping through the longest
+     * one when their degrees differ widely, instead of intersecting boxed collections.
+     *
+     * @param u
+     * @param v
+     * @param action
+     *
+     * @see cu.edu.cujae.graphy.core.defaults.CompressedSparseRowGraph#CompressedSparseRowGraph(cu.edu.cujae.graphy.core.Graph,
+     * boolean)
+     */
+    public void intersectNeighbors(int u, int v, IntConsumer action);
+
     /**
      * Returns if the graph is a directed graph or not.
      *
@@ -272,6 +457,68 @@ public interface Graph<T> extends Iterable<T>, Collection<T>
      */
     public GraphIterator<T> iterator(int v);
 
+    /**
+     * Returns a new property holding one <code>double</code> per vertex of this graph, stored in a primitive array
+     * indexed by the dense index of each vertex. Every vertex reads <code>defaultValue</code> until it is set.
+     *
+     * @param defaultValue
+     *
+     * @return a new {@link DoubleVertexProperty}
+     */
+    public DoubleVertexProperty newDoubleVertexProperty(double defaultValue);
+
+    /**
+     * Returns a new property holding one <code>int</code> per vertex of this graph, stored in a primitive array indexed
+     * by the dense index of each vertex. Every vertex reads <code>defaultValue</code> until it is set.
+     *
+     * @param defaultValue
+     *
+     * @return a new {@link IntVertexProperty}
+     */
+    public IntVertexProperty newIntVertexProperty(int defaultValue);
+
+    /**
+     * Returns a new property holding a small mark per vertex of this graph, which {@link MarkVertexProperty#clear()}
+     * resets in constant time. Every vertex is unmarked until it is set.
+     *
+     * @return a new {@link MarkVertexProperty}
+     */
+    public MarkVertexProperty newMarkVertexProperty();
+
+    /**
+     * Returns a new property holding one object per vertex of this graph, stored in an array indexed by the dense
+     * index of each vertex. Every vertex reads <code>defaultValue</code> until it is set.
+     *
+     * @param <V>
+     * @param defaultValue
+     *
+     * @return a new {@link ObjectVertexProperty}
+     */
+    public <V> ObjectVertexProperty<V> newObjectVertexProperty(V defaultValue);
+
+    /**
+     * Returns the number of edges departing from the vertex.
+     *
+     * @param u
+     *
+     * @return
+     *
+     * @see Node#outDegree()
+     */
+    public int outDegree(int u);
+
+    /**
+     * Runs a breadth-first search from the selected node that expands every level in parallel on the common
+     * {@link java.util.concurrent.ForkJoinPool}, and returns it finished. The level and the parent of every vertex are
+     * read from the search, either one at a time or as vertex properties; the same search may be started again from
+     * other nodes of this graph.
+     *
+     * @param v the label of the node.
+     *
+     * @return a finished {@link ParallelBreadthFirstSearch}.
+     */
+    public ParallelBreadthFirstSearch parallelBreadthFirstSearch(int v);
+
     /**
      * Similar to the <code>iterator()</code> method but it guarantees a random access iterator to some randomly
      * selected node.
@@ -308,6 +555,17 @@ public interface Graph<T> extends Iterable<T>, Collection<T>
      */
     public T removeAt(int u);
 
+    /**
+     * Removes several vertices, along with every edge departing from or arriving to them. Every label is checked
+     * before any vertex is removed, so either all of them are removed or none is. Repeated labels are removed once.
+     *
+     * @param labels the labels of the vertices to remove.
+     *
+     * @throws cu.edu.cujae.graphy.core.exceptions.InvalidOperationException if some vertex does not belong to this
+     *                                                                        graph.
+     */
+    public void removeVertices(int... labels);
+
     /**
      * Reverses this graph's edges.If an edge was (u, v) then after this will be (v, u). Weights are preserved.
      */
@@ -320,4 +578,25 @@ public interface Graph<T> extends Iterable<T>, Collection<T>
      */
     public int size();
 
+    /**
+     * Returns an immutable view of the graph as it is at the moment of the call. Later changes to this graph are not
+     * reflected in the snapshot, so long running algorithms may walk it while other code keeps modifying the graph.
+     * <p>
+     * A snapshot is an ordinary object: it is reclaimed as soon as no reader holds a reference to it. Implementations
+     * are free to return the same snapshot from successive calls as long as the graph has not been modified in
+     * between; immutable graphs usually return themselves.
+     *
+     * @return an immutable graph holding the vertices and edges of this graph.
+     */
+    public Graph<T> snapshot();
+
+    /**
+     * Returns a read-only view of this graph with the direction of every edge reversed: the departing edges of a node
+     * in the view are the arriving edges of the node in this graph, and the other way around. Unlike
+     * {@link #reverse()}, this graph is left untouched and, in general, nothing is copied.
+     *
+     * @return the transpose of this graph.
+     */
+    public Graph<T> transposedView();
+
 }
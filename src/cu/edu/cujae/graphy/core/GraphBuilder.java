@@ -29,6 +29,61 @@ package cu.edu.cujae.graphy.core;
 public interface GraphBuilder<T>
 {
 
+    /**
+     * Adds, in bulk, an unweighted edge from <code>source[i]</code> to <code>target[i]</code> for every position of the
+     * arrays. The per-node structures are sized once for all the new edges and the per-edge validation of
+     * {@link Graph#connect(int, int)} is skipped. Must be called after {@link #directed(boolean)}.
+     *
+     * @param source
+     * @param target
+     *
+     * @return a reference to this builder
+     *
+     * @throws UnsupportedOperationException if the graph being built is weighted.
+     */
+    GraphBuilder<T> addEdges(int[] source, int[] target);
+
+    /**
+     * Adds, in bulk, an edge from <code>source[i]</code> to <code>target[i]</code> weighted <code>weights[i]</code>
+     * for every position of the arrays. Weights are stored as {@link Double} values.
+     *
+     * @param source
+     * @param target
+     * @param weights
+     *
+     * @return a reference to this builder
+     *
+     * @throws UnsupportedOperationException if the graph being built is not weighted.
+     * @see #addEdges(int[], int[])
+     */
+    GraphBuilder<T> addEdges(int[] source, int[] target, double[] weights);
+
+    /**
+     * Adds, in bulk, an edge from <code>source[i]</code> to <code>target[i]</code> weighted <code>weights[i]</code>
+     * for every position of the arrays. Weights are stored as {@link Integer} values.
+     *
+     * @param source
+     * @param target
+     * @param weights
+     *
+     * @return a reference to this builder
+     *
+     * @throws UnsupportedOperationException if the graph being built is not weighted.
+     * @see #addEdges(int[], int[])
+     */
+    GraphBuilder<T> addEdges(int[] source, int[] target, int[] weights);
+
+    /**
+     * Adds <code>count</code> vertices holding no data to the graph. Labels are allocated as
+     * {@link Graph#add(java.lang.Object)} does, so on a new graph the vertices are labeled from 0 to
+     * <code>count - 1</code>.
+     *
+     * @param count
+     *
+     * @return a reference to this builder
+     */
+    GraphBuilder<T> addVertices(int count);
+
     /**
      * Constructs a new instance of an object that implements the {@link Graph} interface.
      *
@@ -45,6 +100,16 @@ public interface GraphBuilder<T>
      */
     GraphBuilder<T> directed(boolean directed);
 
+    /**
+     * Hints the number of connections each vertex is expected to have, so the structures of the vertices added from
+     * now on are sized accordingly.
+     *
+     * @param degree
+     *
+     * @return a reference to this builder
+     */
+    GraphBuilder<T> expectedDegree(int degree);
+
     /**
      * Returns the previously built graph.
      *
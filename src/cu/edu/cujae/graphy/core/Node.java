@@ -22,6 +22,7 @@ import cu.edu.cujae.graphy.core.exceptions.InvalidKeyException;
 import java.util.Collection;
 import java.util.Map;
 import java.util.Set;
+import java.util.function.IntConsumer;
 
 /**
  * This interface represents <i>nodes</i> or <i>vertices</i> in a graph.
@@ -63,6 +64,40 @@ public interface Node<T> extends Cloneable
      */
     public void disconnect();
 
+    /**
+     * Calls the visitor for every edge that has this node as the destination node. Unlike
+     * {@link #getEdgesArrivingSelf()}, this method reads the node's internal container directly and does not copy
+     * it. The visitor must not modify the structure of the graph.
+     *
+     * @param visitor
+     */
+    public void forEachInEdge(EdgeVisitor visitor);
+
+    /**
+     * Calls the action with the label of every vertex that is the departing node of an edge arriving to this node.
+     * No intermediate collection is created.
+     *
+     * @param action
+     */
+    public void forEachInNeighbor(IntConsumer action);
+
+    /**
+     * Calls the visitor for every edge departing this node. Unlike {@link #getEdgesDepartingSelf()}, this method reads
+     * the node's internal container directly and does not copy it. The visitor must not modify the structure of the
+     * graph.
+     *
+     * @param visitor
+     */
+    public void forEachOutEdge(EdgeVisitor visitor);
+
+    /**
+     * Calls the action with the label of every vertex that can be reached through an edge departing this node. No
+     * intermediate collection is created.
+     *
+     * @param action
+     */
+    public void forEachOutNeighbor(IntConsumer action);
+
     /**
      * Returns the data this node holds.
      *
@@ -146,6 +181,13 @@ public interface Node<T> extends Cloneable
      */
     public Map<Object, Object> getNodeAttributes();
 
+    /**
+     * Returns the number of edges that have this node as the destination node.
+     *
+     * @return
+     */
+    public int inDegree();
+
     /**
      * Returns true if this node is adjacent to another node in a graph.
      *
@@ -173,6 +215,13 @@ public interface Node<T> extends Cloneable
      */
     public boolean isAdjacentAndDeparting(Node<T> v);
 
+    /**
+     * Returns the number of edges departing this node.
+     *
+     * @return
+     */
+    public int outDegree();
+
     /**
      * Removes the attribute of this node labeled 'key'.
      *
@@ -18,6 +18,8 @@
  */
 package cu.edu.cujae.graphy.core;
 
+import cu.edu.cujae.graphy.core.exceptions.InvalidOperationException;
+
 /**
  * A <i>weighted graph</i> is a {@link Graph} in which each branch is given a numerical weight.A weighted graph is
  * therefore a special type of labeled graph. Weighted graphs are implemented in this library by adding a special
@@ -52,4 +54,30 @@ public interface WeightedGraph<T> extends Graph<T>
      * @return true if the connection was possible, false otherwise.
      */
     public boolean connect(Node<T> u, Node<T> v, Weight<?> w);
+
+    /**
+     * Returns the weight of the edge passed as argument as a primitive <code>double</code>. Implementations that store
+     * weights as primitive values answer this without allocating, so this method is preferred over unboxing
+     * <code>e.getWeight().getValue()</code> in the inner loops of algorithms.
+     *
+     * @param e
+     *
+     * @return the weight of the edge.
+     *
+     * @throws IllegalArgumentException if the edge is not weighted.
+     */
+    public double edgeWeightAsDouble(Edge e);
+
+    /**
+     * Returns the weight of the edge connecting <code>u</code> and <code>v</code> as a primitive <code>double</code>.
+     * On undirected graphs the order of the vertices does not matter.
+     *
+     * @param u
+     * @param v
+     *
+     * @return the weight of the edge <code>(u, v)</code>.
+     *
+     * @throws InvalidOperationException if the vertices are not adjacent.
+     */
+    public double weightOf(int u, int v);
 }
@@ -0,0 +1,1324 @@
+/*
+ * Copyright (C) 2022 CUJAE.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+package cu.edu.cujae.graphy.core.abstractions;
+
+import cu.edu.cujae.graphy.core.Edge;
+import cu.edu.cujae.graphy.core.EdgeFactory;
+import cu.edu.cujae.graphy.core.EdgeVisitor;
+import cu.edu.cujae.graphy.core.Graph;
+import cu.edu.cujae.graphy.core.Node;
+import cu.edu.cujae.graphy.core.Weight;
+import cu.edu.cujae.graphy.core.WeightedGraph;
+import cu.edu.cujae.graphy.core.defaults.DefaultGraphBuilder;
+import cu.edu.cujae.graphy.core.defaults.DefaultWeightedGraphBuilder;
+import cu.edu.cujae.graphy.core.exceptions.InvalidKeyException;
+import cu.edu.cujae.graphy.core.exceptions.InvalidOperationException;
+import cu.edu.cujae.graphy.core.utility.Weights;
+import java.util.*;
+import java.util.function.IntConsumer;
+
+/**
+ * Base class for immutable graphs stored in <i>compressed sparse row</i> (CSR) format.
+ * <p>
+ * Vertices are identified by dense indices in the range <code>[0, size())</code>. The successors of the vertex with
+ * index <i>i</i> are the targets of the edges with identifiers <code>outOffset(i) .. outOffset(i + 1)</code>, and its
+ * predecessors are described the same way by <code>inOffset</code>, <code>inSource</code> and <code>inEdge</code>,
+ * which refer back to the identifiers of the successor arrays. Subclasses decide where those arrays live (on the heap
+ * or in mapped files) and only have to provide the accessors; this class supplies the lightweight {@link Node} and
+ * {@link Edge} views, the traversal methods and the rejection of every structural modification.
+ *
+ * @author Javier Marrero
+ * @param <T>
+ */
+public abstract class AbstractCompressedGraph<T> extends AbstractGraph<T> implements WeightedGraph<T>
+{
+
+    private class CsrEdge implements Edge
+    {
+
+        private final int id;
+        private final int source;
+
+        public CsrEdge(int source, int id)
+        {
+            this.id = id;
+            this.source = source;
+        }
+
+        @Override
+        public boolean equals(Object obj)
+        {
+            if (obj instanceof Edge)
+            {
+                Edge rhs = (Edge) obj;
+                if (isDirected())
+                {
+                    return getStartNode().equals(rhs.getStartNode()) && getFinalNode().equals(rhs.getFinalNode());
+                }
+                else
+                {
+                    return (getStartNode().equals(rhs.getStartNode()) || getStartNode().equals(rhs.getFinalNode()))
+                                   && (getFinalNode().equals(rhs.getStartNode()) || getFinalNode().equals(rhs.
+                                       getFinalNode()));
+                }
+            }
+            throw new IllegalArgumentException("attempted to compare an edge to something that is not an edge.");
+        }
+
+        @Override
+        public Node<?> getFinalNode()
+        {
+            return new CsrNode(outTarget(id));
+        }
+
+        @Override
+        public Object getLabel()
+        {
+            return edgeLabelAt(id);
+        }
+
+        @Override
+        public Node<?> getStartNode()
+        {
+            return new CsrNode(source);
+        }
+
+        @Override
+        public Weight<?> getWeight()
+        {
+            return weightOfEdge(id);
+        }
+
+        @Override
+        public int hashCode()
+        {
+            return labelAt(source) + labelAt(outTarget(id));
+        }
+
+        @Override
+        public boolean isDirected()
+        {
+            return AbstractCompressedGraph.this.isDirected();
+        }
+
+        @Override
+        public boolean isLabeled()
+        {
+            return getLabel() != null;
+        }
+
+        @Override
+        public boolean isWeighted()
+        {
+            return isEdgeWeighted(id);
+        }
+
+        @Override
+        public void reverseApparentDirection()
+        {
+            throw new UnsupportedOperationException("This graph instance is immutable.");
+        }
+
+        @Override
+        public void setLabel(Object label)
+        {
+            throw new UnsupportedOperationException("This graph instance is immutable.");
+        }
+
+        @Override
+        public void setWeight(Weight<?> weight)
+        {
+            throw new UnsupportedOperationException("This graph instance is immutable.");
+        }
+
+        @Override
+        public String toString()
+        {
+            return "(" + labelAt(source) + " -> " + labelAt(outTarget(id)) + ")";
+        }
+
+        private AbstractCompressedGraph<T> graph()
+        {
+            return AbstractCompressedGraph.this;
+        }
+
+    }
+
+    private class CsrEdgeSet extends AbstractSet<Edge>
+    {
+
+        private final boolean arriving;
+        private final int index;
+
+        public CsrEdgeSet(int index, boolean arriving)
+        {
+            this.arriving = arriving;
+            this.index = index;
+        }
+
+        @Override
+        public Iterator<Edge> iterator()
+        {
+            return new Iterator<Edge>()
+            {
+                private int k = arriving ? inOffset(index) : outOffset(index);
+                private final int end = arriving ? inOffset(index + 1) : outOffset(index + 1);
+
+                @Override
+                public boolean hasNext()
+                {
+                    return k < end;
+                }
+
+                @Override
+                public Edge next()
+                {
+                    if (k >= end)
+                    {
+                        throw new NoSuchElementException();
+                    }
+                    int position = k++;
+                    return arriving ? new CsrEdge(inSource(position), inEdge(position)) : new CsrEdge(index,
+                                                                                                         position);
+                }
+            };
+        }
+
+        @Override
+        public int size()
+        {
+            return arriving ? inOffset(index + 1) - inOffset(index) : outOffset(index + 1) - outOffset(index);
+        }
+
+    }
+
+    private class CsrNode implements Node<T>
+    {
+
+        private final int index;
+
+        public CsrNode(int index)
+        {
+            this.index = index;
+        }
+
+        @Override
+        public boolean addEdge(Edge edge)
+        {
+            throw new UnsupportedOperationException("This graph instance is immutable.");
+        }
+
+        @Override
+        public Object clone() throws CloneNotSupportedException
+        {
+            throw new CloneNotSupportedException("Nodes of a compressed graph are views, use duplicate() instead.");
+        }
+
+        @Override
+        public int degree()
+        {
+            return (outOffset(index + 1) - outOffset(index)) + (inOffset(index + 1) - inOffset(index));
+        }
+
+        @Override
+        public void disconnect()
+        {
+            throw new UnsupportedOperationException("This graph instance is immutable.");
+        }
+
+        @Override
+        public boolean equals(Object obj)
+        {
+            if (obj instanceof AbstractCompressedGraph.CsrNode)
+            {
+                AbstractCompressedGraph<?>.CsrNode rhs = (AbstractCompressedGraph<?>.CsrNode) obj;
+                return rhs.graph() == graph() && rhs.index == index;
+            }
+            return false;
+        }
+
+        @Override
+        public void forEachInEdge(EdgeVisitor visitor)
+        {
+            for (int k = inOffset(index); k < inOffset(index + 1); ++k)
+            {
+                visitor.visit(labelAt(inSource(k)), labelAt(index), new CsrEdge(inSource(k), inEdge(k)));
+            }
+        }
+
+        @Override
+        public void forEachInNeighbor(IntConsumer action)
+        {
+            for (int k = inOffset(index); k < inOffset(index + 1); ++k)
+            {
+                action.accept(labelAt(inSource(k)));
+            }
+        }
+
+        @Override
+        public void forEachOutEdge(EdgeVisitor visitor)
+        {
+            for (int k = outOffset(index); k < outOffset(index + 1); ++k)
+            {
+                visitor.visit(labelAt(index), labelAt(outTarget(k)), new CsrEdge(index, k));
+            }
+        }
+
+        @Override
+        public void forEachOutNeighbor(IntConsumer action)
+        {
+            for (int k = outOffset(index); k < outOffset(index + 1); ++k)
+            {
+                action.accept(labelAt(outTarget(k)));
+            }
+        }
+
+        @Override
+        @SuppressWarnings ("unchecked")
+        public T get()
+        {
+            return (T) dataAt(index);
+        }
+
+        @Override
+        public Edge getAdjacentEdge(Node<T> v)
+        {
+            int j = indexOfNode(v);
+            int edge = findOutEdge(index, j);
+            if (edge >= 0)
+            {
+                return new CsrEdge(index, edge);
+            }
+            edge = findOutEdge(j, index);
+            if (j >= 0 && edge >= 0)
+            {
+                return new CsrEdge(j, edge);
+            }
+            throw new InvalidOperationException(v.getLabel() + " is not connected to " + labelAt(index)
+                                                        + ", they are not adjacent.");
+        }
+
+        @Override
+        public Collection<Integer> getAllAdjacentVertices()
+        {
+            Collection<Integer> nodes = new LinkedHashSet<>(degree());
+            for (int k = inOffset(index); k < inOffset(index + 1); ++k)
+            {
+                nodes.add(labelAt(inSource(k)));
+            }
+            for (int k = outOffset(index); k < outOffset(index + 1); ++k)
+            {
+                nodes.add(labelAt(outTarget(k)));
+            }
+            return Collections.unmodifiableCollection(nodes);
+        }
+
+        @Override
+        public Collection<Integer> getAllVerticesArrivingSelf()
+        {
+            Collection<Integer> vertices = new LinkedList<>();
+            for (int k = inOffset(index); k < inOffset(index + 1); ++k)
+            {
+                vertices.add(labelAt(inSource(k)));
+            }
+            return vertices;
+        }
+
+        @Override
+        public Collection<Integer> getAllVerticesDepartingSelf()
+        {
+            Collection<Integer> vertices = new LinkedList<>();
+            for (int k = outOffset(index); k < outOffset(index + 1); ++k)
+            {
+                vertices.add(labelAt(outTarget(k)));
+            }
+            return vertices;
+        }
+
+        @Override
+        public Object getAttribute(Object key) throws InvalidKeyException
+        {
+            Map<Object, Object> map = attributesOf(index, false);
+            if (map == null || !map.containsKey(key))
+            {
+                throw new InvalidKeyException(map == null ? Collections.emptyMap() : map, key);
+            }
+            return map.get(key);
+        }
+
+        @Override
+        public Set<Edge> getEdgesArrivingSelf()
+        {
+            return new CsrEdgeSet(index, true);
+        }
+
+        @Override
+        public Set<Edge> getEdgesDepartingSelf()
+        {
+            return new CsrEdgeSet(index, false);
+        }
+
+        @Override
+        public int getLabel()
+        {
+            return labelAt(index);
+        }
+
+        @Override
+        public Map<Object, Object> getNodeAttributes()
+        {
+            Map<Object, Object> map = attributesOf(index, false);
+            return map == null ? Collections.emptyMap() : Collections.unmodifiableMap(map);
+        }
+
+        @Override
+        public int hashCode()
+        {
+            return labelAt(index);
+        }
+
+        @Override
+        public int inDegree()
+        {
+            return inOffset(index + 1) - inOffset(index);
+        }
+
+        @Override
+        public boolean isAdjacent(Node<T> v)
+        {
+            int j = indexOfNode(v);
+            return j >= 0 && (findOutEdge(index, j) >= 0 || findOutEdge(j, index) >= 0);
+        }
+
+        @Override
+        public boolean isAdjacentAndArriving(Node<T> v)
+        {
+            int j = indexOfNode(v);
+            return j >= 0 && findOutEdge(index, j) >= 0;
+        }
+
+        @Override
+        public boolean isAdjacentAndDeparting(Node<T> v)
+        {
+            int j = indexOfNode(v);
+            return j >= 0 && findOutEdge(j, index) >= 0;
+        }
+
+        @Override
+        public int outDegree()
+        {
+            return outOffset(index + 1) - outOffset(index);
+        }
+
+        @Override
+        public Object removeAttribute(Object key)
+        {
+            Map<Object, Object> map = attributesOf(index, false);
+            return map == null ? null : map.remove(key);
+        }
+
+        @Override
+        public boolean removeEdge(Edge edge)
+        {
+            throw new UnsupportedOperationException("This graph instance is immutable.");
+        }
+
+        @Override
+        public void set(T data)
+        {
+            throw new UnsupportedOperationException("This graph instance is immutable.");
+        }
+
+        @Override
+        public Object setAttribute(Object key, Object value)
+        {
+            return attributesOf(index, true).put(key, value);
+        }
+
+        @Override
+        public String toString()
+        {
+            StringBuilder builder = new StringBuilder("<" + labelAt(index) + ":" + dataAt(index) + "> (");
+            for (int k = outOffset(index); k < outOffset(index + 1); ++k)
+            {
+                builder.append(labelAt(outTarget(k)));
+                if (hasWeights())
+                {
+                    builder.append(" <").append(weightOfEdge(k)).append(">");
+                }
+                if (k + 1 < outOffset(index + 1))
+                {
+                    builder.append(", ");
+                }
+            }
+            return builder.append(")").toString();
+        }
+
+        private AbstractCompressedGraph<T> graph()
+        {
+            return AbstractCompressedGraph.this;
+        }
+
+    }
+
+    private final boolean weighted;
+
+    /**
+     * Constructs the base of a compressed graph.
+     *
+     * @param directed
+     * @param weighted
+     */
+    protected AbstractCompressedGraph(boolean directed, boolean weighted)
+    {
+        super(directed);
+
+        this.weighted = weighted;
+    }
+
+    /**
+     * Returns true if the values of the given type can be stored as primitive doubles by a compressed graph.
+     *
+     * @param type
+     *
+     * @return
+     */
+    protected static boolean isPrimitiveWeightType(Class<?> type)
+    {
+        return type == Integer.class || type == Long.class || type == Double.class || type == Float.class
+                       || type == Short.class || type == Byte.class;
+    }
+
+    /**
+     * Boxes a weight stored as a primitive double back into a {@link Weight} of its original numeric type.
+     *
+     * @param w
+     * @param type
+     *
+     * @return
+     */
+    protected static Weight<?> makeWeight(double w, Class<?> type)
+    {
+        if (type == Integer.class)
+        {
+            return Weights.makeWeight((int) w);
+        }
+        else if (type == Long.class)
+        {
+            return Weights.makeWeight((long) w);
+        }
+        else if (type == Float.class)
+        {
+            return Weights.makeWeight((float) w);
+        }
+        else if (type == Short.class)
+        {
+            return Weights.makeWeight((short) w);
+        }
+        else if (type == Byte.class)
+        {
+            return Weights.makeWeight((byte) w);
+        }
+        return Weights.makeWeight(w);
+    }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public boolean add(int label, T data)
+    {
+        throw new UnsupportedOperationException("This graph instance is immutable.");
+    }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public boolean add(T data)
+    {
+        throw new UnsupportedOperationException("This graph instance is immutable.");
+    }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public boolean addAll(Collection<? extends T> c)
+    {
+        throw new UnsupportedOperationException("This graph instance is immutable.");
+    }
+
+    @Override
+    protected boolean addNode(Node<T> node)
+    {
+        throw new UnsupportedOperationException("This graph instance is immutable.");
+    }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public void clear()
+    {
+        throw new UnsupportedOperationException("This graph instance is immutable.");
+    }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public boolean connect(int u, int v)
+    {
+        throw new UnsupportedOperationException("This graph instance is immutable.");
+    }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public boolean connect(Node<T> u, Node<T> v)
+    {
+        throw new UnsupportedOperationException("This graph instance is immutable.");
+    }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public boolean connect(int u, int v, Weight<?> w)
+    {
+        throw new UnsupportedOperationException("This graph instance is immutable.");
+    }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public boolean connect(Node<T> u, Node<T> v, Weight<?> w)
+    {
+        throw new UnsupportedOperationException("This graph instance is immutable.");
+    }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public int degree(int u)
+    {
+        int i = requireIndex(u);
+        return (outOffset(i + 1) - outOffset(i)) + (inOffset(i + 1) - inOffset(i));
+    }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public boolean disconnect(Node<T> u, Node<T> v)
+    {
+        throw new UnsupportedOperationException("This graph instance is immutable.");
+    }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public boolean disconnect(int u, int v)
+    {
+        throw new UnsupportedOperationException("This graph instance is immutable.");
+    }
+
+    /**
+     * Returns a mutable copy of this snapshot. The copy is a regular adjacency list graph, weighted if this snapshot is
+     * weighted, holding the same labels, data and edges.
+     *
+     * @return a new mutable {@link Graph}.
+     *
+     * @throws CloneNotSupportedException
+     */
+    @Override
+    @SuppressWarnings ("unchecked")
+    public Graph<T> duplicate() throws CloneNotSupportedException
+    {
+        Graph<T> graph = weighted ? new DefaultWeightedGraphBuilder<T>().buildGraph().directed(isDirected()).get()
+                                 : new DefaultGraphBuilder<T>().buildGraph().directed(isDirected()).get();
+
+        for (int i = 0; i < size(); ++i)
+        {
+            graph.add(labelAt(i), (T) dataAt(i));
+        }
+        for (int i = 0; i < size(); ++i)
+        {
+            for (int e = outOffset(i); e < outOffset(i + 1); ++e)
+            {
+                if (weighted)
+                {
+                    ((WeightedGraph<T>) graph).connect(labelAt(i), labelAt(outTarget(e)), weightOfEdge(e));
+                }
+                else
+                {
+                    graph.connect(labelAt(i), labelAt(outTarget(e)));
+                }
+            }
+        }
+        return graph;
+    }
+
+    /**
+     * Returns the number of edges stored in this snapshot.
+     *
+     * @return the edge count.
+     */
+    @Override
+    public int edgeCount()
+    {
+        return outOffset(size());
+    }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public double edgeWeightAsDouble(Edge e)
+    {
+        if (e instanceof AbstractCompressedGraph.CsrEdge && ((AbstractCompressedGraph<?>.CsrEdge) e).graph() == this)
+        {
+            return weightAsDouble(((AbstractCompressedGraph<?>.CsrEdge) e).id);
+        }
+        if (e == null || e.getWeight() == null || e.getWeight().getValue() == null)
+        {
+            throw new IllegalArgumentException("The edge " + e + " is not weighted.");
+        }
+        return e.getWeight().getValue().doubleValue();
+    }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public boolean existsEdgeWithDirection(int u, int v)
+    {
+        return findOutEdge(requireIndex(u), requireIndex(v)) >= 0;
+    }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public void forEachInEdge(int u, EdgeVisitor visitor)
+    {
+        new CsrNode(requireIndex(u)).forEachInEdge(visitor);
+    }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public void forEachInNeighbor(int u, IntConsumer action)
+    {
+        int i = requireIndex(u);
+        for (int k = inOffset(i); k < inOffset(i + 1); ++k)
+        {
+            action.accept(labelAt(inSource(k)));
+        }
+    }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public void forEachOutEdge(int u, EdgeVisitor visitor)
+    {
+        new CsrNode(requireIndex(u)).forEachOutEdge(visitor);
+    }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public void forEachOutNeighbor(int u, IntConsumer action)
+    {
+        int i = requireIndex(u);
+        for (int k = outOffset(i); k < outOffset(i + 1); ++k)
+        {
+            action.accept(labelAt(outTarget(k)));
+        }
+    }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public Node<T> findNodeByLabel(int label)
+    {
+        return new CsrNode(requireIndex(label));
+    }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public Collection<Integer> getLabels()
+    {
+        return new AbstractList<Integer>()
+        {
+            @Override
+            public Integer get(int index)
+            {
+                return labelAt(index);
+            }
+
+            @Override
+            public int size()
+            {
+                return AbstractCompressedGraph.this.size();
+            }
+        };
+    }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    protected Collection<Node<T>> getNodes()
+    {
+        return new AbstractList<Node<T>>()
+        {
+            @Override
+            public Node<T> get(int index)
+            {
+                return new CsrNode(index);
+            }
+
+            @Override
+            public int size()
+            {
+                return AbstractCompressedGraph.this.size();
+            }
+        };
+    }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public int inDegree(int u)
+    {
+        int i = requireIndex(u);
+        return inOffset(i + 1) - inOffset(i);
+    }
+
+    /**
+     * {@inheritDoc }
+     * <p>
+     * When the adjacency is sorted, this implementation walks the successor and predecessor ranges of both vertices
+     * with cursors, leaping each pair of cursors past the smallest index the other vertex may still share, without
+     * copying them.
+     */
+    @Override
+    public void intersectNeighbors(int u, int v, IntConsumer action)
+    {
+        if (!hasSortedAdjacency())
+        {
+            super.intersectNeighbors(u, v, action);
+            return;
+        }
+        int i = requireIndex(u);
+        int j = requireIndex(v);
+        int e = outOffset(i);
+        int k = inOffset(i);
+        int f = outOffset(j);
+        int l = inOffset(j);
+        int next = 0;
+        while (true)
+        {
+            e = seek(e, outOffset(i + 1), next, false);
+            k = seek(k, inOffset(i + 1), next, true);
+            int a = Math.min(adjacentAt(e, outOffset(i + 1), false), adjacentAt(k, inOffset(i + 1), true));
+            if (a == Integer.MAX_VALUE)
+            {
+                return;
+            }
+            f = seek(f, outOffset(j + 1), a, false);
+            l = seek(l, inOffset(j + 1), a, true);
+            int b = Math.min(adjacentAt(f, outOffset(j + 1), false), adjacentAt(l, inOffset(j + 1), true));
+            if (b == Integer.MAX_VALUE)
+            {
+                return;
+            }
+            if (a == b)
+            {
+                action.accept(labelAt(a));
+                next = a + 1;
+            }
+            else
+            {
+                next = b;
+            }
+        }
+    }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public boolean isVertexAdjacent(int u, int v)
+    {
+        int i = requireIndex(u);
+        int j = requireIndex(v);
+        return findOutEdge(i, j) >= 0 || findOutEdge(j, i) >= 0;
+    }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public boolean isWeighted()
+    {
+        return weighted;
+    }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public int outDegree(int u)
+    {
+        int i = requireIndex(u);
+        return outOffset(i + 1) - outOffset(i);
+    }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public void registerEdgeFactory(EdgeFactory factory)
+    {
+        throw new UnsupportedOperationException("This graph instance is immutable.");
+    }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public T remove(Node<T> node)
+    {
+        throw new UnsupportedOperationException("This graph instance is immutable.");
+    }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public boolean remove(Object o)
+    {
+        throw new UnsupportedOperationException("This graph instance is immutable.");
+    }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public boolean removeAll(Collection<?> c)
+    {
+        throw new UnsupportedOperationException("This graph instance is immutable.");
+    }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public T removeAt(int u)
+    {
+        throw new UnsupportedOperationException("This graph instance is immutable.");
+    }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public void removeVertices(int... labels)
+    {
+        throw new UnsupportedOperationException("This graph instance is immutable.");
+    }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public boolean retainAll(Collection<?> c)
+    {
+        throw new UnsupportedOperationException("This graph instance is immutable.");
+    }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public void reverse()
+    {
+        throw new UnsupportedOperationException("This graph instance is immutable.");
+    }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public void setDirected(boolean directed)
+    {
+        throw new UnsupportedOperationException("This graph instance is immutable.");
+    }
+
+    /**
+     * Compressed graphs are immutable, so they are their own snapshot.
+     *
+     * @return this graph.
+     */
+    @Override
+    public Graph<T> snapshot()
+    {
+        return this;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString()
+    {
+        StringBuilder builder = new StringBuilder("[\n");
+        for (int i = 0; i < size(); ++i)
+        {
+            builder.append(new CsrNode(i).toString());
+            if (i + 1 < size())
+            {
+                builder.append(",\n");
+            }
+        }
+        return builder.append("\n]").toString();
+    }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public double weightOf(int u, int v)
+    {
+        int i = requireIndex(u);
+        int j = requireIndex(v);
+        int e = findOutEdge(i, j);
+        if (e < 0 && !isDirected())
+        {
+            e = findOutEdge(j, i);
+        }
+        if (e < 0)
+        {
+            throw new InvalidOperationException("There is no edge departing from " + u + " to " + v + ".");
+        }
+        return weightAsDouble(e);
+    }
+
+    /**
+     * Returns the attribute map of the vertex with the given index, creating it if <code>create</code> is true.
+     *
+     * @param index
+     * @param create
+     *
+     * @return the attribute map, or null if it does not exist and was not requested to be created.
+     */
+    protected abstract Map<Object, Object> attributesOf(int index, boolean create);
+
+    /**
+     * Returns the data held by the vertex with the given index.
+     *
+     * @param index
+     *
+     * @return
+     */
+    protected abstract Object dataAt(int index);
+
+    /**
+     * Returns the label of the edge with the given identifier.
+     *
+     * @param e
+     *
+     * @return
+     */
+    protected abstract Object edgeLabelAt(int e);
+
+    /**
+     * Returns true if this graph stores weights for its edges.
+     *
+     * @return
+     */
+    protected abstract boolean hasWeights();
+
+    /**
+     * Returns true if the successors and the predecessors of every vertex are stored sorted by their index. Sorted
+     * adjacency lets this class find edges by binary search and intersect adjacencies in place. This implementation
+     * returns false.
+     *
+     * @return
+     */
+    protected boolean hasSortedAdjacency()
+    {
+        return false;
+    }
+
+    /**
+     * Returns the identifier of the edge referenced by the k<sup>th</sup> position of the predecessor arrays.
+     *
+     * @param k
+     *
+     * @return
+     */
+    protected abstract int inEdge(int k);
+
+    /**
+     * Returns the position of the predecessor arrays where the predecessors of the vertex with the given index
+     * start. <code>inOffset(size())</code> is the number of edges.
+     *
+     * @param index
+     *
+     * @return
+     */
+    protected abstract int inOffset(int index);
+
+    /**
+     * Returns the index of the vertex at the k<sup>th</sup> position of the predecessor arrays.
+     *
+     * @param k
+     *
+     * @return
+     */
+    protected abstract int inSource(int k);
+
+    /**
+     * Returns the index of the vertex with the given label, or -1 if this graph does not contain it.
+     *
+     * @param label
+     *
+     * @return
+     */
+    protected abstract int indexOf(int label);
+
+    /**
+     * Returns true if the edge with the given identifier is weighted.
+     *
+     * @param e
+     *
+     * @return
+     */
+    protected abstract boolean isEdgeWeighted(int e);
+
+    /**
+     * Returns the label of the vertex with the given index.
+     *
+     * @param index
+     *
+     * @return
+     */
+    protected abstract int labelAt(int index);
+
+    /**
+     * Returns the identifier of the first edge departing the vertex with the given index.
+     * <code>outOffset(size())</code> is the number of edges.
+     *
+     * @param index
+     *
+     * @return
+     */
+    protected abstract int outOffset(int index);
+
+    /**
+     * Returns the index of the vertex the edge with the given identifier arrives to.
+     *
+     * @param e
+     *
+     * @return
+     */
+    protected abstract int outTarget(int e);
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    protected int vertexIndex(int label)
+    {
+        return indexOf(label);
+    }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    protected int vertexIndexBound()
+    {
+        return size();
+    }
+
+    /**
+     * Returns the weight of the edge with the given identifier as a double.
+     *
+     * @param e
+     *
+     * @return
+     *
+     * @throws IllegalArgumentException if the edge is not weighted.
+     */
+    protected abstract double weightAsDouble(int e);
+
+    /**
+     * Returns the weight of the edge with the given identifier, or null if it is not weighted.
+     *
+     * @param e
+     *
+     * @return
+     */
+    protected abstract Weight<?> weightOfEdge(int e);
+
+    /**
+     * Returns the index of the vertex referenced by the k<sup>th</sup> position of the predecessor arrays, if
+     * <code>arriving</code> is true, or of the successor arrays otherwise, or {@link Integer#MAX_VALUE} if
+     * <code>k</code> has reached <code>end</code>.
+     *
+     * @param k
+     * @param end
+     * @param arriving
+     *
+     * @return
+     */
+    private int adjacentAt(int k, int end, boolean arriving)
+    {
+        if (k >= end)
+        {
+            return Integer.MAX_VALUE;
+        }
+        return arriving ? inSource(k) : outTarget(k);
+    }
+
+    /**
+     * Returns the identifier of the edge departing the vertex with index <code>i</code> and arriving to the vertex
+     * with index <code>j</code>, or -1 if no such edge exists.
+     *
+     * @param i
+     * @param j
+     *
+     * @return
+     */
+    private int findOutEdge(int i, int j)
+    {
+        if (i < 0 || j < 0)
+        {
+            return -1;
+        }
+        if (hasSortedAdjacency())
+        {
+            int low = outOffset(i);
+            int high = outOffset(i + 1) - 1;
+            while (low <= high)
+            {
+                int middle = (low + high) >>> 1;
+                int target = outTarget(middle);
+                if (target < j)
+                {
+                    low = middle + 1;
+                }
+                else if (target > j)
+                {
+                    high = middle - 1;
+                }
+                else
+                {
+                    return middle;
+                }
+            }
+            return -1;
+        }
+        for (int e = outOffset(i); e < outOffset(i + 1); ++e)
+        {
+            if (outTarget(e) == j)
+            {
+                return e;
+            }
+        }
+        return -1;
+    }
+
+    private int indexOfNode(Node<T> v)
+    {
+        if (v instanceof AbstractCompressedGraph.CsrNode && ((CsrNode) v).graph() == this)
+        {
+            return ((CsrNode) v).index;
+        }
+        return v == null ? -1 : indexOf(v.getLabel());
+    }
+
+    private int requireIndex(int label)
+    {
+        int index = indexOf(label);
+        if (index < 0)
+        {
+            throw new InvalidOperationException("Attempted to access node " + label
+                                                        + " in a graph that does not contains it.");
+        }
+        return index;
+    }
+
+
+    /**
+     * Returns the first position in <code>[from, end)</code> of the predecessor arrays, if <code>arriving</code> is
+     * true, or of the successor arrays otherwise, that references a vertex with an index of at least
+     * <code>index</code>, or <code>end</code> if there is none. The range must be sorted. The position is searched
+     * with steps that double in length from <code>from</code>, so cursors that move little pay little.
+     *
+     * @param from
+     * @param end
+     * @param index
+     * @param arriving
+     *
+     * @return
+     */
+    private int seek(int from, int end, int index, boolean arriving)
+    {
+        int high = from;
+        int step = 1;
+        while (high < end && adjacentAt(high, end, arriving) < index)
+        {
+            from = high + 1;
+            high += step;
+            step <<= 1;
+        }
+        high = Math.min(high, end);
+        while (from < high)
+        {
+            int middle = (from + high) >>> 1;
+            if (adjacentAt(middle, end, arriving) < index)
+            {
+                from = middle + 1;
+            }
+            else
+            {
+                high = middle;
+            }
+        }
+        return from;
+    }
+
+}
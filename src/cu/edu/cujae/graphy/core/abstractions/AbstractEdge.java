@@ -120,6 +120,20 @@ public abstract class AbstractEdge implements Edge
         return weight;
     }
 
+    /**
+     * Consistent with {@link #equals(java.lang.Object)}: the hash code of an undirected edge does not depend on the
+     * order of its nodes.
+     *
+     * @return
+     */
+    @Override
+    public int hashCode()
+    {
+        int u = (getStartNode() != null) ? getStartNode().hashCode() : 0;
+        int v = (getFinalNode() != null) ? getFinalNode().hashCode() : 0;
+        return isDirected() ? 31 * u + v : u + v;
+    }
+
     /**
      * {@inheritDoc}
      */
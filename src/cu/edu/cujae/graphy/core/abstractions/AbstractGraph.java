@@ -20,14 +20,34 @@ package cu.edu.cujae.graphy.core.abstractions;
 
 import cu.edu.cujae.graphy.core.Edge;
 import cu.edu.cujae.graphy.core.EdgeFactory;
+import cu.edu.cujae.graphy.core.EdgeVisitor;
 import cu.edu.cujae.graphy.core.Graph;
 import cu.edu.cujae.graphy.core.Node;
 import cu.edu.cujae.graphy.core.Weight;
 import cu.edu.cujae.graphy.core.WeightedGraph;
+import cu.edu.cujae.graphy.core.defaults.CompressedSparseRowGraph;
+import cu.edu.cujae.graphy.core.defaults.TransposedGraphView;
 import cu.edu.cujae.graphy.core.exceptions.InvalidOperationException;
 import cu.edu.cujae.graphy.core.iterators.AbstractGraphIterator;
+import cu.edu.cujae.graphy.core.iterators.DepthFirstTraversal;
+import cu.edu.cujae.graphy.core.iterators.DepthFirstTraversal.Direction;
+import cu.edu.cujae.graphy.core.iterators.DepthFirstTraversal.Event;
+import cu.edu.cujae.graphy.core.iterators.DirectionOptimizingSearch;
 import cu.edu.cujae.graphy.core.iterators.GraphIterator;
+import cu.edu.cujae.graphy.core.iterators.ParallelBreadthFirstSearch;
+import cu.edu.cujae.graphy.core.iterators.TraversalContext;
+import cu.edu.cujae.graphy.core.properties.DoubleVertexProperty;
+import cu.edu.cujae.graphy.core.properties.EdgeIndex;
+import cu.edu.cujae.graphy.core.properties.IntVertexProperty;
+import cu.edu.cujae.graphy.core.properties.MarkVertexProperty;
+import cu.edu.cujae.graphy.core.properties.ObjectVertexProperty;
+import cu.edu.cujae.graphy.utils.IntArrays;
+import cu.edu.cujae.graphy.utils.IntQueue;
+import cu.edu.cujae.graphy.utils.LabelRegistry;
 import java.util.*;
+import java.util.function.IntConsumer;
+import java.util.function.Predicate;
+import java.util.stream.IntStream;
 
 /**
  * This class eases the implementation of the {@link Graph} interface by offering some default implementations for
@@ -95,179 +115,315 @@ public abstract class AbstractGraph<T> extends AbstractCollection<T> implements
 
     }
 
-    private class DepthFirstSearchIterator extends AbstractGraphIterator<T> implements GraphIterator<T>
+    /**
+     * Base of the traversal iterators, which find every vertex only when it is requested instead of computing the
+     * whole traversal up front. When the disconnected vertices are included, they are returned after the traversal
+     * ends, in node order and without traversing from them.
+     * <p>
+     * The vertices returned are only recorded when backtracking is requested, so that {@link #back()} can step back
+     * over them; the record costs memory linear in the number of vertices returned so far.
+     * <p>
+     * Graphs that may be modified while they are traversed, such as a concurrent graph, throw an
+     * {@link InvalidOperationException} for the vertices removed after the traversal reached them; those vertices are
+     * skipped.
+     */
+    private abstract class TraversalIterator extends AbstractGraphIterator<T> implements GraphIterator<T>
     {
 
-        private final ListIterator<Node<T>> iter;
-        private final List<Node<T>> dfsList;
+        private Node<T> following;
+        private final List<Node<T>> history;
+        private final boolean includeDisconnected;
+        private int position;
+        private Iterator<Node<T>> remaining;
 
-        public DepthFirstSearchIterator(Graph<T> graph, Node<T> start, boolean includeDisconnected)
+        protected TraversalIterator(Graph<T> graph, Node<T> start, boolean includeDisconnected, boolean backtracking)
         {
             super(graph, start);
 
-            // Create the list
-            dfsList = new LinkedList<>();
-
-            // Populate the list
-            Set<Integer> visited = new HashSet<>();
-            walk(start, visited);
-
-            // Walk and add disconnected vertices
-            if (includeDisconnected)
-            {
-                for (Node<T> node : getNodes())
-                {
-                    if (!visited.contains(node.getLabel()))
-                    {
-                        dfsList.add(node);
-                    }
-                }
-            }
-
-            // This was a test!
-            // System.out.println(dfsList);
-            // Create the iterator
-            iter = dfsList.listIterator();
+            this.history = backtracking ? new ArrayList<>() : null;
+            this.includeDisconnected = includeDisconnected;
         }
 
         @Override
-        public T back()
+        public T back(Node<T> target)
         {
-            T data = getCurrent().get();
-            setCurrent(iter.previous());
-            return data;
+            throw new InvalidOperationException("This is not a random access iterator.");
         }
 
         @Override
-        public T back(Node<T> target)
+        public T back()
         {
-            throw new InvalidOperationException("This is not a random access iterator.");
+            if (history == null)
+            {
+                throw new UnsupportedOperationException("This iterator does not record the vertices it returns, "
+                                                                + "request backtracking when creating it.");
+            }
+            if (position == 0)
+            {
+                throw new NoSuchElementException();
+            }
+            T data = getCurrent().get();
+            setCurrent(history.get(--position));
+            return data;
         }
 
         @Override
         public boolean hasNext()
         {
-            return iter.hasNext();
+            return (history != null && position < history.size()) || peek() != null;
         }
 
         @Override
         public T next()
         {
-            /* Next node */
-            setCurrent(iter.next());
+            if (history != null && position < history.size())
+            {
+                setCurrent(history.get(position++));
+                return getCurrent().get();
+            }
 
-            /* Return the data within the node */
-            return getCurrent().get();
+            Node<T> node = peek();
+            if (node == null)
+            {
+                throw new NoSuchElementException();
+            }
+            following = null;
+            if (history != null)
+            {
+                history.add(node);
+                ++position;
+            }
+            setCurrent(node);
+            return node.get();
         }
 
-        private void walk(Node<T> v, Set<Integer> visited)
+        /**
+         * Advances the traversal to its next vertex.
+         *
+         * @return the next vertex of the traversal, or null once it has ended.
+         */
+        protected abstract Node<T> advance();
+
+        /**
+         * Returns true if the traversal has reached the vertex.
+         *
+         * @param label
+         *
+         * @return
+         */
+        protected abstract boolean isVisited(int label);
+
+        private Node<T> peek()
         {
-            // Mark the current node as visited
-            visited.add(v.getLabel());
-
-            // Add the node to the list
-            dfsList.add(v);
-
-            // Recur for all the vertices adjacent to this vertex
-            Iterator<Edge> edges = v.getEdgesDepartingSelf().iterator();
-            while (edges.hasNext())
+            if (following == null)
+            {
+                following = advance();
+            }
+            if (following == null && includeDisconnected && remaining == null)
             {
-                @SuppressWarnings ("unchecked")
-                Node<T> n = (Node<T>) edges.next().getFinalNode();
-                if (!visited.contains(n.getLabel()))
+                // The nodes are only listed once the traversal ends
+                remaining = getNodes().iterator();
+            }
+            while (following == null && remaining != null && remaining.hasNext())
+            {
+                Node<T> node = remaining.next();
+                try
+                {
+                    if (!isVisited(node.getLabel()))
+                    {
+                        following = node;
+                    }
+                }
+                catch (InvalidOperationException ex)
                 {
-                    walk(n, visited);
+                    // The vertex was removed after the nodes were listed
                 }
             }
+            return following;
         }
 
     }
 
-    private class BreadthFirstSearchIterator extends AbstractGraphIterator<T> implements GraphIterator<T>
+    /**
+     * Walks the graph in depth-first order with an explicit stack, so paths of any length can be traversed. Only the
+     * pre-order events of the underlying {@link DepthFirstTraversal} are returned.
+     */
+    private class DepthFirstSearchIterator extends TraversalIterator
     {
 
-        private final ListIterator<Node<T>> iter;
-        private final List<Node<T>> bfsList;
+        private final DepthFirstTraversal traversal;
 
-        public BreadthFirstSearchIterator(Graph<T> graph, Node<T> start, boolean includeDisconnected)
+        public DepthFirstSearchIterator(Graph<T> graph, Node<T> start, boolean includeDisconnected,
+                                        boolean backtracking)
         {
-            super(graph, start);
-
-            /* Create the list and populate it */
-            bfsList = new LinkedList<>();
+            this(graph, start, includeDisconnected, backtracking, new DepthFirstTraversal(graph));
+        }
 
-            /* Populate the list */
-            Set<Integer> visited = new TreeSet<>();
-            Queue<Node<T>> queue = new LinkedList<>();
+        public DepthFirstSearchIterator(Graph<T> graph, Node<T> start, boolean includeDisconnected,
+                                        TraversalContext context)
+        {
+            this(graph, start, includeDisconnected, false, new DepthFirstTraversal(graph, Direction.OUT, context));
+        }
 
-            // Insert the starting vertex
-            queue.add(start);
+        private DepthFirstSearchIterator(Graph<T> graph, Node<T> start, boolean includeDisconnected,
+                                         boolean backtracking, DepthFirstTraversal traversal)
+        {
+            super(graph, start, includeDisconnected, backtracking);
 
-            // Initialize the visited set and mark the starting vertex as visited
-            visited.add(start.getLabel());
+            this.traversal = traversal;
+            traversal.start(start.getLabel());
+        }
 
-            while (!queue.isEmpty())
+        @Override
+        protected Node<T> advance()
+        {
+            for (Event event = traversal.advance(); event != null; event = traversal.advance())
             {
-                Node<T> s = queue.poll();
-                bfsList.add(s);
-
-                // Get all adjacent vertices of the dequeued vertex s
-                // if an adjacent has not been visited, then mark it visited
-                // and enqueue it
-                Iterator<Edge> i = s.getEdgesDepartingSelf().iterator();
-                while (i.hasNext())
+                if (event == Event.PRE_ORDER)
                 {
-                    @SuppressWarnings ("unchecked")
-                    Node<T> n = (Node<T>) i.next().getFinalNode();
-                    if (!visited.contains(n.getLabel()))
+                    try
                     {
-                        visited.add(n.getLabel());
-                        queue.add(n);
+                        return findNodeByLabel(traversal.vertex());
+                    }
+                    catch (InvalidOperationException ex)
+                    {
+                        // The vertex was removed after it was discovered
                     }
                 }
             }
+            return null;
+        }
+
+        @Override
+        protected boolean isVisited(int label)
+        {
+            return traversal.isDiscovered(label);
+        }
+
+    }
+
+    /**
+     * Walks the graph in breadth-first order, expanding the frontier as vertices are requested. Visited vertices are
+     * marked in a {@link MarkVertexProperty}, and the frontier is a queue of labels, so the iterator allocates no
+     * objects per vertex; given a {@link TraversalContext}, it borrows both from the context. The successors of every
+     * vertex are read through {@link #forEachOutNeighbor(int, java.util.function.IntConsumer)}, so graphs that guard
+     * their adjacency are walked under their own locks.
+     */
+    private class BreadthFirstSearchIterator extends TraversalIterator
+    {
+
+        private final IntConsumer expander;
+        private final IntQueue queue;
+        private final MarkVertexProperty visited;
+
+        public BreadthFirstSearchIterator(Graph<T> graph, Node<T> start, boolean includeDisconnected,
+                                          boolean backtracking)
+        {
+            this(graph, start, includeDisconnected, backtracking, newMarkVertexProperty(), new IntQueue());
+        }
+
+        public BreadthFirstSearchIterator(Graph<T> graph, Node<T> start, boolean includeDisconnected,
+                                          TraversalContext context)
+        {
+            this(graph, start, includeDisconnected, false, context.marks(graph), context.queue());
+        }
+
+        private BreadthFirstSearchIterator(Graph<T> graph, Node<T> start, boolean includeDisconnected,
+                                           boolean backtracking, MarkVertexProperty visited, IntQueue queue)
+        {
+            super(graph, start, includeDisconnected, backtracking);
 
-            // Add the disconnected nodes
-            if (includeDisconnected)
+            this.queue = queue;
+            this.visited = visited;
+            this.expander = to -> 
             {
-                for (Node<T> node : getNodes())
+                // If an adjacent vertex has not been visited, then mark it visited and enqueue it
+                if (visited.visit(to))
                 {
-                    if (!visited.contains(node.getLabel()))
-                    {
-                        bfsList.add(node);
-                    }
+                    queue.add(to);
                 }
-            }
+            };
 
-            /* Create the iterator */
-            iter = bfsList.listIterator();
+            // Insert the starting vertex and mark it as visited
+            visited.visit(start.getLabel());
+            queue.add(start.getLabel());
         }
 
         @Override
-        public T back(Node<T> target)
+        protected Node<T> advance()
         {
-            throw new InvalidOperationException("This is not a random access iterator.");
+            while (!queue.isEmpty())
+            {
+                int label = queue.poll();
+                try
+                {
+                    Node<T> node = findNodeByLabel(label);
+                    AbstractGraph.this.forEachOutNeighbor(label, expander);
+                    return node;
+                }
+                catch (InvalidOperationException ex)
+                {
+                    // The vertex was removed after it was reached
+                }
+            }
+            return null;
         }
 
         @Override
-        public T back()
+        protected boolean isVisited(int label)
         {
-            T data = getCurrent().get();
-            setCurrent(iter.previous());
-            return data;
+            return visited.isMarked(label);
+        }
+
+    }
+
+    /**
+     * Returns the vertices in the order a {@link DirectionOptimizingSearch} reaches them, expanding one level whenever
+     * the vertices of the previous ones have been returned.
+     */
+    private class DirectionOptimizingSearchIterator extends TraversalIterator
+    {
+
+        private int cursor;
+        private final DirectionOptimizingSearch search;
+
+        public DirectionOptimizingSearchIterator(Graph<T> graph, Node<T> start, boolean includeDisconnected,
+                                                 boolean parallel)
+        {
+            super(graph, start, includeDisconnected, false);
+
+            this.cursor = 0;
+            this.search = new DirectionOptimizingSearch(graph, parallel);
+            search.start(start.getLabel());
         }
 
         @Override
-        public boolean hasNext()
+        protected Node<T> advance()
         {
-            return iter.hasNext();
+            while (true)
+            {
+                while (cursor == search.reached())
+                {
+                    if (!search.step())
+                    {
+                        return null;
+                    }
+                }
+                try
+                {
+                    return findNodeByLabel(search.reached(cursor++));
+                }
+                catch (InvalidOperationException ex)
+                {
+                    // The vertex was removed after the adjacency was copied
+                }
+            }
         }
 
         @Override
-        public T next()
+        protected boolean isVisited(int label)
         {
-            setCurrent(iter.next());
-            return getCurrent().get();
+            return search.isReached(label);
         }
 
     }
@@ -313,9 +469,8 @@ public abstract class AbstractGraph<T> extends AbstractCollection<T> implements
 
     }
 
-    private final Set<Integer> allocatedLabels;
     private EdgeFactory edgeFactory;
-    private int lastAllocated;
+    private final LabelRegistry labelRegistry;
 
     /**
      * Default constructor for abstract graphs.
@@ -324,9 +479,8 @@ public abstract class AbstractGraph<T> extends AbstractCollection<T> implements
      */
     protected AbstractGraph(boolean directed)
     {
-        this.allocatedLabels = new TreeSet<>();
         this.directed = directed;
-        this.lastAllocated = 0;
+        this.labelRegistry = new LabelRegistry();
     }
 
     protected abstract boolean addNode(Node<T> node);
@@ -361,13 +515,7 @@ public abstract class AbstractGraph<T> extends AbstractCollection<T> implements
      */
     protected int allocateLabel()
     {
-        int result = lastAllocated++;
-        while (allocatedLabels.contains(result))
-        {
-            result = lastAllocated++;
-        }
-        allocatedLabels.add(result);
-        return result;
+        return labelRegistry.allocate();
     }
 
     /**
@@ -389,7 +537,7 @@ public abstract class AbstractGraph<T> extends AbstractCollection<T> implements
     @Override
     public Iterator<T> breadthFirstSearchIterator(Node<T> node, boolean includeDisconnected)
     {
-        return new BreadthFirstSearchIterator(this, node, includeDisconnected);
+        return new BreadthFirstSearchIterator(this, node, includeDisconnected, false);
     }
 
     /**
@@ -401,14 +549,32 @@ public abstract class AbstractGraph<T> extends AbstractCollection<T> implements
         return breadthFirstSearchIterator(findNodeByLabel(v), includeDisconnected);
     }
 
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public Iterator<T> breadthFirstSearchIterator(int v, boolean includeDisconnected, boolean backtracking)
+    {
+        return new BreadthFirstSearchIterator(this, findNodeByLabel(v), includeDisconnected, backtracking);
+    }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public Iterator<T> breadthFirstSearchIterator(int v, boolean includeDisconnected, TraversalContext context)
+    {
+        return new BreadthFirstSearchIterator(this, findNodeByLabel(v), includeDisconnected, context);
+    }
+
     /**
      * {@inheritDoc }
      */
     @Override
     public void clear()
     {
-        getLabels().
-                forEach(this::remove);
+        // The labels are copied first, removing the vertices changes the collection of labels
+        removeVertices(getLabels().stream().mapToInt(Integer::intValue).toArray());
     }
 
     /**
@@ -439,6 +605,36 @@ public abstract class AbstractGraph<T> extends AbstractCollection<T> implements
         return u.addEdge(getEdgeFactory().build(u, v));
     }
 
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public int degree(int u)
+    {
+        return findNodeByLabel(u).degree();
+    }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public int[] degreeHistogram()
+    {
+        int[] histogram = new int[1];
+        int max = 0;
+        for (int u : getLabels())
+        {
+            int d = degree(u);
+            if (d >= histogram.length)
+            {
+                histogram = Arrays.copyOf(histogram, Math.max(d + 1, histogram.length << 1));
+            }
+            ++histogram[d];
+            max = Math.max(max, d);
+        }
+        return (histogram.length == max + 1) ? histogram : Arrays.copyOf(histogram, max + 1);
+    }
+
     /**
      * De-allocates a label and makes it available for use.
      *
@@ -446,20 +642,20 @@ public abstract class AbstractGraph<T> extends AbstractCollection<T> implements
      */
     protected void deallocateLabel(int label)
     {
-        allocatedLabels.remove(label);
+        labelRegistry.unregister(label);
     }
 
     @SuppressWarnings ("unchecked")
     protected Collection<Node<T>> duplicateInternalNodes() throws CloneNotSupportedException
     {
         // For each node, clone it
-        Map<Integer, Node<T>> clonedNodes = new HashMap<>(size());
+        List<Node<T>> clonedNodes = new ArrayList<>(size());
         for (Node<T> node : getNodes())
         {
-            clonedNodes.put(node.getLabel(), (Node<T>) node.clone());
+            clonedNodes.add((Node<T>) node.clone());
         }
 
-        return clonedNodes.values();
+        return clonedNodes;
     }
 
     protected void reconnectDuplicatedNodes(Collection<Node<T>> clonedNodes, AbstractGraph<T> clone) throws
@@ -517,7 +713,7 @@ public abstract class AbstractGraph<T> extends AbstractCollection<T> implements
     @Override
     public Iterator<T> depthFirstSearchIterator(Node<T> start, boolean includeDisconnected)
     {
-        return new DepthFirstSearchIterator(this, start, includeDisconnected);
+        return new DepthFirstSearchIterator(this, start, includeDisconnected, false);
     }
 
     /**
@@ -526,7 +722,25 @@ public abstract class AbstractGraph<T> extends AbstractCollection<T> implements
     @Override
     public Iterator<T> depthFirstSearchIterator(int v, boolean includeDisconnected)
     {
-        return new DepthFirstSearchIterator(this, findNodeByLabel(v), includeDisconnected);
+        return new DepthFirstSearchIterator(this, findNodeByLabel(v), includeDisconnected, false);
+    }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public Iterator<T> depthFirstSearchIterator(int v, boolean includeDisconnected, boolean backtracking)
+    {
+        return new DepthFirstSearchIterator(this, findNodeByLabel(v), includeDisconnected, backtracking);
+    }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public Iterator<T> depthFirstSearchIterator(int v, boolean includeDisconnected, TraversalContext context)
+    {
+        return new DepthFirstSearchIterator(this, findNodeByLabel(v), includeDisconnected, context);
     }
 
     /**
@@ -539,7 +753,16 @@ public abstract class AbstractGraph<T> extends AbstractCollection<T> implements
         {
             throw new IllegalStateException("Attempted to grab an iterator to an empty graph.");
         }
-        return new DepthFirstSearchIterator(this, getNodes().iterator().next(), includeDisconnected);
+        return new DepthFirstSearchIterator(this, getNodes().iterator().next(), includeDisconnected, false);
+    }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public Iterator<T> directionOptimizingSearchIterator(int v, boolean includeDisconnected, boolean parallel)
+    {
+        return new DirectionOptimizingSearchIterator(this, findNodeByLabel(v), includeDisconnected, parallel);
     }
 
     /**
@@ -560,6 +783,32 @@ public abstract class AbstractGraph<T> extends AbstractCollection<T> implements
         return disconnect(findNodeByLabel(u), findNodeByLabel(v));
     }
 
+    /**
+     * {@inheritDoc }
+     * <p>
+     * This implementation adds up the out degrees of the vertices, subclasses able to keep the count as the graph
+     * changes should override it.
+     */
+    @Override
+    public int edgeCount()
+    {
+        int count = 0;
+        for (Node<T> node : getNodes())
+        {
+            count += node.outDegree();
+        }
+        return count;
+    }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public EdgeIndex edgeIndex()
+    {
+        return new EdgeIndex(this);
+    }
+
     /**
      * {@inheritDoc }
      */
@@ -569,6 +818,42 @@ public abstract class AbstractGraph<T> extends AbstractCollection<T> implements
         return findNodeByLabel(u).isAdjacentAndArriving(findNodeByLabel(v));
     }
 
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public void forEachInEdge(int u, EdgeVisitor visitor)
+    {
+        findNodeByLabel(u).forEachInEdge(visitor);
+    }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public void forEachInNeighbor(int u, IntConsumer action)
+    {
+        findNodeByLabel(u).forEachInNeighbor(action);
+    }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public void forEachOutEdge(int u, EdgeVisitor visitor)
+    {
+        findNodeByLabel(u).forEachOutEdge(visitor);
+    }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public void forEachOutNeighbor(int u, IntConsumer action)
+    {
+        findNodeByLabel(u).forEachOutNeighbor(action);
+    }
+
     /**
      * Returns a collection holding all the nodes within this graph.
      *
@@ -586,6 +871,29 @@ public abstract class AbstractGraph<T> extends AbstractCollection<T> implements
      */
     public abstract Node<T> findNodeByLabel(int label);
 
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public int inDegree(int u)
+    {
+        return findNodeByLabel(u).inDegree();
+    }
+
+    /**
+     * {@inheritDoc }
+     * <p>
+     * This implementation copies the labels of the neighbors of both vertices into arrays and sorts them before
+     * intersecting them.
+     */
+    @Override
+    public void intersectNeighbors(int u, int v, IntConsumer action)
+    {
+        int[] a = adjacentLabels(u);
+        int[] b = adjacentLabels(v);
+        IntArrays.intersect(a, IntArrays.sortUnique(a, a.length), b, IntArrays.sortUnique(b, b.length), action);
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -630,6 +938,62 @@ public abstract class AbstractGraph<T> extends AbstractCollection<T> implements
         setDirected(true);
     }
 
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public DoubleVertexProperty newDoubleVertexProperty(double defaultValue)
+    {
+        return new DoubleVertexProperty(this::vertexIndex, vertexIndexBound(), defaultValue);
+    }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public IntVertexProperty newIntVertexProperty(int defaultValue)
+    {
+        return new IntVertexProperty(this::vertexIndex, vertexIndexBound(), defaultValue);
+    }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public MarkVertexProperty newMarkVertexProperty()
+    {
+        return new MarkVertexProperty(this::vertexIndex, vertexIndexBound());
+    }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public <V> ObjectVertexProperty<V> newObjectVertexProperty(V defaultValue)
+    {
+        return new ObjectVertexProperty<>(this::vertexIndex, vertexIndexBound(), defaultValue);
+    }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public int outDegree(int u)
+    {
+        return findNodeByLabel(u).outDegree();
+    }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public ParallelBreadthFirstSearch parallelBreadthFirstSearch(int v)
+    {
+        ParallelBreadthFirstSearch search = new ParallelBreadthFirstSearch(this);
+        search.search(v);
+        return search;
+    }
+
     /**
      * {@inheritDoc }
      */
@@ -658,47 +1022,105 @@ public abstract class AbstractGraph<T> extends AbstractCollection<T> implements
     @Override
     public boolean remove(Object o)
     {
-        boolean result = false;
+        for (Node<T> node : getNodes())
+        {
+            if (Objects.equals(node.get(), o))
+            {
+                remove(node);
+                return true;
+            }
+        }
+        return false;
+    }
 
-        GraphIterator<? extends T> iterator = (GraphIterator<? extends T>) iterator();
-        while (iterator.hasNext() && (result == false))
+    /**
+     * {@inheritDoc }
+     * <p>
+     * The vertices holding an element of the collection are found in a single pass, and then removed at once by
+     * {@link #removeVertices(int...)}.
+     */
+    @Override
+    public boolean removeAll(Collection<?> c)
+    {
+        return removeVerticesIf(node -> c.contains(node.get()));
+    }
+
+    /**
+     * {@inheritDoc }
+     * <p>
+     * This implementation checks every label before removing the vertices one by one. Subclasses able to remove
+     * several vertices at once should override it.
+     */
+    @Override
+    public void removeVertices(int... labels)
+    {
+        for (int label : labels)
+        {
+            if (vertexIndex(label) < 0)
+            {
+                throw new InvalidOperationException("Attempted to access node " + label
+                                                            + " in a graph that does not contains it.");
+            }
+        }
+        for (int label : labels)
         {
-            int label = iterator.getLabel();
-            if (iterator.next().equals(o))
+            if (vertexIndex(label) >= 0)
             {
                 removeAt(label);
-                result = true;
             }
         }
-
-        return result;
     }
 
     /**
      * {@inheritDoc }
+     * <p>
+     * The vertices holding no element of the collection are found in a single pass, and then removed at once by
+     * {@link #removeVertices(int...)}.
+     */
+    @Override
+    public boolean retainAll(Collection<?> c)
+    {
+        return removeVerticesIf(node -> !c.contains(node.get()));
+    }
+
+    /**
+     * Reverses the edges in place, in time linear in the number of edges. Every edge departs exactly one node, so the
+     * departing edges of all the nodes are each edge once. All of them are detached before any is reattached, as a
+     * pair of opposite edges <code>(u, v)</code> and <code>(v, u)</code> would otherwise collide half way.
      */
     @Override
     public void reverse()
     {
-        Set<Edge> visited = new HashSet<>();
-        getNodes().stream().
-                map(node -> 
-                {
-                    Set<Edge> edges = node.getEdgesArrivingSelf();
-                    edges.addAll(node.getEdgesDepartingSelf());
-                    return edges;
-                }).
-                forEachOrdered(edges -> 
-                {
-                    for (Edge edge : edges)
-                    {
-                        if (!visited.contains(edge))
-                        {
-                            edge.reverseApparentDirection();
-                            visited.add(edge);
-                        }
-                    }
-                });
+        List<Edge> edges = new ArrayList<>();
+        for (Node<T> node : getNodes())
+        {
+            edges.addAll(node.getEdgesDepartingSelf());
+        }
+        for (Edge edge : edges)
+        {
+            edge.getStartNode().removeEdge(edge);
+        }
+        for (Edge edge : edges)
+        {
+            edge.reverseApparentDirection();
+            edge.getStartNode().removeEdge(edge);
+        }
+        for (Edge edge : edges)
+        {
+            edge.getStartNode().addEdge(edge);
+        }
+    }
+
+    /**
+     * Freezes the graph into a {@link CompressedSparseRowGraph}. The snapshot is built in O(V + E) time on every call,
+     * since modifications made through {@link Node} and {@link Edge} objects bypass the graph and cannot be tracked.
+     *
+     * @return
+     */
+    @Override
+    public Graph<T> snapshot()
+    {
+        return new CompressedSparseRowGraph<>(this);
     }
 
     /**
@@ -719,6 +1141,17 @@ public abstract class AbstractGraph<T> extends AbstractCollection<T> implements
         return builder.toString();
     }
 
+    /**
+     * Returns a {@link TransposedGraphView} of this graph, built in constant time.
+     *
+     * @return
+     */
+    @Override
+    public Graph<T> transposedView()
+    {
+        return new TransposedGraphView<>(this);
+    }
+
     /**
      * @return the edgeFactory
      */
@@ -727,6 +1160,14 @@ public abstract class AbstractGraph<T> extends AbstractCollection<T> implements
         return edgeFactory;
     }
 
+    /**
+     * @return the registry used to allocate labels and to map them to dense indexes
+     */
+    protected LabelRegistry getLabelRegistry()
+    {
+        return labelRegistry;
+    }
+
     /**
      * @param edgeFactory the edgeFactory to set
      */
@@ -735,6 +1176,80 @@ public abstract class AbstractGraph<T> extends AbstractCollection<T> implements
         this.edgeFactory = edgeFactory;
     }
 
+    /**
+     * Returns the dense index of the vertex used by the vertex properties of this graph, or a negative value if the
+     * vertex does not belong to it.
+     *
+     * @param label
+     *
+     * @return
+     */
+    protected int vertexIndex(int label)
+    {
+        return labelRegistry.indexOf(label);
+    }
+
+    /**
+     * Returns the upper bound of the dense indexes returned by {@link #vertexIndex(int)}.
+     *
+     * @return
+     */
+    protected int vertexIndexBound()
+    {
+        return labelRegistry.bound();
+    }
+
+    /**
+     * Returns the dense index of a vertex of another graph. Views sharing the vertices of the graph they wrap share
+     * its dense indexes through it.
+     *
+     * @param graph
+     * @param label
+     *
+     * @return
+     */
+    protected static int vertexIndex(AbstractGraph<?> graph, int label)
+    {
+        return graph.vertexIndex(label);
+    }
+
+    /**
+     * Returns the upper bound of the dense indexes of another graph.
+     *
+     * @param graph
+     *
+     * @return
+     *
+     * @see #vertexIndex(cu.edu.cujae.graphy.core.abstractions.AbstractGraph, int)
+     */
+    protected static int vertexIndexBound(AbstractGraph<?> graph)
+    {
+        return graph.vertexIndexBound();
+    }
+
+    private int[] adjacentLabels(int u)
+    {
+        IntStream.Builder labels = IntStream.builder();
+        forEachOutNeighbor(u, labels);
+        forEachInNeighbor(u, labels);
+        return labels.build().toArray();
+    }
+
+    private boolean removeVerticesIf(Predicate<Node<T>> filter)
+    {
+        IntStream.Builder labels = IntStream.builder();
+        for (Node<T> node : getNodes())
+        {
+            if (filter.test(node))
+            {
+                labels.add(node.getLabel());
+            }
+        }
+        int[] removed = labels.build().toArray();
+        removeVertices(removed);
+        return removed.length > 0;
+    }
+
     /**
      * @param directed the directed to set
      */
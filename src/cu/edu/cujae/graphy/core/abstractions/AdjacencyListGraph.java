@@ -19,17 +19,38 @@
 package cu.edu.cujae.graphy.core.abstractions;
 
 import cu.edu.cujae.graphy.core.Edge;
+import cu.edu.cujae.graphy.core.EdgeFactory;
 import cu.edu.cujae.graphy.core.Graph;
 import cu.edu.cujae.graphy.core.Node;
+import cu.edu.cujae.graphy.core.Weight;
 import cu.edu.cujae.graphy.core.defaults.DefaultNode;
 import cu.edu.cujae.graphy.core.exceptions.InvalidOperationException;
+import cu.edu.cujae.graphy.utils.LabelRegistry;
+import cu.edu.cujae.graphy.utils.LongHashSet;
+import java.util.AbstractCollection;
+import java.util.Arrays;
 import java.util.Collection;
-import java.util.HashMap;
 import java.util.Iterator;
-import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.function.IntFunction;
 
 /**
  * An implementation of a graph using an <i>adjacency list</i> to keep track of the nodes.
+ * <p>
+ * Nodes are kept in an array indexed by the dense index the {@link LabelRegistry} of the graph assigns to their
+ * labels, so finding a node by its label takes constant time and does not box the label. Nodes are iterated in index
+ * order, which is insertion order unless the indexes of removed nodes have been reused.
+ * <p>
+ * Besides the adjacency of every node, the graph keeps an <i>adjacency index</i>: a set of primitive keys, one per
+ * connection, that its nodes update as they are connected and disconnected. {@link #isVertexAdjacent(int, int)} and
+ * {@link #existsEdgeWithDirection(int, int)} answer from it without looking the nodes up nor hashing them, and
+ * {@link #edgeCount()} is its size. The index is only kept while every node of the graph is a {@link DefaultNode}.
+ * Degrees are always answered in constant time, since nodes keep the sizes of their adjacency maps.
+ * <p>
+ * Removing a vertex costs time linear in its degree: its neighbors drop it from their adjacency and its slot in the
+ * node table is left empty, to be reused by the next vertex added. Removals never move the other nodes, so vertex
+ * properties keep addressing them; once many slots are left empty, {@link #compact()} packs the table so that iterating
+ * over the vertices is linear in their number again.
  *
  * @author Javier Marrero
  * @param <T>
@@ -37,13 +58,56 @@ import java.util.Map;
 public abstract class AdjacencyListGraph<T> extends AbstractGraph<T> implements Graph<T>, Cloneable
 {
 
-    private final Map<Integer, Node<T>> nodes;
+    private abstract class DenseIterator<E> implements Iterator<E>
+    {
+
+        private int next = advance(0);
+
+        @Override
+        public boolean hasNext()
+        {
+            return next < getLabelRegistry().bound();
+        }
+
+        @Override
+        public E next()
+        {
+            if (!hasNext())
+            {
+                throw new NoSuchElementException();
+            }
+            int current = next;
+            next = advance(current + 1);
+            return get(current);
+        }
+
+        protected abstract E get(int index);
+
+        private int advance(int index)
+        {
+            int bound = getLabelRegistry().bound();
+            while (index < bound && nodes[index] == null)
+            {
+                ++index;
+            }
+            return index;
+        }
+
+    }
+
+    private static final int DEFAULT_CAPACITY = 16;
+
+    private LongHashSet adjacency;
+    private int expectedDegree;
+    private Node<T>[] nodes;
 
     protected AdjacencyListGraph(boolean directed)
     {
         super(directed);
 
-        nodes = new HashMap<>();
+        adjacency = new LongHashSet();
+        expectedDegree = DefaultNode.DEFAULT_EXPECTED_DEGREE;
+        nodes = newNodeArray(DEFAULT_CAPACITY);
     }
 
     /**
@@ -52,27 +116,235 @@ public abstract class AdjacencyListGraph<T> extends AbstractGraph<T> implements
     @Override
     public boolean add(int label, T data)
     {
-        return nodes.putIfAbsent(label, new DefaultNode<>(label, data)) == null;
+        int index = getLabelRegistry().register(label);
+        if (index < 0)
+        {
+            return false;
+        }
+        store(index, new DefaultNode<>(label, data, expectedDegree));
+        return true;
     }
 
     @Override
     protected boolean addNode(Node<T> node)
     {
-        return nodes.putIfAbsent(node.getLabel(), node) == null;
+        int index = getLabelRegistry().register(node.getLabel());
+        if (index < 0)
+        {
+            return false;
+        }
+        store(index, node);
+        return true;
+    }
+
+    /**
+     * Adds <code>count</code> vertices holding no data, with labels allocated as {@link #add(java.lang.Object)} does.
+     * The node table is grown once for all of them.
+     *
+     * @param count
+     */
+    public void addVertices(int count)
+    {
+        if (count < 0)
+        {
+            throw new IllegalArgumentException("Attempted to add a negative number of vertices: " + count);
+        }
+        if (getLabelRegistry().bound() + count > nodes.length)
+        {
+            nodes = Arrays.copyOf(nodes, getLabelRegistry().bound() + count);
+        }
+        for (int i = 0; i < count; ++i)
+        {
+            add(allocateLabel(), null);
+        }
     }
 
     /**
      * {@inheritDoc }
+     * <p>
+     * The node table and the adjacency index are replaced instead of being emptied, so clearing takes constant time.
      */
     @Override
-    public Node<T> findNodeByLabel(int label)
+    public void clear()
     {
-        if (nodes.containsKey(label) == false)
+        if (adjacency != null)
         {
-            throw new InvalidOperationException("Attempted to access node " + label
-                                                        + " in a graph that does not contains it.");
+            adjacency = new LongHashSet();
         }
-        return nodes.get(label);
+        nodes = newNodeArray(DEFAULT_CAPACITY);
+        getLabelRegistry().clear();
+    }
+
+    /**
+     * Packs the nodes of this graph into the lowest slots of the node table, dropping the slots left empty by removed
+     * vertices. Vertex properties created before compacting must not be used afterwards, as the vertices may have
+     * changed their dense indexes. The table is never compacted but through this method.
+     */
+    public void compact()
+    {
+        int bound = getLabelRegistry().bound();
+        getLabelRegistry().compact();
+
+        Node<T>[] packed = newNodeArray(Math.max(size(), DEFAULT_CAPACITY));
+        int next = 0;
+        for (int i = 0; i < bound; ++i)
+        {
+            if (nodes[i] != null)
+            {
+                packed[next++] = nodes[i];
+            }
+        }
+        nodes = packed;
+    }
+
+    /**
+     * Connects every vertex <code>source[i]</code> to the vertex <code>target[i]</code>. The adjacency maps of every
+     * affected node are sized once for all of its new connections before any edge is added, and the per-edge checks
+     * of {@link #connect(int, int)} are skipped; only the existence of the endpoints is verified.
+     *
+     * @param source
+     * @param target
+     * @param weights the weight of the i<sup>th</sup> edge, or null for unweighted edges.
+     */
+    protected void connectAll(int[] source, int[] target, IntFunction<Weight<?>> weights)
+    {
+        if (source.length != target.length)
+        {
+            throw new IllegalArgumentException("The source and target arrays differ in length: " + source.length
+                                                       + " != " + target.length);
+        }
+
+        // Count the new connections of every node
+        int[] departing = new int[getLabelRegistry().bound()];
+        int[] arriving = new int[getLabelRegistry().bound()];
+        for (int i = 0; i < source.length; ++i)
+        {
+            ++departing[requireIndex(source[i])];
+            ++arriving[requireIndex(target[i])];
+        }
+        for (int i = 0; i < departing.length; ++i)
+        {
+            if ((departing[i] > expectedDegree || arriving[i] > expectedDegree) && nodes[i] instanceof DefaultNode)
+            {
+                DefaultNode<T> node = (DefaultNode<T>) nodes[i];
+                node.ensureCapacity(node.outDegree() + departing[i], node.inDegree() + arriving[i]);
+            }
+        }
+
+        EdgeFactory factory = getEdgeFactory();
+        for (int i = 0; i < source.length; ++i)
+        {
+            Node<T> u = nodes[getLabelRegistry().indexOf(source[i])];
+            Node<T> v = nodes[getLabelRegistry().indexOf(target[i])];
+            Weight<?> w = (weights != null) ? weights.apply(i) : null;
+            if (w == null)
+            {
+                connect(u, v);
+            }
+            else
+            {
+                u.addEdge(factory.build(w, u, v, w));
+            }
+        }
+    }
+
+    /**
+     * Copies the vertices and edges of this graph into <code>clone</code>, which must be empty. This is the bulk path
+     * behind {@link #duplicate()}: the node table of the clone is sized once, the endpoints of every edge are found
+     * through the dense indexes of this graph instead of being connected again by label, and primitive weights are
+     * copied by value. Weights held as objects are cloned, so the two graphs never share a mutable weight.
+     *
+     * @param clone
+     * @param weighted true if the weights of the edges must be carried over.
+     *
+     * @throws CloneNotSupportedException if a node or a weight cannot be cloned.
+     */
+    @SuppressWarnings ("unchecked")
+    protected void duplicateInto(AdjacencyListGraph<T> clone, boolean weighted) throws CloneNotSupportedException
+    {
+        if (!clone.isEmpty())
+        {
+            throw new IllegalArgumentException("Attempted to duplicate a graph into a graph that is not empty.");
+        }
+
+        int bound = getLabelRegistry().bound();
+        Node<T>[] copies = newNodeArray(bound);
+        clone.nodes = newNodeArray(Math.max(size(), DEFAULT_CAPACITY));
+        for (int i = 0; i < bound; ++i)
+        {
+            if (nodes[i] != null)
+            {
+                copies[i] = (Node<T>) nodes[i].clone();
+                clone.addNode(copies[i]);
+            }
+        }
+
+        IntFunction<Node<T>> counterpart = label -> copies[getLabelRegistry().indexOf(label)];
+        EdgeFactory factory = clone.getEdgeFactory();
+        for (int i = 0; i < bound; ++i)
+        {
+            if (nodes[i] instanceof DefaultNode && copies[i] instanceof DefaultNode)
+            {
+                ((DefaultNode<T>) nodes[i]).copyConnectionsTo((DefaultNode<T>) copies[i], counterpart, factory,
+                                                              weighted);
+            }
+            else if (nodes[i] != null)
+            {
+                for (Edge edge : nodes[i].getEdgesDepartingSelf())
+                {
+                    Node<T> v = counterpart.apply(edge.getFinalNode().getLabel());
+                    Weight<?> w = weighted ? edge.getWeight() : null;
+                    if (w != null)
+                    {
+                        w = (Weight<?>) w.clone();
+                        copies[i].addEdge(factory.build(w, copies[i], v, w));
+                    }
+                    else
+                    {
+                        copies[i].addEdge(factory.build(copies[i], v));
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * {@inheritDoc }
+     * <p>
+     * The adjacency index holds one key per edge, so while it is kept the count takes constant time.
+     */
+    @Override
+    public int edgeCount()
+    {
+        return (adjacency != null) ? adjacency.size() : super.edgeCount();
+    }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public boolean existsEdgeWithDirection(int u, int v)
+    {
+        if (adjacency == null)
+        {
+            return super.existsEdgeWithDirection(u, v);
+        }
+        if (adjacency.contains(DefaultNode.adjacencyKey(u, v)))
+        {
+            return true;
+        }
+        requireIndex(u);
+        requireIndex(v);
+        return false;
+    }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public Node<T> findNodeByLabel(int label)
+    {
+        return nodes[requireIndex(label)];
     }
 
     /**
@@ -81,7 +353,33 @@ public abstract class AdjacencyListGraph<T> extends AbstractGraph<T> implements
     @Override
     public Collection<Integer> getLabels()
     {
-        return nodes.keySet();
+        return new AbstractCollection<Integer>()
+        {
+            @Override
+            public boolean contains(Object o)
+            {
+                return (o instanceof Integer) && getLabelRegistry().contains((Integer) o);
+            }
+
+            @Override
+            public Iterator<Integer> iterator()
+            {
+                return new DenseIterator<Integer>()
+                {
+                    @Override
+                    protected Integer get(int index)
+                    {
+                        return getLabelRegistry().labelAt(index);
+                    }
+                };
+            }
+
+            @Override
+            public int size()
+            {
+                return AdjacencyListGraph.this.size();
+            }
+        };
     }
 
     /**
@@ -90,7 +388,27 @@ public abstract class AdjacencyListGraph<T> extends AbstractGraph<T> implements
     @Override
     protected Collection<Node<T>> getNodes()
     {
-        return nodes.values();
+        return new AbstractCollection<Node<T>>()
+        {
+            @Override
+            public Iterator<Node<T>> iterator()
+            {
+                return new DenseIterator<Node<T>>()
+                {
+                    @Override
+                    protected Node<T> get(int index)
+                    {
+                        return nodes[index];
+                    }
+                };
+            }
+
+            @Override
+            public int size()
+            {
+                return AdjacencyListGraph.this.size();
+            }
+        };
     }
 
     /**
@@ -99,7 +417,28 @@ public abstract class AdjacencyListGraph<T> extends AbstractGraph<T> implements
     @Override
     public boolean isVertexAdjacent(int u, int v)
     {
-        return findNodeByLabel(u).isAdjacent(findNodeByLabel(v));
+        if (adjacency == null)
+        {
+            return findNodeByLabel(u).isAdjacent(findNodeByLabel(v));
+        }
+        if (adjacency.contains(DefaultNode.adjacencyKey(u, v)) || adjacency.contains(DefaultNode.adjacencyKey(v, u)))
+        {
+            return true;
+        }
+        // Misses are rare enough to afford checking that both vertices exist
+        requireIndex(u);
+        requireIndex(v);
+        return false;
+    }
+
+    /**
+     * Returns true if this graph keeps an adjacency index.
+     *
+     * @return
+     */
+    public boolean isAdjacencyIndexed()
+    {
+        return adjacency != null;
     }
 
     /**
@@ -108,36 +447,99 @@ public abstract class AdjacencyListGraph<T> extends AbstractGraph<T> implements
     @Override
     public T remove(Node<T> node)
     {
-        if (!nodes.containsKey(node.getLabel()))
+        int index = getLabelRegistry().indexOf(node.getLabel());
+        if (index < 0)
         {
             throw new IllegalArgumentException("The node to remove is not present in this graph.");
         }
 
-        // Remove all the edges from the graph that ends in or departs from this node
-        for (Edge edge : node.getEdgesDepartingSelf())
+        return removeIndex(index);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public T removeAt(int u)
+    {
+        return remove(findNodeByLabel(u));
+    }
+
+    /**
+     * {@inheritDoc }
+     * <p>
+     * Removing the vertices costs time linear in the sum of their degrees.
+     */
+    @Override
+    public void removeVertices(int... labels)
+    {
+        for (int label : labels)
         {
-            node.removeEdge(edge);
+            requireIndex(label);
         }
-
-        // Remove all the edges that arrives to the node
-        for (Edge edge : node.getEdgesArrivingSelf())
+        for (int label : labels)
         {
-            edge.getStartNode().removeEdge(edge);
+            int index = getLabelRegistry().indexOf(label);
+            if (index >= 0)
+            {
+                removeIndex(index);
+            }
         }
+    }
 
-        // Remove the node
-        nodes.remove(node.getLabel());
-
-        return node.get();
+    /**
+     * Enables or disables the adjacency index of this graph. Enabling it indexes the connections the graph already
+     * has, and has no effect if some node of the graph is not a {@link DefaultNode}. The index should be disabled when
+     * the nodes of the graph are modified from several threads at once, even if they are guarded by different locks.
+     *
+     * @param indexed
+     */
+    public void setAdjacencyIndexed(boolean indexed)
+    {
+        if (!indexed)
+        {
+            if (adjacency != null)
+            {
+                detachAll();
+                adjacency = null;
+            }
+            return;
+        }
+        if (adjacency != null)
+        {
+            return;
+        }
+        int bound = getLabelRegistry().bound();
+        for (int i = 0; i < bound; ++i)
+        {
+            if (nodes[i] != null && !(nodes[i] instanceof DefaultNode))
+            {
+                return;
+            }
+        }
+        adjacency = new LongHashSet(size() * expectedDegree);
+        for (int i = 0; i < bound; ++i)
+        {
+            if (nodes[i] != null)
+            {
+                ((DefaultNode<T>) nodes[i]).setAdjacencyIndex(adjacency);
+            }
+        }
     }
 
     /**
-     * {@inheritDoc}
+     * Sets the number of connections the nodes created from now on are sized for. A good estimate of the average
+     * degree avoids resizing the adjacency maps of the nodes while the graph is built.
+     *
+     * @param expectedDegree
      */
-    @Override
-    public T removeAt(int u)
+    public void setExpectedDegree(int expectedDegree)
     {
-        return remove(findNodeByLabel(u));
+        if (expectedDegree < 0)
+        {
+            throw new IllegalArgumentException("The expected degree cannot be negative: " + expectedDegree);
+        }
+        this.expectedDegree = expectedDegree;
     }
 
     /**
@@ -147,7 +549,7 @@ public abstract class AdjacencyListGraph<T> extends AbstractGraph<T> implements
     public String toString()
     {
         StringBuilder builder = new StringBuilder("[\n");
-        for (Iterator<Node<T>> it = nodes.values().iterator(); it.hasNext();)
+        for (Iterator<Node<T>> it = getNodes().iterator(); it.hasNext();)
         {
             Node<T> node = it.next();
             builder.append(node.toString());
@@ -165,7 +567,91 @@ public abstract class AdjacencyListGraph<T> extends AbstractGraph<T> implements
     @Override
     public int size()
     {
-        return nodes.size();
+        return getLabelRegistry().size();
+    }
+
+    @SuppressWarnings ("unchecked")
+    private static <T> Node<T>[] newNodeArray(int capacity)
+    {
+        return (Node<T>[]) new Node<?>[capacity];
+    }
+
+    private void detachAll()
+    {
+        int bound = getLabelRegistry().bound();
+        for (int i = 0; i < bound; ++i)
+        {
+            if (nodes[i] instanceof DefaultNode)
+            {
+                ((DefaultNode<T>) nodes[i]).setAdjacencyIndex(null);
+            }
+        }
+    }
+
+    /**
+     * Removes the node at the index along with its edges, leaving its slot empty.
+     */
+    private T removeIndex(int index)
+    {
+        Node<T> node = nodes[index];
+        if (node instanceof DefaultNode)
+        {
+            ((DefaultNode<T>) node).isolate();
+        }
+        else
+        {
+            // Remove all the edges from the graph that ends in or departs from this node
+            for (Edge edge : node.getEdgesDepartingSelf())
+            {
+                node.removeEdge(edge);
+            }
+
+            // Remove all the edges that arrives to the node
+            for (Edge edge : node.getEdgesArrivingSelf())
+            {
+                edge.getStartNode().removeEdge(edge);
+            }
+        }
+
+        if (adjacency != null)
+        {
+            ((DefaultNode<T>) node).setAdjacencyIndex(null);
+        }
+        nodes[index] = null;
+        getLabelRegistry().unregister(node.getLabel());
+
+        return node.get();
+    }
+
+    private int requireIndex(int label)
+    {
+        int index = getLabelRegistry().indexOf(label);
+        if (index < 0)
+        {
+            throw new InvalidOperationException("Attempted to access node " + label
+                                                        + " in a graph that does not contains it.");
+        }
+        return index;
+    }
+
+    private void store(int index, Node<T> node)
+    {
+        if (index >= nodes.length)
+        {
+            nodes = Arrays.copyOf(nodes, Math.max(nodes.length << 1, index + 1));
+        }
+        nodes[index] = node;
+        if (adjacency != null)
+        {
+            if (node instanceof DefaultNode)
+            {
+                ((DefaultNode<T>) node).setAdjacencyIndex(adjacency);
+            }
+            else
+            {
+                setAdjacencyIndexed(false);
+            }
+        }
     }
 
 }
@@ -0,0 +1,484 @@
+/*
+ * Copyright (C) 2022 CUJAE.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+package cu.edu.cujae.graphy.core.defaults;
+
+import cu.edu.cujae.graphy.core.Edge;
+import cu.edu.cujae.graphy.core.Graph;
+import cu.edu.cujae.graphy.core.Node;
+import cu.edu.cujae.graphy.core.Weight;
+import cu.edu.cujae.graphy.core.WeightedGraph;
+import cu.edu.cujae.graphy.core.abstractions.AbstractCompressedGraph;
+import cu.edu.cujae.graphy.core.iterators.GraphIterator;
+import java.util.*;
+
+/**
+ * An immutable snapshot of a graph stored in <i>compressed sparse row</i> (CSR) format.
+ * <p>
+ * Vertices are assigned dense indices in the order their labels are returned by the source graph, and the adjacency
+ * is kept in primitive arrays: <code>outOffsets[i] .. outOffsets[i + 1]</code> is the range of <code>outTargets</code>
+ * holding the successors of the vertex with index <i>i</i>, and the same scheme is used for the predecessors. The
+ * position of an edge inside <code>outTargets</code> is its identifier, and weights are stored as a parallel
+ * <code>double</code> array indexed by that identifier.
+ * <p>
+ * {@link Node} and {@link Edge} instances are lightweight views created on demand, so every algorithm written against
+ * the {@link Graph} interface runs unchanged on a snapshot. Any attempt to modify the structure of the graph throws an
+ * {@link UnsupportedOperationException}; node attributes are still writable since algorithms use them as scratch
+ * space. If a mutable copy is required, use {@link #duplicate()}.
+ *
+ * @author Javier Marrero
+ * @param <T>
+ */
+public class CompressedSparseRowGraph<T> extends AbstractCompressedGraph<T>
+{
+
+    private static final long MAX_EXACT_LONG_WEIGHT = 1L << 53;
+
+    private final Map<Object, Object>[] attributes;
+    private final Weight<?>[] boxedWeights;
+    private final Object[] data;
+    private final Object[] edgeLabels;
+    private final int[] inEdges;
+    private final int[] inOffsets;
+    private final int[] inSources;
+    private final int[] labelLookup;
+    private final int labelLookupBase;
+    private final int[] labels;
+    private final boolean labelsAreWeights;
+    private final int[] outOffsets;
+    private final int[] outTargets;
+    private final boolean sortedAdjacency;
+    private final int[] sortedLabelIndices;
+    private final int[] sortedLabels;
+    private CompressedSparseRowGraph<T> transposed;
+    private final Class<?> weightType;
+    private final double[] weights;
+
+    /**
+     * Freezes the graph passed as argument into a new compressed snapshot. The source graph is only read, and later
+     * changes to it are not reflected in the snapshot. Edge weights are stored as primitive values, unless the source
+     * graph mixes different numeric types or contains unweighted edges, in which case the original {@link Weight}
+     * objects are shared by the snapshot.
+     *
+     * @param source
+     */
+    public CompressedSparseRowGraph(Graph<T> source)
+    {
+        this(source, false);
+    }
+
+    /**
+     * Freezes the graph passed as argument into a new compressed snapshot, as
+     * {@link #CompressedSparseRowGraph(cu.edu.cujae.graphy.core.Graph)} does. If <code>sortedAdjacency</code> is true
+     * the successors of every vertex are stored sorted by their index instead of in the order of the source graph, so
+     * edges are found by binary search and {@link #intersectNeighbors(int, int, java.util.function.IntConsumer)}
+     * walks the adjacencies in place instead of copying them. Predecessors are always stored sorted by index.
+     *
+     * @param source
+     * @param sortedAdjacency
+     */
+    public CompressedSparseRowGraph(Graph<T> source, boolean sortedAdjacency)
+    {
+        super(source.isDirected(), source.isWeighted());
+
+        if (source.isWeighted() && !(source instanceof WeightedGraph))
+        {
+            throw new IllegalArgumentException("The source graph reports weights but is not a weighted graph.");
+        }
+
+        final int n = source.size();
+        this.labels = new int[n];
+        this.data = new Object[n];
+        this.outOffsets = new int[n + 1];
+        this.inOffsets = new int[n + 1];
+        this.attributes = newAttributeArray(n);
+
+        final boolean weighted = source.isWeighted();
+
+        // First pass: assign dense indices, grab the data and count the out degrees
+        List<Collection<Edge>> departing = new ArrayList<>(n);
+        int k = 0;
+        for (int label : source.getLabels())
+        {
+            GraphIterator<T> it = source.iterator(label);
+            Collection<Edge> edges = it.getEdgesDepartingSelf();
+
+            labels[k] = label;
+            data[k] = it.get();
+            outOffsets[k + 1] = outOffsets[k] + edges.size();
+            departing.add(edges);
+            k++;
+        }
+
+        // Build the label lookup structure
+        int min = Integer.MAX_VALUE;
+        int max = Integer.MIN_VALUE;
+        for (int label : labels)
+        {
+            min = Math.min(min, label);
+            max = Math.max(max, label);
+        }
+        if (n > 0 && (long) max - (long) min < 4L * n + 16L)
+        {
+            this.labelLookupBase = min;
+            this.labelLookup = new int[max - min + 1];
+            Arrays.fill(labelLookup, -1);
+            for (int i = 0; i < n; ++i)
+            {
+                labelLookup[labels[i] - min] = i;
+            }
+            this.sortedLabels = null;
+            this.sortedLabelIndices = null;
+        }
+        else
+        {
+            this.labelLookupBase = 0;
+            this.labelLookup = null;
+            this.sortedLabels = labels.clone();
+            this.sortedLabelIndices = new int[n];
+            Arrays.sort(sortedLabels);
+            for (int i = 0; i < n; ++i)
+            {
+                sortedLabelIndices[Arrays.binarySearch(sortedLabels, labels[i])] = i;
+            }
+        }
+
+        // Second pass: fill the successor arrays and remember edge weights and labels
+        final int m = outOffsets[n];
+        this.outTargets = new int[m];
+        this.inEdges = new int[m];
+        this.inSources = new int[m];
+
+        Weight<?>[] originalWeights = weighted ? new Weight<?>[m] : null;
+        Object[] originalLabels = new Object[m];
+        Class<?> commonType = null;
+        boolean primitive = true;
+        boolean hasLabels = false;
+        boolean allLabelsAreWeights = m > 0;
+
+        int[] inDegree = new int[n + 1];
+        for (int i = 0; i < n; ++i)
+        {
+            int e = outOffsets[i];
+            Collection<Edge> edges = departing.get(i);
+            if (sortedAdjacency)
+            {
+                List<Edge> sorted = new ArrayList<>(edges);
+                sorted.sort(Comparator.comparingInt(edge -> indexOf(edge.getFinalNode().getLabel())));
+                edges = sorted;
+            }
+            for (Edge edge : edges)
+            {
+                int j = indexOf(edge.getFinalNode().getLabel());
+                outTargets[e] = j;
+                inDegree[j]++;
+
+                if (weighted)
+                {
+                    Weight<?> w = edge.getWeight();
+                    originalWeights[e] = w;
+
+                    Object value = (w != null) ? w.getValue() : null;
+                    if (value == null || !isPrimitiveWeightType(value.getClass()))
+                    {
+                        primitive = false;
+                    }
+                    else if (value instanceof Long && Math.abs((Long) value) > MAX_EXACT_LONG_WEIGHT)
+                    {
+                        // Not representable as a double without losing precision
+                        primitive = false;
+                    }
+                    else if (commonType == null)
+                    {
+                        commonType = value.getClass();
+                    }
+                    else if (commonType != value.getClass())
+                    {
+                        primitive = false;
+                    }
+                }
+
+                Object label = edge.getLabel();
+                originalLabels[e] = label;
+                hasLabels |= (label != null);
+                allLabelsAreWeights &= isLabeledByWeight(edge);
+                e++;
+            }
+        }
+        departing.clear();
+
+        // Third pass: build the predecessor arrays, which reference the edge identifiers of the successor arrays
+        for (int i = 0; i < n; ++i)
+        {
+            inOffsets[i + 1] = inOffsets[i] + inDegree[i];
+        }
+        int[] cursor = Arrays.copyOf(inOffsets, n);
+        for (int i = 0; i < n; ++i)
+        {
+            for (int e = outOffsets[i]; e < outOffsets[i + 1]; ++e)
+            {
+                int position = cursor[outTargets[e]]++;
+                inEdges[position] = e;
+                inSources[position] = i;
+            }
+        }
+
+        // Finally, the weights
+        if (weighted)
+        {
+            this.weights = new double[m];
+            for (int e = 0; e < m; ++e)
+            {
+                Weight<?> w = originalWeights[e];
+                weights[e] = (w != null && w.getValue() != null) ? w.getValue().doubleValue() : Double.NaN;
+            }
+            this.weightType = primitive ? commonType : null;
+            this.boxedWeights = primitive ? null : originalWeights;
+        }
+        else
+        {
+            this.weights = null;
+            this.weightType = null;
+            this.boxedWeights = null;
+        }
+
+        this.labelsAreWeights = weighted && allLabelsAreWeights;
+        this.sortedAdjacency = sortedAdjacency;
+        this.edgeLabels = (hasLabels && !labelsAreWeights) ? originalLabels : null;
+    }
+
+    /**
+     * Builds the transpose of a snapshot. The vertex arrays are shared, and the successor and predecessor arrays of
+     * the source trade places: the only work left is numbering the edges after their position in the new successor
+     * arrays, which takes a single pass over the predecessor arrays of the source.
+     */
+    private CompressedSparseRowGraph(CompressedSparseRowGraph<T> source)
+    {
+        super(source.isDirected(), source.isWeighted());
+
+        this.attributes = source.attributes;
+        this.data = source.data;
+        this.labelLookup = source.labelLookup;
+        this.labelLookupBase = source.labelLookupBase;
+        this.labels = source.labels;
+        this.labelsAreWeights = source.labelsAreWeights;
+        this.sortedLabelIndices = source.sortedLabelIndices;
+        this.sortedLabels = source.sortedLabels;
+        // The predecessors of the source become the successors of the transpose, and they are always sorted
+        this.sortedAdjacency = source.sortedAdjacency;
+        this.weightType = source.weightType;
+
+        this.outOffsets = source.inOffsets;
+        this.outTargets = source.inSources;
+        this.inOffsets = source.outOffsets;
+        this.inSources = source.outTargets;
+
+        // The k-th edge of the transpose is the edge source.inEdges[k] of the source
+        final int m = outTargets.length;
+        final int[] original = source.inEdges;
+        this.inEdges = new int[m];
+        for (int k = 0; k < m; ++k)
+        {
+            inEdges[original[k]] = k;
+        }
+        this.weights = (source.weights != null) ? new double[m] : null;
+        this.boxedWeights = (source.boxedWeights != null) ? new Weight<?>[m] : null;
+        this.edgeLabels = (source.edgeLabels != null) ? new Object[m] : null;
+        for (int k = 0; k < m; ++k)
+        {
+            if (weights != null)
+            {
+                weights[k] = source.weights[original[k]];
+            }
+            if (boxedWeights != null)
+            {
+                boxedWeights[k] = source.boxedWeights[original[k]];
+            }
+            if (edgeLabels != null)
+            {
+                edgeLabels[k] = source.edgeLabels[original[k]];
+            }
+        }
+        this.transposed = source;
+    }
+
+    /**
+     * Returns true if the label of the edge is its weight, as in the edges built by {@link DefaultWeightedGraph}.
+     *
+     * @param edge
+     *
+     * @return
+     */
+    static boolean isLabeledByWeight(Edge edge)
+    {
+        if (edge instanceof PrimitiveWeightedEdge)
+        {
+            return ((PrimitiveWeightedEdge) edge).isLabeledByWeight();
+        }
+        return edge.getLabel() != null && edge.getLabel() == edge.getWeight();
+    }
+
+    @SuppressWarnings ("unchecked")
+    private static Map<Object, Object>[] newAttributeArray(int n)
+    {
+        return (Map<Object, Object>[]) new Map<?, ?>[n];
+    }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public int size()
+    {
+        return labels.length;
+    }
+
+    /**
+     * Returns the transpose of this snapshot as another compressed snapshot, built in a single O(V + E) pass that
+     * shares the vertex arrays and swaps the successor and predecessor arrays. Node attributes, weights and labels are
+     * shared with this snapshot. The transpose is built once, and transposing it gives back this snapshot.
+     *
+     * @return
+     */
+    @Override
+    public Graph<T> transposedView()
+    {
+        if (transposed == null)
+        {
+            transposed = new CompressedSparseRowGraph<>(this);
+        }
+        return transposed;
+    }
+
+    @Override
+    protected Map<Object, Object> attributesOf(int index, boolean create)
+    {
+        if (attributes[index] == null && create)
+        {
+            attributes[index] = new HashMap<>(5);
+        }
+        return attributes[index];
+    }
+
+    @Override
+    protected Object dataAt(int index)
+    {
+        return data[index];
+    }
+
+    @Override
+    protected Object edgeLabelAt(int e)
+    {
+        if (edgeLabels != null)
+        {
+            return edgeLabels[e];
+        }
+        return labelsAreWeights ? weightOfEdge(e) : null;
+    }
+
+    @Override
+    protected boolean hasSortedAdjacency()
+    {
+        return sortedAdjacency;
+    }
+
+    @Override
+    protected boolean hasWeights()
+    {
+        return weights != null;
+    }
+
+    @Override
+    protected int inEdge(int k)
+    {
+        return inEdges[k];
+    }
+
+    @Override
+    protected int inOffset(int index)
+    {
+        return inOffsets[index];
+    }
+
+    @Override
+    protected int inSource(int k)
+    {
+        return inSources[k];
+    }
+
+    @Override
+    protected int indexOf(int label)
+    {
+        if (labelLookup != null)
+        {
+            long position = (long) label - labelLookupBase;
+            return (position >= 0 && position < labelLookup.length) ? labelLookup[(int) position] : -1;
+        }
+        int position = Arrays.binarySearch(sortedLabels, label);
+        return position >= 0 ? sortedLabelIndices[position] : -1;
+    }
+
+    @Override
+    protected boolean isEdgeWeighted(int e)
+    {
+        return weights != null && (boxedWeights == null || boxedWeights[e] != null);
+    }
+
+    @Override
+    protected int labelAt(int index)
+    {
+        return labels[index];
+    }
+
+    @Override
+    protected int outOffset(int index)
+    {
+        return outOffsets[index];
+    }
+
+    @Override
+    protected int outTarget(int e)
+    {
+        return outTargets[e];
+    }
+
+    @Override
+    protected double weightAsDouble(int e)
+    {
+        if (weights == null || (boxedWeights != null && boxedWeights[e] == null))
+        {
+            throw new IllegalArgumentException("The edge " + e + " of this graph is not weighted.");
+        }
+        return boxedWeights != null ? boxedWeights[e].getValue().doubleValue() : weights[e];
+    }
+
+    @Override
+    protected Weight<?> weightOfEdge(int e)
+    {
+        if (weights == null)
+        {
+            return null;
+        }
+        if (boxedWeights != null)
+        {
+            return boxedWeights[e];
+        }
+        return makeWeight(weights[e], weightType);
+    }
+
+}
@@ -0,0 +1,1329 @@
+/*
+ * Copyright (C) 2022 CUJAE.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+package cu.edu.cujae.graphy.core.defaults;
+
+import cu.edu.cujae.graphy.core.Edge;
+import cu.edu.cujae.graphy.core.EdgeFactory;
+import cu.edu.cujae.graphy.core.EdgeVisitor;
+import cu.edu.cujae.graphy.core.Graph;
+import cu.edu.cujae.graphy.core.Node;
+import cu.edu.cujae.graphy.core.Weight;
+import cu.edu.cujae.graphy.core.WeightedGraph;
+import cu.edu.cujae.graphy.core.abstractions.AbstractGraph;
+import cu.edu.cujae.graphy.core.abstractions.AdjacencyListGraph;
+import cu.edu.cujae.graphy.core.defaults.VersionedGraph.Link;
+import cu.edu.cujae.graphy.core.defaults.VersionedGraph.Vertex;
+import cu.edu.cujae.graphy.core.iterators.GraphIterator;
+import cu.edu.cujae.graphy.utils.LabelRegistry;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.IntConsumer;
+import java.util.function.Supplier;
+
+/**
+ * A thread-safe graph, meant to serve queries from many threads while other threads add and remove edges.
+ * <p>
+ * The graph keeps its vertices and edges in an adjacency list graph of its own, and guards it with a set of
+ * read-write locks, each one of them protecting the adjacency of the vertices whose labels hash to it. Operations on
+ * edges only lock the stripes of their endpoints, so readers and writers working on different vertices do not block
+ * each other; adding or removing vertices locks every stripe.
+ * <p>
+ * Alongside it, the graph keeps the adjacency of every vertex in arrays that writers update copy-on-write: a vertex
+ * is copied the first time it is modified after a snapshot was taken, and changed in place afterwards. A snapshot is
+ * then a view over the vertices as they were when it was taken, and the graph itself is never copied.
+ * <p>
+ * Consistency guarantees:
+ * <ul>
+ * <li>Every method of this class is atomic: it observes the graph either before or after any other method that
+ * modifies it.</li>
+ * <li>{@link #forEachOutEdge(int, cu.edu.cujae.graphy.core.EdgeVisitor)} and its siblings hold the lock of the vertex
+ * while the visitor runs, so they see a consistent adjacency of that vertex. Visitors must not modify the graph.</li>
+ * <li>{@link #iterator()}, {@link #getLabels()} and {@link #toString()} are built from a consistent snapshot of the
+ * whole graph, taken when they are created. Later changes are not reflected in them and they never throw
+ * {@link java.util.ConcurrentModificationException}.</li>
+ * <li>The breadth-first and depth-first iterators walk this graph itself, locking the stripe of every vertex while
+ * they read its successors. They are weakly consistent: they may or may not reflect the changes made after they
+ * were created, skip the vertices removed after they reached them, and never throw
+ * {@link java.util.ConcurrentModificationException}. The direction-optimizing iterators, the parallel
+ * breadth-first search and {@link #edgeIndex()} copy the adjacency of every vertex in turn, under the lock of its
+ * stripe, and then work on the copy. {@link #transposedView()} answers every query through this graph, so it is
+ * guarded in the same way.</li>
+ * <li>{@link Node}, {@link Edge} and {@link GraphIterator} objects obtained from the graph are <b>not</b> guarded:
+ * reading the adjacency through them while other threads modify the graph is unsafe. Algorithms that walk the graph
+ * through iterators should be run inside {@link #read(java.util.function.Supplier)}, which blocks writers for the
+ * duration of the call.</li>
+ * <li>{@link #snapshot()} returns an immutable version of the graph in constant time, shared by every caller until the
+ * next modification. Long running algorithms should prefer it over {@link #read(java.util.function.Supplier)}, since
+ * it does not keep writers waiting while they run.</li>
+ * <li>Vertex properties are backed by the dense indexes of the live vertices, so they address vertices added after
+ * they were created. The indexes are guarded by a lock of their own, taken after the stripes and never before them,
+ * so properties may be read and written from within visitors.</li>
+ * </ul>
+ *
+ * @author Javier Marrero
+ * @param <T>
+ */
+public class ConcurrentGraph<T> extends AbstractGraph<T> implements WeightedGraph<T>
+{
+
+    private static final int DEFAULT_CONCURRENCY_LEVEL = 64;
+
+    private final AtomicInteger edgeCount;
+    private final AbstractGraph<T> graph;
+    private final ReentrantReadWriteLock indexLock;
+    private final int mask;
+    private volatile Graph<T> snapshot;
+    private final ReentrantReadWriteLock[] stripes;
+    private final VersionedGraph.Versions versions;
+    private Vertex[] vertices;
+
+    /**
+     * Creates a new, empty, concurrent graph.
+     *
+     * @param directed
+     * @param weighted
+     */
+    public ConcurrentGraph(boolean directed, boolean weighted)
+    {
+        this(directed, weighted, DEFAULT_CONCURRENCY_LEVEL);
+    }
+
+    /**
+     * Creates a new, empty, concurrent graph with about <code>concurrencyLevel</code> lock stripes. A value of a few
+     * times the number of threads accessing the graph is a good choice.
+     *
+     * @param directed
+     * @param weighted
+     * @param concurrencyLevel
+     */
+    public ConcurrentGraph(boolean directed, boolean weighted, int concurrencyLevel)
+    {
+        this((AbstractGraph<T>) (weighted ? new DefaultWeightedGraphBuilder<T>().buildGraph().directed(directed).get()
+                                 : new DefaultGraphBuilder<T>().buildGraph().directed(directed).get()),
+             concurrencyLevel);
+    }
+
+    private ConcurrentGraph(AbstractGraph<T> graph, int concurrencyLevel)
+    {
+        super(graph.isDirected());
+
+        if (concurrencyLevel <= 0)
+        {
+            throw new IllegalArgumentException("The concurrency level must be positive: " + concurrencyLevel);
+        }
+        int count = Integer.highestOneBit(Math.min(concurrencyLevel, 1 << 16) * 2 - 1);
+        this.graph = graph;
+        if (graph instanceof AdjacencyListGraph)
+        {
+            // Writers on different stripes would update the shared adjacency index at once
+            ((AdjacencyListGraph<T>) graph).setAdjacencyIndexed(false);
+        }
+        this.edgeCount = new AtomicInteger(graph.edgeCount());
+        this.indexLock = new ReentrantReadWriteLock();
+        for (int label : graph.getLabels())
+        {
+            getLabelRegistry().register(label);
+        }
+        this.mask = count - 1;
+        this.stripes = new ReentrantReadWriteLock[count];
+        for (int i = 0; i < count; ++i)
+        {
+            stripes[i] = new ReentrantReadWriteLock();
+        }
+        this.versions = new VersionedGraph.Versions();
+        rebuildVersions();
+    }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public boolean add(int label, T data)
+    {
+        lockAll(true);
+        try
+        {
+            snapshot = null;
+            return addVertex(label, data);
+        }
+        finally
+        {
+            unlockAll(true);
+        }
+    }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public boolean add(T data)
+    {
+        lockAll(true);
+        try
+        {
+            snapshot = null;
+            return addVertex(allocateLabel(), data);
+        }
+        finally
+        {
+            unlockAll(true);
+        }
+    }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public boolean addAll(Collection<? extends T> c)
+    {
+        lockAll(true);
+        try
+        {
+            snapshot = null;
+            boolean result = true;
+            for (T element : c)
+            {
+                result &= addVertex(allocateLabel(), element);
+            }
+            return result;
+        }
+        finally
+        {
+            unlockAll(true);
+        }
+    }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public void clear()
+    {
+        lockAll(true);
+        try
+        {
+            snapshot = null;
+            graph.clear();
+            edgeCount.set(0);
+            updateIndexes(LabelRegistry::clear);
+            rebuildVersions();
+        }
+        finally
+        {
+            unlockAll(true);
+        }
+    }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public boolean connect(int u, int v)
+    {
+        lockPair(u, v, true);
+        try
+        {
+            snapshot = null;
+            return linked(u, v, counted(graph.connect(u, v), 1));
+        }
+        finally
+        {
+            unlockPair(u, v, true);
+        }
+    }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public boolean connect(Node<T> u, Node<T> v)
+    {
+        return connect(u.getLabel(), v.getLabel());
+    }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public boolean connect(int u, int v, Weight<?> w)
+    {
+        WeightedGraph<T> weighted = requireWeighted();
+        lockPair(u, v, true);
+        try
+        {
+            snapshot = null;
+            return linked(u, v, counted(weighted.connect(u, v, w), 1));
+        }
+        finally
+        {
+            unlockPair(u, v, true);
+        }
+    }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public boolean connect(Node<T> u, Node<T> v, Weight<?> w)
+    {
+        return connect(u.getLabel(), v.getLabel(), w);
+    }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public boolean contains(Object o)
+    {
+        return read(() -> graph.contains(o));
+    }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public boolean containsAll(Collection<?> c)
+    {
+        return read(() -> graph.containsAll(c));
+    }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public int degree(int u)
+    {
+        ReentrantReadWriteLock.ReadLock lock = stripeOf(u).readLock();
+        lock.lock();
+        try
+        {
+            return graph.degree(u);
+        }
+        finally
+        {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public int[] degreeHistogram()
+    {
+        return read(() -> graph.degreeHistogram());
+    }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public boolean disconnect(Node<T> u, Node<T> v)
+    {
+        return disconnect(u.getLabel(), v.getLabel());
+    }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public boolean disconnect(int u, int v)
+    {
+        lockPair(u, v, true);
+        try
+        {
+            snapshot = null;
+            return unlinked(u, v, counted(graph.disconnect(u, v), -1));
+        }
+        finally
+        {
+            unlockPair(u, v, true);
+        }
+    }
+
+    /**
+     * Returns a new concurrent graph holding a copy of this graph, with the same number of lock stripes.
+     *
+     * @return
+     *
+     * @throws CloneNotSupportedException
+     */
+    @Override
+    public Graph<T> duplicate() throws CloneNotSupportedException
+    {
+        lockAll(false);
+        try
+        {
+            return new ConcurrentGraph<>((AbstractGraph<T>) graph.duplicate(), stripes.length);
+        }
+        finally
+        {
+            unlockAll(false);
+        }
+    }
+
+    /**
+     * {@inheritDoc }
+     * <p>
+     * The count is kept by this graph as edges are added and removed, so it is read without locking.
+     */
+    @Override
+    public int edgeCount()
+    {
+        return edgeCount.get();
+    }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public double edgeWeightAsDouble(Edge e)
+    {
+        return requireWeighted().edgeWeightAsDouble(e);
+    }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public boolean existsEdgeWithDirection(int u, int v)
+    {
+        ReentrantReadWriteLock.ReadLock lock = stripeOf(u).readLock();
+        lock.lock();
+        try
+        {
+            return graph.existsEdgeWithDirection(u, v);
+        }
+        finally
+        {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns the node of the vertex. The node is not guarded, see the documentation of this class.
+     *
+     * @param label
+     *
+     * @return
+     */
+    @Override
+    public Node<T> findNodeByLabel(int label)
+    {
+        ReentrantReadWriteLock.ReadLock lock = stripeOf(label).readLock();
+        lock.lock();
+        try
+        {
+            return graph.findNodeByLabel(label);
+        }
+        finally
+        {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public void forEachInEdge(int u, EdgeVisitor visitor)
+    {
+        ReentrantReadWriteLock.ReadLock lock = stripeOf(u).readLock();
+        lock.lock();
+        try
+        {
+            graph.forEachInEdge(u, visitor);
+        }
+        finally
+        {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public void forEachInNeighbor(int u, IntConsumer action)
+    {
+        ReentrantReadWriteLock.ReadLock lock = stripeOf(u).readLock();
+        lock.lock();
+        try
+        {
+            graph.forEachInNeighbor(u, action);
+        }
+        finally
+        {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public void forEachOutEdge(int u, EdgeVisitor visitor)
+    {
+        ReentrantReadWriteLock.ReadLock lock = stripeOf(u).readLock();
+        lock.lock();
+        try
+        {
+            graph.forEachOutEdge(u, visitor);
+        }
+        finally
+        {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public void forEachOutNeighbor(int u, IntConsumer action)
+    {
+        ReentrantReadWriteLock.ReadLock lock = stripeOf(u).readLock();
+        lock.lock();
+        try
+        {
+            graph.forEachOutNeighbor(u, action);
+        }
+        finally
+        {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns a snapshot of the labels of the graph.
+     *
+     * @return
+     */
+    @Override
+    public Collection<Integer> getLabels()
+    {
+        return read(() -> Collections.unmodifiableList(new ArrayList<>(graph.getLabels())));
+    }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public int inDegree(int u)
+    {
+        ReentrantReadWriteLock.ReadLock lock = stripeOf(u).readLock();
+        lock.lock();
+        try
+        {
+            return graph.inDegree(u);
+        }
+        finally
+        {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * {@inheritDoc }
+     * <p>
+     * The stripes of both vertices are locked for reading while the action runs, so the action must not modify the
+     * graph.
+     */
+    @Override
+    public void intersectNeighbors(int u, int v, IntConsumer action)
+    {
+        lockPair(u, v, false);
+        try
+        {
+            graph.intersectNeighbors(u, v, action);
+        }
+        finally
+        {
+            unlockPair(u, v, false);
+        }
+    }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public boolean isDirected()
+    {
+        return graph.isDirected();
+    }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public boolean isEmpty()
+    {
+        return size() == 0;
+    }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public boolean isVertexAdjacent(int u, int v)
+    {
+        ReentrantReadWriteLock.ReadLock lock = stripeOf(u).readLock();
+        lock.lock();
+        try
+        {
+            return graph.isVertexAdjacent(u, v);
+        }
+        finally
+        {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public boolean isWeighted()
+    {
+        return graph.isWeighted();
+    }
+
+    /**
+     * Returns an iterator over a snapshot of the data of the vertices.
+     *
+     * @return
+     */
+    @Override
+    public Iterator<T> iterator()
+    {
+        return read(() -> Collections.unmodifiableList(new ArrayList<>(graph)).iterator());
+    }
+
+    /**
+     * Returns an iterator positioned at the vertex passed as argument. The iterator is not guarded, see the
+     * documentation of this class.
+     *
+     * @param v
+     *
+     * @return
+     */
+    @Override
+    public GraphIterator<T> iterator(int v)
+    {
+        ReentrantReadWriteLock.ReadLock lock = stripeOf(v).readLock();
+        lock.lock();
+        try
+        {
+            return graph.iterator(v);
+        }
+        finally
+        {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public int outDegree(int u)
+    {
+        ReentrantReadWriteLock.ReadLock lock = stripeOf(u).readLock();
+        lock.lock();
+        try
+        {
+            return graph.outDegree(u);
+        }
+        finally
+        {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public GraphIterator<T> randomIterator()
+    {
+        return read(() -> graph.randomIterator());
+    }
+
+    /**
+     * Runs an action while holding the read lock of every stripe, so no other thread can modify the graph until the
+     * action returns. Use it to run algorithms that walk the graph through its iterators and nodes. The action must not
+     * modify the graph.
+     *
+     * @param <R>
+     * @param action
+     *
+     * @return the value returned by the action.
+     */
+    public <R> R read(Supplier<R> action)
+    {
+        lockAll(false);
+        try
+        {
+            return action.get();
+        }
+        finally
+        {
+            unlockAll(false);
+        }
+    }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public void registerEdgeFactory(EdgeFactory factory)
+    {
+        lockAll(true);
+        try
+        {
+            graph.registerEdgeFactory(factory);
+        }
+        finally
+        {
+            unlockAll(true);
+        }
+    }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public T remove(Node<T> node)
+    {
+        return removeAt(node.getLabel());
+    }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public boolean remove(Object o)
+    {
+        lockAll(true);
+        try
+        {
+            snapshot = null;
+            return recounted(forgetRemoved(graph.remove(o)));
+        }
+        finally
+        {
+            unlockAll(true);
+        }
+    }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public boolean removeAll(Collection<?> c)
+    {
+        lockAll(true);
+        try
+        {
+            snapshot = null;
+            return recounted(forgetRemoved(graph.removeAll(c)));
+        }
+        finally
+        {
+            unlockAll(true);
+        }
+    }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public T removeAt(int u)
+    {
+        lockAll(true);
+        try
+        {
+            snapshot = null;
+            T data = graph.removeAt(u);
+            forgetVersion(u);
+            updateIndexes(registry -> registry.unregister(u));
+            return recounted(data);
+        }
+        finally
+        {
+            unlockAll(true);
+        }
+    }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public void removeVertices(int... labels)
+    {
+        lockAll(true);
+        try
+        {
+            snapshot = null;
+            graph.removeVertices(labels);
+            edgeCount.set(graph.edgeCount());
+            for (int label : labels)
+            {
+                forgetVersion(label);
+            }
+            updateIndexes(registry ->
+            {
+                for (int label : labels)
+                {
+                    registry.unregister(label);
+                }
+            });
+        }
+        finally
+        {
+            unlockAll(true);
+        }
+    }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public boolean retainAll(Collection<?> c)
+    {
+        lockAll(true);
+        try
+        {
+            snapshot = null;
+            return recounted(forgetRemoved(graph.retainAll(c)));
+        }
+        finally
+        {
+            unlockAll(true);
+        }
+    }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public void reverse()
+    {
+        lockAll(true);
+        try
+        {
+            snapshot = null;
+            graph.reverse();
+            rebuildVersions();
+        }
+        finally
+        {
+            unlockAll(true);
+        }
+    }
+
+    /**
+     * The direction of a concurrent graph is chosen when it is created, so this method always throws.
+     *
+     * @param directed
+     *
+     * @throws UnsupportedOperationException
+     */
+    @Override
+    public void setDirected(boolean directed)
+    {
+        throw new UnsupportedOperationException("The direction of a concurrent graph cannot be changed.");
+    }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public int size()
+    {
+        ReentrantReadWriteLock.ReadLock lock = stripes[0].readLock();
+        lock.lock();
+        try
+        {
+            return graph.size();
+        }
+        finally
+        {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns an immutable snapshot of the graph in constant time. The snapshot is a view of the current version of
+     * the adjacency of the vertices, which later writers copy instead of modifying; it is shared by every call made
+     * until the next modification, and the vertices only it holds are reclaimed as soon as the last reader that holds
+     * it drops its reference.
+     *
+     * @return
+     */
+    @Override
+    public Graph<T> snapshot()
+    {
+        Graph<T> current = snapshot;
+        if (current == null)
+        {
+            lockAll(false);
+            try
+            {
+                synchronized (versions)
+                {
+                    current = snapshot;
+                    if (current == null)
+                    {
+                        current = versions.freeze(isDirected(), isWeighted(), getLabelRegistry().bound(),
+                                                  edgeCount.get());
+                        snapshot = current;
+                    }
+                }
+            }
+            finally
+            {
+                unlockAll(false);
+            }
+        }
+        return current;
+    }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public Object[] toArray()
+    {
+        return read(() -> graph.toArray());
+    }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public <E> E[] toArray(E[] a)
+    {
+        return read(() -> graph.toArray(a));
+    }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public String toString()
+    {
+        return read(() -> graph.toString());
+    }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public double weightOf(int u, int v)
+    {
+        WeightedGraph<T> weighted = requireWeighted();
+        ReentrantReadWriteLock.ReadLock lock = stripeOf(u).readLock();
+        lock.lock();
+        try
+        {
+            return weighted.weightOf(u, v);
+        }
+        finally
+        {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Nodes cannot be added to a concurrent graph, as they would bypass its locks.
+     *
+     * @param node
+     *
+     * @return
+     */
+    @Override
+    protected boolean addNode(Node<T> node)
+    {
+        throw new UnsupportedOperationException("Nodes cannot be added to a concurrent graph, add their data instead.");
+    }
+
+    /**
+     * Returns a copy of the collection of nodes, taken while holding the read lock of every stripe.
+     *
+     * @return
+     */
+    @Override
+    protected Collection<Node<T>> getNodes()
+    {
+        return read(() ->
+        {
+            List<Node<T>> nodes = new ArrayList<>(graph.size());
+            for (int label : graph.getLabels())
+            {
+                nodes.add(graph.findNodeByLabel(label));
+            }
+            return nodes;
+        });
+    }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    protected int vertexIndex(int label)
+    {
+        ReentrantReadWriteLock.ReadLock lock = indexLock.readLock();
+        lock.lock();
+        try
+        {
+            return super.vertexIndex(label);
+        }
+        finally
+        {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    protected int vertexIndexBound()
+    {
+        ReentrantReadWriteLock.ReadLock lock = indexLock.readLock();
+        lock.lock();
+        try
+        {
+            return super.vertexIndexBound();
+        }
+        finally
+        {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Adds a vertex and gives it a dense index. Every stripe must be locked for writing.
+     */
+    private boolean addVertex(int label, T data)
+    {
+        if (!graph.add(label, data))
+        {
+            return false;
+        }
+        updateIndexes(registry -> registry.register(label));
+        addVersion(label, data);
+        return true;
+    }
+
+    /**
+     * Adds the first version of a vertex, once it has a dense index. Every stripe must be locked for writing.
+     */
+    private void addVersion(int label, Object data)
+    {
+        int index = getLabelRegistry().indexOf(label);
+        if (index >= vertices.length)
+        {
+            vertices = Arrays.copyOf(vertices, Math.max(2 * vertices.length, index + 1));
+        }
+        vertices[index] = new Vertex(label, index, data, versions.owner());
+        versions.put(vertices[index]);
+    }
+
+    /**
+     * Updates the edge count after an edge was added or removed. Writers on different stripes may run at once, so the
+     * count is atomic.
+     */
+    private boolean counted(boolean changed, int delta)
+    {
+        if (changed)
+        {
+            edgeCount.addAndGet(delta);
+        }
+        return changed;
+    }
+
+    /**
+     * Returns the version of the vertex that may be modified, copying it first if it belongs to a snapshot. The stripe
+     * of the vertex must be locked for writing.
+     */
+    private Vertex editVersion(int label)
+    {
+        int index = getLabelRegistry().indexOf(label);
+        Vertex vertex = vertices[index];
+        if (vertex.owner != versions.owner())
+        {
+            vertex = vertex.copy(versions.owner());
+            vertices[index] = vertex;
+            versions.put(vertex);
+        }
+        return vertex;
+    }
+
+    /**
+     * Releases the dense indexes of the vertices removed by a change that did not report their labels, such as
+     * removing the vertices holding some data. Every stripe must be locked for writing.
+     */
+    private <R> R forgetRemoved(R result)
+    {
+        Collection<Integer> labels = graph.getLabels();
+        LabelRegistry registry = getLabelRegistry();
+        List<Integer> removed = new ArrayList<>();
+        for (int i = 0; i < registry.bound(); ++i)
+        {
+            int label = registry.labelAt(i);
+            if (registry.indexOf(label) == i && !labels.contains(label))
+            {
+                removed.add(label);
+            }
+        }
+        for (int label : removed)
+        {
+            forgetVersion(label);
+        }
+        updateIndexes(r -> removed.forEach(r::unregister));
+        return result;
+    }
+
+    /**
+     * Removes the last version of a removed vertex, and the versions of its edges from its neighbors, before its dense
+     * index is released. Every stripe must be locked for writing.
+     */
+    private void forgetVersion(int label)
+    {
+        int index = getLabelRegistry().indexOf(label);
+        if (index < 0 || vertices[index] == null)
+        {
+            return;
+        }
+        Vertex vertex = vertices[index];
+        for (int k = 0; k < vertex.outDegree; ++k)
+        {
+            if (vertex.out[k].target != label)
+            {
+                editVersion(vertex.out[k].target).removeIn(label);
+            }
+        }
+        for (int k = 0; k < vertex.inDegree; ++k)
+        {
+            if (vertex.in[k].source != label)
+            {
+                editVersion(vertex.in[k].source).removeOut(label);
+            }
+        }
+        vertices[index] = null;
+        versions.remove(label);
+    }
+
+    private void link(int u, int v, Edge edge)
+    {
+        Link link = new Link(u, v, edge);
+        editVersion(u).addOut(link);
+        editVersion(v).addIn(link);
+    }
+
+    /**
+     * Adds the versions of an edge just added to the graph to both of its endpoints, whose stripes must be locked for
+     * writing.
+     */
+    private boolean linked(int u, int v, boolean changed)
+    {
+        if (changed)
+        {
+            link(u, v, graph.findNodeByLabel(u).getAdjacentEdge(graph.findNodeByLabel(v)));
+        }
+        return changed;
+    }
+
+    private void lockAll(boolean exclusive)
+    {
+        for (ReentrantReadWriteLock stripe : stripes)
+        {
+            if (exclusive)
+            {
+                stripe.writeLock().lock();
+            }
+            else
+            {
+                stripe.readLock().lock();
+            }
+        }
+    }
+
+    /**
+     * Locks the stripes of both endpoints of an edge. Stripes are always locked in ascending order, so writers never
+     * deadlock.
+     */
+    private void lockPair(int u, int v, boolean exclusive)
+    {
+        int i = stripeIndex(u);
+        int j = stripeIndex(v);
+        lockStripe(Math.min(i, j), exclusive);
+        if (i != j)
+        {
+            lockStripe(Math.max(i, j), exclusive);
+        }
+    }
+
+    private void lockStripe(int i, boolean exclusive)
+    {
+        if (exclusive)
+        {
+            stripes[i].writeLock().lock();
+        }
+        else
+        {
+            stripes[i].readLock().lock();
+        }
+    }
+
+    /**
+     * Builds the versions of every vertex and edge again from the adjacency list graph. Every stripe must be locked for
+     * writing, or the graph must not be shared yet.
+     */
+    private void rebuildVersions()
+    {
+        versions.clear();
+        vertices = new Vertex[Math.max(getLabelRegistry().bound(), 16)];
+        for (int label : graph.getLabels())
+        {
+            addVersion(label, graph.findNodeByLabel(label).get());
+        }
+        for (int label : graph.getLabels())
+        {
+            for (Edge edge : graph.findNodeByLabel(label).getEdgesDepartingSelf())
+            {
+                link(label, edge.getFinalNode().getLabel(), edge);
+            }
+        }
+    }
+
+    /**
+     * Counts the edges again after a change that locked every stripe, such as removing vertices along with their edges.
+     */
+    private <R> R recounted(R result)
+    {
+        edgeCount.set(graph.edgeCount());
+        return result;
+    }
+
+    private WeightedGraph<T> requireWeighted()
+    {
+        if (!(graph instanceof WeightedGraph))
+        {
+            throw new UnsupportedOperationException("This graph is not weighted.");
+        }
+        return (WeightedGraph<T>) graph;
+    }
+
+    private int stripeIndex(int label)
+    {
+        return (label ^ (label >>> 16)) & mask;
+    }
+
+    private ReentrantReadWriteLock stripeOf(int label)
+    {
+        return stripes[stripeIndex(label)];
+    }
+
+    /**
+     * Removes the versions of an edge just removed from the graph from both of its endpoints, whose stripes must be
+     * locked for writing. Undirected edges are kept by the endpoint they were added from.
+     */
+    private boolean unlinked(int u, int v, boolean changed)
+    {
+        if (changed)
+        {
+            if (editVersion(u).removeOut(v))
+            {
+                editVersion(v).removeIn(u);
+            }
+            else
+            {
+                editVersion(v).removeOut(u);
+                editVersion(u).removeIn(v);
+            }
+        }
+        return changed;
+    }
+
+    private void unlockAll(boolean exclusive)
+    {
+        for (int i = stripes.length - 1; i >= 0; --i)
+        {
+            if (exclusive)
+            {
+                stripes[i].writeLock().unlock();
+            }
+            else
+            {
+                stripes[i].readLock().unlock();
+            }
+        }
+    }
+
+    private void unlockPair(int u, int v, boolean exclusive)
+    {
+        int i = stripeIndex(u);
+        int j = stripeIndex(v);
+        if (i != j)
+        {
+            unlockStripe(Math.max(i, j), exclusive);
+        }
+        unlockStripe(Math.min(i, j), exclusive);
+    }
+
+    private void unlockStripe(int i, boolean exclusive)
+    {
+        if (exclusive)
+        {
+            stripes[i].writeLock().unlock();
+        }
+        else
+        {
+            stripes[i].readLock().unlock();
+        }
+    }
+
+    /**
+     * Changes the dense indexes of the vertices while holding the lock that guards them. Every stripe must be locked
+     * for writing, so that no visitor is running.
+     */
+    private void updateIndexes(Consumer<LabelRegistry> update)
+    {
+        indexLock.writeLock().lock();
+        try
+        {
+            update.accept(getLabelRegistry());
+        }
+        finally
+        {
+            indexLock.writeLock().unlock();
+        }
+    }
+
+}
@@ -0,0 +1,1282 @@
+/*
+ * Copyright (C) 2022 CUJAE.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+package cu.edu.cujae.graphy.core.defaults;
+
+import cu.edu.cujae.graphy.core.Edge;
+import cu.edu.cujae.graphy.core.EdgeVisitor;
+import cu.edu.cujae.graphy.core.Graph;
+import cu.edu.cujae.graphy.core.Node;
+import cu.edu.cujae.graphy.core.Weight;
+import cu.edu.cujae.graphy.core.WeightedGraph;
+import cu.edu.cujae.graphy.core.abstractions.AbstractEdge;
+import cu.edu.cujae.graphy.core.abstractions.AbstractGraph;
+import cu.edu.cujae.graphy.core.exceptions.InvalidKeyException;
+import cu.edu.cujae.graphy.core.exceptions.InvalidOperationException;
+import cu.edu.cujae.graphy.core.utility.Weights;
+import java.lang.reflect.Array;
+import java.util.*;
+import java.util.function.IntConsumer;
+
+/**
+ * A graph backed by an adjacency matrix, meant for dense graphs.
+ * <p>
+ * Every vertex is assigned a dense index, and the adjacency is kept as two bit matrices: row <i>u</i> of the first one
+ * holds a bit for every vertex <i>u</i> connects to, and row <i>v</i> of the second one a bit for every vertex that
+ * connects to <i>v</i>. Adjacency tests are a single bit test, and neighbors are found by scanning a row one word
+ * (64 vertices) at a time. Weighted graphs keep a parallel matrix of <code>double</code> values. Memory grows with the
+ * square of the number of vertices, so this representation pays off once the graph holds more than a few percent of
+ * all the possible edges.
+ * <p>
+ * {@link Node} and {@link Edge} objects are views over the matrices: nodes are kept for the lifetime of their vertex,
+ * while edges are created on demand. Changes made through an edge, such as setting its weight, are written to the
+ * matrices. Weights are stored as primitive values of the numeric type of the first weight added to the graph; weights
+ * of other types are kept as {@link Weight} objects. The label of an edge is, unless set otherwise, its weight.
+ *
+ * @author Javier Marrero
+ * @param <T>
+ */
+public class DefaultDenseGraph<T> extends AbstractGraph<T> implements WeightedGraph<T>, Cloneable
+{
+
+    /**
+     * A weight stored in the weight matrix. Reads and writes go straight to the matrix cell.
+     */
+    private class CellWeight implements Weight<Number>
+    {
+
+        private static final long serialVersionUID = 5342078846170953251L;
+
+        private final int u;
+        private final int v;
+
+        CellWeight(int u, int v)
+        {
+            this.u = u;
+            this.v = v;
+        }
+
+        @Override
+        public Object clone() throws CloneNotSupportedException
+        {
+            return Weights.makeWeight(getValue());
+        }
+
+        @Override
+        public int compareTo(Number o)
+        {
+            return Double.compare(weights[u][v], o.doubleValue());
+        }
+
+        @Override
+        public Number getValue()
+        {
+            return box(weights[u][v]);
+        }
+
+        @Override
+        public void setValue(Number value)
+        {
+            storeWeight(u, v, Weights.makeWeight(value));
+        }
+
+        @Override
+        public String toString()
+        {
+            return String.valueOf(getValue());
+        }
+
+        /**
+         * The view is bound to its graph, so a detached weight holding the current value is serialized instead.
+         *
+         * @return
+         */
+        private Object writeReplace()
+        {
+            return Weights.makeWeight(getValue());
+        }
+
+    }
+
+    /**
+     * An edge of the graph. Edges are created on demand, and read and write their weight and label from the graph.
+     */
+    private class DenseEdge extends AbstractEdge
+    {
+
+        DenseEdge(int u, int v)
+        {
+            super(null, nodes[u], nodes[v], null, DefaultDenseGraph.this.isDirected());
+        }
+
+        @Override
+        public Object getLabel()
+        {
+            int u = startIndex();
+            int v = finishIndex();
+            if (edgeLabels != null && edgeLabels.containsKey(key(u, v)))
+            {
+                return edgeLabels.get(key(u, v));
+            }
+            return getWeight();
+        }
+
+        @Override
+        public Weight<?> getWeight()
+        {
+            return weights != null ? weightAt(startIndex(), finishIndex()) : null;
+        }
+
+        @Override
+        public boolean isLabeled()
+        {
+            return getLabel() != null;
+        }
+
+        @Override
+        public boolean isWeighted()
+        {
+            return getWeight() != null;
+        }
+
+        @Override
+        public void reverseApparentDirection()
+        {
+            int u = startIndex();
+            int v = finishIndex();
+            Weight<?> w = getWeight();
+            if (w instanceof DefaultDenseGraph.CellWeight)
+            {
+                w = Weights.makeWeight(w.getValue());
+            }
+            Object l = (edgeLabels != null) ? edgeLabels.get(key(u, v)) : null;
+
+            disconnectIndices(u, v);
+            Node<?> temp = start;
+            this.start = finish;
+            this.finish = temp;
+            connectIndices(v, u, w, l);
+        }
+
+        @Override
+        public void setLabel(Object label)
+        {
+            long key = key(startIndex(), finishIndex());
+            if (label == null)
+            {
+                if (edgeLabels != null)
+                {
+                    edgeLabels.remove(key);
+                }
+            }
+            else
+            {
+                labels().put(key, label);
+            }
+        }
+
+        @Override
+        public void setWeight(Weight<?> weight)
+        {
+            if (weights == null)
+            {
+                throw new UnsupportedOperationException("This graph is not weighted.");
+            }
+            storeWeight(startIndex(), finishIndex(), weight);
+        }
+
+        @SuppressWarnings ("unchecked")
+        private int finishIndex()
+        {
+            return ((DenseNode) finish).index;
+        }
+
+        @SuppressWarnings ("unchecked")
+        private int startIndex()
+        {
+            return ((DenseNode) start).index;
+        }
+
+    }
+
+    /**
+     * A vertex of the graph. Its adjacency is read from the matrices.
+     */
+    private class DenseNode implements Node<T>, Cloneable
+    {
+
+        private Map<Object, Object> attributes;
+        private T data;
+        private final int index;
+        private final int label;
+
+        DenseNode(int index, int label, T data)
+        {
+            this.index = index;
+            this.label = label;
+            this.data = data;
+        }
+
+        @Override
+        public boolean addEdge(Edge edge)
+        {
+            int v = indexOfNode(edge.getFinalNode());
+            if (v < 0)
+            {
+                throw new IllegalArgumentException("The edge " + edge + " does not belong to this graph.");
+            }
+            Object l = CompressedSparseRowGraph.isLabeledByWeight(edge) ? null : edge.getLabel();
+            return connectIndices(index, v, edge.getWeight(), l);
+        }
+
+        @Override
+        @SuppressWarnings ("unchecked")
+        public Object clone() throws CloneNotSupportedException
+        {
+            DenseNode clone = (DenseNode) super.clone();
+            clone.attributes = (attributes != null) ? new HashMap<>(attributes) : null;
+            return clone;
+        }
+
+        @Override
+        public int degree()
+        {
+            return outDegree[index] + inDegree[index];
+        }
+
+        @Override
+        public void disconnect()
+        {
+            long[] row = outRows[index];
+            for (int v = nextSetBit(row, 0); v >= 0; v = nextSetBit(row, v + 1))
+            {
+                disconnectIndices(index, v);
+            }
+        }
+
+        @Override
+        public void forEachInEdge(EdgeVisitor visitor)
+        {
+            long[] row = inRows[index];
+            for (int u = nextSetBit(row, 0); u >= 0; u = nextSetBit(row, u + 1))
+            {
+                visitor.visit(nodes[u].label, label, new DenseEdge(u, index));
+            }
+        }
+
+        @Override
+        public void forEachInNeighbor(IntConsumer action)
+        {
+            long[] row = inRows[index];
+            for (int u = nextSetBit(row, 0); u >= 0; u = nextSetBit(row, u + 1))
+            {
+                action.accept(nodes[u].label);
+            }
+        }
+
+        @Override
+        public void forEachOutEdge(EdgeVisitor visitor)
+        {
+            long[] row = outRows[index];
+            for (int v = nextSetBit(row, 0); v >= 0; v = nextSetBit(row, v + 1))
+            {
+                visitor.visit(label, nodes[v].label, new DenseEdge(index, v));
+            }
+        }
+
+        @Override
+        public void forEachOutNeighbor(IntConsumer action)
+        {
+            long[] row = outRows[index];
+            for (int v = nextSetBit(row, 0); v >= 0; v = nextSetBit(row, v + 1))
+            {
+                action.accept(nodes[v].label);
+            }
+        }
+
+        @Override
+        public T get()
+        {
+            return data;
+        }
+
+        @Override
+        public Edge getAdjacentEdge(Node<T> v)
+        {
+            int j = indexOfNode(v);
+            if (j >= 0 && test(outRows[index], j))
+            {
+                return new DenseEdge(index, j);
+            }
+            if (j >= 0 && test(inRows[index], j))
+            {
+                return new DenseEdge(j, index);
+            }
+            throw new InvalidOperationException(v.getLabel() + " is not connected to " + label
+                                                        + ", they are not adjacent.");
+        }
+
+        @Override
+        public Collection<Integer> getAllAdjacentVertices()
+        {
+            Set<Integer> vertices = new LinkedHashSet<>(degree());
+            forEachInNeighbor(vertices::add);
+            forEachOutNeighbor(vertices::add);
+            return Collections.unmodifiableSet(vertices);
+        }
+
+        @Override
+        public Collection<Integer> getAllVerticesArrivingSelf()
+        {
+            List<Integer> vertices = new ArrayList<>(inDegree[index]);
+            forEachInNeighbor(vertices::add);
+            return vertices;
+        }
+
+        @Override
+        public Collection<Integer> getAllVerticesDepartingSelf()
+        {
+            List<Integer> vertices = new ArrayList<>(outDegree[index]);
+            forEachOutNeighbor(vertices::add);
+            return vertices;
+        }
+
+        @Override
+        public Object getAttribute(Object key) throws InvalidKeyException
+        {
+            if (attributes == null || !attributes.containsKey(key))
+            {
+                throw new InvalidKeyException(getNodeAttributes(), key);
+            }
+            return attributes.get(key);
+        }
+
+        @Override
+        public Set<Edge> getEdgesArrivingSelf()
+        {
+            Set<Edge> edges = new LinkedHashSet<>(inDegree[index]);
+            forEachInEdge((u, v, edge) -> edges.add(edge));
+            return Collections.unmodifiableSet(edges);
+        }
+
+        @Override
+        public Set<Edge> getEdgesDepartingSelf()
+        {
+            Set<Edge> edges = new LinkedHashSet<>(outDegree[index]);
+            forEachOutEdge((u, v, edge) -> edges.add(edge));
+            return Collections.unmodifiableSet(edges);
+        }
+
+        @Override
+        public int getLabel()
+        {
+            return label;
+        }
+
+        @Override
+        public Map<Object, Object> getNodeAttributes()
+        {
+            return (attributes != null) ? Collections.unmodifiableMap(attributes) : Collections.emptyMap();
+        }
+
+        @Override
+        public int inDegree()
+        {
+            return inDegree[index];
+        }
+
+        @Override
+        public boolean isAdjacent(Node<T> v)
+        {
+            int j = indexOfNode(v);
+            return j >= 0 && (test(outRows[index], j) || test(inRows[index], j));
+        }
+
+        @Override
+        public boolean isAdjacentAndArriving(Node<T> v)
+        {
+            int j = indexOfNode(v);
+            return j >= 0 && test(outRows[index], j);
+        }
+
+        @Override
+        public boolean isAdjacentAndDeparting(Node<T> v)
+        {
+            int j = indexOfNode(v);
+            return j >= 0 && test(inRows[index], j);
+        }
+
+        @Override
+        public int outDegree()
+        {
+            return outDegree[index];
+        }
+
+        @Override
+        public Object removeAttribute(Object key)
+        {
+            return (attributes != null) ? attributes.remove(key) : null;
+        }
+
+        @Override
+        public boolean removeEdge(Edge edge)
+        {
+            int v = indexOfNode(edge.getFinalNode());
+            if (v >= 0 && test(outRows[index], v))
+            {
+                disconnectIndices(index, v);
+                return true;
+            }
+            return false;
+        }
+
+        @Override
+        public void set(T data)
+        {
+            this.data = data;
+        }
+
+        @Override
+        public Object setAttribute(Object key, Object value)
+        {
+            if (attributes == null)
+            {
+                attributes = new HashMap<>(5);
+            }
+            return attributes.put(key, value);
+        }
+
+        @Override
+        public String toString()
+        {
+            StringBuilder builder = new StringBuilder("<" + label + ":" + data + "> (");
+            long[] row = outRows[index];
+            for (int v = nextSetBit(row, 0); v >= 0;)
+            {
+                builder.append(nodes[v].label);
+                Weight<?> w = (weights != null) ? weightAt(index, v) : null;
+                if (w != null)
+                {
+                    builder.append(" <").append(w.toString()).append(">");
+                }
+
+                v = nextSetBit(row, v + 1);
+                if (v >= 0)
+                {
+                    builder.append(", ");
+                }
+            }
+            return builder.append(")").toString();
+        }
+
+        private DefaultDenseGraph<T> owner()
+        {
+            return DefaultDenseGraph.this;
+        }
+
+    }
+
+    private static final int DEFAULT_CAPACITY = 16;
+    private static final long MAX_EXACT_LONG_WEIGHT = 1L << 53;
+
+    private Map<Long, Weight<?>> boxedWeights;
+    private int capacity;
+    private int edgeCount;
+    private Map<Long, Object> edgeLabels;
+    private int[] inDegree;
+    private long[][] inRows;
+    private DenseNode[] nodes;
+    private int[] outDegree;
+    private long[][] outRows;
+    private final boolean weighted;
+    private Class<?> weightType;
+    private double[][] weights;
+
+    /**
+     * Creates a new, empty, dense graph.
+     *
+     * @param directed
+     * @param weighted
+     */
+    public DefaultDenseGraph(boolean directed, boolean weighted)
+    {
+        this(directed, weighted, DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Creates a new, empty, dense graph whose matrices can hold <code>expectedVertices</code> vertices without being
+     * resized.
+     *
+     * @param directed
+     * @param weighted
+     * @param expectedVertices
+     */
+    public DefaultDenseGraph(boolean directed, boolean weighted, int expectedVertices)
+    {
+        super(directed);
+        if (expectedVertices < 0)
+        {
+            throw new IllegalArgumentException("The expected number of vertices cannot be negative: "
+                                                       + expectedVertices);
+        }
+        this.weighted = weighted;
+        allocate(Math.max(expectedVertices, 1));
+    }
+
+    private static long key(int u, int v)
+    {
+        return ((long) u << 32) | (v & 0xffffffffL);
+    }
+
+    private static int nextSetBit(long[] row, int from)
+    {
+        int word = from >>> 6;
+        if (word >= row.length)
+        {
+            return -1;
+        }
+        long bits = row[word] & (-1L << from);
+        while (true)
+        {
+            if (bits != 0)
+            {
+                return (word << 6) + Long.numberOfTrailingZeros(bits);
+            }
+            if (++word == row.length)
+            {
+                return -1;
+            }
+            bits = row[word];
+        }
+    }
+
+    private static boolean test(long[] row, int i)
+    {
+        return (row[i >>> 6] & (1L << i)) != 0;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean add(int label, T data)
+    {
+        int index = getLabelRegistry().register(label);
+        if (index < 0)
+        {
+            return false;
+        }
+        ensureCapacity(index + 1);
+        nodes[index] = new DenseNode(index, label, data);
+        return true;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void clear()
+    {
+        getLabelRegistry().clear();
+        boxedWeights = null;
+        edgeLabels = null;
+        weightType = null;
+        allocate(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean connect(int u, int v)
+    {
+        return connectIndices(requireIndex(u), requireIndex(v), null, null);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean connect(Node<T> u, Node<T> v)
+    {
+        return connectIndices(requireNode(u), requireNode(v), null, null);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean connect(int u, int v, Weight<?> w)
+    {
+        return connect(findNodeByLabel(u), findNodeByLabel(v), w);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean connect(Node<T> u, Node<T> v, Weight<?> w)
+    {
+        if (!weighted)
+        {
+            throw new UnsupportedOperationException("This graph is not weighted.");
+        }
+        if (u == null || v == null || w == null)
+        {
+            throw new IllegalArgumentException("Passed null parameters to connection method: (u: " + u + ", v: " + v
+                                                       + ", w: " + w + ")");
+        }
+        return connectIndices(requireNode(u), requireNode(v), w, null);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean disconnect(int u, int v)
+    {
+        return disconnect(findNodeByLabel(u), findNodeByLabel(v));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean disconnect(Node<T> u, Node<T> v)
+    {
+        int i = requireNode(u);
+        int j = requireNode(v);
+        if (test(outRows[i], j))
+        {
+            disconnectIndices(i, j);
+            return true;
+        }
+        if (!test(inRows[i], j))
+        {
+            throw new InvalidOperationException(v.getLabel() + " is not connected to " + u.getLabel()
+                                                        + ", they are not adjacent.");
+        }
+        return false;
+    }
+
+    /**
+     * Returns a copy of this graph. When no vertex has been removed, so every index below the size of the graph is in
+     * use, the matrices are copied row by row; otherwise the edges are copied one by one into compacted indexes.
+     * Weights held as objects are cloned, so the two graphs never share a mutable weight.
+     *
+     * @return
+     *
+     * @throws CloneNotSupportedException
+     */
+    @Override
+    public Graph<T> duplicate() throws CloneNotSupportedException
+    {
+        if (getLabelRegistry().bound() == size())
+        {
+            return copyMatrices();
+        }
+
+        DefaultDenseGraph<T> graph = new DefaultDenseGraph<>(isDirected(), weighted, size());
+        int[] indices = new int[capacity];
+        for (int i = 0; i < capacity; ++i)
+        {
+            if (nodes[i] != null)
+            {
+                graph.add(nodes[i].label, nodes[i].data);
+                indices[i] = graph.requireIndex(nodes[i].label);
+            }
+        }
+        for (int i = 0; i < capacity; ++i)
+        {
+            long[] row = outRows[i];
+            for (int j = nextSetBit(row, 0); j >= 0; j = nextSetBit(row, j + 1))
+            {
+                Weight<?> w = (weights != null) ? weightAt(i, j) : null;
+                if (w != null)
+                {
+                    w = (w instanceof DefaultDenseGraph.CellWeight) ? Weights.makeWeight(w.getValue())
+                        : (Weight<?>) w.clone();
+                }
+                Object label = (edgeLabels != null) ? edgeLabels.get(key(i, j)) : null;
+                graph.connectIndices(indices[i], indices[j], w, label);
+            }
+        }
+        return graph;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int edgeCount()
+    {
+        return edgeCount;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public double edgeWeightAsDouble(Edge e)
+    {
+        if (e instanceof DefaultDenseGraph.DenseEdge && indexOfNode(e.getStartNode()) >= 0)
+        {
+            DefaultDenseGraph<?>.DenseEdge edge = (DefaultDenseGraph<?>.DenseEdge) e;
+            return weightAsDouble(edge.startIndex(), edge.finishIndex());
+        }
+        if (e == null || e.getWeight() == null || e.getWeight().getValue() == null)
+        {
+            throw new IllegalArgumentException("The edge " + e + " is not weighted.");
+        }
+        return e.getWeight().getValue().doubleValue();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean existsEdgeWithDirection(int u, int v)
+    {
+        return test(outRows[requireIndex(u)], requireIndex(v));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Node<T> findNodeByLabel(int label)
+    {
+        return nodes[requireIndex(label)];
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Collection<Integer> getLabels()
+    {
+        return new AbstractCollection<Integer>()
+        {
+            @Override
+            public boolean contains(Object o)
+            {
+                return (o instanceof Integer) && getLabelRegistry().contains((Integer) o);
+            }
+
+            @Override
+            public Iterator<Integer> iterator()
+            {
+                Iterator<Node<T>> it = getNodes().iterator();
+                return new Iterator<Integer>()
+                {
+                    @Override
+                    public boolean hasNext()
+                    {
+                        return it.hasNext();
+                    }
+
+                    @Override
+                    public Integer next()
+                    {
+                        return it.next().getLabel();
+                    }
+                };
+            }
+
+            @Override
+            public int size()
+            {
+                return DefaultDenseGraph.this.size();
+            }
+        };
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isVertexAdjacent(int u, int v)
+    {
+        int i = requireIndex(u);
+        int j = requireIndex(v);
+        return test(outRows[i], j) || test(inRows[i], j);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isWeighted()
+    {
+        return weighted;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public T remove(Node<T> node)
+    {
+        int index = indexOfNode(node);
+        if (index < 0)
+        {
+            throw new IllegalArgumentException("The node to remove is not present in this graph.");
+        }
+
+        // Remove every edge departing from or arriving to the node
+        long[] row = outRows[index];
+        for (int v = nextSetBit(row, 0); v >= 0; v = nextSetBit(row, v + 1))
+        {
+            disconnectIndices(index, v);
+        }
+        row = inRows[index];
+        for (int u = nextSetBit(row, 0); u >= 0; u = nextSetBit(row, u + 1))
+        {
+            disconnectIndices(u, index);
+        }
+
+        T data = nodes[index].data;
+        nodes[index] = null;
+        getLabelRegistry().unregister(node.getLabel());
+        return data;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public T removeAt(int u)
+    {
+        return remove(findNodeByLabel(u));
+    }
+
+    /**
+     * Reverses every edge of the graph by swapping the two adjacency matrices, and transposing the weights.
+     */
+    @Override
+    public void reverse()
+    {
+        long[][] rows = outRows;
+        outRows = inRows;
+        inRows = rows;
+        int[] degrees = outDegree;
+        outDegree = inDegree;
+        inDegree = degrees;
+
+        if (weights != null)
+        {
+            for (int i = 0; i < capacity; ++i)
+            {
+                for (int j = i + 1; j < capacity; ++j)
+                {
+                    double w = weights[i][j];
+                    weights[i][j] = weights[j][i];
+                    weights[j][i] = w;
+                }
+            }
+        }
+        boxedWeights = transposeKeys(boxedWeights);
+        edgeLabels = transposeKeys(edgeLabels);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int size()
+    {
+        return getLabelRegistry().size();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString()
+    {
+        StringBuilder builder = new StringBuilder("[\n");
+        for (Iterator<Node<T>> it = getNodes().iterator(); it.hasNext();)
+        {
+            builder.append(it.next().toString());
+            if (it.hasNext())
+            {
+                builder.append(",\n");
+            }
+        }
+        return builder.append("\n]").toString();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public double weightOf(int u, int v)
+    {
+        int i = requireIndex(u);
+        int j = requireIndex(v);
+        if (test(outRows[i], j))
+        {
+            return weightAsDouble(i, j);
+        }
+        if (!isDirected() && test(outRows[j], i))
+        {
+            return weightAsDouble(j, i);
+        }
+        throw new InvalidOperationException("There is no edge departing from " + u + " to " + v + ".");
+    }
+
+    @Override
+    protected boolean addNode(Node<T> node)
+    {
+        if (!add(node.getLabel(), node.get()))
+        {
+            return false;
+        }
+        for (Map.Entry<Object, Object> entry : node.getNodeAttributes().entrySet())
+        {
+            nodes[requireIndex(node.getLabel())].setAttribute(entry.getKey(), entry.getValue());
+        }
+        return true;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected Collection<Node<T>> getNodes()
+    {
+        return new AbstractCollection<Node<T>>()
+        {
+            @Override
+            public Iterator<Node<T>> iterator()
+            {
+                return new Iterator<Node<T>>()
+                {
+                    private int next = advance(0);
+
+                    @Override
+                    public boolean hasNext()
+                    {
+                        return next < capacity;
+                    }
+
+                    @Override
+                    public Node<T> next()
+                    {
+                        if (next >= capacity)
+                        {
+                            throw new NoSuchElementException();
+                        }
+                        Node<T> node = nodes[next];
+                        next = advance(next + 1);
+                        return node;
+                    }
+
+                    private int advance(int index)
+                    {
+                        while (index < capacity && nodes[index] == null)
+                        {
+                            index++;
+                        }
+                        return index;
+                    }
+                };
+            }
+
+            @Override
+            public int size()
+            {
+                return DefaultDenseGraph.this.size();
+            }
+        };
+    }
+
+    @SuppressWarnings ("unchecked")
+    private void allocate(int capacity)
+    {
+        int words = (capacity + 63) >>> 6;
+        this.capacity = capacity;
+        this.nodes = (DenseNode[]) Array.newInstance(DenseNode.class, capacity);
+        this.outRows = new long[capacity][words];
+        this.inRows = new long[capacity][words];
+        this.outDegree = new int[capacity];
+        this.inDegree = new int[capacity];
+        this.edgeCount = 0;
+        if (weighted)
+        {
+            this.weights = new double[capacity][capacity];
+            for (double[] row : weights)
+            {
+                Arrays.fill(row, Double.NaN);
+            }
+        }
+    }
+
+    private Number box(double w)
+    {
+        if (weightType == Integer.class)
+        {
+            return (int) w;
+        }
+        else if (weightType == Long.class)
+        {
+            return (long) w;
+        }
+        else if (weightType == Float.class)
+        {
+            return (float) w;
+        }
+        else if (weightType == Short.class)
+        {
+            return (short) w;
+        }
+        else if (weightType == Byte.class)
+        {
+            return (byte) w;
+        }
+        return w;
+    }
+
+    private boolean connectIndices(int u, int v, Weight<?> w, Object label)
+    {
+        if (test(outRows[u], v))
+        {
+            return false;
+        }
+        outRows[u][v >>> 6] |= 1L << v;
+        inRows[v][u >>> 6] |= 1L << u;
+        outDegree[u]++;
+        inDegree[v]++;
+        edgeCount++;
+        if (weights != null)
+        {
+            storeWeight(u, v, w);
+        }
+        if (label != null)
+        {
+            labels().put(key(u, v), label);
+        }
+        return true;
+    }
+
+    private DefaultDenseGraph<T> copyMatrices() throws CloneNotSupportedException
+    {
+        DefaultDenseGraph<T> graph = new DefaultDenseGraph<>(isDirected(), weighted, capacity);
+        for (int i = 0; i < size(); ++i)
+        {
+            graph.add(nodes[i].label, nodes[i].data);
+        }
+        for (int i = 0; i < capacity; ++i)
+        {
+            graph.outRows[i] = outRows[i].clone();
+            graph.inRows[i] = inRows[i].clone();
+            if (weights != null)
+            {
+                graph.weights[i] = weights[i].clone();
+            }
+        }
+        graph.outDegree = outDegree.clone();
+        graph.inDegree = inDegree.clone();
+        graph.edgeCount = edgeCount;
+        graph.weightType = weightType;
+        if (boxedWeights != null)
+        {
+            graph.boxedWeights = new HashMap<>(boxedWeights.size() * 2);
+            for (Map.Entry<Long, Weight<?>> entry : boxedWeights.entrySet())
+            {
+                graph.boxedWeights.put(entry.getKey(), (Weight<?>) entry.getValue().clone());
+            }
+        }
+        if (edgeLabels != null)
+        {
+            graph.edgeLabels = new HashMap<>(edgeLabels);
+        }
+        return graph;
+    }
+
+    private void disconnectIndices(int u, int v)
+    {
+        outRows[u][v >>> 6] &= ~(1L << v);
+        inRows[v][u >>> 6] &= ~(1L << u);
+        outDegree[u]--;
+        inDegree[v]--;
+        edgeCount--;
+        if (weights != null)
+        {
+            storeWeight(u, v, null);
+        }
+        if (edgeLabels != null)
+        {
+            edgeLabels.remove(key(u, v));
+        }
+    }
+
+    @SuppressWarnings ("unchecked")
+    private void ensureCapacity(int required)
+    {
+        if (required <= capacity)
+        {
+            return;
+        }
+
+        int newCapacity = Math.max(required, capacity * 2);
+        int words = (newCapacity + 63) >>> 6;
+        nodes = Arrays.copyOf(nodes, newCapacity);
+        outRows = Arrays.copyOf(outRows, newCapacity);
+        inRows = Arrays.copyOf(inRows, newCapacity);
+        for (int i = 0; i < newCapacity; ++i)
+        {
+            outRows[i] = (i < capacity) ? Arrays.copyOf(outRows[i], words) : new long[words];
+            inRows[i] = (i < capacity) ? Arrays.copyOf(inRows[i], words) : new long[words];
+        }
+        outDegree = Arrays.copyOf(outDegree, newCapacity);
+        inDegree = Arrays.copyOf(inDegree, newCapacity);
+        if (weights != null)
+        {
+            weights = Arrays.copyOf(weights, newCapacity);
+            for (int i = 0; i < newCapacity; ++i)
+            {
+                double[] row = (i < capacity) ? Arrays.copyOf(weights[i], newCapacity) : new double[newCapacity];
+                Arrays.fill(row, (i < capacity) ? capacity : 0, newCapacity, Double.NaN);
+                weights[i] = row;
+            }
+        }
+        capacity = newCapacity;
+    }
+
+    private int indexOfNode(Node<?> node)
+    {
+        if (node instanceof DefaultDenseGraph.DenseNode)
+        {
+            DefaultDenseGraph<?>.DenseNode dense = (DefaultDenseGraph<?>.DenseNode) node;
+            if (dense.owner() == this && dense.index < capacity && nodes[dense.index] == dense)
+            {
+                return dense.index;
+            }
+        }
+        return -1;
+    }
+
+    private Map<Long, Object> labels()
+    {
+        if (edgeLabels == null)
+        {
+            edgeLabels = new HashMap<>();
+        }
+        return edgeLabels;
+    }
+
+    private int requireIndex(int label)
+    {
+        int index = getLabelRegistry().indexOf(label);
+        if (index < 0)
+        {
+            throw new InvalidOperationException("Attempted to access node " + label
+                                                        + " in a graph that does not contains it.");
+        }
+        return index;
+    }
+
+    private int requireNode(Node<?> node)
+    {
+        int index = indexOfNode(node);
+        if (index < 0)
+        {
+            throw new InvalidOperationException("Attempted to connect node " + node
+                                                        + " which is not part of this graph.");
+        }
+        return index;
+    }
+
+    /**
+     * Stores a weight in the matrix if it has the numeric type of the graph, and as an object otherwise.
+     */
+    private void storeWeight(int u, int v, Weight<?> w)
+    {
+        long key = key(u, v);
+        if (boxedWeights != null)
+        {
+            boxedWeights.remove(key);
+        }
+        weights[u][v] = Double.NaN;
+        if (w == null)
+        {
+            return;
+        }
+
+        Number value = w.getValue();
+        boolean primitive = value != null && PrimitiveWeightedEdge.supports(w)
+                                    && (weightType == null || weightType == value.getClass())
+                                    && !Double.isNaN(value.doubleValue())
+                                    && !(value instanceof Long && Math.abs((Long) value) > MAX_EXACT_LONG_WEIGHT);
+        if (primitive)
+        {
+            weightType = value.getClass();
+            weights[u][v] = value.doubleValue();
+        }
+        else
+        {
+            if (boxedWeights == null)
+            {
+                boxedWeights = new HashMap<>();
+            }
+            boxedWeights.put(key, w);
+        }
+    }
+
+    private <V> Map<Long, V> transposeKeys(Map<Long, V> map)
+    {
+        if (map == null)
+        {
+            return null;
+        }
+        Map<Long, V> result = new HashMap<>(map.size() * 2);
+        for (Map.Entry<Long, V> entry : map.entrySet())
+        {
+            long key = entry.getKey();
+            result.put(key((int) key, (int) (key >>> 32)), entry.getValue());
+        }
+        return result;
+    }
+
+    private double weightAsDouble(int u, int v)
+    {
+        double w = weights != null ? weights[u][v] : Double.NaN;
+        if (Double.isNaN(w))
+        {
+            Weight<?> boxed = (boxedWeights != null) ? boxedWeights.get(key(u, v)) : null;
+            if (boxed == null || boxed.getValue() == null)
+            {
+                throw new IllegalArgumentException("The edge (" + nodes[u].label + " -> " + nodes[v].label
+                                                           + ") is not weighted.");
+            }
+            return boxed.getValue().doubleValue();
+        }
+        return w;
+    }
+
+    private Weight<?> weightAt(int u, int v)
+    {
+        if (!Double.isNaN(weights[u][v]))
+        {
+            return new CellWeight(u, v);
+        }
+        return (boxedWeights != null) ? boxedWeights.get(key(u, v)) : null;
+    }
+
+}
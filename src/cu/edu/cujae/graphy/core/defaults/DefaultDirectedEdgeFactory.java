@@ -40,6 +40,10 @@ public class DefaultDirectedEdgeFactory extends DefaultEdgeFactory implements Ed
                       Node<?> v,
                       Weight<?> w)
     {
+        if (PrimitiveWeightedEdge.supports(w))
+        {
+            return new PrimitiveWeightedEdge(label, u, v, w, true);
+        }
         return new AbstractEdge(label, u, v, w, true)
         {
         };
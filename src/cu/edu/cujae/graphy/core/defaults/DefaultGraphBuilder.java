@@ -37,6 +37,32 @@ public class DefaultGraphBuilder<T> implements GraphBuilder<T>
         this.instance = null;
     }
 
+    @Override
+    public GraphBuilder<T> addEdges(int[] source, int[] target)
+    {
+        instance.connectAll(source, target);
+        return this;
+    }
+
+    @Override
+    public GraphBuilder<T> addEdges(int[] source, int[] target, double[] weights)
+    {
+        throw new UnsupportedOperationException("Attempted to add weighted edges to an unweighted graph.");
+    }
+
+    @Override
+    public GraphBuilder<T> addEdges(int[] source, int[] target, int[] weights)
+    {
+        throw new UnsupportedOperationException("Attempted to add weighted edges to an unweighted graph.");
+    }
+
+    @Override
+    public GraphBuilder<T> addVertices(int count)
+    {
+        instance.addVertices(count);
+        return this;
+    }
+
     @Override
     public GraphBuilder<T> buildGraph()
     {
@@ -55,6 +81,13 @@ public class DefaultGraphBuilder<T> implements GraphBuilder<T>
         return this;
     }
 
+    @Override
+    public GraphBuilder<T> expectedDegree(int degree)
+    {
+        instance.setExpectedDegree(degree);
+        return this;
+    }
+
     @Override
     public Graph<T> get()
     {
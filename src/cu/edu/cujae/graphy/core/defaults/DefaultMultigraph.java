@@ -0,0 +1,1393 @@
+/*
+ * Copyright (C) 2022 CUJAE.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+package cu.edu.cujae.graphy.core.defaults;
+
+import cu.edu.cujae.graphy.core.Edge;
+import cu.edu.cujae.graphy.core.EdgeVisitor;
+import cu.edu.cujae.graphy.core.Graph;
+import cu.edu.cujae.graphy.core.Node;
+import cu.edu.cujae.graphy.core.Weight;
+import cu.edu.cujae.graphy.core.WeightedGraph;
+import cu.edu.cujae.graphy.core.abstractions.AbstractEdge;
+import cu.edu.cujae.graphy.core.abstractions.AbstractGraph;
+import cu.edu.cujae.graphy.core.exceptions.InvalidKeyException;
+import cu.edu.cujae.graphy.core.exceptions.InvalidOperationException;
+import java.lang.reflect.Array;
+import java.util.*;
+import java.util.function.IntConsumer;
+
+/**
+ * A graph that allows parallel edges and self loops.
+ * <p>
+ * Every edge has an identifier, and every vertex keeps the identifiers of its departing and arriving edges in two
+ * arrays. Each edge remembers its position in both arrays, so a given edge is added and removed in constant time, and
+ * the live identifiers are kept packed so that {@link #edgeAt(int)} picks an edge by rank in constant time too.
+ * Identifiers of removed edges are reused. As in the other graphs of this library, an undirected edge is stored once,
+ * departing the vertex it was connected from.
+ * <p>
+ * {@link Node} and {@link Edge} objects are views: nodes live as long as their vertex, edges are created on demand and
+ * are equal only to the views of the same identifier, so sets of edges keep parallel edges apart. An edge view must
+ * not be used after its edge is removed. The label of an edge is, unless set otherwise, its weight.
+ *
+ * @author Javier Marrero
+ * @param <T>
+ */
+public class DefaultMultigraph<T> extends AbstractGraph<T> implements WeightedGraph<T>, Cloneable
+{
+
+    /**
+     * An edge of the graph, identified by its edge identifier.
+     */
+    private class MultiEdge extends AbstractEdge
+    {
+
+        private final int id;
+
+        MultiEdge(int id)
+        {
+            super(null, nodes[sources[id]], nodes[targets[id]], null, DefaultMultigraph.this.isDirected());
+            this.id = id;
+        }
+
+        @Override
+        public boolean equals(Object obj)
+        {
+            if (!(obj instanceof Edge))
+            {
+                throw new IllegalArgumentException("attempted to compare an edge to something that is not an edge.");
+            }
+            if (obj instanceof DefaultMultigraph.MultiEdge)
+            {
+                DefaultMultigraph<?>.MultiEdge rhs = (DefaultMultigraph<?>.MultiEdge) obj;
+                return rhs.owner() == owner() && rhs.id == id;
+            }
+            return false;
+        }
+
+        @Override
+        public Object getLabel()
+        {
+            if (edgeLabels != null && edgeLabels[id] != null)
+            {
+                return edgeLabels[id];
+            }
+            return getWeight();
+        }
+
+        @Override
+        public Weight<?> getWeight()
+        {
+            return weights != null ? weights[id] : null;
+        }
+
+        @Override
+        public int hashCode()
+        {
+            return id;
+        }
+
+        @Override
+        public boolean isLabeled()
+        {
+            return getLabel() != null;
+        }
+
+        @Override
+        public boolean isWeighted()
+        {
+            return getWeight() != null;
+        }
+
+        @Override
+        public void reverseApparentDirection()
+        {
+            int u = sources[id];
+            int v = targets[id];
+            detach(id);
+            attach(id, v, u);
+
+            Node<?> temp = start;
+            this.start = finish;
+            this.finish = temp;
+        }
+
+        @Override
+        public void setLabel(Object label)
+        {
+            if (label != null && edgeLabels == null)
+            {
+                edgeLabels = new Object[sources.length];
+            }
+            if (edgeLabels != null)
+            {
+                edgeLabels[id] = label;
+            }
+        }
+
+        @Override
+        public void setWeight(Weight<?> weight)
+        {
+            if (weights == null)
+            {
+                throw new UnsupportedOperationException("This graph is not weighted.");
+            }
+            weights[id] = weight;
+        }
+
+        private DefaultMultigraph<?> owner()
+        {
+            return DefaultMultigraph.this;
+        }
+
+    }
+
+    /**
+     * A vertex of the graph. Its adjacency is read from the edge arrays.
+     */
+    private class MultiNode implements Node<T>, Cloneable
+    {
+
+        private Map<Object, Object> attributes;
+        private T data;
+        private final int index;
+        private final int label;
+
+        MultiNode(int index, int label, T data)
+        {
+            this.index = index;
+            this.label = label;
+            this.data = data;
+        }
+
+        @Override
+        public boolean addEdge(Edge edge)
+        {
+            int v = indexOfNode(edge.getFinalNode());
+            if (v < 0)
+            {
+                throw new IllegalArgumentException("The edge " + edge + " does not belong to this graph.");
+            }
+            int id = addEdgeIndices(index, v, edge.getWeight());
+            if (!CompressedSparseRowGraph.isLabeledByWeight(edge))
+            {
+                new MultiEdge(id).setLabel(edge.getLabel());
+            }
+            return true;
+        }
+
+        @Override
+        @SuppressWarnings ("unchecked")
+        public Object clone() throws CloneNotSupportedException
+        {
+            MultiNode clone = (MultiNode) super.clone();
+            clone.attributes = (attributes != null) ? new HashMap<>(attributes) : null;
+            return clone;
+        }
+
+        @Override
+        public int degree()
+        {
+            return outCounts[index] + inCounts[index];
+        }
+
+        @Override
+        public void disconnect()
+        {
+            while (outCounts[index] > 0)
+            {
+                DefaultMultigraph.this.removeEdge(outEdges[index][outCounts[index] - 1]);
+            }
+        }
+
+        @Override
+        public void forEachInEdge(EdgeVisitor visitor)
+        {
+            int[] edges = inEdges[index];
+            for (int k = 0; k < inCounts[index]; ++k)
+            {
+                visitor.visit(nodes[sources[edges[k]]].label, label, new MultiEdge(edges[k]));
+            }
+        }
+
+        @Override
+        public void forEachInNeighbor(IntConsumer action)
+        {
+            int[] edges = inEdges[index];
+            for (int k = 0; k < inCounts[index]; ++k)
+            {
+                action.accept(nodes[sources[edges[k]]].label);
+            }
+        }
+
+        @Override
+        public void forEachOutEdge(EdgeVisitor visitor)
+        {
+            int[] edges = outEdges[index];
+            for (int k = 0; k < outCounts[index]; ++k)
+            {
+                visitor.visit(label, nodes[targets[edges[k]]].label, new MultiEdge(edges[k]));
+            }
+        }
+
+        @Override
+        public void forEachOutNeighbor(IntConsumer action)
+        {
+            int[] edges = outEdges[index];
+            for (int k = 0; k < outCounts[index]; ++k)
+            {
+                action.accept(nodes[targets[edges[k]]].label);
+            }
+        }
+
+        @Override
+        public T get()
+        {
+            return data;
+        }
+
+        @Override
+        public Edge getAdjacentEdge(Node<T> v)
+        {
+            int j = indexOfNode(v);
+            int id = (j >= 0) ? findEdge(index, j) : -1;
+            if (id < 0 && j >= 0)
+            {
+                id = findEdge(j, index);
+            }
+            if (id < 0)
+            {
+                throw new InvalidOperationException(v.getLabel() + " is not connected to " + label
+                                                            + ", they are not adjacent.");
+            }
+            return new MultiEdge(id);
+        }
+
+        @Override
+        public Collection<Integer> getAllAdjacentVertices()
+        {
+            Set<Integer> vertices = new LinkedHashSet<>(degree());
+            forEachInNeighbor(vertices::add);
+            forEachOutNeighbor(vertices::add);
+            return Collections.unmodifiableSet(vertices);
+        }
+
+        @Override
+        public Collection<Integer> getAllVerticesArrivingSelf()
+        {
+            List<Integer> vertices = new ArrayList<>(inCounts[index]);
+            forEachInNeighbor(vertices::add);
+            return vertices;
+        }
+
+        @Override
+        public Collection<Integer> getAllVerticesDepartingSelf()
+        {
+            List<Integer> vertices = new ArrayList<>(outCounts[index]);
+            forEachOutNeighbor(vertices::add);
+            return vertices;
+        }
+
+        @Override
+        public Object getAttribute(Object key) throws InvalidKeyException
+        {
+            if (attributes == null || !attributes.containsKey(key))
+            {
+                throw new InvalidKeyException(getNodeAttributes(), key);
+            }
+            return attributes.get(key);
+        }
+
+        @Override
+        public Set<Edge> getEdgesArrivingSelf()
+        {
+            Set<Edge> edges = new LinkedHashSet<>(inCounts[index]);
+            forEachInEdge((u, v, edge) -> edges.add(edge));
+            return Collections.unmodifiableSet(edges);
+        }
+
+        @Override
+        public Set<Edge> getEdgesDepartingSelf()
+        {
+            Set<Edge> edges = new LinkedHashSet<>(outCounts[index]);
+            forEachOutEdge((u, v, edge) -> edges.add(edge));
+            return Collections.unmodifiableSet(edges);
+        }
+
+        @Override
+        public int getLabel()
+        {
+            return label;
+        }
+
+        @Override
+        public Map<Object, Object> getNodeAttributes()
+        {
+            return (attributes != null) ? Collections.unmodifiableMap(attributes) : Collections.emptyMap();
+        }
+
+        @Override
+        public int inDegree()
+        {
+            return inCounts[index];
+        }
+
+        @Override
+        public boolean isAdjacent(Node<T> v)
+        {
+            int j = indexOfNode(v);
+            return j >= 0 && (findEdge(index, j) >= 0 || findEdge(j, index) >= 0);
+        }
+
+        @Override
+        public boolean isAdjacentAndArriving(Node<T> v)
+        {
+            int j = indexOfNode(v);
+            return j >= 0 && findEdge(index, j) >= 0;
+        }
+
+        @Override
+        public boolean isAdjacentAndDeparting(Node<T> v)
+        {
+            int j = indexOfNode(v);
+            return j >= 0 && findEdge(j, index) >= 0;
+        }
+
+        @Override
+        public int outDegree()
+        {
+            return outCounts[index];
+        }
+
+        @Override
+        public Object removeAttribute(Object key)
+        {
+            return (attributes != null) ? attributes.remove(key) : null;
+        }
+
+        /**
+         * Removes the edge if it is a departing edge of this graph, or else one of the edges departing this node to
+         * the final node of the edge.
+         *
+         * @param edge
+         *
+         * @return
+         */
+        @Override
+        public boolean removeEdge(Edge edge)
+        {
+            if (edge instanceof DefaultMultigraph.MultiEdge)
+            {
+                DefaultMultigraph<?>.MultiEdge multi = (DefaultMultigraph<?>.MultiEdge) edge;
+                if (multi.owner() == owner())
+                {
+                    return isLive(multi.id) && sources[multi.id] == index && DefaultMultigraph.this.removeEdge(
+                            multi.id);
+                }
+            }
+            int v = indexOfNode(edge.getFinalNode());
+            int id = (v >= 0) ? findEdge(index, v) : -1;
+            return id >= 0 && DefaultMultigraph.this.removeEdge(id);
+        }
+
+        @Override
+        public void set(T data)
+        {
+            this.data = data;
+        }
+
+        @Override
+        public Object setAttribute(Object key, Object value)
+        {
+            if (attributes == null)
+            {
+                attributes = new HashMap<>(5);
+            }
+            return attributes.put(key, value);
+        }
+
+        @Override
+        public String toString()
+        {
+            StringBuilder builder = new StringBuilder("<" + label + ":" + data + "> (");
+            int[] edges = outEdges[index];
+            for (int k = 0; k < outCounts[index]; ++k)
+            {
+                builder.append(nodes[targets[edges[k]]].label);
+                Weight<?> w = (weights != null) ? weights[edges[k]] : null;
+                if (w != null)
+                {
+                    builder.append(" <").append(w.toString()).append(">");
+                }
+                if (k + 1 < outCounts[index])
+                {
+                    builder.append(", ");
+                }
+            }
+            return builder.append(")").toString();
+        }
+
+        private DefaultMultigraph<T> owner()
+        {
+            return DefaultMultigraph.this;
+        }
+
+    }
+
+    private static final int DEFAULT_CAPACITY = 16;
+    private static final int[] NO_EDGES = new int[0];
+
+    private int edgeCount;
+    private Object[] edgeLabels;
+    private int[] edgeOrder;
+    private int[] edgePositions;
+    private int[] inCounts;
+    private int[][] inEdges;
+    private int[] inSlots;
+    private MultiNode[] nodes;
+    private int[] outCounts;
+    private int[][] outEdges;
+    private int[] outSlots;
+    private int[] sources;
+    private int[] targets;
+    private final boolean weighted;
+    private Weight<?>[] weights;
+
+    /**
+     * Creates a new, empty, multigraph.
+     *
+     * @param directed
+     * @param weighted
+     */
+    public DefaultMultigraph(boolean directed, boolean weighted)
+    {
+        this(directed, weighted, DEFAULT_CAPACITY, DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Creates a new, empty, multigraph able to hold <code>expectedVertices</code> vertices and
+     * <code>expectedEdges</code> edges without growing.
+     *
+     * @param directed
+     * @param weighted
+     * @param expectedVertices
+     * @param expectedEdges
+     */
+    public DefaultMultigraph(boolean directed, boolean weighted, int expectedVertices, int expectedEdges)
+    {
+        super(directed);
+        if (expectedVertices < 0 || expectedEdges < 0)
+        {
+            throw new IllegalArgumentException("The expected number of vertices and edges cannot be negative: "
+                                                       + expectedVertices + ", " + expectedEdges);
+        }
+        this.weighted = weighted;
+        allocate(Math.max(expectedVertices, 1), Math.max(expectedEdges, 1));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean add(int label, T data)
+    {
+        int index = getLabelRegistry().register(label);
+        if (index < 0)
+        {
+            return false;
+        }
+        ensureVertexCapacity(index + 1);
+        nodes[index] = new MultiNode(index, label, data);
+        outCounts[index] = 0;
+        inCounts[index] = 0;
+        return true;
+    }
+
+    /**
+     * Adds a new edge from <code>u</code> to <code>v</code>, even if the vertices are already connected, and returns
+     * its identifier.
+     *
+     * @param u
+     * @param v
+     *
+     * @return
+     */
+    public int addEdge(int u, int v)
+    {
+        return addEdgeIndices(requireIndex(u), requireIndex(v), null);
+    }
+
+    /**
+     * Adds a new weighted edge from <code>u</code> to <code>v</code>, even if the vertices are already connected, and
+     * returns its identifier.
+     *
+     * @param u
+     * @param v
+     * @param w
+     *
+     * @return
+     */
+    public int addEdge(int u, int v, Weight<?> w)
+    {
+        if (!weighted)
+        {
+            throw new UnsupportedOperationException("This graph is not weighted.");
+        }
+        if (w == null)
+        {
+            throw new IllegalArgumentException("Passed null weight to connection method: (u: " + u + ", v: " + v
+                                                       + ")");
+        }
+        return addEdgeIndices(requireIndex(u), requireIndex(v), w);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void clear()
+    {
+        getLabelRegistry().clear();
+        edgeLabels = null;
+        allocate(DEFAULT_CAPACITY, DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Adds a new edge from <code>u</code> to <code>v</code>. The edge is added even if the vertices are already
+     * connected, so this method always returns true.
+     *
+     * @param u
+     * @param v
+     *
+     * @return
+     */
+    @Override
+    public boolean connect(int u, int v)
+    {
+        addEdge(u, v);
+        return true;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean connect(Node<T> u, Node<T> v)
+    {
+        addEdgeIndices(requireNode(u), requireNode(v), null);
+        return true;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean connect(int u, int v, Weight<?> w)
+    {
+        addEdge(u, v, w);
+        return true;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean connect(Node<T> u, Node<T> v, Weight<?> w)
+    {
+        if (u == null || v == null)
+        {
+            throw new IllegalArgumentException("Passed null parameters to connection method: (u: " + u + ", v: " + v
+                                                       + ", w: " + w + ")");
+        }
+        requireNode(u);
+        requireNode(v);
+        addEdge(u.getLabel(), v.getLabel(), w);
+        return true;
+    }
+
+    /**
+     * Contracts the edges between <code>u</code> and <code>v</code>: every other edge of <code>v</code> is moved to
+     * <code>u</code>, keeping its identifier, the edges joining both vertices and the self loops of <code>v</code> are
+     * removed, and then <code>v</code> is removed. This takes time linear in the degree of <code>v</code>.
+     *
+     * @param u
+     * @param v
+     */
+    public void contract(int u, int v)
+    {
+        int i = requireIndex(u);
+        int j = requireIndex(v);
+        if (i == j)
+        {
+            throw new IllegalArgumentException("Cannot contract vertex " + u + " with itself.");
+        }
+
+        while (outCounts[j] > 0)
+        {
+            int id = outEdges[j][outCounts[j] - 1];
+            if (targets[id] == i || targets[id] == j)
+            {
+                removeEdge(id);
+            }
+            else
+            {
+                int target = targets[id];
+                detach(id);
+                attach(id, i, target);
+            }
+        }
+        while (inCounts[j] > 0)
+        {
+            int id = inEdges[j][inCounts[j] - 1];
+            if (sources[id] == i)
+            {
+                removeEdge(id);
+            }
+            else
+            {
+                int source = sources[id];
+                detach(id);
+                attach(id, source, i);
+            }
+        }
+        removeAt(v);
+    }
+
+    /**
+     * Removes every edge departing from <code>u</code> to <code>v</code>, and also those departing from
+     * <code>v</code> to <code>u</code> if the graph is undirected.
+     *
+     * @param u
+     * @param v
+     *
+     * @return true if an edge was removed, false if the vertices are only connected the other way around.
+     *
+     * @throws InvalidOperationException if the vertices are not adjacent.
+     */
+    @Override
+    public boolean disconnect(int u, int v)
+    {
+        return disconnect(findNodeByLabel(u), findNodeByLabel(v));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean disconnect(Node<T> u, Node<T> v)
+    {
+        int i = requireNode(u);
+        int j = requireNode(v);
+        boolean removed = false;
+        for (int id = findEdge(i, j); id >= 0; id = findEdge(i, j))
+        {
+            removed |= removeEdge(id);
+        }
+        for (int id = findEdge(j, i); !isDirected() && id >= 0; id = findEdge(j, i))
+        {
+            removed |= removeEdge(id);
+        }
+        if (!removed && findEdge(j, i) < 0)
+        {
+            throw new InvalidOperationException(v.getLabel() + " is not connected to " + u.getLabel()
+                                                        + ", they are not adjacent.");
+        }
+        return removed;
+    }
+
+    /**
+     * Returns a copy of this graph in which every vertex and edge keeps its label, index and identifier. Weights are
+     * cloned, so the two graphs never share a mutable weight.
+     *
+     * @return
+     *
+     * @throws CloneNotSupportedException
+     */
+    @Override
+    public Graph<T> duplicate() throws CloneNotSupportedException
+    {
+        DefaultMultigraph<T> graph = new DefaultMultigraph<>(isDirected(), weighted, nodes.length, sources.length);
+        for (Node<T> node : getNodes())
+        {
+            graph.add(node.getLabel(), node.get());
+        }
+        if (getLabelRegistry().bound() != size())
+        {
+            // Indexes were compacted, so the edges are added again
+            for (int k = 0; k < edgeCount; ++k)
+            {
+                int id = edgeOrder[k];
+                int copy = graph.addEdgeIndices(graph.requireIndex(nodes[sources[id]].label),
+                                                graph.requireIndex(nodes[targets[id]].label), cloneWeight(id));
+                if (edgeLabels != null && edgeLabels[id] != null)
+                {
+                    graph.new MultiEdge(copy).setLabel(edgeLabels[id]);
+                }
+            }
+            return graph;
+        }
+
+        graph.edgeCount = edgeCount;
+        graph.edgeOrder = edgeOrder.clone();
+        graph.edgePositions = edgePositions.clone();
+        graph.edgeLabels = (edgeLabels != null) ? edgeLabels.clone() : null;
+        graph.sources = sources.clone();
+        graph.targets = targets.clone();
+        graph.outSlots = outSlots.clone();
+        graph.inSlots = inSlots.clone();
+        for (int i = 0; i < size(); ++i)
+        {
+            graph.outEdges[i] = Arrays.copyOf(outEdges[i], outCounts[i]);
+            graph.inEdges[i] = Arrays.copyOf(inEdges[i], inCounts[i]);
+        }
+        graph.outCounts = outCounts.clone();
+        graph.inCounts = inCounts.clone();
+        if (weights != null)
+        {
+            graph.weights = new Weight<?>[weights.length];
+            for (int k = 0; k < edgeCount; ++k)
+            {
+                graph.weights[edgeOrder[k]] = cloneWeight(edgeOrder[k]);
+            }
+        }
+        return graph;
+    }
+
+    /**
+     * Returns the identifier of the edge of rank <code>k</code>, with <code>0 &lt;= k &lt; edgeCount()</code>. Ranks
+     * change as edges are removed, so a uniformly random edge is <code>edgeAt(random.nextInt(edgeCount()))</code>.
+     *
+     * @param k
+     *
+     * @return
+     */
+    public int edgeAt(int k)
+    {
+        if (k < 0 || k >= edgeCount)
+        {
+            throw new IndexOutOfBoundsException("Edge rank " + k + " out of bounds for " + edgeCount + " edges.");
+        }
+        return edgeOrder[k];
+    }
+
+    /**
+     * @return the number of edges of this graph, parallel edges and self loops included.
+     */
+    @Override
+    public int edgeCount()
+    {
+        return edgeCount;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public double edgeWeightAsDouble(Edge e)
+    {
+        if (e == null || e.getWeight() == null || e.getWeight().getValue() == null)
+        {
+            throw new IllegalArgumentException("The edge " + e + " is not weighted.");
+        }
+        return e.getWeight().getValue().doubleValue();
+    }
+
+    /**
+     * Returns the identifiers of the edges departing from <code>u</code> to <code>v</code>, and also those departing
+     * from <code>v</code> to <code>u</code> if the graph is undirected. Only the shorter of the edge arrays of both
+     * vertices is scanned.
+     *
+     * @param u
+     * @param v
+     *
+     * @return
+     */
+    public int[] edgesBetween(int u, int v)
+    {
+        int i = requireIndex(u);
+        int j = requireIndex(v);
+        int[] result = collectEdges(i, j, NO_EDGES);
+        return (isDirected() || i == j) ? result : collectEdges(j, i, result);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean existsEdgeWithDirection(int u, int v)
+    {
+        return findEdge(requireIndex(u), requireIndex(v)) >= 0;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Node<T> findNodeByLabel(int label)
+    {
+        return nodes[requireIndex(label)];
+    }
+
+    /**
+     * Returns a view of the edge with the given identifier.
+     *
+     * @param id
+     *
+     * @return
+     */
+    public Edge getEdge(int id)
+    {
+        return new MultiEdge(requireEdge(id));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Collection<Integer> getLabels()
+    {
+        return new AbstractCollection<Integer>()
+        {
+            @Override
+            public boolean contains(Object o)
+            {
+                return (o instanceof Integer) && getLabelRegistry().contains((Integer) o);
+            }
+
+            @Override
+            public Iterator<Integer> iterator()
+            {
+                Iterator<Node<T>> it = getNodes().iterator();
+                return new Iterator<Integer>()
+                {
+                    @Override
+                    public boolean hasNext()
+                    {
+                        return it.hasNext();
+                    }
+
+                    @Override
+                    public Integer next()
+                    {
+                        return it.next().getLabel();
+                    }
+                };
+            }
+
+            @Override
+            public int size()
+            {
+                return DefaultMultigraph.this.size();
+            }
+        };
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isVertexAdjacent(int u, int v)
+    {
+        int i = requireIndex(u);
+        int j = requireIndex(v);
+        return findEdge(i, j) >= 0 || findEdge(j, i) >= 0;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isWeighted()
+    {
+        return weighted;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public T remove(Node<T> node)
+    {
+        int index = indexOfNode(node);
+        if (index < 0)
+        {
+            throw new IllegalArgumentException("The node to remove is not present in this graph.");
+        }
+
+        // Remove every edge departing from or arriving to the node
+        while (outCounts[index] > 0)
+        {
+            removeEdge(outEdges[index][outCounts[index] - 1]);
+        }
+        while (inCounts[index] > 0)
+        {
+            removeEdge(inEdges[index][inCounts[index] - 1]);
+        }
+
+        T data = nodes[index].data;
+        nodes[index] = null;
+        getLabelRegistry().unregister(node.getLabel());
+        return data;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public T removeAt(int u)
+    {
+        return remove(findNodeByLabel(u));
+    }
+
+    /**
+     * Removes the edge with the given identifier in constant time.
+     *
+     * @param id
+     *
+     * @return true if the edge was present.
+     */
+    public boolean removeEdge(int id)
+    {
+        if (!isLive(id))
+        {
+            return false;
+        }
+        detach(id);
+        if (weights != null)
+        {
+            weights[id] = null;
+        }
+        if (edgeLabels != null)
+        {
+            edgeLabels[id] = null;
+        }
+
+        // Swap the edge with the last live one, so that live identifiers stay packed
+        int position = edgePositions[id];
+        int last = edgeOrder[--edgeCount];
+        edgeOrder[position] = last;
+        edgePositions[last] = position;
+        edgeOrder[edgeCount] = id;
+        edgePositions[id] = edgeCount;
+        return true;
+    }
+
+    /**
+     * Reverses every edge of the graph by swapping the endpoints and the edge arrays of the vertices.
+     */
+    @Override
+    public void reverse()
+    {
+        int[] endpoints = sources;
+        sources = targets;
+        targets = endpoints;
+        int[][] edges = outEdges;
+        outEdges = inEdges;
+        inEdges = edges;
+        int[] counts = outCounts;
+        outCounts = inCounts;
+        inCounts = counts;
+        int[] slots = outSlots;
+        outSlots = inSlots;
+        inSlots = slots;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int size()
+    {
+        return getLabelRegistry().size();
+    }
+
+    /**
+     * Returns the label of the vertex the edge departs.
+     *
+     * @param id
+     *
+     * @return
+     */
+    public int sourceOf(int id)
+    {
+        return nodes[sources[requireEdge(id)]].label;
+    }
+
+    /**
+     * Returns the label of the vertex the edge arrives to.
+     *
+     * @param id
+     *
+     * @return
+     */
+    public int targetOf(int id)
+    {
+        return nodes[targets[requireEdge(id)]].label;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString()
+    {
+        StringBuilder builder = new StringBuilder("[\n");
+        for (Iterator<Node<T>> it = getNodes().iterator(); it.hasNext();)
+        {
+            builder.append(it.next().toString());
+            if (it.hasNext())
+            {
+                builder.append(",\n");
+            }
+        }
+        return builder.append("\n]").toString();
+    }
+
+    /**
+     * Returns the weight of the first edge found between the vertices. Use {@link #edgesBetween(int, int)} and
+     * {@link #getEdge(int)} to tell parallel edges apart.
+     *
+     * @param u
+     * @param v
+     *
+     * @return
+     */
+    @Override
+    public double weightOf(int u, int v)
+    {
+        int i = requireIndex(u);
+        int j = requireIndex(v);
+        int id = findEdge(i, j);
+        if (id < 0 && !isDirected())
+        {
+            id = findEdge(j, i);
+        }
+        if (id < 0)
+        {
+            throw new InvalidOperationException("There is no edge departing from " + u + " to " + v + ".");
+        }
+        if (weights == null || weights[id] == null || weights[id].getValue() == null)
+        {
+            throw new IllegalArgumentException("The edge (" + u + ", " + v + ") is not weighted.");
+        }
+        return weights[id].getValue().doubleValue();
+    }
+
+    @Override
+    protected boolean addNode(Node<T> node)
+    {
+        if (!add(node.getLabel(), node.get()))
+        {
+            return false;
+        }
+        for (Map.Entry<Object, Object> entry : node.getNodeAttributes().entrySet())
+        {
+            nodes[requireIndex(node.getLabel())].setAttribute(entry.getKey(), entry.getValue());
+        }
+        return true;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected Collection<Node<T>> getNodes()
+    {
+        return new AbstractCollection<Node<T>>()
+        {
+            @Override
+            public Iterator<Node<T>> iterator()
+            {
+                return new Iterator<Node<T>>()
+                {
+                    private int next = advance(0);
+
+                    @Override
+                    public boolean hasNext()
+                    {
+                        return next < nodes.length;
+                    }
+
+                    @Override
+                    public Node<T> next()
+                    {
+                        if (next >= nodes.length)
+                        {
+                            throw new NoSuchElementException();
+                        }
+                        Node<T> node = nodes[next];
+                        next = advance(next + 1);
+                        return node;
+                    }
+
+                    private int advance(int index)
+                    {
+                        while (index < nodes.length && nodes[index] == null)
+                        {
+                            index++;
+                        }
+                        return index;
+                    }
+                };
+            }
+
+            @Override
+            public int size()
+            {
+                return DefaultMultigraph.this.size();
+            }
+        };
+    }
+
+    private static int[] append(int[] edges, int count, int id)
+    {
+        if (count == edges.length)
+        {
+            edges = Arrays.copyOf(edges, Math.max(4, count << 1));
+        }
+        edges[count] = id;
+        return edges;
+    }
+
+    private int addEdgeIndices(int u, int v, Weight<?> w)
+    {
+        if (edgeCount == sources.length)
+        {
+            ensureEdgeCapacity(edgeCount << 1);
+        }
+
+        // Identifiers past the live ones are free, either never used or removed
+        int id = edgeOrder[edgeCount];
+        edgePositions[id] = edgeCount++;
+        attach(id, u, v);
+        if (weights != null)
+        {
+            weights[id] = w;
+        }
+        return id;
+    }
+
+    @SuppressWarnings ("unchecked")
+    private void allocate(int vertices, int edges)
+    {
+        this.nodes = (MultiNode[]) Array.newInstance(MultiNode.class, vertices);
+        this.outEdges = new int[vertices][];
+        this.inEdges = new int[vertices][];
+        Arrays.fill(outEdges, NO_EDGES);
+        Arrays.fill(inEdges, NO_EDGES);
+        this.outCounts = new int[vertices];
+        this.inCounts = new int[vertices];
+
+        this.edgeCount = 0;
+        this.edgeOrder = new int[edges];
+        this.edgePositions = new int[edges];
+        for (int id = 0; id < edges; ++id)
+        {
+            edgeOrder[id] = id;
+            edgePositions[id] = id;
+        }
+        this.sources = new int[edges];
+        this.targets = new int[edges];
+        this.outSlots = new int[edges];
+        this.inSlots = new int[edges];
+        this.weights = weighted ? new Weight<?>[edges] : null;
+    }
+
+    private void attach(int id, int u, int v)
+    {
+        sources[id] = u;
+        targets[id] = v;
+        outEdges[u] = append(outEdges[u], outCounts[u], id);
+        outSlots[id] = outCounts[u]++;
+        inEdges[v] = append(inEdges[v], inCounts[v], id);
+        inSlots[id] = inCounts[v]++;
+    }
+
+    private Weight<?> cloneWeight(int id) throws CloneNotSupportedException
+    {
+        return (weights != null && weights[id] != null) ? (Weight<?>) weights[id].clone() : null;
+    }
+
+    private int[] collectEdges(int u, int v, int[] result)
+    {
+        int count = result.length;
+        if (outCounts[u] <= inCounts[v])
+        {
+            for (int k = 0; k < outCounts[u]; ++k)
+            {
+                int id = outEdges[u][k];
+                if (targets[id] == v)
+                {
+                    result = append(result, count, id);
+                    count++;
+                }
+            }
+        }
+        else
+        {
+            for (int k = 0; k < inCounts[v]; ++k)
+            {
+                int id = inEdges[v][k];
+                if (sources[id] == u)
+                {
+                    result = append(result, count, id);
+                    count++;
+                }
+            }
+        }
+        return (count == result.length) ? result : Arrays.copyOf(result, count);
+    }
+
+    private void detach(int id)
+    {
+        // Move the last edge of each array into the slot left by this one
+        int u = sources[id];
+        int last = outEdges[u][--outCounts[u]];
+        outEdges[u][outSlots[id]] = last;
+        outSlots[last] = outSlots[id];
+
+        int v = targets[id];
+        last = inEdges[v][--inCounts[v]];
+        inEdges[v][inSlots[id]] = last;
+        inSlots[last] = inSlots[id];
+    }
+
+    private void ensureEdgeCapacity(int required)
+    {
+        int capacity = sources.length;
+        if (required <= capacity)
+        {
+            return;
+        }
+
+        required = Math.max(required, 1);
+        edgeOrder = Arrays.copyOf(edgeOrder, required);
+        edgePositions = Arrays.copyOf(edgePositions, required);
+        for (int id = capacity; id < required; ++id)
+        {
+            edgeOrder[id] = id;
+            edgePositions[id] = id;
+        }
+        sources = Arrays.copyOf(sources, required);
+        targets = Arrays.copyOf(targets, required);
+        outSlots = Arrays.copyOf(outSlots, required);
+        inSlots = Arrays.copyOf(inSlots, required);
+        if (weights != null)
+        {
+            weights = Arrays.copyOf(weights, required);
+        }
+        if (edgeLabels != null)
+        {
+            edgeLabels = Arrays.copyOf(edgeLabels, required);
+        }
+    }
+
+    private void ensureVertexCapacity(int required)
+    {
+        int capacity = nodes.length;
+        if (required <= capacity)
+        {
+            return;
+        }
+
+        int newCapacity = Math.max(required, capacity * 2);
+        nodes = Arrays.copyOf(nodes, newCapacity);
+        outEdges = Arrays.copyOf(outEdges, newCapacity);
+        inEdges = Arrays.copyOf(inEdges, newCapacity);
+        Arrays.fill(outEdges, capacity, newCapacity, NO_EDGES);
+        Arrays.fill(inEdges, capacity, newCapacity, NO_EDGES);
+        outCounts = Arrays.copyOf(outCounts, newCapacity);
+        inCounts = Arrays.copyOf(inCounts, newCapacity);
+    }
+
+    private int findEdge(int u, int v)
+    {
+        if (outCounts[u] <= inCounts[v])
+        {
+            for (int k = 0; k < outCounts[u]; ++k)
+            {
+                if (targets[outEdges[u][k]] == v)
+                {
+                    return outEdges[u][k];
+                }
+            }
+        }
+        else
+        {
+            for (int k = 0; k < inCounts[v]; ++k)
+            {
+                if (sources[inEdges[v][k]] == u)
+                {
+                    return inEdges[v][k];
+                }
+            }
+        }
+        return -1;
+    }
+
+    private int indexOfNode(Node<?> node)
+    {
+        if (node instanceof DefaultMultigraph.MultiNode)
+        {
+            DefaultMultigraph<?>.MultiNode multi = (DefaultMultigraph<?>.MultiNode) node;
+            if (multi.owner() == this && multi.index < nodes.length && nodes[multi.index] == multi)
+            {
+                return multi.index;
+            }
+        }
+        return -1;
+    }
+
+    private boolean isLive(int id)
+    {
+        return id >= 0 && id < sources.length && edgePositions[id] < edgeCount;
+    }
+
+    private int requireEdge(int id)
+    {
+        if (!isLive(id))
+        {
+            throw new InvalidOperationException("Attempted to access edge " + id
+                                                        + " in a graph that does not contains it.");
+        }
+        return id;
+    }
+
+    private int requireIndex(int label)
+    {
+        int index = getLabelRegistry().indexOf(label);
+        if (index < 0)
+        {
+            throw new InvalidOperationException("Attempted to access node " + label
+                                                        + " in a graph that does not contains it.");
+        }
+        return index;
+    }
+
+    private int requireNode(Node<?> node)
+    {
+        int index = indexOfNode(node);
+        if (index < 0)
+        {
+            throw new InvalidOperationException("Attempted to connect node " + node
+                                                        + " which is not part of this graph.");
+        }
+        return index;
+    }
+
+}
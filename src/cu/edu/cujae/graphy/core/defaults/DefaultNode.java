@@ -19,15 +19,30 @@
 package cu.edu.cujae.graphy.core.defaults;
 
 import cu.edu.cujae.graphy.core.Edge;
+import cu.edu.cujae.graphy.core.EdgeFactory;
+import cu.edu.cujae.graphy.core.EdgeVisitor;
 import cu.edu.cujae.graphy.core.Node;
+import cu.edu.cujae.graphy.core.Weight;
 import cu.edu.cujae.graphy.core.exceptions.InvalidKeyException;
 import cu.edu.cujae.graphy.core.exceptions.InvalidOperationException;
+import cu.edu.cujae.graphy.utils.LongHashSet;
 import java.util.Map.Entry;
 import java.util.*;
-import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.function.IntConsumer;
+import java.util.function.IntFunction;
 
 /**
  * This is the default implementation of the {@link Node} interface.It provides some default operations for nodes.
+ * <p>
+ * Connections made through {@link #connectLazily(cu.edu.cujae.graphy.core.defaults.DefaultNode,
+ * cu.edu.cujae.graphy.core.EdgeFactory)} only record the adjacent node; their {@link Edge} object is built the first
+ * time it is requested, and kept from then on. Walking the neighbors of a node with
+ * {@link #forEachOutNeighbor(java.util.function.IntConsumer)} or {@link #forEachInNeighbor(java.util.function.IntConsumer)}
+ * never builds edges.
+ * <p>
+ * A node may record its departing connections in an adjacency index shared by all the nodes of its graph, see
+ * {@link #setAdjacencyIndex(cu.edu.cujae.graphy.utils.LongHashSet)}, so the graph can answer whether two vertices are
+ * connected with a single probe on a primitive key.
  *
  * @author Javier Marrero
  * @param <T>
@@ -35,11 +50,18 @@ import java.util.concurrent.CopyOnWriteArraySet;
 public class DefaultNode<T> implements Node<T>
 {
 
+    /**
+     * The number of connections the adjacency maps of a node are sized for when no hint is given.
+     */
+    public static final int DEFAULT_EXPECTED_DEGREE = 5;
+
+    private LongHashSet adjacencyIndex;
     private Map<Object, Object> attributes;
     private Map<Node<T>, Edge> connectionsFromVertex;
     private Map<Node<T>, Edge> connectionsToVertex;
     private T data;
     private final int label;
+    private EdgeFactory lazyEdgeFactory;
 
     /**
      * Default public constructor.
@@ -49,13 +71,54 @@ public class DefaultNode<T> implements Node<T>
      */
     public DefaultNode(int label, T data)
     {
-        this.attributes = new HashMap<>(5);
-        this.connectionsFromVertex = new LinkedHashMap<>(5);
-        this.connectionsToVertex = new LinkedHashMap<>(5);
+        this(label, data, DEFAULT_EXPECTED_DEGREE);
+    }
+
+    /**
+     * Constructs a node whose adjacency maps can hold <code>expectedDegree</code> departing and arriving connections
+     * without being resized.
+     *
+     * @param label
+     * @param data
+     * @param expectedDegree
+     */
+    public DefaultNode(int label, T data, int expectedDegree)
+    {
+        this.connectionsFromVertex = new LinkedHashMap<>(capacityFor(expectedDegree));
+        this.connectionsToVertex = new LinkedHashMap<>(capacityFor(expectedDegree));
         this.data = data;
         this.label = label;
     }
 
+    /**
+     * Returns the key that stands for the connection from <code>u</code> to <code>v</code> in an adjacency index.
+     *
+     * @param u
+     * @param v
+     *
+     * @return
+     */
+    public static long adjacencyKey(int u, int v)
+    {
+        return ((long) u << 32) | (v & 0xffffffffL);
+    }
+
+    private static <K> Map<K, Edge> ensureCapacity(Map<K, Edge> map, int expectedSize)
+    {
+        if (expectedSize <= map.size())
+        {
+            return map;
+        }
+        Map<K, Edge> result = new LinkedHashMap<>(capacityFor(expectedSize));
+        result.putAll(map);
+        return result;
+    }
+
+    private static int capacityFor(int expectedSize)
+    {
+        return (int) (expectedSize / 0.75f) + 1;
+    }
+
     /**
      * {@inheritDoc }
      */
@@ -63,7 +126,17 @@ public class DefaultNode<T> implements Node<T>
     @SuppressWarnings ("unchecked")
     public boolean addEdge(Edge edge)
     {
+        if (isLazilyConnectedTo(edge.getFinalNode()))
+        {
+            // Already connected lazily
+            return false;
+        }
+
         boolean result = (connectionsFromVertex.putIfAbsent((Node<T>) edge.getFinalNode(), edge) == null);
+        if (result)
+        {
+            index(edge.getFinalNode());
+        }
         if (edge.getFinalNode() instanceof DefaultNode)
         {
             DefaultNode<T> u = (DefaultNode<T>) edge.getFinalNode();
@@ -72,25 +145,106 @@ public class DefaultNode<T> implements Node<T>
         return result;
     }
 
+    /**
+     * Connects this node to <code>v</code> without building the {@link Edge} object of the connection. The edge is
+     * built with the factory passed as argument, departing this node, when it is first requested.
+     *
+     * @param v
+     * @param factory
+     *
+     * @return true if the nodes were not already connected.
+     */
+    public boolean connectLazily(DefaultNode<T> v, EdgeFactory factory)
+    {
+        if (connectionsFromVertex.containsKey(v) || v.connectionsToVertex.containsKey(this))
+        {
+            return false;
+        }
+        this.lazyEdgeFactory = factory;
+        connectionsFromVertex.put(v, null);
+        v.connectionsToVertex.put(this, null);
+        index(v);
+        return true;
+    }
+
     @Override
     public Object clone() throws CloneNotSupportedException
     {
         @SuppressWarnings ("unchecked")
         DefaultNode<T> clone = (DefaultNode<T>) super.clone();
 
-        clone.connectionsFromVertex = new LinkedHashMap<>(connectionsFromVertex.size());
-        clone.connectionsToVertex = new LinkedHashMap<>(connectionsToVertex.size());
-        clone.attributes = new HashMap<>(attributes.size());
+        clone.connectionsFromVertex = new LinkedHashMap<>(capacityFor(connectionsFromVertex.size()));
+        clone.connectionsToVertex = new LinkedHashMap<>(capacityFor(connectionsToVertex.size()));
+        clone.adjacencyIndex = null;
+        clone.attributes = null;
+        clone.lazyEdgeFactory = null;
 
-        // Clone the attributes
-        for (Entry<Object, Object> entry : attributes.entrySet())
-        {
-            //TODO: Find the way to clone attributes
-        }
+        //TODO: Find the way to clone attributes
 
         return clone;
     }
 
+    /**
+     * Connects <code>copy</code>, usually a clone of this node living in another graph, to the counterparts of the
+     * nodes this node departs to. Counterparts are looked up by label through <code>nodes</code>.
+     * <p>
+     * Connections whose edge has not been built yet are copied as such, and are built by <code>factory</code> when
+     * first requested. Other edges are rebuilt by <code>factory</code>, carrying over a copy of their weight when
+     * <code>weighted</code> is true; primitive weights are copied by value when the factory is one of the default
+     * ones.
+     *
+     * @param copy
+     * @param nodes
+     * @param factory
+     * @param weighted
+     *
+     * @throws CloneNotSupportedException if a weight cannot be cloned.
+     */
+    @SuppressWarnings ("unchecked")
+    public void copyConnectionsTo(DefaultNode<T> copy, IntFunction<Node<T>> nodes, EdgeFactory factory,
+                                  boolean weighted) throws CloneNotSupportedException
+    {
+        copy.connectionsFromVertex = ensureCapacity(copy.connectionsFromVertex, connectionsFromVertex.size());
+
+        boolean primitive = weighted && (factory.getClass() == DefaultDirectedEdgeFactory.class
+                                         || factory.getClass() == DefaultNotDirectedEdgeFactory.class);
+        boolean directed = factory instanceof DefaultDirectedEdgeFactory;
+        for (Entry<Node<T>, Edge> entry : connectionsFromVertex.entrySet())
+        {
+            Node<T> v = nodes.apply(entry.getKey().getLabel());
+            Edge edge = entry.getValue();
+            if (edge == null)
+            {
+                copy.lazyEdgeFactory = factory;
+            }
+            else if (!weighted)
+            {
+                edge = factory.build(copy, v);
+            }
+            else if (primitive && edge instanceof PrimitiveWeightedEdge
+                     && ((PrimitiveWeightedEdge) edge).isLabeledByWeight())
+            {
+                edge = new PrimitiveWeightedEdge((PrimitiveWeightedEdge) edge, copy, v, directed);
+            }
+            else
+            {
+                Weight<?> w = edge.getWeight();
+                if (w != null)
+                {
+                    w = (Weight<?>) w.clone();
+                }
+                edge = factory.build(w, copy, v, w);
+            }
+
+            copy.connectionsFromVertex.put(v, edge);
+            copy.index(v);
+            if (v instanceof DefaultNode)
+            {
+                ((DefaultNode<T>) v).connectionsToVertex.put(copy, edge);
+            }
+        }
+    }
+
     @Override
     public int degree()
     {
@@ -106,6 +260,69 @@ public class DefaultNode<T> implements Node<T>
         }
     }
 
+    /**
+     * Makes room in the adjacency maps of this node for the given number of departing and arriving connections, so
+     * that adding them later does not resize the maps one step at a time.
+     *
+     * @param departing the expected total number of departing connections.
+     * @param arriving  the expected total number of arriving connections.
+     */
+    public void ensureCapacity(int departing, int arriving)
+    {
+        connectionsFromVertex = ensureCapacity(connectionsFromVertex, departing);
+        connectionsToVertex = ensureCapacity(connectionsToVertex, arriving);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void forEachInEdge(EdgeVisitor visitor)
+    {
+        for (Entry<Node<T>, Edge> entry : connectionsToVertex.entrySet())
+        {
+            Edge e = (entry.getValue() != null) ? entry.getValue() : materializeArriving(entry);
+            visitor.visit(entry.getKey().getLabel(), label, e);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void forEachInNeighbor(IntConsumer action)
+    {
+        for (Node<T> u : connectionsToVertex.keySet())
+        {
+            action.accept(u.getLabel());
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void forEachOutEdge(EdgeVisitor visitor)
+    {
+        for (Entry<Node<T>, Edge> entry : connectionsFromVertex.entrySet())
+        {
+            Edge e = (entry.getValue() != null) ? entry.getValue() : materializeDeparting(entry);
+            visitor.visit(label, entry.getKey().getLabel(), e);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void forEachOutNeighbor(IntConsumer action)
+    {
+        for (Node<T> v : connectionsFromVertex.keySet())
+        {
+            action.accept(v.getLabel());
+        }
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -118,7 +335,23 @@ public class DefaultNode<T> implements Node<T>
     @Override
     public Edge getAdjacentEdge(Node<T> v)
     {
-        Edge result = connectionsFromVertex.containsKey(v) ? connectionsFromVertex.get(v) : connectionsToVertex.get(v);
+        Edge result = null;
+        if (connectionsFromVertex.containsKey(v))
+        {
+            result = connectionsFromVertex.get(v);
+            if (result == null)
+            {
+                result = materialize(this, v);
+            }
+        }
+        else if (connectionsToVertex.containsKey(v))
+        {
+            result = connectionsToVertex.get(v);
+            if (result == null)
+            {
+                result = materialize(v, this);
+            }
+        }
 
         // If the result is still null
         // throw an exception
@@ -135,13 +368,13 @@ public class DefaultNode<T> implements Node<T>
     {
         Collection<Integer> nodes = new LinkedHashSet<>(getConnectionsFromVertex().size() + getConnectionsToVertex().
                 size());
-        for (Edge e : getEdgesArrivingSelf())
+        for (Node<T> u : connectionsToVertex.keySet())
         {
-            nodes.add(e.getStartNode().getLabel());
+            nodes.add(u.getLabel());
         }
-        for (Edge e : getEdgesDepartingSelf())
+        for (Node<T> v : connectionsFromVertex.keySet())
         {
-            nodes.add(e.getFinalNode().getLabel());
+            nodes.add(v.getLabel());
         }
 
         return Collections.unmodifiableCollection(nodes);
@@ -151,9 +384,9 @@ public class DefaultNode<T> implements Node<T>
     public Collection<Integer> getAllVerticesArrivingSelf()
     {
         Collection<Integer> vertices = new LinkedList<>();
-        for (Edge e : getEdgesArrivingSelf())
+        for (Node<T> u : connectionsToVertex.keySet())
         {
-            vertices.add(e.getStartNode().getLabel());
+            vertices.add(u.getLabel());
         }
         return vertices;
     }
@@ -162,9 +395,9 @@ public class DefaultNode<T> implements Node<T>
     public Collection<Integer> getAllVerticesDepartingSelf()
     {
         Collection<Integer> vertices = new LinkedList<>();
-        for (Edge e : getEdgesDepartingSelf())
+        for (Node<T> v : connectionsFromVertex.keySet())
         {
-            vertices.add(e.getFinalNode().getLabel());
+            vertices.add(v.getLabel());
         }
         return vertices;
     }
@@ -172,9 +405,9 @@ public class DefaultNode<T> implements Node<T>
     @Override
     public Object getAttribute(Object key) throws InvalidKeyException
     {
-        if (!attributes.containsKey(key))
+        if (attributes == null || !attributes.containsKey(key))
         {
-            throw new InvalidKeyException(attributes, key);
+            throw new InvalidKeyException(getNodeAttributes(), key);
         }
         return attributes.get(key);
     }
@@ -185,7 +418,8 @@ public class DefaultNode<T> implements Node<T>
     @Override
     public Set<Edge> getEdgesArrivingSelf()
     {
-        return Collections.unmodifiableSet(new CopyOnWriteArraySet<>(getConnectionsToVertex().values()));
+        materializeAll(connectionsToVertex, false);
+        return Collections.unmodifiableSet(new LinkedHashSet<>(getConnectionsToVertex().values()));
     }
 
     /**
@@ -194,7 +428,8 @@ public class DefaultNode<T> implements Node<T>
     @Override
     public Set<Edge> getEdgesDepartingSelf()
     {
-        return Collections.unmodifiableSet(new CopyOnWriteArraySet<>(getConnectionsFromVertex().values()));
+        materializeAll(connectionsFromVertex, true);
+        return Collections.unmodifiableSet(new LinkedHashSet<>(getConnectionsFromVertex().values()));
     }
 
     /**
@@ -212,7 +447,16 @@ public class DefaultNode<T> implements Node<T>
     @Override
     public Map<Object, Object> getNodeAttributes()
     {
-        return Collections.unmodifiableMap(attributes);
+        return (attributes != null) ? Collections.unmodifiableMap(attributes) : Collections.emptyMap();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int inDegree()
+    {
+        return connectionsToVertex.size();
     }
 
     @Override
@@ -233,10 +477,62 @@ public class DefaultNode<T> implements Node<T>
         return getConnectionsToVertex().containsKey(v);
     }
 
+    /**
+     * Removes every connection departing from or arriving to this node, in time linear in its degree. Unlike
+     * {@link #disconnect()}, the edges are neither copied nor materialized: each neighbor drops this node from its
+     * adjacency, and the adjacency maps of this node are cleared at once.
+     */
+    public void isolate()
+    {
+        for (Node<T> v : connectionsFromVertex.keySet())
+        {
+            if (adjacencyIndex != null)
+            {
+                adjacencyIndex.remove(adjacencyKey(label, v.getLabel()));
+            }
+            if (v instanceof DefaultNode && v != this)
+            {
+                ((DefaultNode<T>) v).connectionsToVertex.remove(this);
+            }
+        }
+        for (Entry<Node<T>, Edge> entry : connectionsToVertex.entrySet())
+        {
+            Node<T> u = entry.getKey();
+            if (u instanceof DefaultNode)
+            {
+                // Self loops were already dropped from the index along with the departing connections
+                DefaultNode<T> from = (DefaultNode<T>) u;
+                if (from != this)
+                {
+                    from.connectionsFromVertex.remove(this);
+                    if (from.adjacencyIndex != null)
+                    {
+                        from.adjacencyIndex.remove(adjacencyKey(u.getLabel(), label));
+                    }
+                }
+            }
+            else
+            {
+                u.removeEdge(entry.getValue());
+            }
+        }
+        connectionsFromVertex.clear();
+        connectionsToVertex.clear();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int outDegree()
+    {
+        return connectionsFromVertex.size();
+    }
+
     @Override
     public Object removeAttribute(Object key)
     {
-        return attributes.remove(key);
+        return (attributes != null) ? attributes.remove(key) : null;
     }
 
     /**
@@ -245,12 +541,24 @@ public class DefaultNode<T> implements Node<T>
     @Override
     public boolean removeEdge(Edge edge)
     {
+        // Lazy connections are materialized first, so the edge is compared as usual
+        if (isLazilyConnectedTo(edge.getFinalNode()))
+        {
+            @SuppressWarnings ("unchecked")
+            Node<T> v = (Node<T>) edge.getFinalNode();
+            materialize(this, v);
+        }
+
         boolean result = connectionsFromVertex.remove(edge.getFinalNode(), edge);
+        if (result && adjacencyIndex != null)
+        {
+            adjacencyIndex.remove(adjacencyKey(label, edge.getFinalNode().getLabel()));
+        }
         if (edge.getFinalNode() instanceof DefaultNode)
         {
             @SuppressWarnings ("unchecked")
             DefaultNode<T> v = (DefaultNode<T>) edge.getFinalNode();
-            result &= (v.connectionsToVertex.remove(this) != null);
+            result &= v.connectionsToVertex.remove(this, edge);
         }
         return result;
     }
@@ -264,9 +572,32 @@ public class DefaultNode<T> implements Node<T>
         this.data = data;
     }
 
+    /**
+     * Makes this node record its departing connections in <code>index</code>, keyed by
+     * {@link #adjacencyKey(int, int)}. The connections the node already has are added to the index right away. Passing
+     * null stops the recording, and leaves the keys of this node in the previous index.
+     * <p>
+     * The index must only be shared by nodes of the same graph, and it is not guarded against concurrent
+     * modification.
+     *
+     * @param index
+     */
+    public void setAdjacencyIndex(LongHashSet index)
+    {
+        this.adjacencyIndex = index;
+        for (Node<T> v : connectionsFromVertex.keySet())
+        {
+            index(v);
+        }
+    }
+
     @Override
     public Object setAttribute(Object key, Object value)
     {
+        if (attributes == null)
+        {
+            attributes = new HashMap<>(5);
+        }
         return attributes.put(key, value);
     }
 
@@ -276,20 +607,21 @@ public class DefaultNode<T> implements Node<T>
     @Override
     public String toString()
     {
-        StringBuilder builder = new StringBuilder("<" + label + ":" + data.toString() + "> (");
-        for (Iterator<Edge> it = getConnectionsFromVertex().values().iterator(); it.hasNext();)
+        StringBuilder builder = new StringBuilder("<" + label + ":" + data + "> (");
+        for (Iterator<Entry<Node<T>, Edge>> it = connectionsFromVertex.entrySet().iterator(); it.hasNext();)
         {
-            Edge edge = it.next();
-            if (edge.getFinalNode() != null)
+            Entry<Node<T>, Edge> entry = it.next();
+            Edge edge = entry.getValue();
+            if (entry.getKey() != null)
             {
-                builder.append(edge.getFinalNode().getLabel());
+                builder.append(entry.getKey().getLabel());
             }
             else
             {
                 builder.append("<null>");
             }
 
-            if (edge.isWeighted())
+            if (edge != null && edge.isWeighted())
             {
                 builder.append(" <").append(edge.getWeight().toString()).append(">");
             }
@@ -302,6 +634,74 @@ public class DefaultNode<T> implements Node<T>
         return builder.append(")").toString();
     }
 
+    /**
+     * Builds the edge of a lazy connection from <code>u</code> to <code>v</code> and stores it in the maps of both
+     * nodes.
+     *
+     * @param u
+     * @param v
+     *
+     * @return
+     */
+    @SuppressWarnings ("unchecked")
+    private static <T> Edge materialize(Node<T> u, Node<T> v)
+    {
+        DefaultNode<T> from = (DefaultNode<T>) u;
+        Edge edge = from.lazyEdgeFactory.build(u, v);
+        from.connectionsFromVertex.put(v, edge);
+        if (v instanceof DefaultNode)
+        {
+            ((DefaultNode<T>) v).connectionsToVertex.put(u, edge);
+        }
+        return edge;
+    }
+
+    private void index(Node<?> v)
+    {
+        if (adjacencyIndex != null)
+        {
+            adjacencyIndex.add(adjacencyKey(label, v.getLabel()));
+        }
+    }
+
+    private boolean isLazilyConnectedTo(Node<?> v)
+    {
+        return connectionsFromVertex.get(v) == null && connectionsFromVertex.containsKey(v);
+    }
+
+    private void materializeAll(Map<Node<T>, Edge> connections, boolean departing)
+    {
+        for (Entry<Node<T>, Edge> entry : connections.entrySet())
+        {
+            if (entry.getValue() == null)
+            {
+                if (departing)
+                {
+                    materializeDeparting(entry);
+                }
+                else
+                {
+                    materializeArriving(entry);
+                }
+            }
+        }
+    }
+
+    private Edge materializeArriving(Entry<Node<T>, Edge> entry)
+    {
+        // Replacing the value of an entry is not a structural modification, so iterations over the map go on
+        Edge edge = materialize(entry.getKey(), this);
+        entry.setValue(edge);
+        return edge;
+    }
+
+    private Edge materializeDeparting(Entry<Node<T>, Edge> entry)
+    {
+        Edge edge = materialize(this, entry.getKey());
+        entry.setValue(edge);
+        return edge;
+    }
+
     /**
      * @return the connectionsFromVertex
      */
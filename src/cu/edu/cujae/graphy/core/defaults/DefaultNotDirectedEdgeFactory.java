@@ -15,6 +15,10 @@ public class DefaultNotDirectedEdgeFactory extends DefaultEdgeFactory implements
     @Override
     public Edge build(Object label, Node<?> u, Node<?> v, Weight<?> w)
     {
+        if (PrimitiveWeightedEdge.supports(w))
+        {
+            return new PrimitiveWeightedEdge(label, u, v, w, false);
+        }
         return new AbstractEdge(label, u, v, w, false)
         {
 
@@ -19,6 +19,7 @@
 package cu.edu.cujae.graphy.core.defaults;
 
 import cu.edu.cujae.graphy.core.Graph;
+import cu.edu.cujae.graphy.core.Node;
 import cu.edu.cujae.graphy.core.abstractions.AdjacencyListGraph;
 
 /**
@@ -29,23 +30,68 @@ import cu.edu.cujae.graphy.core.abstractions.AdjacencyListGraph;
  * <p>
  * For more complex or more specific needs, the entire library is customizable via design patterns and the use of this
  * library's API.
+ * <p>
+ * When created with <i>lazy edges</i>, connections only record the adjacent node, and their {@link
+ * cu.edu.cujae.graphy.core.Edge} objects are built the first time they are requested (for instance, through
+ * {@link Node#getAdjacentEdge(cu.edu.cujae.graphy.core.Node)} or {@link Node#getEdgesDepartingSelf()}). Traversals
+ * that only visit neighbors, such as the breadth-first and depth-first iterators, then allocate nothing per edge.
  *
  * @author Javier Marrero
  * @param <T>
  */
 public class DefaultSimpleGraph<T> extends AdjacencyListGraph<T> implements Graph<T>, Cloneable
 {
-    
+
+    private boolean lazyEdges;
+
     public DefaultSimpleGraph()
     {
         super(false);
     }
-    
+
     public DefaultSimpleGraph(boolean directed)
     {
         super(directed);
     }
 
+    /**
+     * Creates a new graph whose connections build their edges on demand if <code>lazyEdges</code> is true.
+     *
+     * @param directed
+     * @param lazyEdges
+     */
+    public DefaultSimpleGraph(boolean directed, boolean lazyEdges)
+    {
+        super(directed);
+        this.lazyEdges = lazyEdges;
+    }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public boolean connect(Node<T> u, Node<T> v)
+    {
+        if (lazyEdges && u instanceof DefaultNode && v instanceof DefaultNode)
+        {
+            return ((DefaultNode<T>) u).connectLazily((DefaultNode<T>) v, getEdgeFactory());
+        }
+        return super.connect(u, v);
+    }
+
+    /**
+     * Connects every vertex <code>source[i]</code> to the vertex <code>target[i]</code> in a single pass.
+     *
+     * @param source
+     * @param target
+     *
+     * @see AdjacencyListGraph#connectAll(int[], int[], java.util.function.IntFunction)
+     */
+    public void connectAll(int[] source, int[] target)
+    {
+        connectAll(source, target, null);
+    }
+
     /**
      * {@inheritDoc }
      */
@@ -54,11 +100,22 @@ public class DefaultSimpleGraph<T> extends AdjacencyListGraph<T> implements Grap
     {
         DefaultSimpleGraph<T> graph = (DefaultSimpleGraph<T>) new DefaultGraphBuilder<T>().buildGraph().directed(
                 isDirected()).get();
-        cloneNodesAndReconnect(graph);
-        
+        graph.setLazyEdges(lazyEdges);
+        duplicateInto(graph, false);
+
         return graph;
     }
 
+    /**
+     * Returns true if the connections made from now on build their edges on demand.
+     *
+     * @return
+     */
+    public boolean isLazyEdges()
+    {
+        return lazyEdges;
+    }
+
     /**
      * {@inheritDoc }
      */
@@ -67,5 +124,16 @@ public class DefaultSimpleGraph<T> extends AdjacencyListGraph<T> implements Grap
     {
         return false;
     }
-    
+
+    /**
+     * Sets whether the connections made from now on build their edges on demand. Existing connections are not
+     * affected.
+     *
+     * @param lazyEdges
+     */
+    public void setLazyEdges(boolean lazyEdges)
+    {
+        this.lazyEdges = lazyEdges;
+    }
+
 }
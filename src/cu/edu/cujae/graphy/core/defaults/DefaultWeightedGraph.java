@@ -18,11 +18,14 @@
  */
 package cu.edu.cujae.graphy.core.defaults;
 
+import cu.edu.cujae.graphy.core.Edge;
 import cu.edu.cujae.graphy.core.Graph;
 import cu.edu.cujae.graphy.core.Node;
 import cu.edu.cujae.graphy.core.Weight;
 import cu.edu.cujae.graphy.core.WeightedGraph;
 import cu.edu.cujae.graphy.core.abstractions.AdjacencyListGraph;
+import cu.edu.cujae.graphy.core.exceptions.InvalidOperationException;
+import cu.edu.cujae.graphy.core.utility.Weights;
 
 /**
  * This is a default implementation of a {@link WeightedGraph}.
@@ -67,12 +70,61 @@ public class DefaultWeightedGraph<T> extends AdjacencyListGraph<T> implements We
         return u.addEdge(getEdgeFactory().build(w, u, v, w));
     }
     
+    /**
+     * Connects every vertex <code>source[i]</code> to the vertex <code>target[i]</code> with weight
+     * <code>weights[i]</code>, in a single pass.
+     *
+     * @param source
+     * @param target
+     * @param weights
+     *
+     * @see AdjacencyListGraph#connectAll(int[], int[], java.util.function.IntFunction)
+     */
+    public void connectAll(int[] source, int[] target, double[] weights)
+    {
+        checkWeightsLength(source, weights.length);
+        connectAll(source, target, i -> Weights.makeWeight(weights[i]));
+    }
+
+    /**
+     * Connects every vertex <code>source[i]</code> to the vertex <code>target[i]</code> with weight
+     * <code>weights[i]</code>, in a single pass.
+     *
+     * @param source
+     * @param target
+     * @param weights
+     *
+     * @see AdjacencyListGraph#connectAll(int[], int[], java.util.function.IntFunction)
+     */
+    public void connectAll(int[] source, int[] target, int[] weights)
+    {
+        checkWeightsLength(source, weights.length);
+        connectAll(source, target, i -> Weights.makeWeight(weights[i]));
+    }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public double edgeWeightAsDouble(Edge e)
+    {
+        if (e instanceof PrimitiveWeightedEdge && e.isWeighted())
+        {
+            return ((PrimitiveWeightedEdge) e).doubleValue();
+        }
+        if (e == null || e.getWeight() == null || e.getWeight().getValue() == null)
+        {
+            throw new IllegalArgumentException("The edge " + e + " is not weighted.");
+        }
+        return e.getWeight().getValue().doubleValue();
+    }
+
     @Override
     public Graph<T> duplicate() throws CloneNotSupportedException
     {
         DefaultWeightedGraph<T> graph = (DefaultWeightedGraph<T>) new DefaultWeightedGraphBuilder<T>().buildGraph().
                 directed(isDirected()).get();
-        cloneNodesAndReconnect(graph);
+        duplicateInto(graph, true);
         
         return graph;
     }
@@ -85,5 +137,34 @@ public class DefaultWeightedGraph<T> extends AdjacencyListGraph<T> implements We
     {
         return true;
     }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public double weightOf(int u, int v)
+    {
+        Node<T> nu = findNodeByLabel(u);
+        Node<T> nv = findNodeByLabel(v);
+        if (nu == null || nv == null)
+        {
+            throw new InvalidOperationException("Attempted to access a node in a graph that does not contains it: (u: "
+                                                        + u + ", v: " + v + ")");
+        }
+        if (isDirected() && !nu.isAdjacentAndArriving(nv))
+        {
+            throw new InvalidOperationException("There is no edge departing from " + u + " to " + v + ".");
+        }
+        return edgeWeightAsDouble(nu.getAdjacentEdge(nv));
+    }
+
+    private static void checkWeightsLength(int[] source, int length)
+    {
+        if (source.length != length)
+        {
+            throw new IllegalArgumentException("The source and weights arrays differ in length: " + source.length
+                                                       + " != " + length);
+        }
+    }
     
 }
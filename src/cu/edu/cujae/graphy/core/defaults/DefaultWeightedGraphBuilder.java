@@ -32,6 +32,33 @@ public class DefaultWeightedGraphBuilder<T> implements GraphBuilder<T>
 
     private DefaultWeightedGraph<T> instance;
 
+    @Override
+    public GraphBuilder<T> addEdges(int[] source, int[] target)
+    {
+        throw new UnsupportedOperationException("Attempted to add unweighted edges to a weighted graph.");
+    }
+
+    @Override
+    public GraphBuilder<T> addEdges(int[] source, int[] target, double[] weights)
+    {
+        instance.connectAll(source, target, weights);
+        return this;
+    }
+
+    @Override
+    public GraphBuilder<T> addEdges(int[] source, int[] target, int[] weights)
+    {
+        instance.connectAll(source, target, weights);
+        return this;
+    }
+
+    @Override
+    public GraphBuilder<T> addVertices(int count)
+    {
+        instance.addVertices(count);
+        return this;
+    }
+
     @Override
     public GraphBuilder<T> buildGraph()
     {
@@ -48,6 +75,13 @@ public class DefaultWeightedGraphBuilder<T> implements GraphBuilder<T>
         return this;
     }
 
+    @Override
+    public GraphBuilder<T> expectedDegree(int degree)
+    {
+        instance.setExpectedDegree(degree);
+        return this;
+    }
+
     @Override
     public Graph<T> get()
     {
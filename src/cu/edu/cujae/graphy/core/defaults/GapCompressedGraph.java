@@ -0,0 +1,788 @@
+/*
+ * Copyright (C) 2022 CUJAE.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+package cu.edu.cujae.graphy.core.defaults;
+
+import cu.edu.cujae.graphy.core.Graph;
+import cu.edu.cujae.graphy.core.Weight;
+import cu.edu.cujae.graphy.core.WeightedGraph;
+import cu.edu.cujae.graphy.core.abstractions.AbstractCompressedGraph;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * An immutable graph whose adjacency lists are compressed in the style of WebGraph, for graphs whose
+ * {@link CompressedSparseRowGraph} does not fit in memory.
+ * <p>
+ * The successors of every vertex are sorted by index and encoded as a byte stream of variable-length integers, seven
+ * bits per byte:
+ * <ol>
+ * <li>the out degree <i>d</i> of the vertex; nothing else is written if it is zero,</li>
+ * <li>a <i>reference</i> <i>r</i>: when positive, the list is described relative to the list of the vertex
+ * <i>r</i> positions before it, which is expected to be similar,</li>
+ * <li>if <i>r</i> is positive, the number of copy blocks followed by their lengths, alternately selecting and skipping
+ * entries of the referenced list; the entries after the last block are copied if the number of blocks is even,</li>
+ * <li>the <i>residuals</i>, the successors not copied from the reference: the first one as the zig-zag encoded
+ * difference with the index of the vertex, and the rest as gaps with the previous one.</li>
+ * </ol>
+ * The reference of every list is chosen among the previous <code>window</code> lists as the one giving the shortest
+ * encoding, and chains of references are limited to <code>maxReferenceChain</code> lists so that decoding a list
+ * never decodes too many others. Predecessor lists are encoded the same way. An array of byte offsets per vertex
+ * gives random access to any list, and an array of edge offsets keeps the edge identifiers of
+ * {@link AbstractCompressedGraph}, so the traversals and algorithms written against {@link Graph} run unchanged.
+ * <p>
+ * Lists are decoded on demand, and the last decoded successor and predecessor lists are cached, so walking the
+ * adjacency of a vertex decodes it once. Edge weights, when present, are kept as an uncompressed <code>double</code>
+ * array along with their numeric type, as {@link MappedCompressedGraph} does; edge labels other than the weights are
+ * not kept.
+ *
+ * @author Javier Marrero
+ * @param <T>
+ */
+public class GapCompressedGraph<T> extends AbstractCompressedGraph<T>
+{
+
+    /**
+     * A decoded adjacency list, published as a whole so that threads sharing the graph never see it half built.
+     */
+    private static final class Row
+    {
+
+        final int[] values;
+        final int vertex;
+
+        Row(int vertex, int[] values)
+        {
+            this.values = values;
+            this.vertex = vertex;
+        }
+
+    }
+
+    /**
+     * Reads variable-length integers from an encoded stream.
+     */
+    private static final class VarintReader
+    {
+
+        private final byte[] data;
+        private int position;
+
+        VarintReader(byte[] data, int position)
+        {
+            this.data = data;
+            this.position = position;
+        }
+
+        int readInt()
+        {
+            return (int) readLong();
+        }
+
+        long readLong()
+        {
+            long result = 0;
+            int shift = 0;
+            byte b;
+            do
+            {
+                b = data[position++];
+                result |= (long) (b & 0x7F) << shift;
+                shift += 7;
+            }
+            while (b < 0);
+            return result;
+        }
+
+    }
+
+    /**
+     * Writes variable-length integers to a growable byte array.
+     */
+    private static final class VarintWriter
+    {
+
+        private byte[] data = new byte[64];
+        private int size;
+
+        void reset()
+        {
+            size = 0;
+        }
+
+        int size()
+        {
+            return size;
+        }
+
+        byte[] toArray()
+        {
+            return Arrays.copyOf(data, size);
+        }
+
+        void write(VarintWriter other)
+        {
+            ensureCapacity(size + other.size);
+            System.arraycopy(other.data, 0, data, size, other.size);
+            size += other.size;
+        }
+
+        void writeLong(long value)
+        {
+            ensureCapacity(size + 10);
+            while ((value & ~0x7FL) != 0)
+            {
+                data[size++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            data[size++] = (byte) value;
+        }
+
+        private void ensureCapacity(int capacity)
+        {
+            if (capacity > data.length)
+            {
+                if (data.length >= Integer.MAX_VALUE - 8)
+                {
+                    throw new IllegalArgumentException("The adjacency of the graph is too large to be compressed.");
+                }
+                data = Arrays.copyOf(data, (int) Math.min(Integer.MAX_VALUE - 8,
+                                                          Math.max((long) data.length << 1, capacity)));
+            }
+        }
+
+    }
+
+    /**
+     * The number of references chained by default.
+     */
+    public static final int DEFAULT_MAX_REFERENCE_CHAIN = 3;
+
+    /**
+     * The number of previous lists considered by default as the reference of a list.
+     */
+    public static final int DEFAULT_WINDOW = 7;
+
+    private final Map<Integer, Map<Object, Object>> attributes;
+    private final Object[] data;
+    private final int[] inOffsets;
+    private final int[] labels;
+    private final boolean labelsAreWeights;
+    private final int n;
+    private final int[] outOffsets;
+    private final byte[] predecessorData;
+    private final int[] predecessorPointers;
+    private volatile Row predecessorRow;
+    private final int[] sortedIndices;
+    private final int[] sortedLabels;
+    private final byte[] successorData;
+    private final int[] successorPointers;
+    private volatile Row successorRow;
+    private final Class<?> weightType;
+    private final double[] weights;
+
+    /**
+     * Compresses the graph passed as argument with the default window and reference chain length. The source graph is
+     * only read, and later changes to it are not reflected in the compressed graph.
+     *
+     * @param source
+     */
+    public GapCompressedGraph(Graph<T> source)
+    {
+        this(source, DEFAULT_WINDOW, DEFAULT_MAX_REFERENCE_CHAIN);
+    }
+
+    /**
+     * Compresses the graph passed as argument. Larger windows and reference chains give smaller graphs, at the cost
+     * of longer compression and decoding times respectively; a window of zero disables reference compression.
+     * <p>
+     * Compression goes through temporary arrays as large as the ones of a {@link CompressedSparseRowGraph}, which are
+     * released before the constructor returns.
+     *
+     * @param source
+     * @param window            the number of previous lists considered as the reference of a list.
+     * @param maxReferenceChain the maximum number of lists decoded to decode a list.
+     */
+    public GapCompressedGraph(Graph<T> source, int window, int maxReferenceChain)
+    {
+        super(source.isDirected(), source.isWeighted());
+
+        if (window < 0 || maxReferenceChain < 0)
+        {
+            throw new IllegalArgumentException("The window and the reference chain cannot be negative: " + window
+                                                       + ", " + maxReferenceChain);
+        }
+        if (source.isWeighted() && !(source instanceof WeightedGraph))
+        {
+            throw new IllegalArgumentException("The source graph reports weights but is not a weighted graph.");
+        }
+
+        // Assign dense indices to the labels
+        this.n = source.size();
+        int[] labelArray = new int[n];
+        Object[] vertexData = new Object[n];
+        boolean hasData = false;
+        boolean identity = true;
+        int k = 0;
+        for (int label : source.getLabels())
+        {
+            labelArray[k] = label;
+            vertexData[k] = source.iterator(label).get();
+            hasData |= (vertexData[k] != null);
+            identity &= (label == k);
+            k++;
+        }
+        this.attributes = new HashMap<>();
+        this.data = hasData ? vertexData : null;
+        if (identity)
+        {
+            this.labels = null;
+            this.sortedLabels = null;
+            this.sortedIndices = null;
+        }
+        else
+        {
+            this.labels = labelArray;
+            this.sortedLabels = labelArray.clone();
+            this.sortedIndices = new int[n];
+            Arrays.sort(sortedLabels);
+            for (int i = 0; i < n; ++i)
+            {
+                sortedIndices[Arrays.binarySearch(sortedLabels, labelArray[i])] = i;
+            }
+        }
+
+        // Gather the successors of every vertex, sorted by index, along with their weights
+        this.outOffsets = new int[n + 1];
+        for (int i = 0; i < n; ++i)
+        {
+            int[] degree = new int[1];
+            source.forEachOutNeighbor(labelArray[i], v -> ++degree[0]);
+            long next = (long) outOffsets[i] + degree[0];
+            if (next > Integer.MAX_VALUE)
+            {
+                throw new IllegalArgumentException("Too many edges for a compressed graph: " + next);
+            }
+            outOffsets[i + 1] = (int) next;
+        }
+        final int m = outOffsets[n];
+        final boolean weighted = source.isWeighted();
+        final int[] targets = new int[m];
+        final double[] edgeWeights = weighted ? new double[m] : null;
+        final Class<?>[] type = new Class<?>[1];
+        final boolean[] allLabelsAreWeights =
+        {
+            weighted && m > 0
+        };
+        for (int i = 0; i < n; ++i)
+        {
+            int[] cursor =
+            {
+                outOffsets[i]
+            };
+            source.forEachOutEdge(labelArray[i], (from, to, e) ->
+            {
+                int position = cursor[0]++;
+                targets[position] = indexOf(to);
+                if (weighted)
+                {
+                    edgeWeights[position] = Double.NaN;
+                    if (e.getWeight() != null && e.getWeight().getValue() != null)
+                    {
+                        Number value = e.getWeight().getValue();
+                        edgeWeights[position] = value.doubleValue();
+                        if (type[0] == null)
+                        {
+                            type[0] = value.getClass();
+                        }
+                        else if (type[0] != value.getClass() || !isPrimitiveWeightType(type[0]))
+                        {
+                            type[0] = Double.class;
+                        }
+                    }
+                    allLabelsAreWeights[0] &= CompressedSparseRowGraph.isLabeledByWeight(e);
+                }
+            });
+            sortRow(targets, edgeWeights, outOffsets[i], outOffsets[i + 1]);
+        }
+        this.weights = edgeWeights;
+        this.weightType = weighted ? (type[0] == null || !isPrimitiveWeightType(type[0]) ? Double.class : type[0])
+                          : null;
+        this.labelsAreWeights = allLabelsAreWeights[0];
+
+        // Predecessors are gathered in ascending order of their index, so they come out sorted
+        this.inOffsets = new int[n + 1];
+        for (int e = 0; e < m; ++e)
+        {
+            ++inOffsets[targets[e] + 1];
+        }
+        for (int i = 0; i < n; ++i)
+        {
+            inOffsets[i + 1] += inOffsets[i];
+        }
+        int[] sources = new int[m];
+        int[] cursor = Arrays.copyOf(inOffsets, n);
+        for (int i = 0; i < n; ++i)
+        {
+            for (int e = outOffsets[i]; e < outOffsets[i + 1]; ++e)
+            {
+                sources[cursor[targets[e]]++] = i;
+            }
+        }
+
+        this.successorPointers = new int[n + 1];
+        this.successorData = encodeLists(targets, outOffsets, successorPointers, window, maxReferenceChain);
+        this.predecessorPointers = new int[n + 1];
+        this.predecessorData = encodeLists(sources, inOffsets, predecessorPointers, window, maxReferenceChain);
+    }
+
+    /**
+     * Encodes the list <code>values[from .. to)</code> of the vertex <code>x</code>, relative to the list
+     * <code>values[referenceFrom .. referenceTo)</code> if <code>reference</code> is positive.
+     */
+    private static void encode(VarintWriter out, int x, int[] values, int from, int to, int reference,
+                               int referenceFrom, int referenceTo)
+    {
+        out.writeLong(to - from);
+        if (to == from)
+        {
+            return;
+        }
+        out.writeLong(reference);
+
+        int[] residuals = new int[to - from];
+        int residualCount = 0;
+        if (reference > 0)
+        {
+            // Match this list against the referenced one, both are sorted
+            boolean[] copied = new boolean[referenceTo - referenceFrom];
+            int i = from;
+            int j = referenceFrom;
+            while (i < to && j < referenceTo)
+            {
+                if (values[i] < values[j])
+                {
+                    residuals[residualCount++] = values[i++];
+                }
+                else if (values[i] > values[j])
+                {
+                    ++j;
+                }
+                else
+                {
+                    copied[j - referenceFrom] = true;
+                    ++i;
+                    ++j;
+                }
+            }
+            while (i < to)
+            {
+                residuals[residualCount++] = values[i++];
+            }
+
+            // Runs of copied and skipped entries, starting with a run of copied ones that may be empty
+            int[] blocks = new int[copied.length + 1];
+            int blockCount = 0;
+            boolean copying = true;
+            int run = 0;
+            for (boolean c : copied)
+            {
+                if (c != copying)
+                {
+                    blocks[blockCount++] = run;
+                    copying = c;
+                    run = 0;
+                }
+                ++run;
+            }
+            // The last run is implicit, its kind follows from the parity of the number of blocks
+            out.writeLong(blockCount);
+            for (int b = 0; b < blockCount; ++b)
+            {
+                out.writeLong(b == 0 ? blocks[b] : blocks[b] - 1);
+            }
+        }
+        else
+        {
+            System.arraycopy(values, from, residuals, 0, to - from);
+            residualCount = to - from;
+        }
+
+        for (int i = 0; i < residualCount; ++i)
+        {
+            if (i == 0)
+            {
+                long delta = (long) residuals[0] - x;
+                out.writeLong((delta << 1) ^ (delta >> 63));
+            }
+            else
+            {
+                out.writeLong(residuals[i] - residuals[i - 1]);
+            }
+        }
+    }
+
+    /**
+     * Encodes the lists <code>values[offsets[x] .. offsets[x + 1])</code> of every vertex, filling the byte offset of
+     * every list in <code>pointers</code>.
+     */
+    private static byte[] encodeLists(int[] values, int[] offsets, int[] pointers, int window, int maxReferenceChain)
+    {
+        int count = offsets.length - 1;
+        int[] chain = new int[count];
+        VarintWriter out = new VarintWriter();
+        VarintWriter best = new VarintWriter();
+        VarintWriter candidate = new VarintWriter();
+        for (int x = 0; x < count; ++x)
+        {
+            pointers[x] = out.size();
+            best.reset();
+            encode(best, x, values, offsets[x], offsets[x + 1], 0, 0, 0);
+            chain[x] = 0;
+            for (int r = 1; r <= window && r <= x && offsets[x + 1] > offsets[x]; ++r)
+            {
+                int y = x - r;
+                if (chain[y] >= maxReferenceChain || offsets[y + 1] == offsets[y])
+                {
+                    continue;
+                }
+                candidate.reset();
+                encode(candidate, x, values, offsets[x], offsets[x + 1], r, offsets[y], offsets[y + 1]);
+                if (candidate.size() < best.size())
+                {
+                    VarintWriter swap = best;
+                    best = candidate;
+                    candidate = swap;
+                    chain[x] = chain[y] + 1;
+                }
+            }
+            out.write(best);
+        }
+        pointers[count] = out.size();
+        return out.toArray();
+    }
+
+    /**
+     * Returns the position of the first element of the sorted array that is not smaller than the key.
+     */
+    private static int lowerBound(int[] values, int key)
+    {
+        int low = 0;
+        int high = values.length;
+        while (low < high)
+        {
+            int middle = (low + high) >>> 1;
+            if (values[middle] < key)
+            {
+                low = middle + 1;
+            }
+            else
+            {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Returns the vertex whose range of <code>offsets</code> contains the position <code>k</code>.
+     */
+    private static int ownerOf(int[] offsets, int k)
+    {
+        int low = 0;
+        int high = offsets.length - 2;
+        while (low < high)
+        {
+            int middle = (low + high + 1) >>> 1;
+            if (offsets[middle] <= k)
+            {
+                low = middle;
+            }
+            else
+            {
+                high = middle - 1;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Sorts the targets of a row, moving their weights along with them.
+     */
+    private static void sortRow(int[] targets, double[] weights, int from, int to)
+    {
+        if (weights == null)
+        {
+            Arrays.sort(targets, from, to);
+            return;
+        }
+        long[] keys = new long[to - from];
+        for (int e = from; e < to; ++e)
+        {
+            keys[e - from] = ((long) targets[e] << 32) | (e - from);
+        }
+        Arrays.sort(keys);
+        double[] original = Arrays.copyOfRange(weights, from, to);
+        for (int i = 0; i < keys.length; ++i)
+        {
+            targets[from + i] = (int) (keys[i] >>> 32);
+            weights[from + i] = original[(int) keys[i]];
+        }
+    }
+
+    /**
+     * Returns the number of bytes taken by the encoded successor and predecessor lists, without the offset arrays.
+     *
+     * @return
+     */
+    public long getCompressedSize()
+    {
+        return (long) successorData.length + predecessorData.length;
+    }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public int size()
+    {
+        return n;
+    }
+
+    @Override
+    protected Map<Object, Object> attributesOf(int index, boolean create)
+    {
+        Map<Object, Object> map = attributes.get(index);
+        if (map == null && create)
+        {
+            map = new HashMap<>(5);
+            attributes.put(index, map);
+        }
+        return map;
+    }
+
+    @Override
+    protected Object dataAt(int index)
+    {
+        return data == null ? null : data[index];
+    }
+
+    @Override
+    protected Object edgeLabelAt(int e)
+    {
+        return labelsAreWeights ? weightOfEdge(e) : null;
+    }
+
+    @Override
+    protected boolean hasSortedAdjacency()
+    {
+        return true;
+    }
+
+    @Override
+    protected boolean hasWeights()
+    {
+        return weights != null;
+    }
+
+    @Override
+    protected int inEdge(int k)
+    {
+        int i = ownerOf(inOffsets, k);
+        int s = inSource(k);
+
+        // The j-th parallel edge from s arriving to i is the j-th occurrence of i among the successors of s
+        int occurrence = (k - inOffsets[i]) - lowerBound(predecessors(i), s);
+        return outOffsets[s] + lowerBound(successors(s), i) + occurrence;
+    }
+
+    @Override
+    protected int inOffset(int index)
+    {
+        return inOffsets[index];
+    }
+
+    @Override
+    protected int inSource(int k)
+    {
+        Row row = predecessorRow;
+        if (row == null || k < inOffsets[row.vertex] || k >= inOffsets[row.vertex + 1])
+        {
+            int i = ownerOf(inOffsets, k);
+            return predecessors(i)[k - inOffsets[i]];
+        }
+        return row.values[k - inOffsets[row.vertex]];
+    }
+
+    @Override
+    protected int indexOf(int label)
+    {
+        if (sortedLabels == null)
+        {
+            return (label >= 0 && label < n) ? label : -1;
+        }
+        int position = Arrays.binarySearch(sortedLabels, label);
+        return position >= 0 ? sortedIndices[position] : -1;
+    }
+
+    @Override
+    protected boolean isEdgeWeighted(int e)
+    {
+        return weights != null && !Double.isNaN(weights[e]);
+    }
+
+    @Override
+    protected int labelAt(int index)
+    {
+        return labels == null ? index : labels[index];
+    }
+
+    @Override
+    protected int outOffset(int index)
+    {
+        return outOffsets[index];
+    }
+
+    @Override
+    protected int outTarget(int e)
+    {
+        Row row = successorRow;
+        if (row == null || e < outOffsets[row.vertex] || e >= outOffsets[row.vertex + 1])
+        {
+            int i = ownerOf(outOffsets, e);
+            return successors(i)[e - outOffsets[i]];
+        }
+        return row.values[e - outOffsets[row.vertex]];
+    }
+
+    @Override
+    protected double weightAsDouble(int e)
+    {
+        if (!isEdgeWeighted(e))
+        {
+            throw new IllegalArgumentException("The edge " + e + " of this graph is not weighted.");
+        }
+        return weights[e];
+    }
+
+    @Override
+    protected Weight<?> weightOfEdge(int e)
+    {
+        return isEdgeWeighted(e) ? makeWeight(weights[e], weightType) : null;
+    }
+
+    /**
+     * Decodes the list of the vertex <code>x</code>, following its chain of references.
+     */
+    private int[] decode(byte[] encoded, int[] pointers, int x)
+    {
+        VarintReader in = new VarintReader(encoded, pointers[x]);
+        int degree = in.readInt();
+        int[] result = new int[degree];
+        if (degree == 0)
+        {
+            return result;
+        }
+
+        int reference = in.readInt();
+        int[] copied = null;
+        int copiedCount = 0;
+        if (reference > 0)
+        {
+            int[] referenced = decode(encoded, pointers, x - reference);
+            copied = new int[referenced.length];
+            int blockCount = in.readInt();
+            int j = 0;
+            for (int b = 0; b < blockCount; ++b)
+            {
+                int length = in.readInt() + (b == 0 ? 0 : 1);
+                if (b % 2 == 0)
+                {
+                    System.arraycopy(referenced, j, copied, copiedCount, length);
+                    copiedCount += length;
+                }
+                j += length;
+            }
+            if (blockCount % 2 == 0)
+            {
+                System.arraycopy(referenced, j, copied, copiedCount, referenced.length - j);
+                copiedCount += referenced.length - j;
+            }
+        }
+
+        // Read the residuals and merge them with the copied entries
+        int residualCount = degree - copiedCount;
+        int[] residuals = new int[residualCount];
+        for (int i = 0; i < residualCount; ++i)
+        {
+            if (i == 0)
+            {
+                long zigzag = in.readLong();
+                residuals[0] = (int) (x + ((zigzag >>> 1) ^ -(zigzag & 1)));
+            }
+            else
+            {
+                residuals[i] = residuals[i - 1] + in.readInt();
+            }
+        }
+        if (copiedCount == 0)
+        {
+            return residuals;
+        }
+        int i = 0;
+        int j = 0;
+        for (int k = 0; k < degree; ++k)
+        {
+            if (j == residualCount || (i < copiedCount && copied[i] <= residuals[j]))
+            {
+                result[k] = copied[i++];
+            }
+            else
+            {
+                result[k] = residuals[j++];
+            }
+        }
+        return result;
+    }
+
+    private int[] predecessors(int i)
+    {
+        Row row = predecessorRow;
+        if (row != null && row.vertex == i)
+        {
+            return row.values;
+        }
+        int[] values = decode(predecessorData, predecessorPointers, i);
+        predecessorRow = new Row(i, values);
+        return values;
+    }
+
+    private int[] successors(int i)
+    {
+        Row row = successorRow;
+        if (row != null && row.vertex == i)
+        {
+            return row.values;
+        }
+        int[] values = decode(successorData, successorPointers, i);
+        successorRow = new Row(i, values);
+        return values;
+    }
+
+}
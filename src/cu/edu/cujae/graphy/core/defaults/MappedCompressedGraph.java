@@ -0,0 +1,714 @@
+/*
+ * Copyright (C) 2022 CUJAE.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+package cu.edu.cujae.graphy.core.defaults;
+
+import cu.edu.cujae.graphy.core.Graph;
+import cu.edu.cujae.graphy.core.Weight;
+import cu.edu.cujae.graphy.core.WeightedGraph;
+import cu.edu.cujae.graphy.core.abstractions.AbstractCompressedGraph;
+import cu.edu.cujae.graphy.core.iterators.GraphIterator;
+import cu.edu.cujae.graphy.utils.IntIntHashMap;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * An immutable graph in <i>compressed sparse row</i> format whose arrays live in a memory-mapped file instead of the
+ * Java heap.
+ * <p>
+ * The layout is the same as the one of {@link CompressedSparseRowGraph}, but every array is a region of a file mapped
+ * through {@link FileChannel#map(java.nio.channels.FileChannel.MapMode, long, long)}, so the operating system pages
+ * the adjacency in and out on demand and the garbage collector never sees it. Only the {@link cu.edu.cujae.graphy.core.Node}
+ * and {@link cu.edu.cujae.graphy.core.Edge} views and the node attributes that algorithms set are allocated on the
+ * heap. Regions larger than a single mapping are split in chunks, so the number of edges is only limited by the
+ * integer edge identifiers.
+ * <p>
+ * Graphs are written with one of the <code>write</code> methods and opened with {@link #open(java.io.File)}. Edge
+ * weights are stored as doubles along with their original numeric type; a graph mixing numeric types is stored with
+ * {@link Double} weights. Edge labels other than the weights, and vertex data, are not persisted: vertex data is only
+ * kept, on the heap, by the instance returned by {@link #write(cu.edu.cujae.graphy.core.Graph, java.io.File)}.
+ *
+ * @author Javier Marrero
+ * @param <T>
+ */
+public class MappedCompressedGraph<T> extends AbstractCompressedGraph<T>
+{
+
+    /**
+     * A sequence of edges that can be traversed more than once, used to write large graphs without holding their edges
+     * on the heap.
+     */
+    @FunctionalInterface
+    public interface EdgeStream
+    {
+
+        /**
+         * Passes every edge of the stream to the sink, always in the same order.
+         *
+         * @param sink
+         *
+         * @throws IOException
+         */
+        public void forEach(EdgeSink sink) throws IOException;
+    }
+
+    /**
+     * Receives the edges of an {@link EdgeStream}.
+     */
+    @FunctionalInterface
+    public interface EdgeSink
+    {
+
+        /**
+         * Receives the edge <code>(u, v)</code> with weight <code>w</code>. The weight is ignored when writing
+         * unweighted graphs.
+         *
+         * @param u
+         * @param v
+         * @param w
+         */
+        public void accept(int u, int v, double w);
+    }
+
+    private static final class DoubleRegion
+    {
+
+        private static final int SHIFT = 26;
+        private static final int MASK = (1 << SHIFT) - 1;
+
+        private final DoubleBuffer[] chunks;
+
+        DoubleRegion(FileChannel channel, MapMode mode, long position, int length) throws IOException
+        {
+            chunks = new DoubleBuffer[(int) (((long) length + MASK) >>> SHIFT)];
+            for (int c = 0; c < chunks.length; ++c)
+            {
+                long count = Math.min(1L << SHIFT, (long) length - ((long) c << SHIFT));
+                chunks[c] = map(channel, mode, position + ((long) c << (SHIFT + 3)), count << 3).asDoubleBuffer();
+            }
+        }
+
+        double get(int i)
+        {
+            return chunks[i >>> SHIFT].get(i & MASK);
+        }
+
+        void put(int i, double value)
+        {
+            chunks[i >>> SHIFT].put(i & MASK, value);
+        }
+
+    }
+
+    private static final class IntRegion
+    {
+
+        private static final int SHIFT = 27;
+        private static final int MASK = (1 << SHIFT) - 1;
+
+        private final IntBuffer[] chunks;
+
+        IntRegion(FileChannel channel, MapMode mode, long position, int length) throws IOException
+        {
+            chunks = new IntBuffer[(int) (((long) length + MASK) >>> SHIFT)];
+            for (int c = 0; c < chunks.length; ++c)
+            {
+                long count = Math.min(1L << SHIFT, (long) length - ((long) c << SHIFT));
+                chunks[c] = map(channel, mode, position + ((long) c << (SHIFT + 2)), count << 2).asIntBuffer();
+            }
+        }
+
+        int get(int i)
+        {
+            return chunks[i >>> SHIFT].get(i & MASK);
+        }
+
+        void put(int i, int value)
+        {
+            chunks[i >>> SHIFT].put(i & MASK, value);
+        }
+
+    }
+
+    /**
+     * The position of every region of a graph file, computed from the header.
+     */
+    private static final class Layout
+    {
+
+        final long inEdges;
+        final long inOffsets;
+        final long inSources;
+        final long labels;
+        final long length;
+        final long outOffsets;
+        final long outTargets;
+        final long sortedIndices;
+        final long sortedLabels;
+        final long weights;
+
+        Layout(int n, int m, boolean identityLabels, boolean weighted)
+        {
+            long position = HEADER_SIZE;
+            labels = position;
+            position += 4L * n;
+            sortedLabels = position;
+            position += identityLabels ? 0 : 4L * n;
+            sortedIndices = position;
+            position += identityLabels ? 0 : 4L * n;
+            outOffsets = position;
+            position += 4L * (n + 1);
+            outTargets = position;
+            position += 4L * m;
+            inOffsets = position;
+            position += 4L * (n + 1);
+            inEdges = position;
+            position += 4L * m;
+            inSources = position;
+            position += 4L * m;
+            weights = (position + 7) & ~7L;
+            length = weighted ? weights + 8L * m : position;
+        }
+
+    }
+
+    private static final int FLAG_DIRECTED = 1;
+    private static final int FLAG_IDENTITY_LABELS = 4;
+    private static final int FLAG_LABELS_ARE_WEIGHTS = 8;
+    private static final int FLAG_WEIGHTED = 2;
+    private static final int HEADER_SIZE = 64;
+    private static final int MAGIC = 0x47504859;
+    private static final int VERSION = 1;
+    private static final Class<?>[] WEIGHT_TYPES =
+    {
+        null, Byte.class, Short.class, Integer.class, Long.class, Float.class, Double.class
+    };
+
+    private final Map<Integer, Map<Object, Object>> attributes;
+    private final Object[] data;
+    private final File file;
+    private final boolean identityLabels;
+    private final IntRegion inEdges;
+    private final IntRegion inOffsets;
+    private final IntRegion inSources;
+    private final IntRegion labels;
+    private final boolean labelsAreWeights;
+    private final int m;
+    private final int n;
+    private final IntRegion outOffsets;
+    private final IntRegion outTargets;
+    private final IntRegion sortedIndices;
+    private final IntRegion sortedLabels;
+    private final Class<?> weightType;
+    private final DoubleRegion weights;
+
+    private MappedCompressedGraph(File file, Object[] data) throws IOException
+    {
+        this(file, data, readHeader(file));
+    }
+
+    private MappedCompressedGraph(File file, Object[] data, int[] header) throws IOException
+    {
+        super((header[0] & FLAG_DIRECTED) != 0, (header[0] & FLAG_WEIGHTED) != 0);
+
+        this.attributes = new HashMap<>();
+        this.data = data;
+        this.file = file;
+        this.identityLabels = (header[0] & FLAG_IDENTITY_LABELS) != 0;
+        this.labelsAreWeights = (header[0] & FLAG_LABELS_ARE_WEIGHTS) != 0;
+        this.weightType = WEIGHT_TYPES[header[1]];
+        this.n = header[2];
+        this.m = header[3];
+
+        Layout layout = new Layout(n, m, identityLabels, isWeighted());
+        try (RandomAccessFile raf = new RandomAccessFile(file, "r"); FileChannel channel = raf.getChannel())
+        {
+            if (channel.size() < layout.length)
+            {
+                throw new IOException("The graph file " + file + " is truncated.");
+            }
+            this.labels = new IntRegion(channel, MapMode.READ_ONLY, layout.labels, n);
+            this.sortedLabels = identityLabels ? null : new IntRegion(channel, MapMode.READ_ONLY, layout.sortedLabels,
+                                                                          n);
+            this.sortedIndices = identityLabels ? null : new IntRegion(channel, MapMode.READ_ONLY,
+                                                                           layout.sortedIndices, n);
+            this.outOffsets = new IntRegion(channel, MapMode.READ_ONLY, layout.outOffsets, n + 1);
+            this.outTargets = new IntRegion(channel, MapMode.READ_ONLY, layout.outTargets, m);
+            this.inOffsets = new IntRegion(channel, MapMode.READ_ONLY, layout.inOffsets, n + 1);
+            this.inEdges = new IntRegion(channel, MapMode.READ_ONLY, layout.inEdges, m);
+            this.inSources = new IntRegion(channel, MapMode.READ_ONLY, layout.inSources, m);
+            this.weights = isWeighted() ? new DoubleRegion(channel, MapMode.READ_ONLY, layout.weights, m) : null;
+        }
+    }
+
+    /**
+     * Maps a graph previously written to the file passed as argument. Vertices hold no data.
+     *
+     * @param <T>
+     * @param file
+     *
+     * @return
+     *
+     * @throws IOException if the file cannot be read or does not hold a graph.
+     */
+    public static <T> MappedCompressedGraph<T> open(File file) throws IOException
+    {
+        return new MappedCompressedGraph<>(file, null);
+    }
+
+    /**
+     * Writes a snapshot of the graph passed as argument to the file and maps it. The source graph is traversed
+     * vertex by vertex, so apart from a label index no structure proportional to the number of edges is allocated on
+     * the heap. The data of the vertices is kept on the heap by the returned instance only.
+     *
+     * @param <T>
+     * @param source
+     * @param file
+     *
+     * @return
+     *
+     * @throws IOException
+     */
+    public static <T> MappedCompressedGraph<T> write(Graph<T> source, File file) throws IOException
+    {
+        if (source.isWeighted() && !(source instanceof WeightedGraph))
+        {
+            throw new IllegalArgumentException("The source graph reports weights but is not a weighted graph.");
+        }
+
+        final int n = source.size();
+        int[] labelArray = new int[n];
+        Object[] data = new Object[n];
+        boolean hasData = false;
+        boolean identityLabels = true;
+        int k = 0;
+        for (int label : source.getLabels())
+        {
+            labelArray[k] = label;
+            data[k] = source.iterator(label).get();
+            hasData |= (data[k] != null);
+            identityLabels &= (label == k);
+            k++;
+        }
+        final boolean identity = identityLabels;
+        final IntIntHashMap index = identity ? null : new IntIntHashMap(n);
+        if (!identity)
+        {
+            for (int i = 0; i < n; ++i)
+            {
+                index.put(labelArray[i], i);
+            }
+        }
+
+        // The weight type and the labels are found while traversing the edges
+        final boolean weighted = source.isWeighted();
+        final Class<?>[] type = new Class<?>[1];
+        final boolean[] labelsAreWeights =
+        {
+            weighted
+        };
+        EdgeStream edges = sink ->
+        {
+            for (int i = 0; i < n; ++i)
+            {
+                GraphIterator<T> it = source.iterator(labelArray[i]);
+                final int u = i;
+                it.forEachOutEdge((from, to, e) ->
+                {
+                    double w = Double.NaN;
+                    if (weighted && e.getWeight() != null && e.getWeight().getValue() != null)
+                    {
+                        Number value = e.getWeight().getValue();
+                        w = value.doubleValue();
+                        if (type[0] == null)
+                        {
+                            type[0] = value.getClass();
+                        }
+                        else if (type[0] != value.getClass() || !isPrimitiveWeightType(type[0]))
+                        {
+                            type[0] = Double.class;
+                        }
+                    }
+                    labelsAreWeights[0] &= CompressedSparseRowGraph.isLabeledByWeight(e);
+                    sink.accept(u, identity ? to : index.get(to), w);
+                });
+            }
+        };
+
+        int[] counts = countEdges(edges, n);
+        int m = counts[n];
+        Layout layout = new Layout(n, m, identity, weighted);
+        try (RandomAccessFile raf = new RandomAccessFile(file, "rw"); FileChannel channel = raf.getChannel())
+        {
+            raf.setLength(layout.length);
+            IntRegion region = new IntRegion(channel, MapMode.READ_WRITE, layout.labels, n);
+            for (int i = 0; i < n; ++i)
+            {
+                region.put(i, labelArray[i]);
+            }
+            if (!identity)
+            {
+                int[] sorted = labelArray.clone();
+                Arrays.sort(sorted);
+                IntRegion sortedRegion = new IntRegion(channel, MapMode.READ_WRITE, layout.sortedLabels, n);
+                IntRegion indexRegion = new IntRegion(channel, MapMode.READ_WRITE, layout.sortedIndices, n);
+                for (int i = 0; i < n; ++i)
+                {
+                    sortedRegion.put(i, sorted[i]);
+                    indexRegion.put(i, index.get(sorted[i]));
+                }
+            }
+            writeAdjacency(channel, layout, edges, counts, n, weighted);
+
+            int typeCode = 0;
+            for (int t = 1; weighted && t < WEIGHT_TYPES.length; ++t)
+            {
+                if (WEIGHT_TYPES[t] == (type[0] == null ? Double.class : type[0]))
+                {
+                    typeCode = t;
+                }
+            }
+            int flags = (source.isDirected() ? FLAG_DIRECTED : 0) | (weighted ? FLAG_WEIGHTED : 0)
+                                | (identity ? FLAG_IDENTITY_LABELS : 0)
+                                | (labelsAreWeights[0] && m > 0 ? FLAG_LABELS_ARE_WEIGHTS : 0);
+            writeHeader(channel, flags, typeCode, n, m);
+        }
+        return new MappedCompressedGraph<>(file, hasData ? data : null);
+    }
+
+    /**
+     * Writes a graph whose vertices are labeled from 0 to <code>vertices - 1</code> and whose edges are given by a
+     * stream, and maps it. The stream is traversed twice and only two arrays proportional to the number of vertices
+     * are allocated on the heap, so graphs much larger than the heap can be built. Weights are stored as
+     * {@link Double} values.
+     *
+     * @param file
+     * @param directed
+     * @param vertices
+     * @param weighted
+     * @param edges
+     *
+     * @return
+     *
+     * @throws IOException
+     */
+    public static MappedCompressedGraph<Object> write(File file, boolean directed, int vertices, boolean weighted,
+                                                      EdgeStream edges) throws IOException
+    {
+        int[] counts = countEdges(edges, vertices);
+        int m = counts[vertices];
+        Layout layout = new Layout(vertices, m, true, weighted);
+        try (RandomAccessFile raf = new RandomAccessFile(file, "rw"); FileChannel channel = raf.getChannel())
+        {
+            raf.setLength(layout.length);
+            IntRegion region = new IntRegion(channel, MapMode.READ_WRITE, layout.labels, vertices);
+            for (int i = 0; i < vertices; ++i)
+            {
+                region.put(i, i);
+            }
+            writeAdjacency(channel, layout, edges, counts, vertices, weighted);
+
+            int flags = (directed ? FLAG_DIRECTED : 0) | (weighted ? FLAG_WEIGHTED : 0) | FLAG_IDENTITY_LABELS;
+            writeHeader(channel, flags, weighted ? WEIGHT_TYPES.length - 1 : 0, vertices, m);
+        }
+        return new MappedCompressedGraph<>(file, null);
+    }
+
+    /**
+     * Counts the edges departing every vertex. The returned array holds, at position <code>n</code>, the total.
+     *
+     * @param edges
+     * @param n
+     *
+     * @return
+     *
+     * @throws IOException
+     */
+    private static int[] countEdges(EdgeStream edges, int n) throws IOException
+    {
+        final int[] counts = new int[n + 1];
+        edges.forEach((u, v, w) ->
+        {
+            if (u < 0 || u >= n || v < 0 || v >= n)
+            {
+                throw new IllegalArgumentException("The edge (" + u + ", " + v + ") references a missing vertex.");
+            }
+            counts[u]++;
+        });
+        long m = 0;
+        for (int i = 0; i < n; ++i)
+        {
+            m += counts[i];
+        }
+        if (m > Integer.MAX_VALUE)
+        {
+            throw new IllegalArgumentException("Too many edges for a compressed graph: " + m);
+        }
+        counts[n] = (int) m;
+        return counts;
+    }
+
+    private static ByteBuffer map(FileChannel channel, MapMode mode, long position, long size) throws IOException
+    {
+        return channel.map(mode, position, size).order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    private static int[] readHeader(File file) throws IOException
+    {
+        try (RandomAccessFile raf = new RandomAccessFile(file, "r"); FileChannel channel = raf.getChannel())
+        {
+            if (channel.size() < HEADER_SIZE)
+            {
+                throw new IOException("The file " + file + " does not hold a graph.");
+            }
+            ByteBuffer header = map(channel, MapMode.READ_ONLY, 0, HEADER_SIZE);
+            if (header.getInt(0) != MAGIC || header.getInt(4) != VERSION)
+            {
+                throw new IOException("The file " + file + " does not hold a graph, or was written by another version.");
+            }
+            int typeCode = header.getInt(12);
+            if (typeCode < 0 || typeCode >= WEIGHT_TYPES.length)
+            {
+                throw new IOException("Unknown weight type in " + file + ": " + typeCode);
+            }
+            return new int[]
+            {
+                header.getInt(8), typeCode, header.getInt(16), header.getInt(20)
+            };
+        }
+    }
+
+    /**
+     * Fills the successor and predecessor regions. <code>counts</code> holds the out degrees and is consumed.
+     */
+    private static void writeAdjacency(FileChannel channel, Layout layout, EdgeStream edges, int[] counts, int n,
+                                       boolean weighted) throws IOException
+    {
+        final int m = counts[n];
+        final IntRegion outOffsets = new IntRegion(channel, MapMode.READ_WRITE, layout.outOffsets, n + 1);
+        final IntRegion outTargets = new IntRegion(channel, MapMode.READ_WRITE, layout.outTargets, m);
+        final DoubleRegion weights = weighted ? new DoubleRegion(channel, MapMode.READ_WRITE, layout.weights, m)
+                                     : null;
+
+        // Turn the counts into the cursors of each vertex, and count the in degrees
+        final int[] cursor = counts;
+        int offset = 0;
+        for (int i = 0; i < n; ++i)
+        {
+            outOffsets.put(i, offset);
+            int degree = cursor[i];
+            cursor[i] = offset;
+            offset += degree;
+        }
+        outOffsets.put(n, offset);
+
+        final int[] inDegree = new int[n + 1];
+        edges.forEach((u, v, w) ->
+        {
+            int e = cursor[u]++;
+            outTargets.put(e, v);
+            if (weights != null)
+            {
+                weights.put(e, w);
+            }
+            inDegree[v]++;
+        });
+
+        // Predecessors reference the identifiers of the successor region
+        IntRegion inOffsets = new IntRegion(channel, MapMode.READ_WRITE, layout.inOffsets, n + 1);
+        IntRegion inEdges = new IntRegion(channel, MapMode.READ_WRITE, layout.inEdges, m);
+        IntRegion inSources = new IntRegion(channel, MapMode.READ_WRITE, layout.inSources, m);
+        offset = 0;
+        for (int i = 0; i < n; ++i)
+        {
+            inOffsets.put(i, offset);
+            cursor[i] = offset;
+            offset += inDegree[i];
+        }
+        inOffsets.put(n, offset);
+        for (int i = 0; i < n; ++i)
+        {
+            for (int e = outOffsets.get(i); e < outOffsets.get(i + 1); ++e)
+            {
+                int position = cursor[outTargets.get(e)]++;
+                inEdges.put(position, e);
+                inSources.put(position, i);
+            }
+        }
+    }
+
+    private static void writeHeader(FileChannel channel, int flags, int typeCode, int n, int m) throws IOException
+    {
+        ByteBuffer header = map(channel, MapMode.READ_WRITE, 0, HEADER_SIZE);
+        header.putInt(0, MAGIC);
+        header.putInt(4, VERSION);
+        header.putInt(8, flags);
+        header.putInt(12, typeCode);
+        header.putInt(16, n);
+        header.putInt(20, m);
+        ((MappedByteBuffer) header).force();
+    }
+
+    /**
+     * Returns the file this graph is mapped from.
+     *
+     * @return
+     */
+    public File getFile()
+    {
+        return file;
+    }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public int size()
+    {
+        return n;
+    }
+
+    @Override
+    protected Map<Object, Object> attributesOf(int index, boolean create)
+    {
+        Map<Object, Object> map = attributes.get(index);
+        if (map == null && create)
+        {
+            map = new HashMap<>(5);
+            attributes.put(index, map);
+        }
+        return map;
+    }
+
+    @Override
+    protected Object dataAt(int index)
+    {
+        return data == null ? null : data[index];
+    }
+
+    @Override
+    protected Object edgeLabelAt(int e)
+    {
+        return labelsAreWeights ? weightOfEdge(e) : null;
+    }
+
+    @Override
+    protected boolean hasWeights()
+    {
+        return weights != null;
+    }
+
+    @Override
+    protected int inEdge(int k)
+    {
+        return inEdges.get(k);
+    }
+
+    @Override
+    protected int inOffset(int index)
+    {
+        return inOffsets.get(index);
+    }
+
+    @Override
+    protected int inSource(int k)
+    {
+        return inSources.get(k);
+    }
+
+    @Override
+    protected int indexOf(int label)
+    {
+        if (identityLabels)
+        {
+            return (label >= 0 && label < n) ? label : -1;
+        }
+        int low = 0;
+        int high = n - 1;
+        while (low <= high)
+        {
+            int middle = (low + high) >>> 1;
+            int value = sortedLabels.get(middle);
+            if (value < label)
+            {
+                low = middle + 1;
+            }
+            else if (value > label)
+            {
+                high = middle - 1;
+            }
+            else
+            {
+                return sortedIndices.get(middle);
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    protected boolean isEdgeWeighted(int e)
+    {
+        return weights != null && !Double.isNaN(weights.get(e));
+    }
+
+    @Override
+    protected int labelAt(int index)
+    {
+        return labels.get(index);
+    }
+
+    @Override
+    protected int outOffset(int index)
+    {
+        return outOffsets.get(index);
+    }
+
+    @Override
+    protected int outTarget(int e)
+    {
+        return outTargets.get(e);
+    }
+
+    @Override
+    protected double weightAsDouble(int e)
+    {
+        if (!isEdgeWeighted(e))
+        {
+            throw new IllegalArgumentException("The edge " + e + " of this graph is not weighted.");
+        }
+        return weights.get(e);
+    }
+
+    @Override
+    protected Weight<?> weightOfEdge(int e)
+    {
+        return isEdgeWeighted(e) ? makeWeight(weights.get(e), weightType) : null;
+    }
+
+}
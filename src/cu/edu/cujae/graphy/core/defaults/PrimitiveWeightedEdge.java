@@ -0,0 +1,368 @@
+/*
+ * Copyright (C) 2022 CUJAE.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+package cu.edu.cujae.graphy.core.defaults;
+
+import cu.edu.cujae.graphy.core.Edge;
+import cu.edu.cujae.graphy.core.Node;
+import cu.edu.cujae.graphy.core.Weight;
+import cu.edu.cujae.graphy.core.abstractions.AbstractEdge;
+import cu.edu.cujae.graphy.core.utility.Weights;
+
+/**
+ * An {@link Edge} that stores its weight as a raw primitive value instead of holding a reference to a boxed
+ * {@link Weight} object.
+ * <p>
+ * The weight is kept as the bits of a <code>long</code> field along with a tag describing the original numeric type,
+ * so integral weights are exact and floating point weights are stored without any conversion. The {@link Weight}
+ * returned by {@link #getWeight()} is a lightweight view over this edge: it boxes the value on demand and writes back
+ * to the edge when modified, so algorithms that update weights in place keep working. Hot loops should rather call
+ * {@link #doubleValue()} or {@link #longValue()}, which do not allocate.
+ * <p>
+ * Numeric types other than {@link Integer}, {@link Long}, {@link Short}, {@link Byte}, {@link Float} and
+ * {@link Double} are stored boxed, as in {@link AbstractEdge}. When the label of the edge is the weight object itself
+ * (as {@link DefaultWeightedGraph} does) the label is not retained either, and {@link #getLabel()} returns the weight
+ * view instead.
+ *
+ * @author Javier Marrero
+ */
+public class PrimitiveWeightedEdge extends AbstractEdge
+{
+
+    private static final byte BOXED = 7;
+    private static final byte BYTE = 4;
+    private static final byte DOUBLE = 6;
+    private static final byte FLOAT = 5;
+    private static final byte INTEGER = 2;
+    private static final byte LONG = 3;
+    private static final byte NONE = 0;
+    private static final byte SHORT = 1;
+
+    /**
+     * Returns true if the weight passed as argument can be stored as a primitive value.
+     *
+     * @param w
+     *
+     * @return
+     */
+    public static boolean supports(Weight<?> w)
+    {
+        return w != null && kindOf(w.getValue()) != BOXED;
+    }
+
+    private static byte kindOf(Number value)
+    {
+        if (value instanceof Integer)
+        {
+            return INTEGER;
+        }
+        else if (value instanceof Double)
+        {
+            return DOUBLE;
+        }
+        else if (value instanceof Float)
+        {
+            return FLOAT;
+        }
+        else if (value instanceof Long)
+        {
+            return LONG;
+        }
+        else if (value instanceof Short)
+        {
+            return SHORT;
+        }
+        else if (value instanceof Byte)
+        {
+            return BYTE;
+        }
+        return BOXED;
+    }
+
+    private class WeightView implements Weight<Number>
+    {
+
+        private static final long serialVersionUID = -2781239418127310233L;
+
+        @Override
+        public Object clone() throws CloneNotSupportedException
+        {
+            return Weights.makeWeight(getValue());
+        }
+
+        @Override
+        public int compareTo(Number o)
+        {
+            if (kind == DOUBLE || kind == FLOAT)
+            {
+                return Double.compare(doubleValue(), o.doubleValue());
+            }
+            return Long.compare(longValue(), o.longValue());
+        }
+
+        @Override
+        public Number getValue()
+        {
+            return boxedValue();
+        }
+
+        @Override
+        public void setValue(Number value)
+        {
+            store(value);
+        }
+
+        @Override
+        public String toString()
+        {
+            return String.valueOf(boxedValue());
+        }
+
+        /**
+         * The view is bound to its edge, so a detached weight holding the current value is serialized instead.
+         *
+         * @return
+         */
+        private Object writeReplace()
+        {
+            return Weights.makeWeight(getValue());
+        }
+
+    }
+
+    private long bits;
+    private byte kind;
+    private boolean labelIsWeight;
+
+    /**
+     * Constructs a new edge with a primitive weight.
+     *
+     * @param label
+     * @param start
+     * @param finish
+     * @param weight
+     * @param directed
+     */
+    public PrimitiveWeightedEdge(Object label, Node<?> start, Node<?> finish, Weight<?> weight, boolean directed)
+    {
+        super(label, start, finish, null, directed);
+        if (label != null && label == weight)
+        {
+            this.label = null;
+            this.labelIsWeight = true;
+        }
+        setWeight(weight);
+    }
+
+    /**
+     * Constructs a copy of an edge between two other nodes. Primitive weights are copied by value, without building
+     * any {@link Weight} object; boxed weights are cloned, so the copy never shares a mutable weight with the original.
+     *
+     * @param edge
+     * @param start
+     * @param finish
+     * @param directed
+     *
+     * @throws CloneNotSupportedException if a boxed weight cannot be cloned.
+     */
+    public PrimitiveWeightedEdge(PrimitiveWeightedEdge edge, Node<?> start, Node<?> finish, boolean directed) throws
+            CloneNotSupportedException
+    {
+        super(edge.label, start, finish, null, directed);
+        this.bits = edge.bits;
+        this.kind = edge.kind;
+        this.labelIsWeight = edge.labelIsWeight;
+        if (kind == BOXED)
+        {
+            this.weight = (Weight<?>) edge.weight.clone();
+        }
+    }
+
+    /**
+     * Returns the weight of this edge as a double, without boxing.
+     *
+     * @return
+     */
+    public double doubleValue()
+    {
+        switch (kind)
+        {
+            case DOUBLE:
+            case FLOAT:
+                return Double.longBitsToDouble(bits);
+            case BOXED:
+                return weight.getValue().doubleValue();
+            case NONE:
+                throw new IllegalStateException("The edge " + this + " is not weighted.");
+            default:
+                return (double) bits;
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Object getLabel()
+    {
+        return labelIsWeight ? getWeight() : label;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Weight<?> getWeight()
+    {
+        switch (kind)
+        {
+            case NONE:
+                return null;
+            case BOXED:
+                return weight;
+            default:
+                return new WeightView();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isLabeled()
+    {
+        return labelIsWeight ? kind != NONE : label != null;
+    }
+
+    /**
+     * Returns true if the label of this edge is its own weight, as in edges built by {@link DefaultWeightedGraph}.
+     *
+     * @return
+     */
+    public boolean isLabeledByWeight()
+    {
+        return labelIsWeight;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isWeighted()
+    {
+        return kind != NONE;
+    }
+
+    /**
+     * Returns the weight of this edge as a long, without boxing. Floating point weights are truncated.
+     *
+     * @return
+     */
+    public long longValue()
+    {
+        switch (kind)
+        {
+            case DOUBLE:
+            case FLOAT:
+                return (long) Double.longBitsToDouble(bits);
+            case BOXED:
+                return weight.getValue().longValue();
+            case NONE:
+                throw new IllegalStateException("The edge " + this + " is not weighted.");
+            default:
+                return bits;
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void setLabel(Object label)
+    {
+        this.labelIsWeight = false;
+        this.label = label;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public final void setWeight(Weight<?> weight)
+    {
+        if (weight == null)
+        {
+            this.kind = NONE;
+            this.weight = null;
+        }
+        else
+        {
+            store(weight.getValue());
+            if (kind == BOXED)
+            {
+                this.weight = weight;
+            }
+        }
+    }
+
+    private Number boxedValue()
+    {
+        switch (kind)
+        {
+            case SHORT:
+                return (short) bits;
+            case INTEGER:
+                return (int) bits;
+            case LONG:
+                return bits;
+            case BYTE:
+                return (byte) bits;
+            case FLOAT:
+                return (float) Double.longBitsToDouble(bits);
+            case DOUBLE:
+                return Double.longBitsToDouble(bits);
+            case BOXED:
+                return weight.getValue();
+            default:
+                return null;
+        }
+    }
+
+    private void store(Number value)
+    {
+        byte k = kindOf(value);
+        switch (k)
+        {
+            case DOUBLE:
+            case FLOAT:
+                this.bits = Double.doubleToRawLongBits(value.doubleValue());
+                this.weight = null;
+                break;
+            case BOXED:
+                this.bits = 0;
+                this.weight = Weights.makeWeight(value);
+                break;
+            default:
+                this.bits = value.longValue();
+                this.weight = null;
+                break;
+        }
+        this.kind = k;
+    }
+
+}
@@ -0,0 +1,962 @@
+/*
+ * Copyright (C) 2022 CUJAE.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+package cu.edu.cujae.graphy.core.defaults;
+
+import cu.edu.cujae.graphy.core.Edge;
+import cu.edu.cujae.graphy.core.EdgeFactory;
+import cu.edu.cujae.graphy.core.EdgeVisitor;
+import cu.edu.cujae.graphy.core.Graph;
+import cu.edu.cujae.graphy.core.Node;
+import cu.edu.cujae.graphy.core.Weight;
+import cu.edu.cujae.graphy.core.WeightedGraph;
+import cu.edu.cujae.graphy.core.abstractions.AbstractGraph;
+import cu.edu.cujae.graphy.core.exceptions.InvalidKeyException;
+import cu.edu.cujae.graphy.core.exceptions.InvalidOperationException;
+import cu.edu.cujae.graphy.core.properties.DoubleVertexProperty;
+import cu.edu.cujae.graphy.core.properties.IntVertexProperty;
+import cu.edu.cujae.graphy.core.properties.MarkVertexProperty;
+import cu.edu.cujae.graphy.core.properties.ObjectVertexProperty;
+import java.util.AbstractCollection;
+import java.util.AbstractSet;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.function.IntConsumer;
+
+/**
+ * A read-only view of a graph with the direction of every edge reversed. Nothing is copied: nodes and edges of the
+ * view are lightweight wrappers that swap the departing and arriving roles of the nodes and edges of the underlying
+ * graph, so building the view takes constant time and every traversal on it runs over the adjacency of the original
+ * graph.
+ * <p>
+ * The view reflects later changes made to the underlying graph. Attributes and data of the nodes are those of the
+ * underlying nodes; any attempt to modify the structure of the graph through the view throws an
+ * {@link UnsupportedOperationException}. Every query is answered by the underlying graph, so a view of a concurrent
+ * graph is guarded by its locks and may be walked while other threads modify it; the vertices removed after the
+ * labels were listed are skipped.
+ *
+ * @author Javier Marrero
+ * @param <T>
+ *
+ * @see Graph#transposedView()
+ */
+public class TransposedGraphView<T> extends AbstractGraph<T> implements WeightedGraph<T>
+{
+
+    private class TransposedEdge implements Edge
+    {
+
+        private final Edge edge;
+
+        TransposedEdge(Edge edge)
+        {
+            this.edge = edge;
+        }
+
+        @Override
+        public boolean equals(Object obj)
+        {
+            return (obj instanceof TransposedGraphView.TransposedEdge)
+                           && edge.equals(((TransposedGraphView<?>.TransposedEdge) obj).edge);
+        }
+
+        @Override
+        public Node<?> getFinalNode()
+        {
+            return wrap(edge.getStartNode());
+        }
+
+        @Override
+        public Object getLabel()
+        {
+            return edge.getLabel();
+        }
+
+        @Override
+        public Node<?> getStartNode()
+        {
+            return wrap(edge.getFinalNode());
+        }
+
+        @Override
+        public Weight<?> getWeight()
+        {
+            return edge.getWeight();
+        }
+
+        @Override
+        public int hashCode()
+        {
+            return edge.hashCode();
+        }
+
+        @Override
+        public boolean isDirected()
+        {
+            return edge.isDirected();
+        }
+
+        @Override
+        public boolean isLabeled()
+        {
+            return edge.isLabeled();
+        }
+
+        @Override
+        public boolean isWeighted()
+        {
+            return edge.isWeighted();
+        }
+
+        @Override
+        public void reverseApparentDirection()
+        {
+            throw new UnsupportedOperationException("This graph instance is immutable.");
+        }
+
+        @Override
+        public void setLabel(Object label)
+        {
+            throw new UnsupportedOperationException("This graph instance is immutable.");
+        }
+
+        @Override
+        public void setWeight(Weight<?> weight)
+        {
+            throw new UnsupportedOperationException("This graph instance is immutable.");
+        }
+
+        @Override
+        public String toString()
+        {
+            return "(" + getStartNode().getLabel() + " -> " + getFinalNode().getLabel() + ")";
+        }
+
+    }
+
+    private class TransposedEdgeSet extends AbstractSet<Edge>
+    {
+
+        private final Set<Edge> edges;
+
+        TransposedEdgeSet(Set<Edge> edges)
+        {
+            this.edges = edges;
+        }
+
+        @Override
+        public Iterator<Edge> iterator()
+        {
+            Iterator<Edge> it = edges.iterator();
+            return new Iterator<Edge>()
+            {
+                @Override
+                public boolean hasNext()
+                {
+                    return it.hasNext();
+                }
+
+                @Override
+                public Edge next()
+                {
+                    return new TransposedEdge(it.next());
+                }
+            };
+        }
+
+        @Override
+        public int size()
+        {
+            return edges.size();
+        }
+
+    }
+
+    private class TransposedNode implements Node<T>
+    {
+
+        private final Node<T> node;
+
+        TransposedNode(Node<T> node)
+        {
+            this.node = node;
+        }
+
+        @Override
+        public boolean addEdge(Edge edge)
+        {
+            throw new UnsupportedOperationException("This graph instance is immutable.");
+        }
+
+        @Override
+        public Object clone() throws CloneNotSupportedException
+        {
+            throw new CloneNotSupportedException("Nodes of a transposed view are views, use duplicate() instead.");
+        }
+
+        @Override
+        public int degree()
+        {
+            return node.degree();
+        }
+
+        @Override
+        public void disconnect()
+        {
+            throw new UnsupportedOperationException("This graph instance is immutable.");
+        }
+
+        @Override
+        public boolean equals(Object obj)
+        {
+            return (obj instanceof TransposedGraphView.TransposedNode)
+                           && node.equals(((TransposedGraphView<?>.TransposedNode) obj).node);
+        }
+
+        @Override
+        public void forEachInEdge(EdgeVisitor visitor)
+        {
+            node.forEachOutEdge((u, v, edge) -> visitor.visit(v, u, new TransposedEdge(edge)));
+        }
+
+        @Override
+        public void forEachInNeighbor(IntConsumer action)
+        {
+            node.forEachOutNeighbor(action);
+        }
+
+        @Override
+        public void forEachOutEdge(EdgeVisitor visitor)
+        {
+            node.forEachInEdge((u, v, edge) -> visitor.visit(v, u, new TransposedEdge(edge)));
+        }
+
+        @Override
+        public void forEachOutNeighbor(IntConsumer action)
+        {
+            node.forEachInNeighbor(action);
+        }
+
+        @Override
+        public T get()
+        {
+            return node.get();
+        }
+
+        @Override
+        public Edge getAdjacentEdge(Node<T> v)
+        {
+            return new TransposedEdge(node.getAdjacentEdge(unwrap(v)));
+        }
+
+        @Override
+        public Collection<Integer> getAllAdjacentVertices()
+        {
+            return node.getAllAdjacentVertices();
+        }
+
+        @Override
+        public Collection<Integer> getAllVerticesArrivingSelf()
+        {
+            return node.getAllVerticesDepartingSelf();
+        }
+
+        @Override
+        public Collection<Integer> getAllVerticesDepartingSelf()
+        {
+            return node.getAllVerticesArrivingSelf();
+        }
+
+        @Override
+        public Object getAttribute(Object key) throws InvalidKeyException
+        {
+            return node.getAttribute(key);
+        }
+
+        @Override
+        public Set<Edge> getEdgesArrivingSelf()
+        {
+            return new TransposedEdgeSet(node.getEdgesDepartingSelf());
+        }
+
+        @Override
+        public Set<Edge> getEdgesDepartingSelf()
+        {
+            return new TransposedEdgeSet(node.getEdgesArrivingSelf());
+        }
+
+        @Override
+        public int getLabel()
+        {
+            return node.getLabel();
+        }
+
+        @Override
+        public Map<Object, Object> getNodeAttributes()
+        {
+            return node.getNodeAttributes();
+        }
+
+        @Override
+        public int hashCode()
+        {
+            return node.hashCode();
+        }
+
+        @Override
+        public int inDegree()
+        {
+            return node.outDegree();
+        }
+
+        @Override
+        public boolean isAdjacent(Node<T> v)
+        {
+            return node.isAdjacent(unwrap(v));
+        }
+
+        @Override
+        public boolean isAdjacentAndArriving(Node<T> v)
+        {
+            return node.isAdjacentAndDeparting(unwrap(v));
+        }
+
+        @Override
+        public boolean isAdjacentAndDeparting(Node<T> v)
+        {
+            return node.isAdjacentAndArriving(unwrap(v));
+        }
+
+        @Override
+        public int outDegree()
+        {
+            return node.inDegree();
+        }
+
+        @Override
+        public Object removeAttribute(Object key)
+        {
+            return node.removeAttribute(key);
+        }
+
+        @Override
+        public boolean removeEdge(Edge edge)
+        {
+            throw new UnsupportedOperationException("This graph instance is immutable.");
+        }
+
+        @Override
+        public void set(T data)
+        {
+            node.set(data);
+        }
+
+        @Override
+        public Object setAttribute(Object key, Object value)
+        {
+            return node.setAttribute(key, value);
+        }
+
+        @Override
+        public String toString()
+        {
+            StringBuilder builder = new StringBuilder("<" + getLabel() + ":" + get() + "> (");
+            for (Iterator<Integer> it = getAllVerticesDepartingSelf().iterator(); it.hasNext();)
+            {
+                builder.append(it.next());
+                if (it.hasNext())
+                {
+                    builder.append(", ");
+                }
+            }
+            return builder.append(")").toString();
+        }
+
+    }
+
+    private final AbstractGraph<T> graph;
+
+    /**
+     * Creates a new transposed view of the graph passed as argument.
+     *
+     * @param graph
+     */
+    public TransposedGraphView(AbstractGraph<T> graph)
+    {
+        super(graph.isDirected());
+        this.graph = graph;
+    }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public boolean add(int label, T data)
+    {
+        throw new UnsupportedOperationException("This graph instance is immutable.");
+    }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public boolean add(T data)
+    {
+        throw new UnsupportedOperationException("This graph instance is immutable.");
+    }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public boolean addAll(Collection<? extends T> c)
+    {
+        throw new UnsupportedOperationException("This graph instance is immutable.");
+    }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public void clear()
+    {
+        throw new UnsupportedOperationException("This graph instance is immutable.");
+    }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public boolean connect(int u, int v)
+    {
+        throw new UnsupportedOperationException("This graph instance is immutable.");
+    }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public boolean connect(Node<T> u, Node<T> v)
+    {
+        throw new UnsupportedOperationException("This graph instance is immutable.");
+    }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public boolean connect(int u, int v, Weight<?> w)
+    {
+        throw new UnsupportedOperationException("This graph instance is immutable.");
+    }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public boolean connect(Node<T> u, Node<T> v, Weight<?> w)
+    {
+        throw new UnsupportedOperationException("This graph instance is immutable.");
+    }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public int degree(int u)
+    {
+        return graph.degree(u);
+    }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public int[] degreeHistogram()
+    {
+        return graph.degreeHistogram();
+    }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public boolean disconnect(Node<T> u, Node<T> v)
+    {
+        throw new UnsupportedOperationException("This graph instance is immutable.");
+    }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public boolean disconnect(int u, int v)
+    {
+        throw new UnsupportedOperationException("This graph instance is immutable.");
+    }
+
+    /**
+     * Returns a mutable copy of the underlying graph with its edges reversed.
+     *
+     * @return
+     *
+     * @throws CloneNotSupportedException
+     */
+    @Override
+    public Graph<T> duplicate() throws CloneNotSupportedException
+    {
+        Graph<T> copy = graph.duplicate();
+        copy.reverse();
+        return copy;
+    }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public int edgeCount()
+    {
+        return graph.edgeCount();
+    }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public double edgeWeightAsDouble(Edge e)
+    {
+        Edge edge = (e instanceof TransposedGraphView.TransposedEdge) ? ((TransposedGraphView<?>.TransposedEdge) e).edge
+                    : e;
+        if (graph instanceof WeightedGraph)
+        {
+            return ((WeightedGraph<T>) graph).edgeWeightAsDouble(edge);
+        }
+        if (edge == null || edge.getWeight() == null || edge.getWeight().getValue() == null)
+        {
+            throw new IllegalArgumentException("The edge " + e + " is not weighted.");
+        }
+        return edge.getWeight().getValue().doubleValue();
+    }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public boolean existsEdgeWithDirection(int u, int v)
+    {
+        return graph.existsEdgeWithDirection(v, u);
+    }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public Node<T> findNodeByLabel(int label)
+    {
+        Node<T> node = graph.findNodeByLabel(label);
+        return (node != null) ? new TransposedNode(node) : null;
+    }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public void forEachInEdge(int u, EdgeVisitor visitor)
+    {
+        graph.forEachOutEdge(u, (a, b, edge) -> visitor.visit(b, a, new TransposedEdge(edge)));
+    }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public void forEachInNeighbor(int u, IntConsumer action)
+    {
+        graph.forEachOutNeighbor(u, action);
+    }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public void forEachOutEdge(int u, EdgeVisitor visitor)
+    {
+        graph.forEachInEdge(u, (a, b, edge) -> visitor.visit(b, a, new TransposedEdge(edge)));
+    }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public void forEachOutNeighbor(int u, IntConsumer action)
+    {
+        graph.forEachInNeighbor(u, action);
+    }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public Collection<Integer> getLabels()
+    {
+        return graph.getLabels();
+    }
+
+    /**
+     * Returns the graph this view reverses.
+     *
+     * @return
+     */
+    public Graph<T> getUnderlyingGraph()
+    {
+        return graph;
+    }
+
+    /**
+     * {@inheritDoc }
+     * <p>
+     * The edges arriving to a vertex of this view are the edges departing from it in the underlying graph.
+     */
+    @Override
+    public int inDegree(int u)
+    {
+        return graph.outDegree(u);
+    }
+
+    /**
+     * {@inheritDoc }
+     * <p>
+     * Reversing the edges does not change which vertices are adjacent, so this is answered by the underlying graph.
+     */
+    @Override
+    public void intersectNeighbors(int u, int v, IntConsumer action)
+    {
+        graph.intersectNeighbors(u, v, action);
+    }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public boolean isDirected()
+    {
+        return graph.isDirected();
+    }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public boolean isVertexAdjacent(int u, int v)
+    {
+        return graph.isVertexAdjacent(u, v);
+    }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public boolean isWeighted()
+    {
+        return graph.isWeighted();
+    }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public DoubleVertexProperty newDoubleVertexProperty(double defaultValue)
+    {
+        return graph.newDoubleVertexProperty(defaultValue);
+    }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public IntVertexProperty newIntVertexProperty(int defaultValue)
+    {
+        return graph.newIntVertexProperty(defaultValue);
+    }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public MarkVertexProperty newMarkVertexProperty()
+    {
+        return graph.newMarkVertexProperty();
+    }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public <V> ObjectVertexProperty<V> newObjectVertexProperty(V defaultValue)
+    {
+        return graph.newObjectVertexProperty(defaultValue);
+    }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public int outDegree(int u)
+    {
+        return graph.inDegree(u);
+    }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public void registerEdgeFactory(EdgeFactory factory)
+    {
+        throw new UnsupportedOperationException("This graph instance is immutable.");
+    }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public T remove(Node<T> node)
+    {
+        throw new UnsupportedOperationException("This graph instance is immutable.");
+    }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public boolean remove(Object o)
+    {
+        throw new UnsupportedOperationException("This graph instance is immutable.");
+    }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public boolean removeAll(Collection<?> c)
+    {
+        throw new UnsupportedOperationException("This graph instance is immutable.");
+    }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public T removeAt(int u)
+    {
+        throw new UnsupportedOperationException("This graph instance is immutable.");
+    }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public void removeVertices(int... labels)
+    {
+        throw new UnsupportedOperationException("This graph instance is immutable.");
+    }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public boolean retainAll(Collection<?> c)
+    {
+        throw new UnsupportedOperationException("This graph instance is immutable.");
+    }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public void reverse()
+    {
+        throw new UnsupportedOperationException("This graph instance is immutable.");
+    }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public void setDirected(boolean directed)
+    {
+        throw new UnsupportedOperationException("This graph instance is immutable.");
+    }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public int size()
+    {
+        return graph.size();
+    }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public String toString()
+    {
+        StringBuilder builder = new StringBuilder("[\n");
+        for (Iterator<Node<T>> it = getNodes().iterator(); it.hasNext();)
+        {
+            builder.append(it.next().toString());
+            if (it.hasNext())
+            {
+                builder.append(",\n");
+            }
+        }
+        return builder.append("\n]").toString();
+    }
+
+    /**
+     * Transposing a transposed view gives back the underlying graph.
+     *
+     * @return
+     */
+    @Override
+    public Graph<T> transposedView()
+    {
+        return graph;
+    }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public double weightOf(int u, int v)
+    {
+        if (!(graph instanceof WeightedGraph))
+        {
+            throw new UnsupportedOperationException("This graph is not weighted.");
+        }
+        return ((WeightedGraph<T>) graph).weightOf(v, u);
+    }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    protected boolean addNode(Node<T> node)
+    {
+        throw new UnsupportedOperationException("This graph instance is immutable.");
+    }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    protected Collection<Node<T>> getNodes()
+    {
+        return new AbstractCollection<Node<T>>()
+        {
+            @Override
+            public Iterator<Node<T>> iterator()
+            {
+                Iterator<Integer> labels = graph.getLabels().iterator();
+                return new Iterator<Node<T>>()
+                {
+                    private Node<T> next = advance();
+
+                    @Override
+                    public boolean hasNext()
+                    {
+                        return next != null;
+                    }
+
+                    @Override
+                    public Node<T> next()
+                    {
+                        if (next == null)
+                        {
+                            throw new NoSuchElementException();
+                        }
+                        Node<T> node = next;
+                        next = advance();
+                        return node;
+                    }
+
+                    private Node<T> advance()
+                    {
+                        while (labels.hasNext())
+                        {
+                            try
+                            {
+                                return findNodeByLabel(labels.next());
+                            }
+                            catch (InvalidOperationException ex)
+                            {
+                                // The vertex was removed after the labels were listed
+                            }
+                        }
+                        return null;
+                    }
+                };
+            }
+
+            @Override
+            public int size()
+            {
+                return graph.size();
+            }
+        };
+    }
+
+    /**
+     * The view shares the vertices of the underlying graph, and so their dense indexes.
+     *
+     * @param label
+     *
+     * @return
+     */
+    @Override
+    protected int vertexIndex(int label)
+    {
+        return vertexIndex(graph, label);
+    }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    protected int vertexIndexBound()
+    {
+        return vertexIndexBound(graph);
+    }
+
+    @SuppressWarnings ("unchecked")
+    private Node<T> unwrap(Node<T> node)
+    {
+        return (node instanceof TransposedGraphView.TransposedNode) ? ((TransposedNode) node).node : node;
+    }
+
+    @SuppressWarnings ("unchecked")
+    private Node<?> wrap(Node<?> node)
+    {
+        return (node != null) ? new TransposedNode((Node<T>) node) : null;
+    }
+
+}
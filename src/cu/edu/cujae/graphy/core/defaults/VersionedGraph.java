@@ -0,0 +1,1404 @@
+/*
+ * Copyright (C) 2022 CUJAE.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+package cu.edu.cujae.graphy.core.defaults;
+
+import cu.edu.cujae.graphy.core.Edge;
+import cu.edu.cujae.graphy.core.EdgeFactory;
+import cu.edu.cujae.graphy.core.EdgeVisitor;
+import cu.edu.cujae.graphy.core.Graph;
+import cu.edu.cujae.graphy.core.Node;
+import cu.edu.cujae.graphy.core.Weight;
+import cu.edu.cujae.graphy.core.WeightedGraph;
+import cu.edu.cujae.graphy.core.abstractions.AbstractGraph;
+import cu.edu.cujae.graphy.core.exceptions.InvalidKeyException;
+import cu.edu.cujae.graphy.core.exceptions.InvalidOperationException;
+import cu.edu.cujae.graphy.core.utility.Weights;
+import java.util.AbstractCollection;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.LinkedList;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.function.IntConsumer;
+
+/**
+ * An immutable version of a {@link ConcurrentGraph}, taken in constant time.
+ * <p>
+ * The concurrent graph mirrors its adjacency in a persistent structure: every vertex is a {@link Vertex} holding the
+ * arrays of its departing and arriving edges, and the vertices are reached through a radix trie over their labels.
+ * Vertices and trie branches belong to the version that created them, and the writer changes them in place only while
+ * no snapshot has been taken of that version; otherwise it copies them first, along with the branches on the path to
+ * them. Taking a snapshot thus only captures the root of the trie and starts a new version, and consecutive versions
+ * share every vertex and branch that was not modified in between.
+ * <p>
+ * Vertices are iterated in the unsigned order of their labels, and keep the dense index they had in the concurrent
+ * graph. Any attempt to modify the structure of the graph throws an {@link UnsupportedOperationException}; node
+ * attributes are still writable since algorithms use them as scratch space. If a mutable copy is required, use
+ * {@link #duplicate()}.
+ *
+ * @author Javier Marrero
+ * @param <T>
+ *
+ * @see ConcurrentGraph#snapshot()
+ */
+final class VersionedGraph<T> extends AbstractGraph<T> implements WeightedGraph<T>
+{
+
+    /**
+     * A node of the trie. Branches at the lowest level hold vertices, the others hold branches.
+     */
+    static final class Branch
+    {
+
+        final Object owner;
+        final Object[] slots;
+
+        Branch(Object owner)
+        {
+            this.owner = owner;
+            this.slots = new Object[WIDTH];
+        }
+
+        Branch(Branch branch, Object owner)
+        {
+            this.owner = owner;
+            this.slots = branch.slots.clone();
+        }
+
+        boolean isEmpty()
+        {
+            for (Object slot : slots)
+            {
+                if (slot != null)
+                {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+    }
+
+    /**
+     * An edge, shared by the arrays of both of its endpoints and by every version holding them. The weight is kept as
+     * the value it had when the edge was added, detached from the edge of the graph, whose weight may be changed in
+     * place; labels that are weights are detached the same way.
+     */
+    static final class Link
+    {
+
+        final Object label;
+        final boolean labelIsWeight;
+        final int source;
+        final int target;
+        final Number weight;
+
+        Link(int source, int target, Edge edge)
+        {
+            Weight<?> w = edge.getWeight();
+            Object l = edge.getLabel();
+            this.labelIsWeight = l instanceof Weight;
+            this.label = labelIsWeight ? ((Weight<?>) l).getValue() : l;
+            this.source = source;
+            this.target = target;
+            this.weight = (w != null) ? w.getValue() : null;
+        }
+
+    }
+
+    /**
+     * A vertex and its adjacency. Only the version that owns a vertex may change it.
+     */
+    static final class Vertex
+    {
+
+        private static final Link[] NONE = new Link[0];
+
+        final Object data;
+        Link[] in;
+        int inDegree;
+        final int index;
+        final int label;
+        Link[] out;
+        int outDegree;
+        final Object owner;
+
+        Vertex(int label, int index, Object data, Object owner)
+        {
+            this.data = data;
+            this.in = NONE;
+            this.index = index;
+            this.label = label;
+            this.out = NONE;
+            this.owner = owner;
+        }
+
+        void addIn(Link link)
+        {
+            if (inDegree == in.length)
+            {
+                in = Arrays.copyOf(in, Math.max(2 * inDegree, 4));
+            }
+            in[inDegree++] = link;
+        }
+
+        void addOut(Link link)
+        {
+            if (outDegree == out.length)
+            {
+                out = Arrays.copyOf(out, Math.max(2 * outDegree, 4));
+            }
+            out[outDegree++] = link;
+        }
+
+        Vertex copy(Object owner)
+        {
+            Vertex vertex = new Vertex(label, index, data, owner);
+            vertex.in = Arrays.copyOf(in, inDegree);
+            vertex.inDegree = inDegree;
+            vertex.out = Arrays.copyOf(out, outDegree);
+            vertex.outDegree = outDegree;
+            return vertex;
+        }
+
+        Link findIn(int source)
+        {
+            for (int k = 0; k < inDegree; ++k)
+            {
+                if (in[k].source == source)
+                {
+                    return in[k];
+                }
+            }
+            return null;
+        }
+
+        Link findOut(int target)
+        {
+            for (int k = 0; k < outDegree; ++k)
+            {
+                if (out[k].target == target)
+                {
+                    return out[k];
+                }
+            }
+            return null;
+        }
+
+        boolean removeIn(int source)
+        {
+            for (int k = 0; k < inDegree; ++k)
+            {
+                if (in[k].source == source)
+                {
+                    System.arraycopy(in, k + 1, in, k, --inDegree - k);
+                    in[inDegree] = null;
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        boolean removeOut(int target)
+        {
+            for (int k = 0; k < outDegree; ++k)
+            {
+                if (out[k].target == target)
+                {
+                    System.arraycopy(out, k + 1, out, k, --outDegree - k);
+                    out[outDegree] = null;
+                    return true;
+                }
+            }
+            return false;
+        }
+
+    }
+
+    /**
+     * The versions of the vertices of a concurrent graph, as seen by its writers. The trie is changed under the monitor
+     * of this object. The vertices themselves are changed by the writers holding the lock of their stripe, which also
+     * orders their reads of {@link #owner()} after the snapshots that replaced it.
+     */
+    static final class Versions
+    {
+
+        private int height;
+        private Object owner;
+        private Branch root;
+        private int size;
+
+        Versions()
+        {
+            clear();
+        }
+
+        synchronized void clear()
+        {
+            this.height = 1;
+            this.owner = new Object();
+            this.root = new Branch(owner);
+            this.size = 0;
+        }
+
+        /**
+         * Returns a view of the current version and starts the next one. No vertex may be changed meanwhile.
+         */
+        synchronized <T> VersionedGraph<T> freeze(boolean directed, boolean weighted, int bound, int edgeCount)
+        {
+            VersionedGraph<T> version = new VersionedGraph<>(directed, weighted, root, height, size, bound, edgeCount);
+            owner = new Object();
+            return version;
+        }
+
+        Object owner()
+        {
+            return owner;
+        }
+
+        /**
+         * Adds the vertex, or replaces the version of it held by the trie.
+         */
+        synchronized void put(Vertex vertex)
+        {
+            while (height < MAX_HEIGHT && (vertex.label >>> (BITS * height)) != 0)
+            {
+                Branch grown = new Branch(owner);
+                grown.slots[0] = root;
+                root = grown;
+                ++height;
+            }
+            root = editable(root);
+            Branch branch = root;
+            for (int level = height - 1; level > 0; --level)
+            {
+                int slot = (vertex.label >>> (BITS * level)) & MASK;
+                Branch child = (branch.slots[slot] == null) ? new Branch(owner) : editable((Branch) branch.slots[slot]);
+                branch.slots[slot] = child;
+                branch = child;
+            }
+            if (branch.slots[vertex.label & MASK] == null)
+            {
+                ++size;
+            }
+            branch.slots[vertex.label & MASK] = vertex;
+        }
+
+        /**
+         * Removes the vertex from the trie, along with the branches left empty.
+         */
+        synchronized void remove(int label)
+        {
+            if (find(root, height, label) == null)
+            {
+                return;
+            }
+            Branch[] path = new Branch[height];
+            root = editable(root);
+            path[height - 1] = root;
+            for (int level = height - 1; level > 0; --level)
+            {
+                int slot = (label >>> (BITS * level)) & MASK;
+                Branch child = editable((Branch) path[level].slots[slot]);
+                path[level].slots[slot] = child;
+                path[level - 1] = child;
+            }
+            path[0].slots[label & MASK] = null;
+            for (int level = 0; level < height - 1 && path[level].isEmpty(); ++level)
+            {
+                path[level + 1].slots[(label >>> (BITS * (level + 1))) & MASK] = null;
+            }
+            --size;
+        }
+
+        private Branch editable(Branch branch)
+        {
+            return (branch.owner == owner) ? branch : new Branch(branch, owner);
+        }
+
+    }
+
+    private class VersionEdge implements Edge
+    {
+
+        private final Link link;
+
+        VersionEdge(Link link)
+        {
+            this.link = link;
+        }
+
+        @Override
+        public boolean equals(Object obj)
+        {
+            if (obj instanceof Edge)
+            {
+                Edge rhs = (Edge) obj;
+                if (isDirected())
+                {
+                    return getStartNode().equals(rhs.getStartNode()) && getFinalNode().equals(rhs.getFinalNode());
+                }
+                else
+                {
+                    return (getStartNode().equals(rhs.getStartNode()) || getStartNode().equals(rhs.getFinalNode()))
+                                   && (getFinalNode().equals(rhs.getStartNode()) || getFinalNode().equals(rhs.
+                                       getFinalNode()));
+                }
+            }
+            throw new IllegalArgumentException("attempted to compare an edge to something that is not an edge.");
+        }
+
+        @Override
+        public Node<?> getFinalNode()
+        {
+            return findNodeByLabel(link.target);
+        }
+
+        @Override
+        public Object getLabel()
+        {
+            return (link.labelIsWeight && link.label != null) ? Weights.makeWeight((Number) link.label) : link.label;
+        }
+
+        @Override
+        public Node<?> getStartNode()
+        {
+            return findNodeByLabel(link.source);
+        }
+
+        @Override
+        public Weight<?> getWeight()
+        {
+            return (link.weight != null) ? Weights.makeWeight(link.weight) : null;
+        }
+
+        @Override
+        public int hashCode()
+        {
+            return link.source + link.target;
+        }
+
+        @Override
+        public boolean isDirected()
+        {
+            return VersionedGraph.this.isDirected();
+        }
+
+        @Override
+        public boolean isLabeled()
+        {
+            return link.label != null;
+        }
+
+        @Override
+        public boolean isWeighted()
+        {
+            return link.weight != null;
+        }
+
+        @Override
+        public void reverseApparentDirection()
+        {
+            throw new UnsupportedOperationException("This graph instance is immutable.");
+        }
+
+        @Override
+        public void setLabel(Object label)
+        {
+            throw new UnsupportedOperationException("This graph instance is immutable.");
+        }
+
+        @Override
+        public void setWeight(Weight<?> weight)
+        {
+            throw new UnsupportedOperationException("This graph instance is immutable.");
+        }
+
+        @Override
+        public String toString()
+        {
+            return "(" + link.source + " -> " + link.target + ")";
+        }
+
+        private VersionedGraph<T> graph()
+        {
+            return VersionedGraph.this;
+        }
+
+    }
+
+    private class VersionEdgeSet extends AbstractSet<Edge>
+    {
+
+        private final boolean arriving;
+        private final Vertex vertex;
+
+        VersionEdgeSet(Vertex vertex, boolean arriving)
+        {
+            this.arriving = arriving;
+            this.vertex = vertex;
+        }
+
+        @Override
+        public Iterator<Edge> iterator()
+        {
+            return new Iterator<Edge>()
+            {
+                private int k = 0;
+
+                @Override
+                public boolean hasNext()
+                {
+                    return k < size();
+                }
+
+                @Override
+                public Edge next()
+                {
+                    if (k >= size())
+                    {
+                        throw new NoSuchElementException();
+                    }
+                    int position = k++;
+                    return new VersionEdge(arriving ? vertex.in[position] : vertex.out[position]);
+                }
+            };
+        }
+
+        @Override
+        public int size()
+        {
+            return arriving ? vertex.inDegree : vertex.outDegree;
+        }
+
+    }
+
+    private class VersionNode implements Node<T>
+    {
+
+        private final Vertex vertex;
+
+        VersionNode(Vertex vertex)
+        {
+            this.vertex = vertex;
+        }
+
+        @Override
+        public boolean addEdge(Edge edge)
+        {
+            throw new UnsupportedOperationException("This graph instance is immutable.");
+        }
+
+        @Override
+        public Object clone() throws CloneNotSupportedException
+        {
+            throw new CloneNotSupportedException("Nodes of a snapshot are views, use duplicate() instead.");
+        }
+
+        @Override
+        public int degree()
+        {
+            return vertex.outDegree + vertex.inDegree;
+        }
+
+        @Override
+        public void disconnect()
+        {
+            throw new UnsupportedOperationException("This graph instance is immutable.");
+        }
+
+        @Override
+        public boolean equals(Object obj)
+        {
+            if (obj instanceof VersionedGraph.VersionNode)
+            {
+                VersionedGraph<?>.VersionNode rhs = (VersionedGraph<?>.VersionNode) obj;
+                return rhs.graph() == graph() && rhs.vertex == vertex;
+            }
+            return false;
+        }
+
+        @Override
+        public void forEachInEdge(EdgeVisitor visitor)
+        {
+            for (int k = 0; k < vertex.inDegree; ++k)
+            {
+                visitor.visit(vertex.in[k].source, vertex.label, new VersionEdge(vertex.in[k]));
+            }
+        }
+
+        @Override
+        public void forEachInNeighbor(IntConsumer action)
+        {
+            for (int k = 0; k < vertex.inDegree; ++k)
+            {
+                action.accept(vertex.in[k].source);
+            }
+        }
+
+        @Override
+        public void forEachOutEdge(EdgeVisitor visitor)
+        {
+            for (int k = 0; k < vertex.outDegree; ++k)
+            {
+                visitor.visit(vertex.label, vertex.out[k].target, new VersionEdge(vertex.out[k]));
+            }
+        }
+
+        @Override
+        public void forEachOutNeighbor(IntConsumer action)
+        {
+            for (int k = 0; k < vertex.outDegree; ++k)
+            {
+                action.accept(vertex.out[k].target);
+            }
+        }
+
+        @Override
+        @SuppressWarnings ("unchecked")
+        public T get()
+        {
+            return (T) vertex.data;
+        }
+
+        @Override
+        public Edge getAdjacentEdge(Node<T> v)
+        {
+            Link link = vertex.findOut(v.getLabel());
+            if (link == null)
+            {
+                link = vertex.findIn(v.getLabel());
+            }
+            if (link == null)
+            {
+                throw new InvalidOperationException(v.getLabel() + " is not connected to " + vertex.label
+                                                            + ", they are not adjacent.");
+            }
+            return new VersionEdge(link);
+        }
+
+        @Override
+        public Collection<Integer> getAllAdjacentVertices()
+        {
+            Collection<Integer> nodes = new LinkedHashSet<>(degree());
+            forEachInNeighbor(nodes::add);
+            forEachOutNeighbor(nodes::add);
+            return Collections.unmodifiableCollection(nodes);
+        }
+
+        @Override
+        public Collection<Integer> getAllVerticesArrivingSelf()
+        {
+            Collection<Integer> vertices = new LinkedList<>();
+            forEachInNeighbor(vertices::add);
+            return vertices;
+        }
+
+        @Override
+        public Collection<Integer> getAllVerticesDepartingSelf()
+        {
+            Collection<Integer> vertices = new LinkedList<>();
+            forEachOutNeighbor(vertices::add);
+            return vertices;
+        }
+
+        @Override
+        public Object getAttribute(Object key) throws InvalidKeyException
+        {
+            Map<Object, Object> map = attributesOf(vertex, false);
+            if (map == null || !map.containsKey(key))
+            {
+                throw new InvalidKeyException(map == null ? Collections.emptyMap() : map, key);
+            }
+            return map.get(key);
+        }
+
+        @Override
+        public Set<Edge> getEdgesArrivingSelf()
+        {
+            return new VersionEdgeSet(vertex, true);
+        }
+
+        @Override
+        public Set<Edge> getEdgesDepartingSelf()
+        {
+            return new VersionEdgeSet(vertex, false);
+        }
+
+        @Override
+        public int getLabel()
+        {
+            return vertex.label;
+        }
+
+        @Override
+        public Map<Object, Object> getNodeAttributes()
+        {
+            Map<Object, Object> map = attributesOf(vertex, false);
+            return map == null ? Collections.emptyMap() : Collections.unmodifiableMap(map);
+        }
+
+        @Override
+        public int hashCode()
+        {
+            return vertex.label;
+        }
+
+        @Override
+        public int inDegree()
+        {
+            return vertex.inDegree;
+        }
+
+        @Override
+        public boolean isAdjacent(Node<T> v)
+        {
+            return vertex.findOut(v.getLabel()) != null || vertex.findIn(v.getLabel()) != null;
+        }
+
+        @Override
+        public boolean isAdjacentAndArriving(Node<T> v)
+        {
+            return vertex.findOut(v.getLabel()) != null;
+        }
+
+        @Override
+        public boolean isAdjacentAndDeparting(Node<T> v)
+        {
+            return vertex.findIn(v.getLabel()) != null;
+        }
+
+        @Override
+        public int outDegree()
+        {
+            return vertex.outDegree;
+        }
+
+        @Override
+        public Object removeAttribute(Object key)
+        {
+            Map<Object, Object> map = attributesOf(vertex, false);
+            return map == null ? null : map.remove(key);
+        }
+
+        @Override
+        public boolean removeEdge(Edge edge)
+        {
+            throw new UnsupportedOperationException("This graph instance is immutable.");
+        }
+
+        @Override
+        public void set(T data)
+        {
+            throw new UnsupportedOperationException("This graph instance is immutable.");
+        }
+
+        @Override
+        public Object setAttribute(Object key, Object value)
+        {
+            return attributesOf(vertex, true).put(key, value);
+        }
+
+        @Override
+        public String toString()
+        {
+            StringBuilder builder = new StringBuilder("<" + vertex.label + ":" + vertex.data + "> (");
+            for (int k = 0; k < vertex.outDegree; ++k)
+            {
+                builder.append(vertex.out[k].target);
+                if (weighted)
+                {
+                    builder.append(" <").append(vertex.out[k].weight).append(">");
+                }
+                if (k + 1 < vertex.outDegree)
+                {
+                    builder.append(", ");
+                }
+            }
+            return builder.append(")").toString();
+        }
+
+        private VersionedGraph<T> graph()
+        {
+            return VersionedGraph.this;
+        }
+
+    }
+
+    private class VertexIterator implements Iterator<Vertex>
+    {
+
+        private final Branch[] branches = new Branch[height];
+        private Vertex next;
+        private final int[] slots = new int[height];
+
+        VertexIterator()
+        {
+            branches[height - 1] = root;
+            next = advance();
+        }
+
+        @Override
+        public boolean hasNext()
+        {
+            return next != null;
+        }
+
+        @Override
+        public Vertex next()
+        {
+            if (next == null)
+            {
+                throw new NoSuchElementException();
+            }
+            Vertex vertex = next;
+            next = advance();
+            return vertex;
+        }
+
+        /**
+         * Walks the trie depth first, in the order of the slots, up to the next vertex.
+         */
+        private Vertex advance()
+        {
+            int level = 0;
+            while (level < height && branches[level] == null)
+            {
+                ++level;
+            }
+            while (level < height)
+            {
+                if (slots[level] == WIDTH)
+                {
+                    branches[level] = null;
+                    ++level;
+                    continue;
+                }
+                Object slot = branches[level].slots[slots[level]++];
+                if (slot == null)
+                {
+                    continue;
+                }
+                if (level == 0)
+                {
+                    return (Vertex) slot;
+                }
+                --level;
+                branches[level] = (Branch) slot;
+                slots[level] = 0;
+            }
+            return null;
+        }
+
+    }
+
+    private static final int BITS = 5;
+    private static final int MASK = (1 << BITS) - 1;
+    private static final int MAX_HEIGHT = (Integer.SIZE + BITS - 1) / BITS;
+    private static final int WIDTH = 1 << BITS;
+
+    private Map<Integer, Map<Object, Object>> attributes;
+    private final int bound;
+    private final int edgeCount;
+    private final int height;
+    private final Branch root;
+    private final int size;
+    private final boolean weighted;
+
+    private VersionedGraph(boolean directed, boolean weighted, Branch root, int height, int size, int bound,
+                           int edgeCount)
+    {
+        super(directed);
+
+        this.bound = bound;
+        this.edgeCount = edgeCount;
+        this.height = height;
+        this.root = root;
+        this.size = size;
+        this.weighted = weighted;
+    }
+
+    /**
+     * Returns the vertex with the given label held by the trie, or null if it holds no such vertex.
+     *
+     * @param root
+     * @param height
+     * @param label
+     *
+     * @return
+     */
+    static Vertex find(Branch root, int height, int label)
+    {
+        if (height < MAX_HEIGHT && (label >>> (BITS * height)) != 0)
+        {
+            return null;
+        }
+        Branch branch = root;
+        for (int level = height - 1; level > 0 && branch != null; --level)
+        {
+            branch = (Branch) branch.slots[(label >>> (BITS * level)) & MASK];
+        }
+        return (branch != null) ? (Vertex) branch.slots[label & MASK] : null;
+    }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public boolean add(int label, T data)
+    {
+        throw new UnsupportedOperationException("This graph instance is immutable.");
+    }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public boolean add(T data)
+    {
+        throw new UnsupportedOperationException("This graph instance is immutable.");
+    }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public boolean addAll(Collection<? extends T> c)
+    {
+        throw new UnsupportedOperationException("This graph instance is immutable.");
+    }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public void clear()
+    {
+        throw new UnsupportedOperationException("This graph instance is immutable.");
+    }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public boolean connect(int u, int v)
+    {
+        throw new UnsupportedOperationException("This graph instance is immutable.");
+    }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public boolean connect(Node<T> u, Node<T> v)
+    {
+        throw new UnsupportedOperationException("This graph instance is immutable.");
+    }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public boolean connect(int u, int v, Weight<?> w)
+    {
+        throw new UnsupportedOperationException("This graph instance is immutable.");
+    }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public boolean connect(Node<T> u, Node<T> v, Weight<?> w)
+    {
+        throw new UnsupportedOperationException("This graph instance is immutable.");
+    }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public int degree(int u)
+    {
+        Vertex vertex = requireVertex(u);
+        return vertex.outDegree + vertex.inDegree;
+    }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public boolean disconnect(Node<T> u, Node<T> v)
+    {
+        throw new UnsupportedOperationException("This graph instance is immutable.");
+    }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public boolean disconnect(int u, int v)
+    {
+        throw new UnsupportedOperationException("This graph instance is immutable.");
+    }
+
+    /**
+     * Returns a mutable copy of this snapshot. The copy is a regular adjacency list graph, weighted if this snapshot is
+     * weighted, holding the same labels, data and edges.
+     *
+     * @return a new mutable {@link Graph}.
+     *
+     * @throws CloneNotSupportedException
+     */
+    @Override
+    @SuppressWarnings ("unchecked")
+    public Graph<T> duplicate() throws CloneNotSupportedException
+    {
+        Graph<T> graph = weighted ? new DefaultWeightedGraphBuilder<T>().buildGraph().directed(isDirected()).get()
+                                 : new DefaultGraphBuilder<T>().buildGraph().directed(isDirected()).get();
+
+        for (Iterator<Vertex> it = new VertexIterator(); it.hasNext();)
+        {
+            Vertex vertex = it.next();
+            graph.add(vertex.label, (T) vertex.data);
+        }
+        for (Iterator<Vertex> it = new VertexIterator(); it.hasNext();)
+        {
+            Vertex vertex = it.next();
+            for (int k = 0; k < vertex.outDegree; ++k)
+            {
+                Link link = vertex.out[k];
+                if (weighted)
+                {
+                    ((WeightedGraph<T>) graph).connect(link.source, link.target, Weights.makeWeight(link.weight));
+                }
+                else
+                {
+                    graph.connect(link.source, link.target);
+                }
+            }
+        }
+        return graph;
+    }
+
+    /**
+     * Returns the number of edges stored in this snapshot.
+     *
+     * @return the edge count.
+     */
+    @Override
+    public int edgeCount()
+    {
+        return edgeCount;
+    }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public double edgeWeightAsDouble(Edge e)
+    {
+        Number weight;
+        if (e instanceof VersionedGraph.VersionEdge && ((VersionedGraph<?>.VersionEdge) e).graph() == this)
+        {
+            weight = ((VersionedGraph<?>.VersionEdge) e).link.weight;
+        }
+        else
+        {
+            weight = (e != null && e.getWeight() != null) ? e.getWeight().getValue() : null;
+        }
+        if (weight == null)
+        {
+            throw new IllegalArgumentException("The edge " + e + " is not weighted.");
+        }
+        return weight.doubleValue();
+    }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public boolean existsEdgeWithDirection(int u, int v)
+    {
+        requireVertex(v);
+        return requireVertex(u).findOut(v) != null;
+    }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public Node<T> findNodeByLabel(int label)
+    {
+        return new VersionNode(requireVertex(label));
+    }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public void forEachInEdge(int u, EdgeVisitor visitor)
+    {
+        new VersionNode(requireVertex(u)).forEachInEdge(visitor);
+    }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public void forEachInNeighbor(int u, IntConsumer action)
+    {
+        new VersionNode(requireVertex(u)).forEachInNeighbor(action);
+    }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public void forEachOutEdge(int u, EdgeVisitor visitor)
+    {
+        new VersionNode(requireVertex(u)).forEachOutEdge(visitor);
+    }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public void forEachOutNeighbor(int u, IntConsumer action)
+    {
+        new VersionNode(requireVertex(u)).forEachOutNeighbor(action);
+    }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public Collection<Integer> getLabels()
+    {
+        return new AbstractCollection<Integer>()
+        {
+            @Override
+            public Iterator<Integer> iterator()
+            {
+                Iterator<Vertex> vertices = new VertexIterator();
+                return new Iterator<Integer>()
+                {
+                    @Override
+                    public boolean hasNext()
+                    {
+                        return vertices.hasNext();
+                    }
+
+                    @Override
+                    public Integer next()
+                    {
+                        return vertices.next().label;
+                    }
+                };
+            }
+
+            @Override
+            public int size()
+            {
+                return size;
+            }
+        };
+    }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public int inDegree(int u)
+    {
+        return requireVertex(u).inDegree;
+    }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public boolean isVertexAdjacent(int u, int v)
+    {
+        Vertex vertex = requireVertex(u);
+        requireVertex(v);
+        return vertex.findOut(v) != null || vertex.findIn(v) != null;
+    }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public boolean isWeighted()
+    {
+        return weighted;
+    }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public int outDegree(int u)
+    {
+        return requireVertex(u).outDegree;
+    }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public void registerEdgeFactory(EdgeFactory factory)
+    {
+        throw new UnsupportedOperationException("This graph instance is immutable.");
+    }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public T remove(Node<T> node)
+    {
+        throw new UnsupportedOperationException("This graph instance is immutable.");
+    }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public boolean remove(Object o)
+    {
+        throw new UnsupportedOperationException("This graph instance is immutable.");
+    }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public boolean removeAll(Collection<?> c)
+    {
+        throw new UnsupportedOperationException("This graph instance is immutable.");
+    }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public T removeAt(int u)
+    {
+        throw new UnsupportedOperationException("This graph instance is immutable.");
+    }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public void removeVertices(int... labels)
+    {
+        throw new UnsupportedOperationException("This graph instance is immutable.");
+    }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public boolean retainAll(Collection<?> c)
+    {
+        throw new UnsupportedOperationException("This graph instance is immutable.");
+    }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public void reverse()
+    {
+        throw new UnsupportedOperationException("This graph instance is immutable.");
+    }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public void setDirected(boolean directed)
+    {
+        throw new UnsupportedOperationException("This graph instance is immutable.");
+    }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public int size()
+    {
+        return size;
+    }
+
+    /**
+     * Snapshots are immutable, so they are their own snapshot.
+     *
+     * @return this graph.
+     */
+    @Override
+    public Graph<T> snapshot()
+    {
+        return this;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString()
+    {
+        StringBuilder builder = new StringBuilder("[\n");
+        for (Iterator<Vertex> it = new VertexIterator(); it.hasNext();)
+        {
+            builder.append(new VersionNode(it.next()).toString());
+            if (it.hasNext())
+            {
+                builder.append(",\n");
+            }
+        }
+        return builder.append("\n]").toString();
+    }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public double weightOf(int u, int v)
+    {
+        Link link = requireVertex(u).findOut(v);
+        if (link == null && !isDirected())
+        {
+            link = requireVertex(v).findOut(u);
+        }
+        if (link == null)
+        {
+            throw new InvalidOperationException("There is no edge departing from " + u + " to " + v + ".");
+        }
+        if (link.weight == null)
+        {
+            throw new IllegalArgumentException("The edge " + new VersionEdge(link) + " is not weighted.");
+        }
+        return link.weight.doubleValue();
+    }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    protected boolean addNode(Node<T> node)
+    {
+        throw new UnsupportedOperationException("This graph instance is immutable.");
+    }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    protected Collection<Node<T>> getNodes()
+    {
+        return new AbstractCollection<Node<T>>()
+        {
+            @Override
+            public Iterator<Node<T>> iterator()
+            {
+                Iterator<Vertex> vertices = new VertexIterator();
+                return new Iterator<Node<T>>()
+                {
+                    @Override
+                    public boolean hasNext()
+                    {
+                        return vertices.hasNext();
+                    }
+
+                    @Override
+                    public Node<T> next()
+                    {
+                        return new VersionNode(vertices.next());
+                    }
+                };
+            }
+
+            @Override
+            public int size()
+            {
+                return size;
+            }
+        };
+    }
+
+    /**
+     * Vertices keep the dense index they had in the concurrent graph when this version was taken.
+     *
+     * @param label
+     *
+     * @return
+     */
+    @Override
+    protected int vertexIndex(int label)
+    {
+        Vertex vertex = find(root, height, label);
+        return (vertex != null) ? vertex.index : -1;
+    }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    protected int vertexIndexBound()
+    {
+        return bound;
+    }
+
+    /**
+     * Returns the attribute map of the vertex, creating it if <code>create</code> is true.
+     */
+    private synchronized Map<Object, Object> attributesOf(Vertex vertex, boolean create)
+    {
+        if (attributes == null)
+        {
+            if (!create)
+            {
+                return null;
+            }
+            attributes = new HashMap<>();
+        }
+        return create ? attributes.computeIfAbsent(vertex.index, index -> new HashMap<>())
+               : attributes.get(vertex.index);
+    }
+
+    private Vertex requireVertex(int label)
+    {
+        Vertex vertex = find(root, height, label);
+        if (vertex == null)
+        {
+            throw new InvalidOperationException("Attempted to access node " + label
+                                                        + " in a graph that does not contains it.");
+        }
+        return vertex;
+    }
+
+}
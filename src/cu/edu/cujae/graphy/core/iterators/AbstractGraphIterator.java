@@ -19,6 +19,7 @@
 package cu.edu.cujae.graphy.core.iterators;
 
 import cu.edu.cujae.graphy.core.Edge;
+import cu.edu.cujae.graphy.core.EdgeVisitor;
 import cu.edu.cujae.graphy.core.Graph;
 import cu.edu.cujae.graphy.core.Node;
 import cu.edu.cujae.graphy.core.abstractions.AbstractGraph;
@@ -28,6 +29,7 @@ import java.util.Collections;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.function.IntConsumer;
 
 /**
  * This class defines an abstract iterator class: an utility class that may be used to ease implementation of several
@@ -63,6 +65,58 @@ public abstract class AbstractGraphIterator<T> implements GraphIterator<T>
         throw new UnsupportedOperationException("This operation is not supported by this particular iterator.");
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void forEachAdjacentEdge(EdgeVisitor visitor)
+    {
+        current.forEachOutEdge(visitor);
+        current.forEachInEdge((u, v, edge) -> 
+        {
+            if (u != v)
+            {
+                visitor.visit(u, v, edge);
+            }
+        });
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void forEachInEdge(EdgeVisitor visitor)
+    {
+        current.forEachInEdge(visitor);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void forEachInNeighbor(IntConsumer action)
+    {
+        current.forEachInNeighbor(action);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void forEachOutEdge(EdgeVisitor visitor)
+    {
+        current.forEachOutEdge(visitor);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void forEachOutNeighbor(IntConsumer action)
+    {
+        current.forEachOutNeighbor(action);
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -177,6 +231,15 @@ public abstract class AbstractGraphIterator<T> implements GraphIterator<T>
         return current.getLabel();
     }
 
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public int inDegree()
+    {
+        return current.inDegree();
+    }
+
     /**
      * {@inheritDoc }
      */
@@ -243,6 +306,15 @@ public abstract class AbstractGraphIterator<T> implements GraphIterator<T>
         throw new UnsupportedOperationException("This operation is not supported by this particular iterator");
     }
 
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public int outDegree()
+    {
+        return current.outDegree();
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -0,0 +1,372 @@
+/*
+ * Copyright (C) 2022 CUJAE.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+package cu.edu.cujae.graphy.core.iterators;
+
+import cu.edu.cujae.graphy.core.Graph;
+import cu.edu.cujae.graphy.core.exceptions.InvalidOperationException;
+import cu.edu.cujae.graphy.core.properties.MarkVertexProperty;
+import cu.edu.cujae.graphy.utils.IntStack;
+import java.util.NoSuchElementException;
+import java.util.function.IntConsumer;
+
+/**
+ * A depth-first traversal driven by its caller, one event at a time, with an explicit stack instead of recursion, so
+ * it walks paths of any length without exhausting the stack of the thread.
+ * <p>
+ * Each call to {@link #advance()} moves the traversal one step and reports what happened:
+ * <ul>
+ * <li>{@link Event#PRE_ORDER} when a vertex is discovered, through a tree edge from its {@link #parent()} unless it
+ * is the root of the traversal;</li>
+ * <li>{@link Event#NON_TREE_EDGE} when an edge from {@link #vertex()} leads to {@link #target()}, which was already
+ * discovered;</li>
+ * <li>{@link Event#POST_ORDER} when every edge of a vertex has been followed and the traversal backtracks to its
+ * parent.</li>
+ * </ul>
+ * Algorithms that compute discovery times, low links or finishing orders react to these events instead of recursing.
+ * <p>
+ * The neighbors of every vertex on the stack are kept in a shared stack of <code>int</code> values, and the marks of
+ * the vertices in a {@link MarkVertexProperty}, so the traversal does not allocate per vertex once its buffers have
+ * grown; a traversal given a {@link TraversalContext} borrows them from the context and allocates nothing at all. The
+ * marks persist between calls to {@link #start(int)}, so a traversal started from every undiscovered vertex in turn
+ * builds a depth-first forest.
+ * <p>
+ * The graph must not be modified while the traversal is in progress, unless it guards its adjacency itself as a
+ * concurrent graph does. Such graphs throw an {@link InvalidOperationException} for the vertices removed after the
+ * traversal reached them, and the traversal skips those vertices.
+ *
+ * @author Javier Marrero
+ */
+public class DepthFirstTraversal
+{
+
+    /**
+     * The edges a traversal follows from every vertex.
+     */
+    public enum Direction
+    {
+        /**
+         * The edges departing from the vertex.
+         */
+        OUT,
+        /**
+         * The edges arriving to the vertex, as in a traversal of the transposed graph.
+         */
+        IN,
+        /**
+         * The edges departing from and arriving to the vertex, as in a traversal of an undirected graph.
+         */
+        BOTH
+    }
+
+    /**
+     * The steps of a depth-first traversal.
+     */
+    public enum Event
+    {
+        /**
+         * A vertex has been discovered.
+         */
+        PRE_ORDER,
+        /**
+         * An edge leads to a vertex that had already been discovered.
+         */
+        NON_TREE_EDGE,
+        /**
+         * Every edge of a vertex has been followed.
+         */
+        POST_ORDER
+    }
+
+    private static final int CURSOR = 1;
+    private static final int DISCOVERED = 1;
+    private static final int END = 2;
+    private static final int FINISHED = 2;
+    private static final int FRAME = 3;
+    private static final int VERTEX = 0;
+
+    private final IntConsumer appender;
+    private final IntStack buffer;
+    private final Direction direction;
+    private Event event;
+    private final IntStack frames;
+    private final Graph<?> graph;
+    private final MarkVertexProperty marks;
+    private int parent;
+    private boolean rootPending;
+    private int target;
+    private int vertex;
+
+    /**
+     * Creates a traversal that follows the edges departing from every vertex.
+     *
+     * @param graph
+     */
+    public DepthFirstTraversal(Graph<?> graph)
+    {
+        this(graph, Direction.OUT);
+    }
+
+    /**
+     * Creates a traversal that follows the edges of every vertex in the given direction.
+     *
+     * @param graph
+     * @param direction
+     */
+    public DepthFirstTraversal(Graph<?> graph, Direction direction)
+    {
+        this(graph, direction, graph.newMarkVertexProperty(), new IntStack(), new IntStack());
+    }
+
+    /**
+     * Creates a traversal that follows the edges of every vertex in the given direction, keeping its marks and stacks
+     * in the context. The context must not serve another traversal while this one is in use.
+     *
+     * @param graph
+     * @param direction
+     * @param context
+     */
+    public DepthFirstTraversal(Graph<?> graph, Direction direction, TraversalContext context)
+    {
+        this(graph, direction, context.marks(graph), context.stack(), context.frames());
+    }
+
+    private DepthFirstTraversal(Graph<?> graph, Direction direction, MarkVertexProperty marks, IntStack buffer,
+                                IntStack frames)
+    {
+        this.graph = graph;
+        this.direction = direction;
+        this.marks = marks;
+        this.buffer = buffer;
+        this.frames = frames;
+        this.appender = buffer::push;
+    }
+
+    /**
+     * Moves the traversal one step forward.
+     *
+     * @return the event that happened, or null once every vertex reachable from the last root has been finished.
+     */
+    public Event advance()
+    {
+        if (rootPending)
+        {
+            rootPending = false;
+            return report(Event.PRE_ORDER, frames.get(VERTEX), 0);
+        }
+        if (frames.isEmpty())
+        {
+            event = null;
+            return null;
+        }
+
+        int top = frames.size() - FRAME;
+        for (int cursor = frames.get(top + CURSOR); cursor < frames.get(top + END); ++cursor)
+        {
+            int w = buffer.get(cursor);
+            frames.set(top + CURSOR, cursor + 1);
+            try
+            {
+                if (!marks.isMarked(w))
+                {
+                    push(w);
+                    return report(Event.PRE_ORDER, w, 0);
+                }
+                return report(Event.NON_TREE_EDGE, frames.get(top + VERTEX), w);
+            }
+            catch (InvalidOperationException ex)
+            {
+                // The neighbor was removed after its edge was followed
+            }
+        }
+
+        // Every edge has been followed, backtrack
+        int v = frames.get(top + VERTEX);
+        try
+        {
+            marks.set(v, FINISHED);
+        }
+        catch (InvalidOperationException ex)
+        {
+            // The vertex was removed while its edges were followed
+        }
+        buffer.truncate((top > 0) ? frames.get(top - FRAME + END) : 0);
+        frames.truncate(top);
+        return report(Event.POST_ORDER, v, 0);
+    }
+
+    /**
+     * Returns the depth in the traversal tree of {@link #vertex()}, the root being at depth zero.
+     *
+     * @return
+     */
+    public int depth()
+    {
+        return (event == Event.POST_ORDER) ? frames.size() / FRAME : frames.size() / FRAME - 1;
+    }
+
+    /**
+     * @return the last event reported by {@link #advance()}.
+     */
+    public Event event()
+    {
+        return event;
+    }
+
+    /**
+     * Marks the vertex as finished without visiting it, so the traversal never enters it. Used to restrict the
+     * traversal to a part of the graph.
+     *
+     * @param v
+     */
+    public void exclude(int v)
+    {
+        marks.set(v, FINISHED);
+    }
+
+    /**
+     * Returns true if the vertex has been discovered by this traversal, or excluded from it.
+     *
+     * @param v
+     *
+     * @return
+     */
+    public boolean isDiscovered(int v)
+    {
+        return marks.isMarked(v);
+    }
+
+    /**
+     * Returns true if every edge of the vertex has been followed.
+     *
+     * @param v
+     *
+     * @return
+     */
+    public boolean isFinished(int v)
+    {
+        return marks.get(v) == FINISHED;
+    }
+
+    /**
+     * Returns true if {@link #vertex()} is the root of the current traversal tree, and so has no parent.
+     *
+     * @return
+     */
+    public boolean isRoot()
+    {
+        return depth() == 0;
+    }
+
+    /**
+     * Returns the parent in the traversal tree of {@link #vertex()}.
+     *
+     * @return
+     *
+     * @throws NoSuchElementException if the vertex is the root of the traversal tree.
+     */
+    public int parent()
+    {
+        if (isRoot())
+        {
+            throw new NoSuchElementException("The root of a depth-first traversal has no parent.");
+        }
+        return parent;
+    }
+
+    /**
+     * Starts a new traversal tree rooted at <code>root</code>; the first call to {@link #advance()} reports its
+     * discovery. The previous tree must have been finished.
+     *
+     * @param root
+     *
+     * @throws IllegalStateException if the previous tree has not been finished, or the root was already discovered.
+     */
+    public void start(int root)
+    {
+        if (!frames.isEmpty())
+        {
+            throw new IllegalStateException("Attempted to start a depth-first traversal while another is in progress.");
+        }
+        if (isDiscovered(root))
+        {
+            throw new IllegalStateException("Attempted to start a depth-first traversal at vertex " + root
+                                                    + ", which was already discovered.");
+        }
+        push(root);
+        rootPending = true;
+        event = null;
+    }
+
+    /**
+     * Returns the vertex reached by the edge of a {@link Event#NON_TREE_EDGE} event.
+     *
+     * @return
+     */
+    public int target()
+    {
+        return target;
+    }
+
+    /**
+     * Returns the vertex the last event is about: the vertex discovered or finished, or the vertex the edge of a
+     * {@link Event#NON_TREE_EDGE} event departs from.
+     *
+     * @return
+     */
+    public int vertex()
+    {
+        return vertex;
+    }
+
+    private void push(int v)
+    {
+        marks.set(v, DISCOVERED);
+        int start = buffer.size();
+        try
+        {
+            if (direction != Direction.IN)
+            {
+                graph.forEachOutNeighbor(v, appender);
+            }
+            if (direction != Direction.OUT)
+            {
+                graph.forEachInNeighbor(v, appender);
+            }
+        }
+        catch (InvalidOperationException ex)
+        {
+            buffer.truncate(start);
+            throw ex;
+        }
+        frames.push(v);
+        frames.push(start);
+        frames.push(buffer.size());
+    }
+
+    private Event report(Event event, int vertex, int target)
+    {
+        this.event = event;
+        this.vertex = vertex;
+        this.target = target;
+        int frame = (event == Event.POST_ORDER) ? frames.size() / FRAME : frames.size() / FRAME - 1;
+        this.parent = (frame > 0) ? frames.get((frame - 1) * FRAME + VERTEX) : 0;
+        return event;
+    }
+
+}
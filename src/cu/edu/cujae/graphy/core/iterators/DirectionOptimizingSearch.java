@@ -0,0 +1,426 @@
+/*
+ * Copyright (C) 2022 CUJAE.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+package cu.edu.cujae.graphy.core.iterators;
+
+import cu.edu.cujae.graphy.core.Graph;
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.stream.IntStream;
+
+/**
+ * A breadth-first search that expands its frontier one level at a time, choosing for every level between the classic
+ * top-down step, which follows the edges departing from the frontier, and a bottom-up step, in which every vertex not
+ * reached yet looks for a parent among its predecessors and stops at the first one found in the frontier. On graphs
+ * of low diameter, such as social and web graphs, a few levels hold most of the vertices, and the bottom-up steps
+ * skip most of their edges.
+ * <p>
+ * The direction is chosen as proposed by Beamer et al.: the search goes bottom-up once the edges departing from the
+ * frontier outnumber the edges left to check bottom-up by a factor of {@link #ALPHA}, and back top-down once the
+ * frontier shrinks below a {@link #BETA}-th of the vertices.
+ * <p>
+ * The adjacency of the graph is copied into primitive arrays when the search is created, so the bottom-up steps can
+ * stop early, and the same search may be reused from one source to the next without further allocation; later
+ * changes to the graph are not seen by the search. The visited vertices and the frontier are kept in bit sets. Edges
+ * are followed in both directions on undirected graphs. A parallel search runs its bottom-up steps on the common
+ * {@link java.util.concurrent.ForkJoinPool}, every task owning a range of vertices.
+ *
+ * @author Javier Marrero
+ * @see Graph#directionOptimizingSearchIterator(int, boolean, boolean)
+ */
+public class DirectionOptimizingSearch
+{
+
+    /**
+     * The factor by which the edges departing from the frontier must outnumber the edges left to check bottom-up
+     * before the search goes bottom-up.
+     */
+    public static final int ALPHA = 14;
+
+    /**
+     * The fraction of the vertices below which a shrinking frontier sends the search back top-down.
+     */
+    public static final int BETA = 24;
+
+    private static final int CHUNK_WORDS = 64;
+    private static final int NONE = -1;
+
+    private final IndexedAdjacency adjacency;
+    private boolean bottomUp;
+    private long frontierEdges;
+    private final long[] frontier;
+    private final int[] inOffsets;
+    private final int[] inSources;
+    private final int[] labels;
+    private int level;
+    private int levelEnd;
+    private int levelStart;
+    private final int[] levels;
+    private final long[] next;
+    private final int[] order;
+    private final int[] outOffsets;
+    private final int[] outTargets;
+    private final boolean parallel;
+    private final int[] parents;
+    private int previousFrontier;
+    private int reached;
+    private long unexploredEdges;
+    private final long[] visited;
+
+    /**
+     * Creates a sequential search over the graph.
+     *
+     * @param graph
+     */
+    public DirectionOptimizingSearch(Graph<?> graph)
+    {
+        this(graph, false);
+    }
+
+    /**
+     * Creates a search over the graph, whose bottom-up steps run in parallel if <code>parallel</code> is true.
+     *
+     * @param graph
+     * @param parallel
+     */
+    public DirectionOptimizingSearch(Graph<?> graph, boolean parallel)
+    {
+        this.adjacency = new IndexedAdjacency(graph);
+        this.parallel = parallel;
+        this.labels = adjacency.labels;
+        this.outOffsets = adjacency.outOffsets;
+        this.outTargets = adjacency.outTargets;
+        this.inOffsets = adjacency.inOffsets;
+        this.inSources = adjacency.inSources;
+
+        final int n = labels.length;
+
+        this.levels = new int[n];
+        this.parents = new int[n];
+        this.order = new int[n];
+        this.visited = new long[(n + 63) >>> 6];
+        this.frontier = new long[visited.length];
+        this.next = new long[visited.length];
+        Arrays.fill(levels, NONE);
+        Arrays.fill(parents, NONE);
+    }
+
+    /**
+     * Returns true if the last step expanded the frontier bottom-up.
+     *
+     * @return
+     */
+    public boolean isBottomUp()
+    {
+        return bottomUp;
+    }
+
+    /**
+     * Returns true if the search has reached the vertex.
+     *
+     * @param label
+     *
+     * @return
+     */
+    public boolean isReached(int label)
+    {
+        return levels[adjacency.positionOf(label)] != NONE;
+    }
+
+    /**
+     * Returns the level of the last vertices reached, the source being at level zero.
+     *
+     * @return
+     */
+    public int level()
+    {
+        return level;
+    }
+
+    /**
+     * Returns the level of the vertex, its distance in edges from the source, or -1 if it has not been reached.
+     *
+     * @param label
+     *
+     * @return
+     */
+    public int level(int label)
+    {
+        return levels[adjacency.positionOf(label)];
+    }
+
+    /**
+     * Returns the vertex through which the search reached the given one; the source is its own parent.
+     *
+     * @param label
+     *
+     * @return
+     *
+     * @throws NoSuchElementException if the vertex has not been reached.
+     */
+    public int parent(int label)
+    {
+        int parent = parents[adjacency.positionOf(label)];
+        if (parent == NONE)
+        {
+            throw new NoSuchElementException("Vertex " + label + " has not been reached by the search.");
+        }
+        return labels[parent];
+    }
+
+    /**
+     * Returns the vertices on a shortest path from the source to the given vertex, both included.
+     *
+     * @param label
+     *
+     * @return the path, or an empty array if the vertex has not been reached.
+     */
+    public int[] pathTo(int label)
+    {
+        int v = adjacency.positionOf(label);
+        if (levels[v] == NONE)
+        {
+            return new int[0];
+        }
+        int[] path = new int[levels[v] + 1];
+        for (int i = path.length - 1; i >= 0; --i)
+        {
+            path[i] = labels[v];
+            v = parents[v];
+        }
+        return path;
+    }
+
+    /**
+     * Returns the number of vertices reached so far.
+     *
+     * @return
+     */
+    public int reached()
+    {
+        return reached;
+    }
+
+    /**
+     * Returns the i-th vertex reached by the search. Vertices are numbered level by level; within a level, in the
+     * order they were found, which is the order of the graph for the levels reached bottom-up.
+     *
+     * @param i
+     *
+     * @return
+     *
+     * @throws IndexOutOfBoundsException if fewer vertices have been reached.
+     */
+    public int reached(int i)
+    {
+        if (i < 0 || i >= reached)
+        {
+            throw new IndexOutOfBoundsException("Only " + reached + " vertices have been reached: " + i);
+        }
+        return labels[order[i]];
+    }
+
+    /**
+     * Runs the whole search from the source.
+     *
+     * @param source
+     */
+    public void search(int source)
+    {
+        start(source);
+        while (step())
+        {
+            // Every step expands one level
+        }
+    }
+
+    /**
+     * Starts a new search from the source, forgetting the previous one. Only the source is reached until
+     * {@link #step()} is called.
+     *
+     * @param source
+     */
+    public void start(int source)
+    {
+        int s = adjacency.positionOf(source);
+
+        // Only the vertices reached by the previous search need to be forgotten
+        for (int i = 0; i < reached; ++i)
+        {
+            levels[order[i]] = NONE;
+            parents[order[i]] = NONE;
+        }
+        Arrays.fill(visited, 0L);
+
+        levels[s] = 0;
+        parents[s] = s;
+        setBit(visited, s);
+        order[0] = s;
+        reached = 1;
+        level = 0;
+        levelStart = 0;
+        levelEnd = 1;
+        bottomUp = false;
+        previousFrontier = 0;
+        frontierEdges = outOffsets[s + 1] - outOffsets[s];
+        unexploredEdges = inSources.length - (inOffsets[s + 1] - inOffsets[s]);
+    }
+
+    /**
+     * Expands the frontier by one level.
+     *
+     * @return true if new vertices were reached, false once the search has ended.
+     */
+    public boolean step()
+    {
+        if (levelStart == levelEnd)
+        {
+            return false;
+        }
+
+        int size = levelEnd - levelStart;
+        if (bottomUp)
+        {
+            // Go back top-down once the frontier shrinks below a BETA-th of the vertices
+            bottomUp = size >= previousFrontier || size >= labels.length / BETA;
+        }
+        else
+        {
+            bottomUp = frontierEdges > unexploredEdges / ALPHA;
+        }
+        previousFrontier = size;
+
+        // The edges departing from the next frontier are counted as it is reached
+        frontierEdges = 0;
+        if (bottomUp)
+        {
+            bottomUpStep();
+        }
+        else
+        {
+            topDownStep();
+        }
+        levelStart = levelEnd;
+        levelEnd = reached;
+        ++level;
+        return levelStart != levelEnd;
+    }
+
+    private void bottomUpStep()
+    {
+        Arrays.fill(frontier, 0L);
+        for (int i = levelStart; i < levelEnd; ++i)
+        {
+            setBit(frontier, order[i]);
+        }
+
+        int chunks = (visited.length + CHUNK_WORDS - 1) / CHUNK_WORDS;
+        if (parallel)
+        {
+            IntStream.range(0, chunks).parallel().forEach(this::bottomUpChunk);
+        }
+        else
+        {
+            for (int chunk = 0; chunk < chunks; ++chunk)
+            {
+                bottomUpChunk(chunk);
+            }
+        }
+
+        // Collect the new frontier in the order of the graph
+        for (int word = 0; word < next.length; ++word)
+        {
+            long bits = next[word];
+            next[word] = 0L;
+            while (bits != 0L)
+            {
+                int v = (word << 6) + Long.numberOfTrailingZeros(bits);
+                bits &= bits - 1;
+                reach(v);
+            }
+        }
+    }
+
+    private void bottomUpChunk(int chunk)
+    {
+        int last = Math.min((chunk + 1) * CHUNK_WORDS, visited.length);
+        for (int word = chunk * CHUNK_WORDS; word < last; ++word)
+        {
+            long unvisited = ~visited[word];
+            if (word == visited.length - 1 && (labels.length & 63) != 0)
+            {
+                unvisited &= (1L << (labels.length & 63)) - 1;
+            }
+            while (unvisited != 0L)
+            {
+                int v = (word << 6) + Long.numberOfTrailingZeros(unvisited);
+                unvisited &= unvisited - 1;
+                for (int e = inOffsets[v]; e < inOffsets[v + 1]; ++e)
+                {
+                    int u = inSources[e];
+                    if (testBit(frontier, u))
+                    {
+                        // Every task owns the words of its range, so no other task writes them
+                        parents[v] = u;
+                        levels[v] = level + 1;
+                        visited[word] |= 1L << v;
+                        next[word] |= 1L << v;
+                        break;
+                    }
+                }
+            }
+        }
+    }
+
+    private void reach(int v)
+    {
+        order[reached++] = v;
+        frontierEdges += outOffsets[v + 1] - outOffsets[v];
+        unexploredEdges -= inOffsets[v + 1] - inOffsets[v];
+    }
+
+    private static void setBit(long[] bits, int i)
+    {
+        bits[i >>> 6] |= 1L << i;
+    }
+
+    private static boolean testBit(long[] bits, int i)
+    {
+        return (bits[i >>> 6] & (1L << i)) != 0L;
+    }
+
+    private void topDownStep()
+    {
+        for (int i = levelStart; i < levelEnd; ++i)
+        {
+            int u = order[i];
+            for (int e = outOffsets[u]; e < outOffsets[u + 1]; ++e)
+            {
+                int v = outTargets[e];
+                if (!testBit(visited, v))
+                {
+                    setBit(visited, v);
+                    parents[v] = u;
+                    levels[v] = level + 1;
+                    reach(v);
+                }
+            }
+        }
+    }
+
+}
@@ -19,12 +19,14 @@
 package cu.edu.cujae.graphy.core.iterators;
 
 import cu.edu.cujae.graphy.core.Edge;
+import cu.edu.cujae.graphy.core.EdgeVisitor;
 import cu.edu.cujae.graphy.core.Node;
 import cu.edu.cujae.graphy.core.exceptions.InvalidKeyException;
 import java.util.Collection;
 import java.util.Iterator;
 import java.util.Map;
 import java.util.Set;
+import java.util.function.IntConsumer;
 
 /**
  * A graph iterator is a special kind of iterator that allows random traversal of a graph. It extends the functionality
@@ -53,6 +55,44 @@ public interface GraphIterator<T> extends Iterator<T>
      */
     public T back(Node<T> target);
 
+    /**
+     * Calls the visitor for every {@link Edge} departing or arriving to the current node, without building the
+     * intermediate collection returned by {@link #getAllAdjacentEdges()}. Departing edges are visited first. An edge
+     * connecting the node with itself is visited only once.
+     *
+     * @param visitor
+     */
+    public void forEachAdjacentEdge(EdgeVisitor visitor);
+
+    /**
+     * Calls the visitor for every {@link Edge} arriving to the current node, without copying the node's edges.
+     *
+     * @param visitor
+     */
+    public void forEachInEdge(EdgeVisitor visitor);
+
+    /**
+     * Calls the action with the label of every vertex that is the departing node of an edge arriving to the current
+     * node.
+     *
+     * @param action
+     */
+    public void forEachInNeighbor(IntConsumer action);
+
+    /**
+     * Calls the visitor for every {@link Edge} departing the current node, without copying the node's edges.
+     *
+     * @param visitor
+     */
+    public void forEachOutEdge(EdgeVisitor visitor);
+
+    /**
+     * Calls the action with the label of every vertex reachable through an edge departing the current node.
+     *
+     * @param action
+     */
+    public void forEachOutNeighbor(IntConsumer action);
+
     /**
      * Returns the {@link Edge} connecting this iterator and the vertex with label <i>v</i>.
      *
@@ -139,6 +179,13 @@ public interface GraphIterator<T> extends Iterator<T>
      */
     public T get();
 
+    /**
+     * Returns the number of edges arriving to the current node.
+     *
+     * @return
+     */
+    public int inDegree();
+
     /**
      * Returns true if this iterator is adjacent to some specified {@link Node}
      *
@@ -204,6 +251,13 @@ public interface GraphIterator<T> extends Iterator<T>
      */
     public T next(int u);
 
+    /**
+     * Returns the number of edges departing the current node.
+     *
+     * @return
+     */
+    public int outDegree();
+
     /**
      * Removes an attribute from a node.
      *
@@ -0,0 +1,160 @@
+/*
+ * Copyright (C) 2022 CUJAE.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+package cu.edu.cujae.graphy.core.iterators;
+
+import cu.edu.cujae.graphy.core.Graph;
+import cu.edu.cujae.graphy.core.exceptions.InvalidOperationException;
+import cu.edu.cujae.graphy.core.properties.IntVertexProperty;
+import cu.edu.cujae.graphy.utils.IntStack;
+import java.util.Collection;
+import java.util.function.IntConsumer;
+
+/**
+ * A copy of the adjacency of a graph in primitive arrays, over dense positions assigned to the vertices in the order
+ * the graph returns their labels: <code>outOffsets[i] .. outOffsets[i + 1]</code> is the range of
+ * <code>outTargets</code> holding the positions of the successors of the vertex at position <i>i</i>, and the same
+ * scheme is used for the predecessors. The searches of this package copy the adjacency once, so their inner loops run
+ * over plain arrays and may stop early; later changes to the graph are not seen by the copy.
+ * <p>
+ * Every vertex is read once, so a graph guarding its adjacency, as a concurrent graph does, may be copied while other
+ * threads modify it: the adjacency of each vertex is the one it had when it was read, neighbors added after the
+ * vertices were listed are left out, and vertices removed meanwhile are left without neighbors.
+ * <p>
+ * Edges are followed in both directions on undirected graphs, so there the predecessors of a vertex are its
+ * successors and both share the same arrays.
+ *
+ * @author Javier Marrero
+ */
+final class IndexedAdjacency
+{
+
+    private static final int NONE = -1;
+
+    final int[] inOffsets;
+    final int[] inSources;
+    final int[] labels;
+    final int[] outOffsets;
+    final int[] outTargets;
+    private final IntVertexProperty positions;
+
+    IndexedAdjacency(Graph<?> graph)
+    {
+        Collection<Integer> vertices = graph.getLabels();
+        final int n = vertices.size();
+        this.labels = new int[n];
+        this.positions = graph.newIntVertexProperty(NONE);
+
+        int k = 0;
+        for (int label : vertices)
+        {
+            labels[k] = label;
+            try
+            {
+                positions.set(label, k);
+            }
+            catch (InvalidOperationException ex)
+            {
+                // The vertex was removed after the vertices were listed
+            }
+            ++k;
+        }
+
+        this.outOffsets = new int[n + 1];
+        this.outTargets = adjacency(graph, outOffsets, true, !graph.isDirected());
+        if (graph.isDirected())
+        {
+            this.inOffsets = new int[n + 1];
+            this.inSources = adjacency(graph, inOffsets, false, true);
+        }
+        else
+        {
+            this.inOffsets = outOffsets;
+            this.inSources = outTargets;
+        }
+    }
+
+    /**
+     * Returns the position of the vertex.
+     *
+     * @param label
+     *
+     * @return
+     *
+     * @throws InvalidOperationException if the vertex did not belong to the graph when the adjacency was copied.
+     */
+    int positionOf(int label)
+    {
+        int position = positions.get(label);
+        if (position == NONE || labels[position] != label)
+        {
+            throw new InvalidOperationException("Attempted to access node " + label
+                                                        + " in a graph that does not contains it.");
+        }
+        return position;
+    }
+
+    /**
+     * @return the number of vertices.
+     */
+    int size()
+    {
+        return labels.length;
+    }
+
+    private int[] adjacency(Graph<?> graph, int[] offsets, boolean out, boolean in)
+    {
+        final IntStack neighbors = new IntStack((out && in) ? 2 * graph.edgeCount() : graph.edgeCount());
+        IntConsumer collector = v -> 
+        {
+            // Vertices added later have no position, or the position of a removed vertex whose index they reuse
+            int q = positions.get(v);
+            if (q != NONE && labels[q] == v)
+            {
+                neighbors.push(q);
+            }
+        };
+        for (int i = 0; i < labels.length; ++i)
+        {
+            try
+            {
+                visitNeighbors(graph, labels[i], out, in, collector);
+            }
+            catch (InvalidOperationException ex)
+            {
+                // The vertex was removed after the vertices were listed
+                neighbors.truncate(offsets[i]);
+            }
+            offsets[i + 1] = neighbors.size();
+        }
+        return neighbors.toArray();
+    }
+
+    private static void visitNeighbors(Graph<?> graph, int label, boolean out, boolean in, IntConsumer action)
+    {
+        if (out)
+        {
+            graph.forEachOutNeighbor(label, action);
+        }
+        if (in)
+        {
+            graph.forEachInNeighbor(label, action);
+        }
+    }
+
+}
@@ -0,0 +1,337 @@
+/*
+ * Copyright (C) 2022 CUJAE.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+package cu.edu.cujae.graphy.core.iterators;
+
+import cu.edu.cujae.graphy.core.Graph;
+import cu.edu.cujae.graphy.core.exceptions.InvalidOperationException;
+import cu.edu.cujae.graphy.core.properties.IntVertexProperty;
+import cu.edu.cujae.graphy.utils.IntStack;
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * A level-synchronous breadth-first search that expands every level of its frontier in parallel on the common
+ * {@link java.util.concurrent.ForkJoinPool}. The frontier is split among fork-join tasks, and a vertex is claimed by
+ * the first task that compares-and-sets its parent from unreached to one of its predecessors, so every vertex is
+ * reached exactly once without locks; the level of a vertex is then written by the only task that claimed it. Every
+ * task collects the vertices it claims and appends them to the next frontier with a single atomic reservation.
+ * <p>
+ * The parents are kept in an {@link AtomicIntegerArray}, which compares-and-sets the elements of a primitive
+ * <code>int</code> array in place, and the levels in a plain <code>int</code> array, so the search does not box.
+ * Frontiers smaller than {@link #SEQUENTIAL_THRESHOLD} vertices are expanded by the calling thread alone.
+ * <p>
+ * The adjacency of the graph is copied into primitive arrays when the search is created, so the search may be reused
+ * from one source to the next; later changes to the graph are not seen by the search. Every vertex is copied once,
+ * so graphs guarding the adjacency of each vertex may keep being modified while the copy is made. The properties
+ * returned by {@link #levels()} and {@link #parents()} leave out the vertices removed since. Edges are followed in
+ * both directions on undirected graphs.
+ *
+ * @author Javier Marrero
+ * @see Graph#parallelBreadthFirstSearch(int)
+ */
+public class ParallelBreadthFirstSearch
+{
+
+    /**
+     * The number of frontier vertices a task expands by itself instead of splitting them among two new tasks.
+     */
+    public static final int SEQUENTIAL_THRESHOLD = 256;
+
+    private static final int NONE = -1;
+
+    private final IndexedAdjacency adjacency;
+    private final Graph<?> graph;
+    private int level;
+    private int levelEnd;
+    private int levelStart;
+    private final int[] levels;
+    private final int[] order;
+    private final AtomicIntegerArray parents;
+    private final AtomicInteger reached;
+
+    /**
+     * Creates a search over the graph.
+     *
+     * @param graph
+     */
+    public ParallelBreadthFirstSearch(Graph<?> graph)
+    {
+        this.adjacency = new IndexedAdjacency(graph);
+        this.graph = graph;
+        this.levels = new int[adjacency.size()];
+        this.order = new int[adjacency.size()];
+        this.parents = new AtomicIntegerArray(adjacency.size());
+        this.reached = new AtomicInteger();
+
+        Arrays.fill(levels, NONE);
+        for (int i = 0; i < adjacency.size(); ++i)
+        {
+            parents.set(i, NONE);
+        }
+    }
+
+    /**
+     * Returns true if the search has reached the vertex.
+     *
+     * @param label
+     *
+     * @return
+     */
+    public boolean isReached(int label)
+    {
+        return parents.get(adjacency.positionOf(label)) != NONE;
+    }
+
+    /**
+     * Returns the level of the last vertices reached, the source being at level zero.
+     *
+     * @return
+     */
+    public int level()
+    {
+        return level;
+    }
+
+    /**
+     * Returns the level of the vertex, its distance in edges from the source, or -1 if it has not been reached.
+     *
+     * @param label
+     *
+     * @return
+     */
+    public int level(int label)
+    {
+        return levels[adjacency.positionOf(label)];
+    }
+
+    /**
+     * Returns a new property holding the level of every vertex of the graph, -1 for the vertices not reached.
+     *
+     * @return
+     */
+    public IntVertexProperty levels()
+    {
+        IntVertexProperty property = graph.newIntVertexProperty(NONE);
+        for (int i = 0; i < reached.get(); ++i)
+        {
+            try
+            {
+                property.set(adjacency.labels[order[i]], levels[order[i]]);
+            }
+            catch (InvalidOperationException ex)
+            {
+                // The vertex was removed from the graph after the search copied it
+            }
+        }
+        return property;
+    }
+
+    /**
+     * Returns the vertex through which the search reached the given one; the source is its own parent.
+     *
+     * @param label
+     *
+     * @return
+     *
+     * @throws NoSuchElementException if the vertex has not been reached.
+     */
+    public int parent(int label)
+    {
+        int parent = parents.get(adjacency.positionOf(label));
+        if (parent == NONE)
+        {
+            throw new NoSuchElementException("Vertex " + label + " has not been reached by the search.");
+        }
+        return adjacency.labels[parent];
+    }
+
+    /**
+     * Returns a new property holding the parent of every vertex of the graph in the breadth-first tree, the source
+     * being its own parent, and -1 for the vertices not reached.
+     *
+     * @return
+     */
+    public IntVertexProperty parents()
+    {
+        IntVertexProperty property = graph.newIntVertexProperty(NONE);
+        for (int i = 0; i < reached.get(); ++i)
+        {
+            try
+            {
+                property.set(adjacency.labels[order[i]], adjacency.labels[parents.get(order[i])]);
+            }
+            catch (InvalidOperationException ex)
+            {
+                // The vertex was removed from the graph after the search copied it
+            }
+        }
+        return property;
+    }
+
+    /**
+     * Returns the vertices on a shortest path from the source to the given vertex, both included.
+     *
+     * @param label
+     *
+     * @return the path, or an empty array if the vertex has not been reached.
+     */
+    public int[] pathTo(int label)
+    {
+        int v = adjacency.positionOf(label);
+        if (levels[v] == NONE)
+        {
+            return new int[0];
+        }
+        int[] path = new int[levels[v] + 1];
+        for (int i = path.length - 1; i >= 0; --i)
+        {
+            path[i] = adjacency.labels[v];
+            v = parents.get(v);
+        }
+        return path;
+    }
+
+    /**
+     * Returns the number of vertices reached so far.
+     *
+     * @return
+     */
+    public int reached()
+    {
+        return reached.get();
+    }
+
+    /**
+     * Runs the whole search from the source.
+     *
+     * @param source
+     */
+    public void search(int source)
+    {
+        start(source);
+        while (step())
+        {
+            // Every step expands one level
+        }
+    }
+
+    /**
+     * Starts a new search from the source, forgetting the previous one. Only the source is reached until
+     * {@link #step()} is called.
+     *
+     * @param source
+     */
+    public void start(int source)
+    {
+        int s = adjacency.positionOf(source);
+
+        // Only the vertices reached by the previous search need to be forgotten
+        for (int i = 0; i < reached.get(); ++i)
+        {
+            levels[order[i]] = NONE;
+            parents.set(order[i], NONE);
+        }
+
+        levels[s] = 0;
+        parents.set(s, s);
+        order[0] = s;
+        reached.set(1);
+        level = 0;
+        levelStart = 0;
+        levelEnd = 1;
+    }
+
+    /**
+     * Expands the frontier by one level; the vertices of the new level come in no particular order.
+     *
+     * @return true if new vertices were reached, false once the search has ended.
+     */
+    public boolean step()
+    {
+        if (levelStart == levelEnd)
+        {
+            return false;
+        }
+
+        // Running the root task in the calling thread spares small frontiers the trip to the pool
+        new Expansion(levelStart, levelEnd).invoke();
+
+        levelStart = levelEnd;
+        levelEnd = reached.get();
+        ++level;
+        return levelStart != levelEnd;
+    }
+
+    /**
+     * Expands a range of the frontier, splitting it in halves until they are small enough.
+     */
+    private class Expansion extends RecursiveAction
+    {
+
+        private static final long serialVersionUID = 1L;
+
+        private final int end;
+        private final int start;
+
+        Expansion(int start, int end)
+        {
+            this.start = start;
+            this.end = end;
+        }
+
+        @Override
+        protected void compute()
+        {
+            if (end - start > SEQUENTIAL_THRESHOLD)
+            {
+                int middle = (start + end) >>> 1;
+                invokeAll(new Expansion(start, middle), new Expansion(middle, end));
+                return;
+            }
+
+            IntStack claimed = new IntStack();
+            int next = level + 1;
+            for (int i = start; i < end; ++i)
+            {
+                int u = order[i];
+                for (int e = adjacency.outOffsets[u]; e < adjacency.outOffsets[u + 1]; ++e)
+                {
+                    int v = adjacency.outTargets[e];
+                    if (parents.get(v) == NONE && parents.compareAndSet(v, NONE, u))
+                    {
+                        levels[v] = next;
+                        claimed.push(v);
+                    }
+                }
+            }
+
+            // Reserve room for the claimed vertices at the end of the next frontier
+            int at = reached.getAndAdd(claimed.size());
+            for (int i = 0; i < claimed.size(); ++i)
+            {
+                order[at + i] = claimed.get(i);
+            }
+        }
+
+    }
+
+}
@@ -0,0 +1,155 @@
+/*
+ * Copyright (C) 2022 CUJAE.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+package cu.edu.cujae.graphy.core.iterators;
+
+import cu.edu.cujae.graphy.core.Graph;
+import cu.edu.cujae.graphy.core.properties.MarkVertexProperty;
+import cu.edu.cujae.graphy.utils.IntQueue;
+import cu.edu.cujae.graphy.utils.IntStack;
+import java.util.ArrayDeque;
+
+/**
+ * The working memory of a traversal: the marks of the vertices it visits, a queue and two stacks. A context is reused
+ * from one traversal to the next, so that a thread running many traversals over the same graph allocates nothing once
+ * the buffers have grown; the marks are cleared in constant time, see {@link MarkVertexProperty}.
+ * <p>
+ * Contexts are pooled per thread: {@link #acquire()} takes one from the pool of the calling thread and {@link #close()}
+ * returns it, so they are meant to be used in a try-with-resources statement,
+ * <pre>
+ * try (TraversalContext context = TraversalContext.acquire())
+ * {
+ *     Iterator&lt;T&gt; it = graph.breadthFirstSearchIterator(v, false, context);
+ *     ...
+ * }
+ * </pre>
+ * A context serves one traversal at a time, and must not be used by a traversal once closed. Nested traversals
+ * acquire contexts of their own.
+ *
+ * @author Javier Marrero
+ */
+public class TraversalContext implements AutoCloseable
+{
+
+    private static final ThreadLocal<ArrayDeque<TraversalContext>> POOL = ThreadLocal.withInitial(ArrayDeque::new);
+
+    private final IntStack frames;
+    private Graph<?> graph;
+    private MarkVertexProperty marks;
+    private boolean open;
+    private final IntQueue queue;
+    private final IntStack stack;
+
+    /**
+     * Creates a context that does not belong to any pool. {@link #acquire()} should be preferred.
+     */
+    public TraversalContext()
+    {
+        this.frames = new IntStack();
+        this.queue = new IntQueue();
+        this.stack = new IntStack();
+    }
+
+    /**
+     * Takes a context from the pool of the calling thread, creating one if the pool is empty.
+     *
+     * @return
+     */
+    public static TraversalContext acquire()
+    {
+        TraversalContext context = POOL.get().poll();
+        if (context == null)
+        {
+            context = new TraversalContext();
+        }
+        context.open = true;
+        return context;
+    }
+
+    /**
+     * Returns this context to the pool of the calling thread. Closing a context that was not acquired, or closing it
+     * twice, does nothing.
+     */
+    @Override
+    public void close()
+    {
+        if (open)
+        {
+            open = false;
+            POOL.get().push(this);
+        }
+    }
+
+    /**
+     * Returns the second stack of this context, emptied, for the traversals that keep the state of every entry of
+     * their stack apart from its values.
+     *
+     * @return
+     */
+    public IntStack frames()
+    {
+        frames.clear();
+        return frames;
+    }
+
+    /**
+     * Returns the marks of the vertices of the graph, every vertex unmarked. The property is kept between calls for
+     * the same graph and cleared in constant time; it is only created again when the graph changes, so a pooled
+     * context holds on to the last graph it traversed.
+     *
+     * @param graph
+     *
+     * @return
+     */
+    public MarkVertexProperty marks(Graph<?> graph)
+    {
+        if (this.graph != graph)
+        {
+            this.graph = graph;
+            this.marks = graph.newMarkVertexProperty();
+        }
+        else
+        {
+            marks.clear();
+        }
+        return marks;
+    }
+
+    /**
+     * Returns the queue of this context, emptied.
+     *
+     * @return
+     */
+    public IntQueue queue()
+    {
+        queue.clear();
+        return queue;
+    }
+
+    /**
+     * Returns the stack of this context, emptied.
+     *
+     * @return
+     */
+    public IntStack stack()
+    {
+        stack.clear();
+        return stack;
+    }
+
+}
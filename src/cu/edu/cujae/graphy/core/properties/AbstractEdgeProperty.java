@@ -0,0 +1,79 @@
+/*
+ * Copyright (C) 2022 CUJAE.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+package cu.edu.cujae.graphy.core.properties;
+
+import cu.edu.cujae.graphy.core.exceptions.InvalidOperationException;
+
+/**
+ * Base class of the edge properties: columns holding one value per edge of an {@link EdgeIndex}, stored in arrays
+ * indexed by edge identifier. Properties are attached to a graph for the duration of an algorithm run and dropped
+ * afterwards, so the graph itself is neither modified nor copied.
+ *
+ * @author Javier Marrero
+ */
+public abstract class AbstractEdgeProperty
+{
+
+    private final EdgeIndex index;
+
+    /**
+     * Creates a property over the edges of the index.
+     *
+     * @param index
+     */
+    protected AbstractEdgeProperty(EdgeIndex index)
+    {
+        this.index = index;
+    }
+
+    /**
+     * Returns every edge to the default value of this property.
+     */
+    public abstract void clear();
+
+    /**
+     * @return the index numbering the edges of this property.
+     */
+    public EdgeIndex getIndex()
+    {
+        return index;
+    }
+
+    /**
+     * Returns the identifier of the edge <code>(u, v)</code>.
+     *
+     * @param u
+     * @param v
+     *
+     * @return
+     *
+     * @throws InvalidOperationException if the graph has no such edge.
+     */
+    protected int requireId(int u, int v)
+    {
+        int id = index.idOf(u, v);
+        if (id < 0)
+        {
+            throw new InvalidOperationException("Attempted to access edge (" + u + ", " + v
+                                                        + ") in a graph that does not contains it.");
+        }
+        return id;
+    }
+
+}
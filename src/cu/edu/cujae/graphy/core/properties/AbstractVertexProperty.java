@@ -0,0 +1,86 @@
+/*
+ * Copyright (C) 2022 CUJAE.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+package cu.edu.cujae.graphy.core.properties;
+
+import cu.edu.cujae.graphy.core.exceptions.InvalidOperationException;
+import java.util.function.IntUnaryOperator;
+
+/**
+ * Base class of the vertex properties: columns holding one value per vertex, stored in arrays indexed by the dense
+ * index of each vertex instead of in the attribute map of every node. They are meant to keep the state of algorithms
+ * (distances, colors, levels) while the graph they belong to is not structurally modified; the values of removed
+ * vertices are not cleared, and a vertex added later may reuse the index of a removed one.
+ *
+ * @author Javier Marrero
+ */
+public abstract class AbstractVertexProperty
+{
+
+    private final IntUnaryOperator indexer;
+
+    /**
+     * Creates a property whose vertices are mapped to their indexes by <code>indexer</code>, which returns a negative
+     * value for labels that do not belong to the graph.
+     *
+     * @param indexer
+     */
+    protected AbstractVertexProperty(IntUnaryOperator indexer)
+    {
+        this.indexer = indexer;
+    }
+
+    /**
+     * Returns every vertex to the default value of this property.
+     */
+    public abstract void clear();
+
+    /**
+     * Returns the capacity to grow an array of the given length to so that it holds <code>index</code>.
+     *
+     * @param length
+     * @param index
+     *
+     * @return
+     */
+    protected static int grownCapacity(int length, int index)
+    {
+        return Math.max(length << 1, index + 1);
+    }
+
+    /**
+     * Returns the dense index of the vertex.
+     *
+     * @param label
+     *
+     * @return
+     *
+     * @throws InvalidOperationException if the vertex does not belong to the graph.
+     */
+    protected int indexOf(int label)
+    {
+        int index = indexer.applyAsInt(label);
+        if (index < 0)
+        {
+            throw new InvalidOperationException("Attempted to access node " + label
+                                                        + " in a graph that does not contains it.");
+        }
+        return index;
+    }
+
+}
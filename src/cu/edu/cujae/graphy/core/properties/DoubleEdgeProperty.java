@@ -0,0 +1,122 @@
+/*
+ * Copyright (C) 2022 CUJAE.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+package cu.edu.cujae.graphy.core.properties;
+
+import java.util.Arrays;
+
+/**
+ * An edge property holding one <code>double</code> per edge in a primitive array.
+ *
+ * @author Javier Marrero
+ * @see EdgeIndex#newDoubleProperty(double)
+ */
+public class DoubleEdgeProperty extends AbstractEdgeProperty
+{
+
+    private final double defaultValue;
+    private final double[] values;
+
+    /**
+     * Creates a property over the edges of the index. Edges read <code>defaultValue</code> until a value is set for
+     * them.
+     *
+     * @param index
+     * @param defaultValue
+     */
+    public DoubleEdgeProperty(EdgeIndex index, double defaultValue)
+    {
+        super(index);
+        this.defaultValue = defaultValue;
+        this.values = new double[index.size()];
+        clear();
+    }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public void clear()
+    {
+        Arrays.fill(values, defaultValue);
+    }
+
+    /**
+     * Returns the value of the edge with the given identifier.
+     *
+     * @param id
+     *
+     * @return
+     */
+    public double get(int id)
+    {
+        return values[id];
+    }
+
+    /**
+     * Returns the value of the edge <code>(u, v)</code>, or the default value if the graph has no such edge.
+     *
+     * @param u
+     * @param v
+     *
+     * @return
+     */
+    public double get(int u, int v)
+    {
+        int id = getIndex().idOf(u, v);
+        return (id >= 0) ? values[id] : defaultValue;
+    }
+
+    /**
+     * @return the value of the edges that were never set.
+     */
+    public double getDefaultValue()
+    {
+        return defaultValue;
+    }
+
+    /**
+     * Sets the value of the edge with the given identifier and returns the previous one.
+     *
+     * @param id
+     * @param value
+     *
+     * @return
+     */
+    public double set(int id, double value)
+    {
+        double previous = values[id];
+        values[id] = value;
+        return previous;
+    }
+
+    /**
+     * Sets the value of the edge <code>(u, v)</code> and returns the previous one.
+     *
+     * @param u
+     * @param v
+     * @param value
+     *
+     * @return
+     */
+    public double set(int u, int v, double value)
+    {
+        return set(requireId(u, v), value);
+    }
+
+}
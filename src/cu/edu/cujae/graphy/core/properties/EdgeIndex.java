@@ -0,0 +1,299 @@
+/*
+ * Copyright (C) 2022 CUJAE.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+package cu.edu.cujae.graphy.core.properties;
+
+import cu.edu.cujae.graphy.core.Graph;
+import cu.edu.cujae.graphy.core.exceptions.InvalidOperationException;
+import cu.edu.cujae.graphy.utils.IntStack;
+import java.util.Arrays;
+import java.util.Collection;
+
+/**
+ * Numbers the edges of a graph with dense identifiers in the range <code>[0, size())</code>, so that per-edge state
+ * (flows, capacities, visited flags) can be kept in the primitive arrays of the edge properties built from this index
+ * instead of in the edges themselves.
+ * <p>
+ * The index describes the graph as it was when the index was built. Edges are identified by their endpoints: the
+ * edges departing each vertex get consecutive identifiers, ordered as the vertices are in
+ * {@link Graph#getLabels()}. Parallel edges share one identifier, and so do <code>(u, v)</code> and
+ * <code>(v, u)</code> in undirected graphs.
+ * <p>
+ * Every vertex is read once, so a graph guarding the adjacency of each vertex, as a concurrent graph does, may be
+ * indexed while other threads modify it: the edges of each vertex are the ones it had when it was read, and the
+ * vertices added or removed meanwhile are left out.
+ *
+ * @author Javier Marrero
+ */
+public class EdgeIndex
+{
+
+    private static final int NONE = -1;
+
+    private final boolean directed;
+    private final int[] labels;
+    private final int[] offsets;
+    private final IntVertexProperty positions;
+    private final int[] sources;
+    private final int[] targets;
+
+    /**
+     * Builds the index of the edges the graph has now, in <code>O(V + E log E)</code> time.
+     *
+     * @param graph
+     */
+    public EdgeIndex(Graph<?> graph)
+    {
+        Collection<Integer> vertices = graph.getLabels();
+        int n = vertices.size();
+
+        this.directed = graph.isDirected();
+        this.labels = new int[n];
+        this.positions = graph.newIntVertexProperty(NONE);
+        int position = 0;
+        for (int label : vertices)
+        {
+            labels[position] = label;
+            try
+            {
+                positions.set(label, position);
+            }
+            catch (InvalidOperationException ex)
+            {
+                // The vertex was removed after the vertices were listed
+            }
+            ++position;
+        }
+
+        // Read every vertex once, collecting its edges as (source, target) pairs; undirected edges depart their
+        // lowest endpoint
+        IntStack pairs = new IntStack(2 * graph.edgeCount());
+        for (int p = 0; p < n; ++p)
+        {
+            final int u = p;
+            int mark = pairs.size();
+            try
+            {
+                graph.forEachOutNeighbor(labels[p], v -> 
+                {
+                    // Vertices added later have no position, or the position of a removed vertex whose index they
+                    // reuse
+                    int q = positions.get(v);
+                    if (q != NONE && labels[q] == v)
+                    {
+                        int s = source(u, q);
+                        pairs.push(s);
+                        pairs.push((s == u) ? q : u);
+                    }
+                });
+            }
+            catch (InvalidOperationException ex)
+            {
+                // The vertex was removed after the vertices were listed
+                pairs.truncate(mark);
+            }
+        }
+
+        // Count the edges departing each vertex
+        int[] counts = new int[n + 1];
+        for (int k = 0; k < pairs.size(); k += 2)
+        {
+            ++counts[pairs.get(k) + 1];
+        }
+        for (int p = 0; p < n; ++p)
+        {
+            counts[p + 1] += counts[p];
+        }
+
+        // Lay the targets out by source, then sort and deduplicate each run
+        int[] cursors = Arrays.copyOf(counts, n);
+        int[] all = new int[counts[n]];
+        for (int k = 0; k < pairs.size(); k += 2)
+        {
+            all[cursors[pairs.get(k)]++] = pairs.get(k + 1);
+        }
+
+        this.offsets = new int[n + 1];
+        int size = 0;
+        for (int p = 0; p < n; ++p)
+        {
+            Arrays.sort(all, counts[p], counts[p + 1]);
+            offsets[p] = size;
+            for (int k = counts[p]; k < counts[p + 1]; ++k)
+            {
+                if (k == counts[p] || all[k] != all[k - 1])
+                {
+                    all[size++] = all[k];
+                }
+            }
+        }
+        offsets[n] = size;
+
+        this.targets = Arrays.copyOf(all, size);
+        this.sources = new int[size];
+        for (int p = 0; p < n; ++p)
+        {
+            Arrays.fill(sources, offsets[p], offsets[p + 1], p);
+        }
+    }
+
+    /**
+     * Returns the identifier of the first edge departing <code>u</code>. The edges departing <code>u</code> have the
+     * identifiers <code>firstOutEdge(u) .. firstOutEdge(u) + outDegree(u) - 1</code>, ordered by their targets. In
+     * undirected graphs an edge only departs the endpoint that comes first in {@link Graph#getLabels()}.
+     *
+     * @param u
+     *
+     * @return
+     */
+    public int firstOutEdge(int u)
+    {
+        return offsets[positionOf(u)];
+    }
+
+    /**
+     * Returns the identifier of the edge <code>(u, v)</code>, or -1 if the graph had no such edge.
+     *
+     * @param u
+     * @param v
+     *
+     * @return
+     */
+    public int idOf(int u, int v)
+    {
+        int p = positionOf(u);
+        int q = positionOf(v);
+        if (!directed && q < p)
+        {
+            int temp = p;
+            p = q;
+            q = temp;
+        }
+        int k = Arrays.binarySearch(targets, offsets[p], offsets[p + 1], q);
+        return (k >= 0) ? k : -1;
+    }
+
+    /**
+     * @return true if the indexed graph was directed.
+     */
+    public boolean isDirected()
+    {
+        return directed;
+    }
+
+    /**
+     * Returns a new property holding one <code>double</code> per edge of this index.
+     *
+     * @param defaultValue
+     *
+     * @return
+     */
+    public DoubleEdgeProperty newDoubleProperty(double defaultValue)
+    {
+        return new DoubleEdgeProperty(this, defaultValue);
+    }
+
+    /**
+     * Returns a new property holding one <code>int</code> per edge of this index.
+     *
+     * @param defaultValue
+     *
+     * @return
+     */
+    public IntEdgeProperty newIntProperty(int defaultValue)
+    {
+        return new IntEdgeProperty(this, defaultValue);
+    }
+
+    /**
+     * Returns a new property holding one object per edge of this index.
+     *
+     * @param <V>
+     * @param defaultValue
+     *
+     * @return
+     */
+    public <V> ObjectEdgeProperty<V> newObjectProperty(V defaultValue)
+    {
+        return new ObjectEdgeProperty<>(this, defaultValue);
+    }
+
+    /**
+     * Returns the number of edges departing <code>u</code>.
+     *
+     * @param u
+     *
+     * @return
+     *
+     * @see #firstOutEdge(int)
+     */
+    public int outDegree(int u)
+    {
+        int p = positionOf(u);
+        return offsets[p + 1] - offsets[p];
+    }
+
+    /**
+     * @return the number of edges of this index.
+     */
+    public int size()
+    {
+        return targets.length;
+    }
+
+    /**
+     * Returns the label of the vertex the edge departs.
+     *
+     * @param id
+     *
+     * @return
+     */
+    public int sourceOf(int id)
+    {
+        return labels[sources[id]];
+    }
+
+    /**
+     * Returns the label of the vertex the edge arrives to.
+     *
+     * @param id
+     *
+     * @return
+     */
+    public int targetOf(int id)
+    {
+        return labels[targets[id]];
+    }
+
+    private int positionOf(int label)
+    {
+        int position = positions.get(label);
+        if (position == NONE || labels[position] != label)
+        {
+            throw new InvalidOperationException("Attempted to access node " + label
+                                                        + " in a graph that does not contains it.");
+        }
+        return position;
+    }
+
+    private int source(int p, int q)
+    {
+        return (directed || p <= q) ? p : q;
+    }
+
+}
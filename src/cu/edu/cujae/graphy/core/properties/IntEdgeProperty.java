@@ -0,0 +1,122 @@
+/*
+ * Copyright (C) 2022 CUJAE.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+package cu.edu.cujae.graphy.core.properties;
+
+import java.util.Arrays;
+
+/**
+ * An edge property holding one <code>int</code> per edge in a primitive array.
+ *
+ * @author Javier Marrero
+ * @see EdgeIndex#newIntProperty(int)
+ */
+public class IntEdgeProperty extends AbstractEdgeProperty
+{
+
+    private final int defaultValue;
+    private final int[] values;
+
+    /**
+     * Creates a property over the edges of the index. Edges read <code>defaultValue</code> until a value is set for
+     * them.
+     *
+     * @param index
+     * @param defaultValue
+     */
+    public IntEdgeProperty(EdgeIndex index, int defaultValue)
+    {
+        super(index);
+        this.defaultValue = defaultValue;
+        this.values = new int[index.size()];
+        clear();
+    }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public void clear()
+    {
+        Arrays.fill(values, defaultValue);
+    }
+
+    /**
+     * Returns the value of the edge with the given identifier.
+     *
+     * @param id
+     *
+     * @return
+     */
+    public int get(int id)
+    {
+        return values[id];
+    }
+
+    /**
+     * Returns the value of the edge <code>(u, v)</code>, or the default value if the graph has no such edge.
+     *
+     * @param u
+     * @param v
+     *
+     * @return
+     */
+    public int get(int u, int v)
+    {
+        int id = getIndex().idOf(u, v);
+        return (id >= 0) ? values[id] : defaultValue;
+    }
+
+    /**
+     * @return the value of the edges that were never set.
+     */
+    public int getDefaultValue()
+    {
+        return defaultValue;
+    }
+
+    /**
+     * Sets the value of the edge with the given identifier and returns the previous one.
+     *
+     * @param id
+     * @param value
+     *
+     * @return
+     */
+    public int set(int id, int value)
+    {
+        int previous = values[id];
+        values[id] = value;
+        return previous;
+    }
+
+    /**
+     * Sets the value of the edge <code>(u, v)</code> and returns the previous one.
+     *
+     * @param u
+     * @param v
+     * @param value
+     *
+     * @return
+     */
+    public int set(int u, int v, int value)
+    {
+        return set(requireId(u, v), value);
+    }
+
+}
@@ -0,0 +1,141 @@
+/*
+ * Copyright (C) 2022 CUJAE.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+package cu.edu.cujae.graphy.core.properties;
+
+import java.util.Arrays;
+import java.util.function.IntUnaryOperator;
+
+/**
+ * A vertex property holding a small mark per vertex, such as whether a traversal has discovered or finished it, that
+ * returns every vertex to unmarked in constant time.
+ * <p>
+ * Each vertex stores an <code>int</code> stamp, and a vertex is marked only when its stamp is above the base of the
+ * current epoch; {@link #clear()} just advances that base past every stamp written so far. The array is only filled
+ * again when the base is about to overflow, once every several hundred million clears, so a property reused across
+ * many traversals costs nothing per traversal beyond the vertices it marks.
+ *
+ * @author Javier Marrero
+ * @see cu.edu.cujae.graphy.core.Graph#newMarkVertexProperty()
+ */
+public class MarkVertexProperty extends AbstractVertexProperty
+{
+
+    /**
+     * The largest mark a vertex may hold.
+     */
+    public static final int MAX_MARK = 3;
+
+    private int base;
+    private int[] stamps;
+
+    /**
+     * Creates a property with room for <code>capacity</code> vertices before growing. Every vertex is unmarked.
+     *
+     * @param indexer
+     * @param capacity
+     */
+    public MarkVertexProperty(IntUnaryOperator indexer, int capacity)
+    {
+        super(indexer);
+        this.base = 0;
+        this.stamps = new int[capacity];
+    }
+
+    /**
+     * Returns every vertex to unmarked in constant time.
+     */
+    @Override
+    public void clear()
+    {
+        if (base > Integer.MAX_VALUE - 2 * MAX_MARK)
+        {
+            Arrays.fill(stamps, 0);
+            base = 0;
+        }
+        else
+        {
+            base += MAX_MARK;
+        }
+    }
+
+    /**
+     * Returns the mark of the vertex, zero if it is unmarked.
+     *
+     * @param label
+     *
+     * @return
+     */
+    public int get(int label)
+    {
+        int index = indexOf(label);
+        return index < stamps.length ? Math.max(stamps[index] - base, 0) : 0;
+    }
+
+    /**
+     * Returns true if the vertex holds a mark.
+     *
+     * @param label
+     *
+     * @return
+     */
+    public boolean isMarked(int label)
+    {
+        return get(label) != 0;
+    }
+
+    /**
+     * Sets the mark of the vertex, zero to unmark it.
+     *
+     * @param label
+     * @param mark
+     *
+     * @throws IllegalArgumentException if the mark is negative or greater than {@link #MAX_MARK}.
+     */
+    public void set(int label, int mark)
+    {
+        if (mark < 0 || mark > MAX_MARK)
+        {
+            throw new IllegalArgumentException("Vertex marks range from 0 to " + MAX_MARK + ": " + mark);
+        }
+        int index = indexOf(label);
+        if (index >= stamps.length)
+        {
+            stamps = Arrays.copyOf(stamps, grownCapacity(stamps.length, index));
+        }
+        stamps[index] = base + mark;
+    }
+
+    /**
+     * Marks the vertex with one if it was unmarked.
+     *
+     * @param label
+     *
+     * @return true if the vertex was unmarked.
+     */
+    public boolean visit(int label)
+    {
+        if (isMarked(label))
+        {
+            return false;
+        }
+        set(label, 1);
+        return true;
+    }
+
+}
@@ -0,0 +1,126 @@
+/*
+ * Copyright (C) 2022 CUJAE.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+package cu.edu.cujae.graphy.core.properties;
+
+import java.util.Arrays;
+
+/**
+ * An edge property holding one reference per edge in an array.
+ *
+ * @author Javier Marrero
+ * @param <V>
+ * @see EdgeIndex#newObjectProperty(java.lang.Object)
+ */
+public class ObjectEdgeProperty<V> extends AbstractEdgeProperty
+{
+
+    private final V defaultValue;
+    private final Object[] values;
+
+    /**
+     * Creates a property over the edges of the index. Edges read <code>defaultValue</code> until a value is set for
+     * them.
+     *
+     * @param index
+     * @param defaultValue
+     */
+    public ObjectEdgeProperty(EdgeIndex index, V defaultValue)
+    {
+        super(index);
+        this.defaultValue = defaultValue;
+        this.values = new Object[index.size()];
+        clear();
+    }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public void clear()
+    {
+        Arrays.fill(values, defaultValue);
+    }
+
+    /**
+     * Returns the value of the edge with the given identifier.
+     *
+     * @param id
+     *
+     * @return
+     */
+    @SuppressWarnings ("unchecked")
+    public V get(int id)
+    {
+        return (V) values[id];
+    }
+
+    /**
+     * Returns the value of the edge <code>(u, v)</code>, or the default value if the graph has no such edge.
+     *
+     * @param u
+     * @param v
+     *
+     * @return
+     */
+    @SuppressWarnings ("unchecked")
+    public V get(int u, int v)
+    {
+        int id = getIndex().idOf(u, v);
+        return (id >= 0) ? (V) values[id] : defaultValue;
+    }
+
+    /**
+     * @return the value of the edges that were never set.
+     */
+    public V getDefaultValue()
+    {
+        return defaultValue;
+    }
+
+    /**
+     * Sets the value of the edge with the given identifier and returns the previous one.
+     *
+     * @param id
+     * @param value
+     *
+     * @return
+     */
+    @SuppressWarnings ("unchecked")
+    public V set(int id, V value)
+    {
+        V previous = (V) values[id];
+        values[id] = value;
+        return previous;
+    }
+
+    /**
+     * Sets the value of the edge <code>(u, v)</code> and returns the previous one.
+     *
+     * @param u
+     * @param v
+     * @param value
+     *
+     * @return
+     */
+    public V set(int u, int v, V value)
+    {
+        return set(requireId(u, v), value);
+    }
+
+}
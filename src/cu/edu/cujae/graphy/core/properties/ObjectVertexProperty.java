@@ -0,0 +1,115 @@
+/*
+ * Copyright (C) 2022 CUJAE.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+package cu.edu.cujae.graphy.core.properties;
+
+import java.util.Arrays;
+import java.util.function.IntUnaryOperator;
+
+/**
+ * A vertex property holding one reference per vertex in an array.
+ *
+ * @author Javier Marrero
+ * @param <V>
+ * @see cu.edu.cujae.graphy.core.Graph#newObjectVertexProperty(java.lang.Object)
+ */
+public class ObjectVertexProperty<V> extends AbstractVertexProperty
+{
+
+    private final V defaultValue;
+    private Object[] values;
+
+    /**
+     * Creates a property with room for <code>capacity</code> vertices before growing. Vertices read
+     * <code>defaultValue</code> until a value is set for them.
+     *
+     * @param indexer
+     * @param capacity
+     * @param defaultValue
+     */
+    public ObjectVertexProperty(IntUnaryOperator indexer, int capacity, V defaultValue)
+    {
+        super(indexer);
+        this.defaultValue = defaultValue;
+        this.values = new Object[capacity];
+        if (defaultValue != null)
+        {
+            Arrays.fill(values, defaultValue);
+        }
+    }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public void clear()
+    {
+        Arrays.fill(values, defaultValue);
+    }
+
+    /**
+     * Returns the value of the vertex.
+     *
+     * @param label
+     *
+     * @return
+     */
+    @SuppressWarnings ("unchecked")
+    public V get(int label)
+    {
+        int index = indexOf(label);
+        return index < values.length ? (V) values[index] : defaultValue;
+    }
+
+    /**
+     * @return the value of the vertices that were never set.
+     */
+    public V getDefaultValue()
+    {
+        return defaultValue;
+    }
+
+    /**
+     * Sets the value of the vertex and returns the previous one.
+     *
+     * @param label
+     * @param value
+     *
+     * @return
+     */
+    @SuppressWarnings ("unchecked")
+    public V set(int label, V value)
+    {
+        int index = indexOf(label);
+        if (index >= values.length)
+        {
+            grow(index);
+        }
+        V previous = (V) values[index];
+        values[index] = value;
+        return previous;
+    }
+
+    private void grow(int index)
+    {
+        int length = values.length;
+        values = Arrays.copyOf(values, grownCapacity(length, index));
+        Arrays.fill(values, length, values.length, defaultValue);
+    }
+
+}
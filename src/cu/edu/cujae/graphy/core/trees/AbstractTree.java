@@ -133,6 +133,28 @@ public abstract class AbstractTree<E> extends AbstractGraph<E> implements Tree<E
         return usedLabels.add(i);
     }
 
+    /**
+     * Trees hand out the lowest free labels, so labels are used as the dense indexes of the vertices.
+     *
+     * @param label
+     *
+     * @return
+     */
+    @Override
+    protected int vertexIndex(int label)
+    {
+        return (label >= 0 && findNodeByLabel(label) != null) ? label : -1;
+    }
+
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    protected int vertexIndexBound()
+    {
+        return size();
+    }
+
     private int recursiveHeight(TreeNode<E> node)
     {
         if (isRoot(node) && !node.hasChildren())
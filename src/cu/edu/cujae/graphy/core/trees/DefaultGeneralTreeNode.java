@@ -19,10 +19,12 @@
 package cu.edu.cujae.graphy.core.trees;
 
 import cu.edu.cujae.graphy.core.Edge;
+import cu.edu.cujae.graphy.core.EdgeVisitor;
 import cu.edu.cujae.graphy.core.Node;
 import cu.edu.cujae.graphy.core.TreeNode;
 import cu.edu.cujae.graphy.core.exceptions.InvalidKeyException;
 import java.util.*;
+import java.util.function.IntConsumer;
 
 /**
  * Default implementation of the {@link TreeNode} interface.
@@ -72,6 +74,42 @@ public class DefaultGeneralTreeNode<E> extends AbstractTreeNode<E> implements Tr
         throw new UnsupportedOperationException("Not supported yet."); // Generated from nbfs://nbhost/SystemFileSystem/Templates/Classes/Code/GeneratedMethodBody
     }
 
+    @Override
+    public void forEachInEdge(EdgeVisitor visitor)
+    {
+        if (parent != null)
+        {
+            visitor.visit(parent.getStartNode().getLabel(), getLabel(), parent);
+        }
+    }
+
+    @Override
+    public void forEachInNeighbor(IntConsumer action)
+    {
+        if (parent != null)
+        {
+            action.accept(parent.getStartNode().getLabel());
+        }
+    }
+
+    @Override
+    public void forEachOutEdge(EdgeVisitor visitor)
+    {
+        for (Edge e : children)
+        {
+            visitor.visit(getLabel(), e.getFinalNode().getLabel(), e);
+        }
+    }
+
+    @Override
+    public void forEachOutNeighbor(IntConsumer action)
+    {
+        for (Edge e : children)
+        {
+            action.accept(e.getFinalNode().getLabel());
+        }
+    }
+
     @Override
     public Collection<Integer> getAllAdjacentVertices()
     {
@@ -196,6 +234,12 @@ public class DefaultGeneralTreeNode<E> extends AbstractTreeNode<E> implements Tr
         return !children.isEmpty();
     }
 
+    @Override
+    public int inDegree()
+    {
+        return (parent != null) ? 1 : 0;
+    }
+
     @Override
     public boolean isAdjacent(Node<E> v)
     {
@@ -226,6 +270,12 @@ public class DefaultGeneralTreeNode<E> extends AbstractTreeNode<E> implements Tr
         throw new UnsupportedOperationException("Not supported yet."); // Generated from nbfs://nbhost/SystemFileSystem/Templates/Classes/Code/GeneratedMethodBody
     }
 
+    @Override
+    public int outDegree()
+    {
+        return children.size();
+    }
+
     @Override
     public Object removeAttribute(Object key)
     {
@@ -20,8 +20,15 @@ package cu.edu.cujae.graphy.core.utility;
 
 import cu.edu.cujae.graphy.core.Graph;
 import cu.edu.cujae.graphy.core.WeightedGraph;
+import cu.edu.cujae.graphy.core.defaults.ConcurrentGraph;
 import cu.edu.cujae.graphy.core.defaults.DefaultWeightedGraphBuilder;
+import cu.edu.cujae.graphy.core.defaults.DefaultDenseGraph;
 import cu.edu.cujae.graphy.core.defaults.DefaultGraphBuilder;
+import cu.edu.cujae.graphy.core.defaults.DefaultMultigraph;
+import cu.edu.cujae.graphy.core.defaults.DefaultSimpleGraph;
+import cu.edu.cujae.graphy.core.defaults.MappedCompressedGraph;
+import java.io.File;
+import java.io.IOException;
 
 /**
  * This is an utility class that simplifies the creation of different graphs.However, being this an abstraction over
@@ -33,6 +40,87 @@ import cu.edu.cujae.graphy.core.defaults.DefaultGraphBuilder;
 public class GraphBuilders
 {
 
+    /**
+     * Creates a new graph that may be read and modified by many threads at the same time.
+     *
+     * @param <T>
+     * @param directed
+     * @param weighted
+     *
+     * @return
+     *
+     * @see ConcurrentGraph
+     */
+    public static <T> WeightedGraph<T> makeConcurrentGraph(boolean directed, boolean weighted)
+    {
+        return new ConcurrentGraph<>(directed, weighted);
+    }
+
+    /**
+     * Creates a new graph backed by an adjacency matrix, suited for dense graphs.
+     *
+     * @param <T>
+     * @param directed
+     * @param weighted
+     *
+     * @return
+     *
+     * @see DefaultDenseGraph
+     */
+    public static <T> WeightedGraph<T> makeDenseGraph(boolean directed, boolean weighted)
+    {
+        return new DefaultDenseGraph<>(directed, weighted);
+    }
+
+    /**
+     * Maps a graph previously written to a file with {@link #makeMappedGraph(cu.edu.cujae.graphy.core.Graph, java.io.File)}.
+     * The returned graph is immutable and keeps its adjacency off the Java heap.
+     *
+     * @param <T>
+     * @param file
+     *
+     * @return
+     *
+     * @throws IOException
+     */
+    public static <T> Graph<T> makeMappedGraph(File file) throws IOException
+    {
+        return MappedCompressedGraph.open(file);
+    }
+
+    /**
+     * Writes the graph passed as argument to a file and maps it back as an immutable graph whose adjacency is kept off
+     * the Java heap.
+     *
+     * @param <T>
+     * @param graph
+     * @param file
+     *
+     * @return
+     *
+     * @throws IOException
+     */
+    public static <T> Graph<T> makeMappedGraph(Graph<T> graph, File file) throws IOException
+    {
+        return MappedCompressedGraph.write(graph, file);
+    }
+
+    /**
+     * Creates a new graph that allows parallel edges and self loops.
+     *
+     * @param <T>
+     * @param directed
+     * @param weighted
+     *
+     * @return
+     *
+     * @see DefaultMultigraph
+     */
+    public static <T> DefaultMultigraph<T> makeMultigraph(boolean directed, boolean weighted)
+    {
+        return new DefaultMultigraph<>(directed, weighted);
+    }
+
     /**
      * Creates a new simple undirected and unweighted graph.
      *
@@ -45,6 +133,25 @@ public class GraphBuilders
         return new DefaultGraphBuilder<T>().buildGraph().directed(directed).get();
     }
 
+    /**
+     * Creates a new simple unweighted graph. If <code>lazyEdges</code> is true, the graph only builds the
+     * {@link cu.edu.cujae.graphy.core.Edge} objects of its connections when they are requested.
+     *
+     * @param <T>
+     * @param directed
+     * @param lazyEdges
+     *
+     * @return
+     *
+     * @see DefaultSimpleGraph#setLazyEdges(boolean)
+     */
+    public static <T> Graph<T> makeSimpleGraph(boolean directed, boolean lazyEdges)
+    {
+        Graph<T> graph = new DefaultGraphBuilder<T>().buildGraph().directed(directed).get();
+        ((DefaultSimpleGraph<T>) graph).setLazyEdges(lazyEdges);
+        return graph;
+    }
+
     public static <T> WeightedGraph<T> makeSimpleWeightedGraph(boolean directed)
     {
         return (WeightedGraph<T>) new DefaultWeightedGraphBuilder<T>().buildGraph().directed(directed).get();
@@ -19,12 +19,23 @@
 package cu.edu.cujae.graphy.core.utility;
 
 import cu.edu.cujae.graphy.core.EdgeFactory;
+import cu.edu.cujae.graphy.core.EdgeVisitor;
 import cu.edu.cujae.graphy.core.Graph;
 import cu.edu.cujae.graphy.core.Node;
+import cu.edu.cujae.graphy.core.defaults.CompressedSparseRowGraph;
+import cu.edu.cujae.graphy.core.defaults.GapCompressedGraph;
 import cu.edu.cujae.graphy.core.iterators.GraphIterator;
+import cu.edu.cujae.graphy.core.iterators.ParallelBreadthFirstSearch;
+import cu.edu.cujae.graphy.core.iterators.TraversalContext;
+import cu.edu.cujae.graphy.core.properties.DoubleVertexProperty;
+import cu.edu.cujae.graphy.core.properties.EdgeIndex;
+import cu.edu.cujae.graphy.core.properties.IntVertexProperty;
+import cu.edu.cujae.graphy.core.properties.MarkVertexProperty;
+import cu.edu.cujae.graphy.core.properties.ObjectVertexProperty;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Iterator;
+import java.util.function.IntConsumer;
 
 /**
  * Utility class to perform some operations on graphs.
@@ -78,6 +89,18 @@ public class Graphs
             return graph.breadthFirstSearchIterator(v, includeDisconnected);
         }
 
+        @Override
+        public Iterator<T> breadthFirstSearchIterator(int v, boolean includeDisconnected, boolean backtracking)
+        {
+            return graph.breadthFirstSearchIterator(v, includeDisconnected, backtracking);
+        }
+
+        @Override
+        public Iterator<T> breadthFirstSearchIterator(int v, boolean includeDisconnected, TraversalContext context)
+        {
+            return graph.breadthFirstSearchIterator(v, includeDisconnected, context);
+        }
+
         @Override
         public Iterator<T> breadthFirstSearchIterator(boolean includeDisconnected)
         {
@@ -115,6 +138,18 @@ public class Graphs
             return graph.containsAll(c);
         }
 
+        @Override
+        public int degree(int u)
+        {
+            return graph.degree(u);
+        }
+
+        @Override
+        public int[] degreeHistogram()
+        {
+            return graph.degreeHistogram();
+        }
+
         @Override
         public Iterator<T> depthFirstSearchIterator(Node<T> start, boolean includeDisconnected)
         {
@@ -127,12 +162,30 @@ public class Graphs
             return graph.depthFirstSearchIterator(v, includeDisconnected);
         }
 
+        @Override
+        public Iterator<T> depthFirstSearchIterator(int v, boolean includeDisconnected, boolean backtracking)
+        {
+            return graph.depthFirstSearchIterator(v, includeDisconnected, backtracking);
+        }
+
+        @Override
+        public Iterator<T> depthFirstSearchIterator(int v, boolean includeDisconnected, TraversalContext context)
+        {
+            return graph.depthFirstSearchIterator(v, includeDisconnected, context);
+        }
+
         @Override
         public Iterator<T> depthFirstSearchIterator(boolean includeDisconnected)
         {
             return graph.depthFirstSearchIterator(includeDisconnected);
         }
 
+        @Override
+        public Iterator<T> directionOptimizingSearchIterator(int v, boolean includeDisconnected, boolean parallel)
+        {
+            return graph.directionOptimizingSearchIterator(v, includeDisconnected, parallel);
+        }
+
         @Override
         public boolean disconnect(Node<T> u, Node<T> v)
         {
@@ -151,18 +204,66 @@ public class Graphs
             throw new CloneNotSupportedException();
         }
 
+        @Override
+        public int edgeCount()
+        {
+            return graph.edgeCount();
+        }
+
+        @Override
+        public EdgeIndex edgeIndex()
+        {
+            return graph.edgeIndex();
+        }
+
         @Override
         public boolean existsEdgeWithDirection(int u, int v)
         {
             return graph.existsEdgeWithDirection(u, v);
         }
 
+        @Override
+        public void forEachInEdge(int u, EdgeVisitor visitor)
+        {
+            graph.forEachInEdge(u, visitor);
+        }
+
+        @Override
+        public void forEachInNeighbor(int u, IntConsumer action)
+        {
+            graph.forEachInNeighbor(u, action);
+        }
+
+        @Override
+        public void forEachOutEdge(int u, EdgeVisitor visitor)
+        {
+            graph.forEachOutEdge(u, visitor);
+        }
+
+        @Override
+        public void forEachOutNeighbor(int u, IntConsumer action)
+        {
+            graph.forEachOutNeighbor(u, action);
+        }
+
         @Override
         public Collection<Integer> getLabels()
         {
             return Collections.unmodifiableCollection(graph.getLabels());
         }
 
+        @Override
+        public int inDegree(int u)
+        {
+            return graph.inDegree(u);
+        }
+
+        @Override
+        public void intersectNeighbors(int u, int v, IntConsumer action)
+        {
+            graph.intersectNeighbors(u, v, action);
+        }
+
         @Override
         public boolean isDirected()
         {
@@ -199,6 +300,42 @@ public class Graphs
             return graph.iterator(v);
         }
 
+        @Override
+        public DoubleVertexProperty newDoubleVertexProperty(double defaultValue)
+        {
+            return graph.newDoubleVertexProperty(defaultValue);
+        }
+
+        @Override
+        public IntVertexProperty newIntVertexProperty(int defaultValue)
+        {
+            return graph.newIntVertexProperty(defaultValue);
+        }
+
+        @Override
+        public MarkVertexProperty newMarkVertexProperty()
+        {
+            return graph.newMarkVertexProperty();
+        }
+
+        @Override
+        public <V> ObjectVertexProperty<V> newObjectVertexProperty(V defaultValue)
+        {
+            return graph.newObjectVertexProperty(defaultValue);
+        }
+
+        @Override
+        public int outDegree(int u)
+        {
+            return graph.outDegree(u);
+        }
+
+        @Override
+        public ParallelBreadthFirstSearch parallelBreadthFirstSearch(int v)
+        {
+            return graph.parallelBreadthFirstSearch(v);
+        }
+
         @Override
         public GraphIterator<T> randomIterator()
         {
@@ -223,6 +360,12 @@ public class Graphs
             throw new UnsupportedOperationException("This graph instance is immutable.");
         }
 
+        @Override
+        public void removeVertices(int... labels)
+        {
+            throw new UnsupportedOperationException("This graph instance is immutable.");
+        }
+
         @Override
         public boolean remove(Object o)
         {
@@ -255,6 +398,18 @@ public class Graphs
             return graph.size();
         }
 
+        @Override
+        public Graph<T> snapshot()
+        {
+            return graph.snapshot();
+        }
+
+        @Override
+        public Graph<T> transposedView()
+        {
+            return graph.transposedView();
+        }
+
         @Override
         public Object[] toArray()
         {
@@ -268,6 +423,46 @@ public class Graphs
         }
     }
 
+    /**
+     * Freezes a graph into an immutable {@link CompressedSparseRowGraph} snapshot. The snapshot keeps the adjacency in
+     * primitive arrays, which greatly reduces the memory footprint and speeds up traversals on read-heavy workloads.
+     * Unlike {@link #makeImmutableGraph(cu.edu.cujae.graphy.core.Graph)}, the returned graph is not a view: later
+     * changes to the original graph are not reflected in the snapshot.
+     *
+     * @param <T>
+     * @param graph
+     *
+     * @return
+     */
+    public static <T> CompressedSparseRowGraph<T> makeCompressedGraph(Graph<T> graph)
+    {
+        if (graph == null)
+        {
+            throw new IllegalArgumentException("unable to compress a 'null' graph.");
+        }
+        return new CompressedSparseRowGraph<>(graph);
+    }
+
+    /**
+     * Freezes a graph into an immutable {@link GapCompressedGraph}, whose adjacency lists are gap encoded and
+     * reference compressed. It takes a fraction of the memory of {@link #makeCompressedGraph(cu.edu.cujae.graphy.core.Graph)},
+     * at the cost of decoding the lists as they are walked. Later changes to the original graph are not reflected in
+     * the returned graph.
+     *
+     * @param <T>
+     * @param graph
+     *
+     * @return
+     */
+    public static <T> GapCompressedGraph<T> makeGapCompressedGraph(Graph<T> graph)
+    {
+        if (graph == null)
+        {
+            throw new IllegalArgumentException("unable to compress a 'null' graph.");
+        }
+        return new GapCompressedGraph<>(graph);
+    }
+
     /**
      * Returns a new graph view that is immutable, meaning that no changes to the graph's structure can be made. The
      * returned graph is a view of the original graph, in the sense that any change to the original graph gets reflected
@@ -0,0 +1,144 @@
+/*
+ * Copyright (C) 2022 CUJAE.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+package cu.edu.cujae.graphy.utils;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/**
+ * Operations on sorted arrays of <code>int</code> values, used to work with adjacency lists without boxing their
+ * elements into collections.
+ *
+ * @author Javier Marrero
+ */
+public class IntArrays
+{
+
+    /**
+     * The ratio between the lengths of two arrays above which {@link #intersect(int[], int, int[], int, IntConsumer)}
+     * gallops through the longest one instead of merging them.
+     */
+    private static final int GALLOP_RATIO = 8;
+
+    /**
+     * Performs the action on every value present in both arrays, in ascending order. The first <code>aLength</code>
+     * values of <code>a</code> and the first <code>bLength</code> values of <code>b</code> must be sorted and free of
+     * duplicates.
+     * <p>
+     * Arrays of similar lengths are merged in O(a + b) steps. When one of them is much shorter, every one of its values
+     * is looked up in the longest array with an exponential search that starts where the previous one ended, taking
+     * O(a log(b / a)) steps.
+     *
+     * @param a
+     * @param aLength
+     * @param b
+     * @param bLength
+     * @param action
+     */
+    public static void intersect(int[] a, int aLength, int[] b, int bLength, IntConsumer action)
+    {
+        if (aLength > bLength)
+        {
+            intersect(b, bLength, a, aLength, action);
+            return;
+        }
+        if ((long) aLength * GALLOP_RATIO < bLength)
+        {
+            gallop(a, aLength, b, bLength, action);
+            return;
+        }
+
+        int i = 0;
+        int j = 0;
+        while (i < aLength && j < bLength)
+        {
+            if (a[i] < b[j])
+            {
+                ++i;
+            }
+            else if (a[i] > b[j])
+            {
+                ++j;
+            }
+            else
+            {
+                action.accept(a[i]);
+                ++i;
+                ++j;
+            }
+        }
+    }
+
+    /**
+     * Sorts the first <code>length</code> values of the array and removes the duplicates among them, returning the
+     * number of distinct values, which are left at the beginning of the array.
+     *
+     * @param a
+     * @param length
+     *
+     * @return
+     */
+    public static int sortUnique(int[] a, int length)
+    {
+        if (length < 2)
+        {
+            return length;
+        }
+        Arrays.sort(a, 0, length);
+        int distinct = 1;
+        for (int i = 1; i < length; ++i)
+        {
+            if (a[i] != a[distinct - 1])
+            {
+                a[distinct++] = a[i];
+            }
+        }
+        return distinct;
+    }
+
+    private static void gallop(int[] shortest, int shortLength, int[] longest, int longLength, IntConsumer action)
+    {
+        int low = 0;
+        for (int i = 0; i < shortLength && low < longLength; ++i)
+        {
+            int key = shortest[i];
+
+            // Double the step until the key is bracketed, then search the bracket
+            int step = 1;
+            int high = low;
+            while (high < longLength && longest[high] < key)
+            {
+                low = high + 1;
+                high += step;
+                step <<= 1;
+            }
+            int position = Arrays.binarySearch(longest, low, Math.min(high + 1, longLength), key);
+            if (position >= 0)
+            {
+                action.accept(key);
+                low = position + 1;
+            }
+            else
+            {
+                low = -position - 1;
+            }
+        }
+    }
+
+}
@@ -0,0 +1,312 @@
+/*
+ * Copyright (C) 2022 CUJAE.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+package cu.edu.cujae.graphy.utils;
+
+import java.util.Arrays;
+
+/**
+ * A hash map from <code>int</code> keys to <code>int</code> values that does not box its contents. It uses open
+ * addressing with linear probing over two parallel arrays, so lookups and insertions do not allocate, and removals
+ * shift back the following entries of the cluster instead of leaving tombstones.
+ * <p>
+ * Absent keys are reported by returning the <i>missing value</i> given at construction time (-1 by default), so that
+ * value should not be stored in the map.
+ *
+ * @author Javier Marrero
+ */
+public class IntIntHashMap
+{
+
+    private static final int DEFAULT_CAPACITY = 16;
+    private static final int FREE_KEY = 0;
+    private static final float LOAD_FACTOR = 0.5f;
+
+    private boolean hasFreeKey;
+    private int freeKeyValue;
+    private int[] keys;
+    private int mask;
+    private final int missingValue;
+    private int size;
+    private int threshold;
+    private int[] values;
+
+    /**
+     * Creates a new map with the default capacity and -1 as the missing value.
+     */
+    public IntIntHashMap()
+    {
+        this(DEFAULT_CAPACITY, -1);
+    }
+
+    /**
+     * Creates a new map able to hold the expected number of keys without rehashing.
+     *
+     * @param expectedSize
+     */
+    public IntIntHashMap(int expectedSize)
+    {
+        this(expectedSize, -1);
+    }
+
+    /**
+     * Creates a new map able to hold the expected number of keys without rehashing, that returns
+     * <code>missingValue</code> for absent keys.
+     *
+     * @param expectedSize
+     * @param missingValue
+     */
+    public IntIntHashMap(int expectedSize, int missingValue)
+    {
+        if (expectedSize < 0)
+        {
+            throw new IllegalArgumentException("The expected size of the map cannot be negative: " + expectedSize);
+        }
+        this.missingValue = missingValue;
+        allocate(tableSizeFor(expectedSize));
+    }
+
+    /**
+     * Removes all the mappings of this map. The capacity of the map is retained.
+     */
+    public void clear()
+    {
+        Arrays.fill(keys, FREE_KEY);
+        hasFreeKey = false;
+        size = 0;
+    }
+
+    /**
+     * Returns true if the key is present in this map.
+     *
+     * @param key
+     *
+     * @return
+     */
+    public boolean containsKey(int key)
+    {
+        if (key == FREE_KEY)
+        {
+            return hasFreeKey;
+        }
+        return keys[slotOf(key)] != FREE_KEY;
+    }
+
+    /**
+     * Returns the value mapped to the key, or the missing value if the key is not present.
+     *
+     * @param key
+     *
+     * @return
+     */
+    public int get(int key)
+    {
+        if (key == FREE_KEY)
+        {
+            return hasFreeKey ? freeKeyValue : missingValue;
+        }
+        int slot = slotOf(key);
+        return keys[slot] != FREE_KEY ? values[slot] : missingValue;
+    }
+
+    /**
+     * Returns the value used by this map to signal absent keys.
+     *
+     * @return
+     */
+    public int getMissingValue()
+    {
+        return missingValue;
+    }
+
+    /**
+     * Returns true if this map contains no mappings.
+     *
+     * @return
+     */
+    public boolean isEmpty()
+    {
+        return size == 0;
+    }
+
+    /**
+     * Maps the key to the value, returning the previous value of the key or the missing value if it was absent.
+     *
+     * @param key
+     * @param value
+     *
+     * @return
+     */
+    public int put(int key, int value)
+    {
+        if (key == FREE_KEY)
+        {
+            int previous = hasFreeKey ? freeKeyValue : missingValue;
+            if (!hasFreeKey)
+            {
+                hasFreeKey = true;
+                ++size;
+            }
+            freeKeyValue = value;
+            return previous;
+        }
+
+        int slot = slotOf(key);
+        if (keys[slot] != FREE_KEY)
+        {
+            int previous = values[slot];
+            values[slot] = value;
+            return previous;
+        }
+
+        keys[slot] = key;
+        values[slot] = value;
+        if (++size > threshold)
+        {
+            rehash(keys.length << 1);
+        }
+        return missingValue;
+    }
+
+    /**
+     * Removes the key from this map, returning its value or the missing value if it was absent.
+     *
+     * @param key
+     *
+     * @return
+     */
+    public int remove(int key)
+    {
+        if (key == FREE_KEY)
+        {
+            if (!hasFreeKey)
+            {
+                return missingValue;
+            }
+            hasFreeKey = false;
+            --size;
+            return freeKeyValue;
+        }
+
+        int slot = slotOf(key);
+        if (keys[slot] == FREE_KEY)
+        {
+            return missingValue;
+        }
+        int previous = values[slot];
+        shiftKeys(slot);
+        --size;
+        return previous;
+    }
+
+    /**
+     * Returns the number of mappings in this map.
+     *
+     * @return
+     */
+    public int size()
+    {
+        return size;
+    }
+
+    private static int hash(int key)
+    {
+        int h = key * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    private static int tableSizeFor(int expectedSize)
+    {
+        long capacity = Math.max(DEFAULT_CAPACITY, (long) Math.ceil(expectedSize / LOAD_FACTOR));
+        if (capacity > (1 << 30))
+        {
+            throw new IllegalArgumentException("Too many elements for an IntIntHashMap: " + expectedSize);
+        }
+        return Integer.highestOneBit((int) capacity - 1) << 1;
+    }
+
+    private void allocate(int capacity)
+    {
+        this.keys = new int[capacity];
+        this.values = new int[capacity];
+        this.mask = capacity - 1;
+        this.threshold = (int) (capacity * LOAD_FACTOR);
+    }
+
+    private void rehash(int capacity)
+    {
+        int[] oldKeys = keys;
+        int[] oldValues = values;
+        allocate(capacity);
+        for (int i = 0; i < oldKeys.length; ++i)
+        {
+            if (oldKeys[i] != FREE_KEY)
+            {
+                int slot = slotOf(oldKeys[i]);
+                keys[slot] = oldKeys[i];
+                values[slot] = oldValues[i];
+            }
+        }
+    }
+
+    /**
+     * Empties the slot passed as argument and moves back the entries of the cluster that would become unreachable.
+     *
+     * @param slot
+     */
+    private void shiftKeys(int slot)
+    {
+        int last = slot;
+        while (true)
+        {
+            slot = (slot + 1) & mask;
+            int key = keys[slot];
+            if (key == FREE_KEY)
+            {
+                keys[last] = FREE_KEY;
+                return;
+            }
+            int ideal = hash(key) & mask;
+            // Move the entry if its ideal slot is not cyclically in (last, slot]
+            if (last <= slot ? (ideal <= last || ideal > slot) : (ideal <= last && ideal > slot))
+            {
+                keys[last] = key;
+                values[last] = values[slot];
+                last = slot;
+            }
+        }
+    }
+
+    /**
+     * Returns the slot holding the key, or the free slot where it should be inserted.
+     *
+     * @param key
+     *
+     * @return
+     */
+    private int slotOf(int key)
+    {
+        int slot = hash(key) & mask;
+        while (keys[slot] != FREE_KEY && keys[slot] != key)
+        {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+}
@@ -0,0 +1,145 @@
+/*
+ * Copyright (C) 2022 CUJAE.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+package cu.edu.cujae.graphy.utils;
+
+import java.util.NoSuchElementException;
+
+/**
+ * A first-in first-out queue of <code>int</code> values that does not box its contents. The values are kept in a ring
+ * buffer whose capacity is a power of two, doubled when it fills up, so adding and polling do not allocate.
+ *
+ * @author Javier Marrero
+ */
+public class IntQueue
+{
+
+    private static final int DEFAULT_CAPACITY = 16;
+
+    private int[] elements;
+    private int head;
+    private int size;
+
+    /**
+     * Creates an empty queue with the default capacity.
+     */
+    public IntQueue()
+    {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Creates an empty queue able to hold the expected number of values without growing.
+     *
+     * @param expectedSize
+     */
+    public IntQueue(int expectedSize)
+    {
+        if (expectedSize < 0)
+        {
+            throw new IllegalArgumentException("The expected size of the queue cannot be negative: " + expectedSize);
+        }
+        this.elements = new int[Math.max(Integer.highestOneBit(Math.max(expectedSize, 1) * 2 - 1), DEFAULT_CAPACITY)];
+    }
+
+    /**
+     * Adds the value at the tail of this queue.
+     *
+     * @param value
+     */
+    public void add(int value)
+    {
+        if (size == elements.length)
+        {
+            grow();
+        }
+        elements[(head + size++) & (elements.length - 1)] = value;
+    }
+
+    /**
+     * Removes all the values of this queue. The capacity of the queue is retained.
+     */
+    public void clear()
+    {
+        head = 0;
+        size = 0;
+    }
+
+    /**
+     * Returns true if this queue holds no values.
+     *
+     * @return
+     */
+    public boolean isEmpty()
+    {
+        return size == 0;
+    }
+
+    /**
+     * Returns the value at the head of this queue without removing it.
+     *
+     * @return
+     *
+     * @throws NoSuchElementException if the queue is empty.
+     */
+    public int peek()
+    {
+        if (size == 0)
+        {
+            throw new NoSuchElementException("The queue is empty.");
+        }
+        return elements[head];
+    }
+
+    /**
+     * Removes and returns the value at the head of this queue.
+     *
+     * @return
+     *
+     * @throws NoSuchElementException if the queue is empty.
+     */
+    public int poll()
+    {
+        int value = peek();
+        head = (head + 1) & (elements.length - 1);
+        --size;
+        return value;
+    }
+
+    /**
+     * Returns the number of values in this queue.
+     *
+     * @return
+     */
+    public int size()
+    {
+        return size;
+    }
+
+    private void grow()
+    {
+        // Unroll the ring so the values start at the beginning of the new buffer
+        int[] grown = new int[elements.length << 1];
+        int first = elements.length - head;
+        System.arraycopy(elements, head, grown, 0, first);
+        System.arraycopy(elements, 0, grown, first, head);
+        elements = grown;
+        head = 0;
+    }
+
+}
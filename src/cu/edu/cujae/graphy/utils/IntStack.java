@@ -0,0 +1,195 @@
+/*
+ * Copyright (C) 2022 CUJAE.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+package cu.edu.cujae.graphy.utils;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * A last-in first-out stack of <code>int</code> values that does not box its contents. The values are kept in an
+ * array doubled when it fills up, so pushing and popping do not allocate once the stack has grown. Values may also be
+ * read and written by their position from the bottom of the stack, which lets a caller keep several values per entry.
+ *
+ * @author Javier Marrero
+ */
+public class IntStack
+{
+
+    private static final int DEFAULT_CAPACITY = 16;
+
+    private int[] elements;
+    private int size;
+
+    /**
+     * Creates an empty stack with the default capacity.
+     */
+    public IntStack()
+    {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Creates an empty stack able to hold the expected number of values without growing.
+     *
+     * @param expectedSize
+     */
+    public IntStack(int expectedSize)
+    {
+        if (expectedSize < 0)
+        {
+            throw new IllegalArgumentException("The expected size of the stack cannot be negative: " + expectedSize);
+        }
+        this.elements = new int[Math.max(expectedSize, DEFAULT_CAPACITY)];
+    }
+
+    /**
+     * Removes all the values of this stack. The capacity of the stack is retained.
+     */
+    public void clear()
+    {
+        size = 0;
+    }
+
+    /**
+     * Returns the value at the given position, counted from the bottom of the stack.
+     *
+     * @param position
+     *
+     * @return
+     *
+     * @throws IndexOutOfBoundsException if the position is not in the stack.
+     */
+    public int get(int position)
+    {
+        return elements[checkPosition(position)];
+    }
+
+    /**
+     * Returns true if this stack holds no values.
+     *
+     * @return
+     */
+    public boolean isEmpty()
+    {
+        return size == 0;
+    }
+
+    /**
+     * Returns the value at the top of this stack without removing it.
+     *
+     * @return
+     *
+     * @throws NoSuchElementException if the stack is empty.
+     */
+    public int peek()
+    {
+        if (size == 0)
+        {
+            throw new NoSuchElementException("The stack is empty.");
+        }
+        return elements[size - 1];
+    }
+
+    /**
+     * Removes and returns the value at the top of this stack.
+     *
+     * @return
+     *
+     * @throws NoSuchElementException if the stack is empty.
+     */
+    public int pop()
+    {
+        int value = peek();
+        --size;
+        return value;
+    }
+
+    /**
+     * Pushes the value on top of this stack.
+     *
+     * @param value
+     */
+    public void push(int value)
+    {
+        if (size == elements.length)
+        {
+            elements = Arrays.copyOf(elements, elements.length << 1);
+        }
+        elements[size++] = value;
+    }
+
+    /**
+     * Replaces the value at the given position, counted from the bottom of the stack.
+     *
+     * @param position
+     * @param value
+     *
+     * @throws IndexOutOfBoundsException if the position is not in the stack.
+     */
+    public void set(int position, int value)
+    {
+        elements[checkPosition(position)] = value;
+    }
+
+    /**
+     * Returns the number of values in this stack.
+     *
+     * @return
+     */
+    public int size()
+    {
+        return size;
+    }
+
+    /**
+     * Returns a copy of the values of this stack, from the bottom to the top.
+     *
+     * @return
+     */
+    public int[] toArray()
+    {
+        return Arrays.copyOf(elements, size);
+    }
+
+    /**
+     * Pops values until only <code>size</code> remain.
+     *
+     * @param size
+     *
+     * @throws IndexOutOfBoundsException if the stack holds fewer values.
+     */
+    public void truncate(int size)
+    {
+        if (size < 0 || size > this.size)
+        {
+            throw new IndexOutOfBoundsException("Cannot truncate a stack of " + this.size + " values to " + size);
+        }
+        this.size = size;
+    }
+
+    private int checkPosition(int position)
+    {
+        if (position < 0 || position >= size)
+        {
+            throw new IndexOutOfBoundsException("Position " + position + " is not in a stack of " + size + " values");
+        }
+        return position;
+    }
+
+}
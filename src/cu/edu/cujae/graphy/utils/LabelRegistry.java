@@ -0,0 +1,238 @@
+/*
+ * Copyright (C) 2022 CUJAE.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+package cu.edu.cujae.graphy.utils;
+
+import java.util.Arrays;
+
+/**
+ * Maps the integer labels of the vertices of a graph to dense indexes in the range <code>[0, bound())</code>, so
+ * vertex data can be kept in plain arrays. The mapping is held by an {@link IntIntHashMap}, so neither registering nor
+ * looking up a label allocates.
+ * <p>
+ * Indexes released by {@link #unregister(int)} are kept in a free-list and handed out again by the next call to
+ * {@link #register(int)}. Released labels are likewise recycled by {@link #allocate()} before any fresh label is
+ * issued. When many indexes are released and not reused, {@link #compact()} packs the labels in use into the lowest
+ * indexes again.
+ *
+ * @author Javier Marrero
+ */
+public class LabelRegistry
+{
+
+    private static final int DEFAULT_CAPACITY = 16;
+
+    private int bound;
+    private int[] freeIndexes;
+    private int freeIndexesCount;
+    private int[] freeLabels;
+    private int freeLabelsCount;
+    private IntIntHashMap indexes;
+    private int[] labels;
+    private int nextLabel;
+
+    /**
+     * Creates an empty registry.
+     */
+    public LabelRegistry()
+    {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Creates an empty registry able to hold the expected number of labels without growing.
+     *
+     * @param expectedSize
+     */
+    public LabelRegistry(int expectedSize)
+    {
+        this.indexes = new IntIntHashMap(expectedSize);
+        this.labels = new int[Math.max(expectedSize, DEFAULT_CAPACITY)];
+        this.freeIndexes = new int[DEFAULT_CAPACITY];
+        this.freeLabels = new int[DEFAULT_CAPACITY];
+    }
+
+    /**
+     * Returns a label that is not registered, preferring recycled labels over fresh ones. The label is not reserved
+     * until it is registered.
+     *
+     * @return
+     */
+    public int allocate()
+    {
+        while (freeLabelsCount > 0)
+        {
+            int label = freeLabels[--freeLabelsCount];
+            if (!indexes.containsKey(label))
+            {
+                return label;
+            }
+        }
+        while (indexes.containsKey(nextLabel))
+        {
+            ++nextLabel;
+        }
+        return nextLabel++;
+    }
+
+    /**
+     * Returns the upper bound of the indexes in use: every live index is lower than this value. Indexes below the
+     * bound may be free.
+     *
+     * @return
+     */
+    public int bound()
+    {
+        return bound;
+    }
+
+    /**
+     * Removes all the labels from this registry and resets label allocation. The storage of the registry is released
+     * instead of being wiped, so clearing takes constant time.
+     */
+    public void clear()
+    {
+        indexes = new IntIntHashMap();
+        labels = new int[DEFAULT_CAPACITY];
+        bound = 0;
+        freeIndexesCount = 0;
+        freeLabelsCount = 0;
+        nextLabel = 0;
+    }
+
+    /**
+     * Packs the labels in use into the indexes <code>[0, size())</code>, keeping their relative order, and forgets the
+     * released indexes. The label at index <code>i</code> moves to the number of labels in use below <code>i</code>.
+     * Runs in time linear in {@link #bound()}.
+     */
+    public void compact()
+    {
+        int next = 0;
+        for (int i = 0; i < bound; ++i)
+        {
+            int label = labels[i];
+            if (indexes.get(label) == i)
+            {
+                labels[next] = label;
+                indexes.put(label, next++);
+            }
+        }
+        bound = next;
+        freeIndexesCount = 0;
+    }
+
+    /**
+     * Returns true if the label is registered.
+     *
+     * @param label
+     *
+     * @return
+     */
+    public boolean contains(int label)
+    {
+        return indexes.containsKey(label);
+    }
+
+    /**
+     * Returns the dense index of the label, or -1 if it is not registered.
+     *
+     * @param label
+     *
+     * @return
+     */
+    public int indexOf(int label)
+    {
+        return indexes.get(label);
+    }
+
+    /**
+     * Returns the label stored at the index. The result is meaningless if the index is not in use.
+     *
+     * @param index
+     *
+     * @return
+     */
+    public int labelAt(int index)
+    {
+        return labels[index];
+    }
+
+    /**
+     * Registers the label and returns its dense index, or -1 if the label was already registered.
+     *
+     * @param label
+     *
+     * @return
+     */
+    public int register(int label)
+    {
+        if (indexes.containsKey(label))
+        {
+            return -1;
+        }
+        int index = (freeIndexesCount > 0) ? freeIndexes[--freeIndexesCount] : bound++;
+        if (index >= labels.length)
+        {
+            labels = Arrays.copyOf(labels, Math.max(labels.length << 1, index + 1));
+        }
+        labels[index] = label;
+        indexes.put(label, index);
+        return index;
+    }
+
+    /**
+     * Returns the number of registered labels.
+     *
+     * @return
+     */
+    public int size()
+    {
+        return indexes.size();
+    }
+
+    /**
+     * Removes the label from this registry, returning the index it held or -1 if it was not registered. Both the
+     * index and the label become available for reuse.
+     *
+     * @param label
+     *
+     * @return
+     */
+    public int unregister(int label)
+    {
+        int index = indexes.remove(label);
+        if (index < 0)
+        {
+            return -1;
+        }
+        freeIndexes = push(freeIndexes, freeIndexesCount++, index);
+        freeLabels = push(freeLabels, freeLabelsCount++, label);
+        return index;
+    }
+
+    private static int[] push(int[] stack, int position, int value)
+    {
+        if (position == stack.length)
+        {
+            stack = Arrays.copyOf(stack, stack.length << 1);
+        }
+        stack[position] = value;
+        return stack;
+    }
+
+}
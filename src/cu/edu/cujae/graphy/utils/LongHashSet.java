@@ -0,0 +1,254 @@
+/*
+ * Copyright (C) 2022 CUJAE.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+package cu.edu.cujae.graphy.utils;
+
+import java.util.Arrays;
+
+/**
+ * A hash set of <code>long</code> values that does not box its contents. It uses open addressing with linear probing
+ * over a single array, so membership tests usually resolve with one probe and do not allocate, and removals shift back
+ * the following entries of the cluster instead of leaving tombstones.
+ *
+ * @author Javier Marrero
+ */
+public class LongHashSet
+{
+
+    private static final int DEFAULT_CAPACITY = 16;
+    private static final long FREE_KEY = 0L;
+    private static final float LOAD_FACTOR = 0.5f;
+
+    private boolean hasFreeKey;
+    private long[] keys;
+    private int mask;
+    private int size;
+    private int threshold;
+
+    /**
+     * Creates a new set with the default capacity.
+     */
+    public LongHashSet()
+    {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Creates a new set able to hold the expected number of values without rehashing.
+     *
+     * @param expectedSize
+     */
+    public LongHashSet(int expectedSize)
+    {
+        if (expectedSize < 0)
+        {
+            throw new IllegalArgumentException("The expected size of the set cannot be negative: " + expectedSize);
+        }
+        allocate(tableSizeFor(expectedSize));
+    }
+
+    /**
+     * Adds the value to this set, returning true if it was not already present.
+     *
+     * @param key
+     *
+     * @return
+     */
+    public boolean add(long key)
+    {
+        if (key == FREE_KEY)
+        {
+            if (hasFreeKey)
+            {
+                return false;
+            }
+            hasFreeKey = true;
+            ++size;
+            return true;
+        }
+
+        int slot = slotOf(key);
+        if (keys[slot] != FREE_KEY)
+        {
+            return false;
+        }
+        keys[slot] = key;
+        if (++size > threshold)
+        {
+            rehash(keys.length << 1);
+        }
+        return true;
+    }
+
+    /**
+     * Removes all the values of this set. The capacity of the set is retained.
+     */
+    public void clear()
+    {
+        Arrays.fill(keys, FREE_KEY);
+        hasFreeKey = false;
+        size = 0;
+    }
+
+    /**
+     * Returns true if the value is present in this set.
+     *
+     * @param key
+     *
+     * @return
+     */
+    public boolean contains(long key)
+    {
+        if (key == FREE_KEY)
+        {
+            return hasFreeKey;
+        }
+        return keys[slotOf(key)] != FREE_KEY;
+    }
+
+    /**
+     * Returns true if this set contains no values.
+     *
+     * @return
+     */
+    public boolean isEmpty()
+    {
+        return size == 0;
+    }
+
+    /**
+     * Removes the value from this set, returning true if it was present.
+     *
+     * @param key
+     *
+     * @return
+     */
+    public boolean remove(long key)
+    {
+        if (key == FREE_KEY)
+        {
+            if (!hasFreeKey)
+            {
+                return false;
+            }
+            hasFreeKey = false;
+            --size;
+            return true;
+        }
+
+        int slot = slotOf(key);
+        if (keys[slot] == FREE_KEY)
+        {
+            return false;
+        }
+        shiftKeys(slot);
+        --size;
+        return true;
+    }
+
+    /**
+     * Returns the number of values in this set.
+     *
+     * @return
+     */
+    public int size()
+    {
+        return size;
+    }
+
+    private static int hash(long key)
+    {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+
+    private static int tableSizeFor(int expectedSize)
+    {
+        long capacity = Math.max(DEFAULT_CAPACITY, (long) Math.ceil(expectedSize / LOAD_FACTOR));
+        if (capacity > (1 << 30))
+        {
+            throw new IllegalArgumentException("Too many elements for a LongHashSet: " + expectedSize);
+        }
+        return Integer.highestOneBit((int) capacity - 1) << 1;
+    }
+
+    private void allocate(int capacity)
+    {
+        this.keys = new long[capacity];
+        this.mask = capacity - 1;
+        this.threshold = (int) (capacity * LOAD_FACTOR);
+    }
+
+    private void rehash(int capacity)
+    {
+        long[] oldKeys = keys;
+        allocate(capacity);
+        for (int i = 0; i < oldKeys.length; ++i)
+        {
+            if (oldKeys[i] != FREE_KEY)
+            {
+                keys[slotOf(oldKeys[i])] = oldKeys[i];
+            }
+        }
+    }
+
+    /**
+     * Empties the slot passed as argument and moves back the entries of the cluster that would become unreachable.
+     *
+     * @param slot
+     */
+    private void shiftKeys(int slot)
+    {
+        int last = slot;
+        while (true)
+        {
+            slot = (slot + 1) & mask;
+            long key = keys[slot];
+            if (key == FREE_KEY)
+            {
+                keys[last] = FREE_KEY;
+                return;
+            }
+            int ideal = hash(key) & mask;
+            // Move the entry if its ideal slot is not cyclically in (last, slot]
+            if (last <= slot ? (ideal <= last || ideal > slot) : (ideal <= last && ideal > slot))
+            {
+                keys[last] = key;
+                last = slot;
+            }
+        }
+    }
+
+    /**
+     * Returns the slot holding the key, or the free slot where it should be inserted.
+     *
+     * @param key
+     *
+     * @return
+     */
+    private int slotOf(long key)
+    {
+        int slot = hash(key) & mask;
+        while (keys[slot] != FREE_KEY && keys[slot] != key)
+        {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+}
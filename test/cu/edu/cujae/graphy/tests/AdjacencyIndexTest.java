@@ -0,0 +1,115 @@
+/*
+ * Copyright (C) 2022 CUJAE.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+package cu.edu.cujae.graphy.tests;
+
+import cu.edu.cujae.graphy.core.Graph;
+import cu.edu.cujae.graphy.core.abstractions.AdjacencyListGraph;
+import cu.edu.cujae.graphy.core.exceptions.InvalidOperationException;
+import cu.edu.cujae.graphy.core.utility.GraphBuilders;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Checks that the adjacency index of adjacency list graphs agrees with the adjacency of their nodes while edges and
+ * vertices are added and removed.
+ *
+ * @author Javier Marrero
+ */
+public class AdjacencyIndexTest
+{
+
+    public static void main(String[] args) throws CloneNotSupportedException
+    {
+        Random random = new Random(42);
+        for (boolean directed : new boolean[]
+        {
+            true, false
+        })
+        {
+            Graph<Integer> graph = GraphBuilders.makeSimpleGraph(directed);
+            for (int i = 0; i < 20; i++)
+            {
+                graph.add(i);
+            }
+            for (int i = 0; i < 200; i++)
+            {
+                int u = random.nextInt(20);
+                int v = random.nextInt(20);
+                if (random.nextInt(3) == 0 && graph.isVertexAdjacent(u, v))
+                {
+                    graph.disconnect(u, v);
+                }
+                else
+                {
+                    graph.connect(u, v);
+                }
+            }
+            graph.removeAt(7);
+            graph.add(7);
+            graph.connect(7, 3);
+            System.out.println((directed ? "Directed" : "Undirected") + " graph agrees: " + agrees(graph));
+
+            Graph<Integer> copy = graph.duplicate();
+            System.out.println("Copy agrees: " + agrees(copy));
+            graph.reverse();
+            System.out.println("Reversed graph agrees: " + agrees(graph));
+
+            ((AdjacencyListGraph<Integer>) graph).setAdjacencyIndexed(false);
+            System.out.println("Unindexed graph agrees: " + agrees(graph) + ", indexed: "
+                               + ((AdjacencyListGraph<Integer>) graph).isAdjacencyIndexed());
+            ((AdjacencyListGraph<Integer>) graph).setAdjacencyIndexed(true);
+            System.out.println("Reindexed graph agrees: " + agrees(graph));
+        }
+
+        Graph<Integer> graph = GraphBuilders.makeSimpleGraph(false);
+        graph.add(0);
+        try
+        {
+            graph.isVertexAdjacent(0, 1);
+            System.out.println("Missing vertex not detected");
+        }
+        catch (InvalidOperationException ex)
+        {
+            System.out.println("Missing vertex detected: " + ex.getMessage());
+        }
+    }
+
+    private static boolean agrees(Graph<Integer> graph)
+    {
+        for (int u : graph.getLabels())
+        {
+            Set<Integer> departing = new HashSet<>();
+            Set<Integer> arriving = new HashSet<>();
+            graph.forEachOutNeighbor(u, departing::add);
+            graph.forEachInNeighbor(u, arriving::add);
+            for (int v : graph.getLabels())
+            {
+                boolean adjacent = departing.contains(v) || arriving.contains(v);
+                boolean directed = departing.contains(v);
+                if (graph.isVertexAdjacent(u, v) != adjacent || graph.existsEdgeWithDirection(u, v) != directed)
+                {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+}
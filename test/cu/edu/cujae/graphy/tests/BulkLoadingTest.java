@@ -0,0 +1,97 @@
+/*
+ * Copyright (C) 2022 CUJAE.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+package cu.edu.cujae.graphy.tests;
+
+import cu.edu.cujae.graphy.algorithms.DijkstraShortestPath;
+import cu.edu.cujae.graphy.core.Graph;
+import cu.edu.cujae.graphy.core.WeightedGraph;
+import cu.edu.cujae.graphy.core.defaults.DefaultGraphBuilder;
+import cu.edu.cujae.graphy.core.defaults.DefaultWeightedGraphBuilder;
+import cu.edu.cujae.graphy.core.utility.GraphBuilders;
+import cu.edu.cujae.graphy.core.utility.Weights;
+
+/**
+ * Builds the same graphs edge by edge and in bulk, and compares them.
+ *
+ * @author Javier Marrero
+ */
+public class BulkLoadingTest
+{
+
+    public static void main(String[] args)
+    {
+        int[] source = {0, 0, 1, 1, 2, 2, 2, 3, 3, 4, 5, 6, 6, 7};
+        int[] target = {1, 7, 2, 7, 3, 8, 5, 4, 5, 5, 6, 7, 8, 8};
+        int[] weights = {4, 8, 8, 11, 7, 2, 4, 9, 14, 10, 2, 1, 6, 7};
+
+        WeightedGraph<Integer> graph = GraphBuilders.makeSimpleWeightedGraph(false);
+        for (int i = 0; i < 9; ++i)
+        {
+            graph.add(null);
+        }
+        for (int i = 0; i < source.length; ++i)
+        {
+            graph.connect(source[i], target[i], Weights.makeWeight(weights[i]));
+        }
+
+        WeightedGraph<Integer> bulk = (WeightedGraph<Integer>) new DefaultWeightedGraphBuilder<Integer>().buildGraph().
+                directed(false).expectedDegree(2).addVertices(9).addEdges(source, target, weights).get();
+
+        System.out.println(graph);
+        System.out.println(bulk);
+        System.out.println("Same representation: " + graph.toString().equals(bulk.toString()));
+        System.out.println("Dijkstra (one by one): ");
+        System.out.println(new DijkstraShortestPath(graph, graph.iterator(0)).apply().get());
+        System.out.println("Dijkstra (bulk): ");
+        System.out.println(new DijkstraShortestPath(bulk, bulk.iterator(0)).apply().get());
+
+        // A larger directed graph loaded in bulk
+        int n = 100000;
+        int[] from = new int[4 * n];
+        int[] to = new int[4 * n];
+        for (int i = 0; i < from.length; ++i)
+        {
+            from[i] = i % n;
+            to[i] = (int) ((i * 2654435761L) % (n - 1));
+        }
+        Graph<Integer> digraph = new DefaultGraphBuilder<Integer>().buildGraph().directed(true).addVertices(n).addEdges(
+                from, to).get();
+        int edges = 0;
+        for (int u : digraph.getLabels())
+        {
+            edges += digraph.iterator(u).outDegree();
+        }
+        System.out.println("Vertices: " + digraph.size() + ", edges: " + edges);
+
+        try
+        {
+            new DefaultGraphBuilder<Integer>().buildGraph().directed(true).addVertices(2).addEdges(new int[]
+            {
+                0
+            }, new int[]
+            {
+                3
+            });
+        }
+        catch (RuntimeException ex)
+        {
+            System.out.println("Rejected edge to missing vertex: " + ex.getMessage());
+        }
+    }
+}
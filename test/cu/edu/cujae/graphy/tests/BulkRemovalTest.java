@@ -0,0 +1,157 @@
+/*
+ * Copyright (C) 2022 CUJAE.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+package cu.edu.cujae.graphy.tests;
+
+import cu.edu.cujae.graphy.core.Graph;
+import cu.edu.cujae.graphy.core.exceptions.InvalidOperationException;
+import cu.edu.cujae.graphy.core.utility.GraphBuilders;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Checks that removing several vertices at once leaves the same graph as removing them one by one, including after
+ * the node table of the graph is compacted, and that bulk removals fail without removing anything when a vertex is
+ * missing.
+ *
+ * @author Javier Marrero
+ */
+public class BulkRemovalTest
+{
+
+    public static void main(String[] args) throws CloneNotSupportedException
+    {
+        for (boolean directed : new boolean[]
+        {
+            true, false
+        })
+        {
+            String kind = directed ? "Directed" : "Undirected";
+            check(kind + " simple graph", GraphBuilders.makeSimpleGraph(directed));
+            check(kind + " lazy graph", GraphBuilders.makeSimpleGraph(directed, true));
+            check(kind + " dense graph", GraphBuilders.makeDenseGraph(directed, false));
+            check(kind + " multigraph", GraphBuilders.makeMultigraph(directed, false));
+        }
+
+        Graph<Integer> graph = GraphBuilders.makeSimpleGraph(false);
+        for (int i = 0; i < 10; i++)
+        {
+            graph.add(i % 3);
+        }
+        System.out.println("Removed by value: " + graph.removeAll(Arrays.asList(0)) + ", left: " + graph.size());
+        System.out.println("Retained by value: " + graph.retainAll(Arrays.asList(1, 2)) + ", left: " + graph.size());
+        System.out.println("Removed a single value: " + graph.remove((Object) 1) + ", left: " + graph.size());
+    }
+
+    private static void check(String name, Graph<Integer> graph) throws CloneNotSupportedException
+    {
+        Random random = new Random(11);
+        for (int i = 0; i < 200; i++)
+        {
+            graph.add(i, i);
+        }
+        for (int i = 0; i < 1000; i++)
+        {
+            int u = random.nextInt(200);
+            int v = random.nextInt(200);
+            if (!graph.isVertexAdjacent(u, v))
+            {
+                graph.connect(u, v);
+            }
+        }
+
+        int[] removed = new int[170];
+        for (int i = 0; i < removed.length; i++)
+        {
+            removed[i] = (i * 7) % 200;
+        }
+        Graph<Integer> reference = graph.duplicate();
+        for (int label : removed)
+        {
+            if (reference.getLabels().contains(label))
+            {
+                reference.removeAt(label);
+            }
+        }
+
+        try
+        {
+            graph.removeVertices(3, 500);
+            System.out.println(name + ": missing vertex not detected");
+        }
+        catch (InvalidOperationException ex)
+        {
+            System.out.println(name + ": missing vertex detected, vertex 3 kept: " + graph.getLabels().contains(3));
+        }
+
+        graph.removeVertices(removed);
+        System.out.println(name + ": " + graph.size() + " vertices and " + graph.edgeCount()
+                           + " edges left, same as one by one: " + edges(graph).equals(edges(reference))
+                           + ", agrees: " + agrees(graph));
+
+        graph.add(1000, 1000);
+        for (int u : graph.getLabels())
+        {
+            if (u != 1000)
+            {
+                graph.connect(1000, u);
+            }
+        }
+        System.out.println(name + ": reused after removal, agrees: " + agrees(graph) + ", edges: "
+                           + graph.edgeCount());
+
+        graph.clear();
+        graph.add(0, 0);
+        graph.add(1, 1);
+        graph.connect(0, 1);
+        System.out.println(name + ": reused after clearing, agrees: " + agrees(graph) + ", edges: "
+                           + graph.edgeCount());
+    }
+
+    private static boolean agrees(Graph<Integer> graph)
+    {
+        int edges = 0;
+        for (int u : graph.getLabels())
+        {
+            Set<Integer> departing = new TreeSet<>();
+            graph.forEachOutNeighbor(u, departing::add);
+            edges += departing.size();
+            for (int v : graph.getLabels())
+            {
+                if (graph.existsEdgeWithDirection(u, v) != departing.contains(v))
+                {
+                    return false;
+                }
+            }
+        }
+        return edges == graph.edgeCount();
+    }
+
+    private static Set<String> edges(Graph<Integer> graph)
+    {
+        Set<String> edges = new TreeSet<>();
+        for (int u : graph.getLabels())
+        {
+            graph.forEachOutNeighbor(u, v -> edges.add(u + "->" + v));
+        }
+        return edges;
+    }
+
+}
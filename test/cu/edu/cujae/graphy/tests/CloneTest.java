@@ -19,9 +19,13 @@
 package cu.edu.cujae.graphy.tests;
 
 import cu.edu.cujae.graphy.core.Graph;
+import cu.edu.cujae.graphy.core.Weight;
 import cu.edu.cujae.graphy.core.WeightedGraph;
 import cu.edu.cujae.graphy.core.utility.GraphBuilders;
 import cu.edu.cujae.graphy.core.utility.Weights;
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.List;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -33,6 +37,41 @@ import java.util.logging.Logger;
 public class CloneTest
 {
 
+    @SuppressWarnings ("unchecked")
+    private static void testIndependentCopies() throws CloneNotSupportedException
+    {
+        List<WeightedGraph<Integer>> graphs = Arrays.asList(GraphBuilders.makeSimpleWeightedGraph(false),
+                                                            GraphBuilders.makeDenseGraph(false, true));
+        for (WeightedGraph<Integer> graph : graphs)
+        {
+            for (int i = 0; i < 4; ++i)
+            {
+                graph.add(i);
+            }
+            graph.connect(0, 1, Weights.makeWeight(3));
+            graph.connect(1, 2, Weights.makeWeight(2.5));
+            graph.connect(2, 3, Weights.makeWeight(new BigDecimal("7.25")));
+
+            WeightedGraph<Integer> clone = (WeightedGraph<Integer>) graph.duplicate();
+            ((Weight<Number>) graph.iterator(0).getAdjacentEdge(1).getWeight()).setValue(30);
+            ((Weight<Number>) graph.iterator(2).getAdjacentEdge(3).getWeight()).setValue(0);
+            graph.disconnect(1, 2);
+            clone.connect(0, 3, Weights.makeWeight(1));
+
+            System.out.println(graph.getClass().getSimpleName() + ":");
+            System.out.println("original (0, 1): " + graph.weightOf(0, 1) + ", copy (0, 1): " + clone.weightOf(0, 1));
+            System.out.println("original (2, 3): " + graph.weightOf(2, 3) + ", copy (2, 3): " + clone.weightOf(2, 3));
+            System.out.println("adjacent (1, 2): " + graph.isVertexAdjacent(1, 2) + " in the original, "
+                               + clone.isVertexAdjacent(1, 2) + " in the copy");
+            System.out.println("adjacent (0, 3): " + graph.isVertexAdjacent(0, 3) + " in the original, "
+                               + clone.isVertexAdjacent(0, 3) + " in the copy");
+
+            // Copies of graphs with removed vertices
+            graph.removeAt(1);
+            System.out.println("copy after a removal: " + graph.duplicate().getLabels());
+        }
+    }
+
     private static void testSimpleGraphs()
     {
         // This is for normal, simple graphs
@@ -95,6 +134,16 @@ public class CloneTest
 
         System.out.println("\nTesting for weighted graphs:\n");
         testWeightedGraphs();
+
+        System.out.println("\nTesting that copies are independent:\n");
+        try
+        {
+            testIndependentCopies();
+        }
+        catch (CloneNotSupportedException ex)
+        {
+            Logger.getLogger(CloneTest.class.getName()).log(Level.SEVERE, null, ex);
+        }
     }
 
 }
@@ -0,0 +1,238 @@
+/*
+ * Copyright (C) 2022 CUJAE.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+package cu.edu.cujae.graphy.tests;
+
+import cu.edu.cujae.graphy.core.Graph;
+import cu.edu.cujae.graphy.core.WeightedGraph;
+import cu.edu.cujae.graphy.core.defaults.ConcurrentGraph;
+import cu.edu.cujae.graphy.core.properties.IntVertexProperty;
+import cu.edu.cujae.graphy.core.utility.GraphBuilders;
+import cu.edu.cujae.graphy.core.utility.Weights;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Connects and disconnects vertices of a concurrent graph from several threads while other threads read it.
+ *
+ * @author Javier Marrero
+ */
+public class ConcurrentGraphTest
+{
+
+    private static final int THREADS = 4;
+    private static final int VERTICES = 400;
+
+    public static void main(String[] args) throws InterruptedException, CloneNotSupportedException
+    {
+        WeightedGraph<Integer> graph = GraphBuilders.makeConcurrentGraph(false, true);
+        for (int i = 0; i < VERTICES; ++i)
+        {
+            graph.add(i);
+        }
+
+        // Every writer owns the edges (i, j) with i + j congruent to its index, connects them all and then
+        // disconnects those with an odd i
+        AtomicBoolean running = new AtomicBoolean(true);
+        AtomicBoolean consistent = new AtomicBoolean(true);
+        List<Thread> writers = new ArrayList<>();
+        for (int t = 0; t < THREADS; ++t)
+        {
+            final int index = t;
+            writers.add(new Thread(() ->
+            {
+                for (int i = 0; i < VERTICES; ++i)
+                {
+                    for (int j = i + 1; j < VERTICES; j += 7)
+                    {
+                        if ((i + j) % THREADS == index)
+                        {
+                            graph.connect(i, j, Weights.makeWeight(i + j));
+                        }
+                    }
+                }
+                for (int i = 1; i < VERTICES; i += 2)
+                {
+                    for (int j = i + 1; j < VERTICES; j += 7)
+                    {
+                        if ((i + j) % THREADS == index)
+                        {
+                            graph.disconnect(i, j);
+                        }
+                    }
+                }
+            }));
+        }
+
+        // Readers check that adjacency is symmetric and that weights match the labels
+        List<Thread> readers = new ArrayList<>();
+        for (int t = 0; t < THREADS; ++t)
+        {
+            final int seed = t;
+            readers.add(new Thread(() ->
+            {
+                int u = seed;
+                while (running.get())
+                {
+                    final int source = u;
+                    graph.forEachOutNeighbor(source, (int v) ->
+                    {
+                        if (graph.weightOf(source, v) != source + v)
+                        {
+                            consistent.set(false);
+                        }
+                    });
+                    int count = 0;
+                    for (Iterator<Integer> it = graph.iterator(); it.hasNext(); it.next())
+                    {
+                        count++;
+                    }
+                    if (count != VERTICES)
+                    {
+                        consistent.set(false);
+                    }
+                    if (!isConsistent(graph.snapshot()))
+                    {
+                        consistent.set(false);
+                    }
+                    u = (u + 13) % VERTICES;
+                }
+            }));
+        }
+
+        readers.forEach(Thread::start);
+        writers.forEach(Thread::start);
+        for (Thread writer : writers)
+        {
+            writer.join();
+        }
+        running.set(false);
+        for (Thread reader : readers)
+        {
+            reader.join();
+        }
+
+        int expected = 0;
+        for (int i = 0; i < VERTICES; i += 2)
+        {
+            for (int j = i + 1; j < VERTICES; j += 7)
+            {
+                expected++;
+            }
+        }
+        AtomicInteger degrees = new AtomicInteger();
+        for (int u = 0; u < VERTICES; ++u)
+        {
+            graph.forEachOutNeighbor(u, (int v) -> degrees.incrementAndGet());
+        }
+        System.out.println("Edges: " + degrees.get() + " (expected " + expected + ")");
+        System.out.println("Consistent reads: " + consistent.get());
+
+        // Algorithms run while holding the read locks
+        int reachable = ((ConcurrentGraph<Integer>) graph).read(() ->
+        {
+            int count = 0;
+            for (Iterator<Integer> it = graph.breadthFirstSearchIterator(0, false); it.hasNext(); it.next())
+            {
+                count++;
+            }
+            return count;
+        });
+        System.out.println("Reachable from 0: " + reachable);
+
+        Graph<Integer> copy = graph.duplicate();
+        graph.removeAt(0);
+        System.out.println("Vertices after removal: " + graph.size() + ", in the copy: " + copy.size());
+
+        // Properties follow the live vertices, including those added after the property
+        IntVertexProperty marks = graph.newIntVertexProperty(0);
+        graph.add(VERTICES, VERTICES);
+        marks.set(VERTICES, 1);
+        int[] neighbor = new int[1];
+        graph.forEachOutNeighbor(2, (int v) ->
+        {
+            // Visitors may use properties while they hold the lock of the vertex
+            marks.set(v, 2);
+            neighbor[0] = v;
+        });
+        System.out.println("Property of a new vertex: " + marks.get(VERTICES) + ", of a neighbor: "
+                                   + marks.get(neighbor[0]));
+
+        // Breadth-first iterators walk the live graph: once the first vertex has been expanded, a new vertex is hung
+        // from one of its neighbors and another neighbor is removed
+        List<Integer> queued = new ArrayList<>();
+        graph.forEachOutNeighbor(2, (int v) -> queued.add(v));
+        Iterator<Integer> walk = graph.breadthFirstSearchIterator(2, false);
+        walk.next();
+        graph.add(VERTICES + 1, VERTICES + 1);
+        graph.connect(queued.get(1), VERTICES + 1, Weights.makeWeight(queued.get(1) + VERTICES + 1));
+        graph.removeAt(queued.get(0));
+        Set<Integer> walked = new HashSet<>();
+        walk.forEachRemaining(walked::add);
+        System.out.println("Walked the removed vertex: " + walked.contains(queued.get(0)) + ", the new one: "
+                                   + walked.contains(VERTICES + 1));
+
+        Iterator<Integer> descent = graph.depthFirstSearchIterator(2, false);
+        descent.next();
+        graph.removeAt(queued.get(1));
+        Set<Integer> descended = new HashSet<>();
+        descent.forEachRemaining(descended::add);
+        System.out.println("Descended into the removed vertex: " + descended.contains(queued.get(1))
+                                   + ", into its neighbor: " + descended.contains(VERTICES + 1));
+    }
+
+    /**
+     * Checks that a snapshot taken while writers run holds whole edges: both endpoints see them, their weights match
+     * the labels and the edge count agrees with the degrees.
+     */
+    private static boolean isConsistent(Graph<Integer> snapshot)
+    {
+        WeightedGraph<Integer> weighted = (WeightedGraph<Integer>) snapshot;
+        AtomicBoolean consistent = new AtomicBoolean(snapshot.size() == VERTICES);
+        int degrees = 0;
+        try
+        {
+            for (int u : snapshot.getLabels())
+            {
+                degrees += snapshot.outDegree(u);
+                final int source = u;
+                snapshot.forEachOutNeighbor(source, (int v) ->
+                {
+                    Set<Integer> arriving = new HashSet<>();
+                    snapshot.forEachInNeighbor(v, arriving::add);
+                    if (!arriving.contains(source) || weighted.weightOf(source, v) != source + v)
+                    {
+                        consistent.set(false);
+                    }
+                });
+            }
+        }
+        catch (RuntimeException ex)
+        {
+            // A torn snapshot may point to vertices or edges it does not hold
+            return false;
+        }
+        return consistent.get() && degrees == snapshot.edgeCount();
+    }
+
+}
@@ -0,0 +1,121 @@
+/*
+ * Copyright (C) 2022 CUJAE.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+package cu.edu.cujae.graphy.tests;
+
+import cu.edu.cujae.graphy.core.Graph;
+import cu.edu.cujae.graphy.core.utility.GraphBuilders;
+import cu.edu.cujae.graphy.core.utility.Graphs;
+import java.util.Random;
+
+/**
+ * Checks that the degrees, edge counts and degree histograms kept by the graphs agree with their adjacency while edges
+ * and vertices are added and removed.
+ *
+ * @author Javier Marrero
+ */
+public class DegreeTest
+{
+
+    public static void main(String[] args)
+    {
+        for (boolean directed : new boolean[]
+        {
+            true, false
+        })
+        {
+            String kind = directed ? "Directed" : "Undirected";
+            check(kind + " simple graph", GraphBuilders.makeSimpleGraph(directed));
+            check(kind + " dense graph", GraphBuilders.makeDenseGraph(directed, false));
+            check(kind + " multigraph", GraphBuilders.makeMultigraph(directed, false));
+            check(kind + " concurrent graph", GraphBuilders.makeConcurrentGraph(directed, false));
+        }
+    }
+
+    private static boolean agrees(Graph<Integer> graph)
+    {
+        int edges = 0;
+        int[] histogram = new int[graph.size()];
+        for (int u : graph.getLabels())
+        {
+            int[] out = new int[1];
+            int[] in = new int[1];
+            graph.forEachOutNeighbor(u, v -> out[0]++);
+            graph.forEachInNeighbor(u, v -> in[0]++);
+            if (graph.outDegree(u) != out[0] || graph.inDegree(u) != in[0] || graph.degree(u) != out[0] + in[0])
+            {
+                return false;
+            }
+            edges += out[0];
+            histogram[out[0] + in[0]]++;
+        }
+
+        int[] expected = graph.degreeHistogram();
+        for (int d = 0; d < Math.max(expected.length, histogram.length); ++d)
+        {
+            int a = (d < expected.length) ? expected[d] : 0;
+            int b = (d < histogram.length) ? histogram[d] : 0;
+            if (a != b)
+            {
+                return false;
+            }
+        }
+        return graph.edgeCount() == edges;
+    }
+
+    private static void check(String name, Graph<Integer> graph)
+    {
+        Random random = new Random(7);
+        for (int i = 0; i < 30; i++)
+        {
+            graph.add(i);
+        }
+        for (int i = 0; i < 300; i++)
+        {
+            int u = random.nextInt(30);
+            int v = random.nextInt(30);
+            if (u == v)
+            {
+                continue;
+            }
+            if (graph.isVertexAdjacent(u, v))
+            {
+                if (random.nextInt(3) == 0)
+                {
+                    graph.disconnect(u, v);
+                }
+            }
+            else
+            {
+                graph.connect(u, v);
+            }
+        }
+        graph.removeAt(5);
+        graph.removeAt(11);
+        graph.add(5, 5);
+        graph.connect(5, 0);
+
+        System.out.println(name + ": " + graph.edgeCount() + " edges, agrees: " + agrees(graph));
+        System.out.println("  snapshot agrees: " + agrees(graph.snapshot()) + ", compressed agrees: "
+                           + agrees(Graphs.makeGapCompressedGraph(graph)) + ", transposed agrees: "
+                           + agrees(graph.transposedView()));
+        graph.clear();
+        System.out.println("  cleared graph has " + graph.edgeCount() + " edges");
+    }
+
+}
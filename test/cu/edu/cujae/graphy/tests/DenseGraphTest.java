@@ -0,0 +1,123 @@
+/*
+ * Copyright (C) 2022 CUJAE.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+package cu.edu.cujae.graphy.tests;
+
+import cu.edu.cujae.graphy.algorithms.BronKerboschAlgorithm;
+import cu.edu.cujae.graphy.algorithms.CompleteGraphDetection;
+import cu.edu.cujae.graphy.algorithms.DijkstraShortestPath;
+import cu.edu.cujae.graphy.algorithms.HamiltonianCycleDetection;
+import cu.edu.cujae.graphy.core.Edge;
+import cu.edu.cujae.graphy.core.Graph;
+import cu.edu.cujae.graphy.core.Weight;
+import cu.edu.cujae.graphy.core.WeightedGraph;
+import cu.edu.cujae.graphy.core.utility.GraphBuilders;
+import cu.edu.cujae.graphy.core.utility.Weights;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Runs some algorithms over graphs backed by an adjacency matrix.
+ *
+ * @author Javier Marrero
+ */
+public class DenseGraphTest
+{
+
+    @SuppressWarnings ("unchecked")
+    public static void main(String[] args) throws CloneNotSupportedException
+    {
+        WeightedGraph<Integer> graph = GraphBuilders.makeSimpleWeightedGraph(false);
+        WeightedGraph<Integer> dense = GraphBuilders.makeDenseGraph(false, true);
+        List<WeightedGraph<Integer>> graphs = Arrays.asList(graph, dense);
+        for (WeightedGraph<Integer> g : graphs)
+        {
+            for (int i = 0; i < 9; ++i)
+            {
+                g.add(i);
+            }
+            g.connect(0, 1, Weights.makeWeight(4));
+            g.connect(0, 7, Weights.makeWeight(8));
+            g.connect(1, 2, Weights.makeWeight(8));
+            g.connect(1, 7, Weights.makeWeight(11));
+            g.connect(2, 3, Weights.makeWeight(7));
+            g.connect(2, 8, Weights.makeWeight(2));
+            g.connect(2, 5, Weights.makeWeight(4));
+            g.connect(3, 4, Weights.makeWeight(9));
+            g.connect(3, 5, Weights.makeWeight(14));
+            g.connect(4, 5, Weights.makeWeight(10));
+            g.connect(5, 6, Weights.makeWeight(2));
+            g.connect(6, 7, Weights.makeWeight(1));
+            g.connect(6, 8, Weights.makeWeight(6));
+            g.connect(7, 8, Weights.makeWeight(7));
+        }
+        System.out.println(dense);
+
+        System.out.println("Dijkstra (adjacency list): ");
+        System.out.println(new DijkstraShortestPath(graph, graph.iterator(0)).apply().get());
+        System.out.println("Dijkstra (dense): ");
+        System.out.println(new DijkstraShortestPath(dense, dense.iterator(0)).apply().get());
+
+        // Weights are written through edges
+        Edge edge = dense.iterator(7).getAdjacentEdge(6);
+        System.out.println("Edge " + edge + " weighted " + edge.getWeight() + ", label " + edge.getLabel());
+        ((Weight<Number>) edge.getWeight()).setValue(3);
+        System.out.println("Weight of (6, 7) after update: " + dense.weightOf(6, 7));
+        edge.setWeight(Weights.makeWeight(1.5));
+        System.out.println("Weight of (6, 7) with a different type: " + edge.getWeight() + " ("
+                           + edge.getWeight().getValue().getClass().getSimpleName() + ")");
+
+        Graph<Integer> copy = dense.duplicate();
+        dense.removeAt(2);
+        System.out.println("Adjacent (1, 2) after removing 2: " + copy.isVertexAdjacent(1, 2) + " in the copy, "
+                           + dense.size() + " vertices left");
+        System.out.println(dense);
+
+        // A complete graph, with a Hamiltonian cycle and a single maximal clique
+        Graph<Integer> complete = GraphBuilders.makeDenseGraph(false, false);
+        for (int i = 0; i < 5; ++i)
+        {
+            complete.add(i);
+        }
+        for (int i = 0; i < 5; ++i)
+        {
+            for (int j = i + 1; j < 5; ++j)
+            {
+                complete.connect(i, j);
+            }
+        }
+        System.out.println("Complete: " + new CompleteGraphDetection<>(complete).apply().get());
+        System.out.println("Hamiltonian cycle: " + new HamiltonianCycleDetection<>(complete).apply().get());
+        System.out.println("Maximal cliques: " + new BronKerboschAlgorithm<>(complete).apply().get());
+        complete.disconnect(0, 4);
+        System.out.println("Complete after removing (0, 4): " + new CompleteGraphDetection<>(complete).apply().get());
+        System.out.println("Maximal cliques: " + new BronKerboschAlgorithm<>(complete).apply().get());
+
+        // Reversal of a directed graph
+        Graph<Integer> digraph = GraphBuilders.makeDenseGraph(true, false);
+        for (int i = 0; i < 70; ++i)
+        {
+            digraph.add(i);
+        }
+        digraph.connect(0, 65);
+        digraph.connect(65, 3);
+        digraph.reverse();
+        System.out.println("After reversing: " + digraph.existsEdgeWithDirection(65, 0) + " "
+                           + digraph.existsEdgeWithDirection(3, 65) + " " + digraph.existsEdgeWithDirection(0, 65));
+    }
+}
@@ -0,0 +1,181 @@
+/*
+ * Copyright (C) 2022 CUJAE.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+package cu.edu.cujae.graphy.tests;
+
+import cu.edu.cujae.graphy.core.Graph;
+import cu.edu.cujae.graphy.core.iterators.DirectionOptimizingSearch;
+import cu.edu.cujae.graphy.core.utility.GraphBuilders;
+import cu.edu.cujae.graphy.core.utility.Graphs;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Random;
+import java.util.function.IntConsumer;
+
+/**
+ * Checks that the direction-optimizing search finds the same levels as a plain breadth-first search, that every parent
+ * it reports is a neighbor one level closer to the source, that it goes bottom-up on a graph of low diameter, and that
+ * its iterator returns the vertices level by level.
+ *
+ * @author Javier Marrero
+ */
+public class DirectionOptimizingSearchTest
+{
+
+    public static void main(String[] args)
+    {
+        Random random = new Random(17);
+        Graph<Integer> directed = GraphBuilders.makeSimpleGraph(true);
+        Graph<Integer> undirected = GraphBuilders.makeSimpleGraph(false);
+        Graph<Integer> concurrent = GraphBuilders.makeConcurrentGraph(true, false);
+        int n = 5000;
+        for (int i = 0; i < n; i++)
+        {
+            directed.add(i, i);
+            undirected.add(i, i);
+            concurrent.add(i, i);
+        }
+        for (int i = 0; i < 60000; i++)
+        {
+            int u = random.nextInt(n);
+            int v = random.nextInt(n - 100);
+            if (u != v && !directed.isVertexAdjacent(u, v))
+            {
+                directed.connect(u, v);
+                concurrent.connect(u, v);
+            }
+            if (u != v && !undirected.isVertexAdjacent(u, v) && !undirected.isVertexAdjacent(v, u))
+            {
+                undirected.connect(u, v);
+            }
+        }
+
+        for (boolean parallel : new boolean[]
+        {
+            false, true
+        })
+        {
+            String suffix = parallel ? " (parallel): " : ": ";
+            System.out.println("Directed graph" + suffix + check(directed, parallel));
+            System.out.println("Undirected graph" + suffix + check(undirected, parallel));
+            System.out.println("Compressed graph" + suffix + check(Graphs.makeCompressedGraph(directed), parallel));
+            System.out.println("Concurrent graph" + suffix + check(concurrent, parallel));
+        }
+
+        // A graph of low diameter goes bottom-up after the first levels
+        DirectionOptimizingSearch search = new DirectionOptimizingSearch(directed);
+        search.start(0);
+        StringBuilder directions = new StringBuilder();
+        while (search.step())
+        {
+            directions.append(search.isBottomUp() ? 'B' : 'T');
+        }
+        System.out.println("Directions: " + directions + ", reached " + search.reached() + " of " + n);
+        System.out.println("Path to 42: " + Arrays.toString(search.pathTo(42)) + ", level " + search.level(42));
+
+        // The iterator returns the vertices level by level, the unreachable ones last
+        Iterator<Integer> it = directed.directionOptimizingSearchIterator(0, true, false);
+        int count = 0;
+        int previous = 0;
+        boolean ordered = true;
+        while (it.hasNext())
+        {
+            int v = it.next();
+            int level = search.level(v);
+            if (level >= 0)
+            {
+                ordered &= level >= previous && count < search.reached();
+                previous = level;
+            }
+            count++;
+        }
+        System.out.println("Iterator: " + count + " vertices, ordered by level: " + ordered);
+    }
+
+    private static boolean check(Graph<Integer> graph, boolean parallel)
+    {
+        DirectionOptimizingSearch search = new DirectionOptimizingSearch(graph, parallel);
+        for (int source : new int[]
+        {
+            0, 17, 4999
+        })
+        {
+            search.search(source);
+            int[] expected = levels(graph, source);
+            int reached = 0;
+            for (int v : graph.getLabels())
+            {
+                if (search.level(v) != expected[v])
+                {
+                    return false;
+                }
+                if (expected[v] > 0)
+                {
+                    int p = search.parent(v);
+                    if (search.level(p) != expected[v] - 1
+                        || !(graph.existsEdgeWithDirection(p, v)
+                             || (!graph.isDirected() && graph.existsEdgeWithDirection(v, p))))
+                    {
+                        return false;
+                    }
+                }
+                if (expected[v] >= 0)
+                {
+                    reached++;
+                }
+            }
+            if (reached != search.reached() || search.parent(source) != source)
+            {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int[] levels(Graph<Integer> graph, int source)
+    {
+        int[] levels = new int[graph.size()];
+        Arrays.fill(levels, -1);
+        int[] queue = new int[graph.size()];
+        int head = 0;
+        int tail = 0;
+        levels[source] = 0;
+        queue[tail++] = source;
+        while (head < tail)
+        {
+            int u = queue[head++];
+            int[] next = {tail};
+            IntConsumer visit = v ->
+            {
+                if (levels[v] < 0)
+                {
+                    levels[v] = levels[u] + 1;
+                    queue[next[0]++] = v;
+                }
+            };
+            graph.forEachOutNeighbor(u, visit);
+            if (!graph.isDirected())
+            {
+                graph.forEachInNeighbor(u, visit);
+            }
+            tail = next[0];
+        }
+        return levels;
+    }
+
+}
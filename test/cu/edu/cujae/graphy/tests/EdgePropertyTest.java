@@ -0,0 +1,118 @@
+/*
+ * Copyright (C) 2022 CUJAE.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+package cu.edu.cujae.graphy.tests;
+
+import cu.edu.cujae.graphy.core.Graph;
+import cu.edu.cujae.graphy.core.WeightedGraph;
+import cu.edu.cujae.graphy.core.exceptions.InvalidOperationException;
+import cu.edu.cujae.graphy.core.properties.DoubleEdgeProperty;
+import cu.edu.cujae.graphy.core.properties.EdgeIndex;
+import cu.edu.cujae.graphy.core.properties.IntEdgeProperty;
+import cu.edu.cujae.graphy.core.utility.GraphBuilders;
+import cu.edu.cujae.graphy.core.utility.Weights;
+
+/**
+ * Numbers the edges of directed and undirected graphs and keeps per-edge state in edge properties.
+ *
+ * @author Javier Marrero
+ */
+public class EdgePropertyTest
+{
+
+    public static void main(String[] args)
+    {
+        WeightedGraph<Integer> graph = GraphBuilders.makeSimpleWeightedGraph(true);
+        for (int i = 0; i < 4; i++)
+        {
+            graph.add(i);
+        }
+        graph.connect(0, 2, Weights.makeWeight(2));
+        graph.connect(0, 1, Weights.makeWeight(1));
+        graph.connect(1, 2, Weights.makeWeight(3));
+        graph.connect(2, 0, Weights.makeWeight(4));
+        graph.connect(3, 2, Weights.makeWeight(5));
+
+        EdgeIndex index = graph.edgeIndex();
+        System.out.println("Edges: " + index.size());
+        for (int e = 0; e < index.size(); e++)
+        {
+            System.out.println(e + ": (" + index.sourceOf(e) + ", " + index.targetOf(e) + ")");
+        }
+        System.out.println("Id of (2, 0): " + index.idOf(2, 0) + ", id of (1, 0): " + index.idOf(1, 0));
+        System.out.println("Departing 0: " + index.firstOutEdge(0) + " + " + index.outDegree(0));
+
+        DoubleEdgeProperty weights = index.newDoubleProperty(0.0);
+        for (int e = 0; e < index.size(); e++)
+        {
+            weights.set(e, graph.weightOf(index.sourceOf(e), index.targetOf(e)));
+        }
+        weights.set(3, 2, 0.5);
+        System.out.println("Weights: " + weights.get(0, 1) + " " + weights.get(3, 2) + " " + weights.get(1, 0));
+        System.out.println("Graph untouched: " + graph.weightOf(3, 2));
+
+        try
+        {
+            weights.set(1, 0, 1.0);
+        }
+        catch (InvalidOperationException ex)
+        {
+            System.out.println("Missing edge: " + ex.getMessage());
+        }
+
+        // Undirected edges have one identifier whatever the order of their endpoints
+        Graph<Integer> undirected = GraphBuilders.makeSimpleGraph(false);
+        for (int i = 0; i < 3; i++)
+        {
+            undirected.add(i);
+        }
+        undirected.connect(2, 0);
+        undirected.connect(1, 2);
+        EdgeIndex undirectedIndex = undirected.edgeIndex();
+        IntEdgeProperty visited = undirectedIndex.newIntProperty(0);
+        visited.set(0, 2, 1);
+        System.out.println("Undirected edges: " + undirectedIndex.size() + ", ids " + undirectedIndex.idOf(2, 0) + " "
+                           + undirectedIndex.idOf(0, 2) + ", visited " + visited.get(2, 0) + " " + visited.get(1, 2));
+
+        EdgeIndex compressed = graph.snapshot().edgeIndex();
+        System.out.println("Compressed edges: " + compressed.size() + ", id of (2, 0): " + compressed.idOf(2, 0));
+
+        // Concurrent graphs are indexed in place, and leave out the vertices removed before
+        Graph<Integer> concurrent = GraphBuilders.makeConcurrentGraph(true, false);
+        for (int i = 0; i < 4; i++)
+        {
+            concurrent.add(i, i);
+        }
+        concurrent.connect(0, 1);
+        concurrent.connect(1, 2);
+        concurrent.connect(2, 0);
+        concurrent.connect(3, 2);
+        concurrent.removeAt(1);
+        EdgeIndex concurrentIndex = concurrent.edgeIndex();
+        try
+        {
+            concurrentIndex.outDegree(1);
+        }
+        catch (InvalidOperationException ex)
+        {
+            System.out.println("Concurrent edges: " + concurrentIndex.size() + ", id of (2, 0): "
+                               + concurrentIndex.idOf(2, 0) + ", removed vertex: " + ex.getMessage());
+        }
+    }
+
+}
@@ -0,0 +1,174 @@
+/*
+ * Copyright (C) 2022 CUJAE.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+package cu.edu.cujae.graphy.tests;
+
+import cu.edu.cujae.graphy.algorithms.ConnectivityDetection;
+import cu.edu.cujae.graphy.algorithms.DijkstraShortestPath;
+import cu.edu.cujae.graphy.algorithms.KosarajuAlgorithm;
+import cu.edu.cujae.graphy.core.Graph;
+import cu.edu.cujae.graphy.core.WeightedGraph;
+import cu.edu.cujae.graphy.core.defaults.GapCompressedGraph;
+import cu.edu.cujae.graphy.core.utility.GraphBuilders;
+import cu.edu.cujae.graphy.core.utility.Graphs;
+import cu.edu.cujae.graphy.core.utility.Weights;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Compresses a graph whose vertices link mostly to nearby vertices, as pages of a web crawl do, and checks that the
+ * compressed graph holds the same adjacency as the original one and runs the same algorithms.
+ *
+ * @author Javier Marrero
+ */
+public class GapCompressedGraphTest
+{
+
+    public static void main(String[] args)
+    {
+        Random random = new Random(11);
+        Graph<Integer> graph = GraphBuilders.makeSimpleGraph(true);
+        int n = 400;
+        for (int i = 0; i < n; i++)
+        {
+            graph.add(i);
+        }
+        // Most vertices copy part of the links of the previous one and add a few links of their own
+        List<Integer> previous = new ArrayList<>();
+        for (int i = 0; i < n; i++)
+        {
+            List<Integer> links = new ArrayList<>();
+            for (int v : previous)
+            {
+                if (random.nextInt(4) != 0)
+                {
+                    links.add(v);
+                }
+            }
+            for (int k = 0; k < 3; k++)
+            {
+                links.add(Math.floorMod(i + random.nextInt(40) - 20, n));
+            }
+            links.add(random.nextInt(n));
+            for (int v : links)
+            {
+                graph.connect(i, v);
+            }
+            previous = links;
+        }
+
+        GapCompressedGraph<Integer> compressed = Graphs.makeGapCompressedGraph(graph);
+        int edges = compressed.edgeCount();
+        System.out.println("Edges: " + edges + ", same as snapshot: " + (edges == Graphs.makeCompressedGraph(graph).
+                           edgeCount()));
+        System.out.println("Adjacency agrees: " + agrees(graph, compressed));
+        System.out.println("Bytes per edge below 3: " + (compressed.getCompressedSize() < 3L * edges));
+        System.out.println("Smaller than without references: "
+                           + (compressed.getCompressedSize() < new GapCompressedGraph<>(graph, 0, 0).getCompressedSize()));
+
+        System.out.println("Same DFS order: " + sameOrder(graph.depthFirstSearchIterator(0, true),
+                                                          compressed.depthFirstSearchIterator(0, true)));
+        System.out.println("Same BFS order: " + sameOrder(graph.breadthFirstSearchIterator(0, true),
+                                                          compressed.breadthFirstSearchIterator(0, true)));
+        System.out.println("Connected: " + new ConnectivityDetection<>(graph).apply().get() + " / "
+                           + new ConnectivityDetection<>(compressed).apply().get());
+        System.out.println("Strongly connected components: "
+                           + new KosarajuAlgorithm<>(graph, graph.iterator(0)).apply().get().size() + " / "
+                           + new KosarajuAlgorithm<>(compressed, compressed.iterator(0)).apply().get().size());
+
+        // Labels other than 0 .. n - 1, and weights
+        WeightedGraph<Integer> weighted = GraphBuilders.makeSimpleWeightedGraph(false);
+        for (int i = 0; i < 6; ++i)
+        {
+            weighted.add(100 - i * 10, i);
+        }
+        weighted.connect(100, 90, Weights.makeWeight(4));
+        weighted.connect(100, 50, Weights.makeWeight(9));
+        weighted.connect(90, 80, Weights.makeWeight(2));
+        weighted.connect(80, 50, Weights.makeWeight(3));
+        weighted.connect(70, 60, Weights.makeWeight(1));
+        weighted.connect(50, 70, Weights.makeWeight(6));
+        WeightedGraph<Integer> frozen = Graphs.makeGapCompressedGraph(weighted);
+        System.out.println(frozen);
+        System.out.println("Adjacency agrees: " + agrees(weighted, frozen));
+        System.out.println("Dijkstra (original): ");
+        System.out.println(new DijkstraShortestPath(weighted, weighted.iterator(100)).apply().get());
+        System.out.println("Dijkstra (compressed): ");
+        System.out.println(new DijkstraShortestPath(frozen, frozen.iterator(100)).apply().get());
+    }
+
+    private static boolean agrees(Graph<Integer> expected, Graph<Integer> graph)
+    {
+        for (int u : expected.getLabels())
+        {
+            List<Integer> a = new ArrayList<>();
+            List<Integer> b = new ArrayList<>();
+            expected.forEachOutNeighbor(u, a::add);
+            graph.forEachOutNeighbor(u, b::add);
+            a.sort(null);
+            b.sort(null);
+            if (!a.equals(b))
+            {
+                return false;
+            }
+            a.clear();
+            b.clear();
+            expected.forEachInNeighbor(u, a::add);
+            graph.forEachInNeighbor(u, b::add);
+            a.sort(null);
+            b.sort(null);
+            if (!a.equals(b))
+            {
+                return false;
+            }
+            for (int v : expected.getLabels())
+            {
+                if (expected.existsEdgeWithDirection(u, v) != graph.existsEdgeWithDirection(u, v))
+                {
+                    return false;
+                }
+            }
+        }
+        // Edges seen from their target must be the same edges seen from their source
+        boolean[] result =
+        {
+            true
+        };
+        for (int u : graph.getLabels())
+        {
+            graph.forEachInEdge(u, (from, to, e) -> result[0] &= e.getStartNode().getLabel() == from
+                                                             && e.getFinalNode().getLabel() == to);
+        }
+        return result[0];
+    }
+
+    private static boolean sameOrder(Iterator<Integer> a, Iterator<Integer> b)
+    {
+        int count = 0;
+        while (a.hasNext() && b.hasNext())
+        {
+            a.next();
+            b.next();
+            count++;
+        }
+        return !a.hasNext() && !b.hasNext() && count > 0;
+    }
+
+}
@@ -0,0 +1,130 @@
+/*
+ * Copyright (C) 2022 CUJAE.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+package cu.edu.cujae.graphy.tests;
+
+import cu.edu.cujae.graphy.core.Graph;
+import cu.edu.cujae.graphy.core.defaults.CompressedSparseRowGraph;
+import cu.edu.cujae.graphy.core.utility.GraphBuilders;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Checks the common neighbors reported by the different graph implementations against a naive intersection, and
+ * counts the triangles of a random graph with them.
+ *
+ * @author Javier Marrero
+ */
+public class IntersectNeighborsTest
+{
+
+    public static void main(String[] args)
+    {
+        Random random = new Random(7);
+        Graph<Integer> graph = GraphBuilders.makeSimpleGraph(false);
+        Graph<Integer> dense = GraphBuilders.makeDenseGraph(false, false);
+        for (int i = 0; i < 60; i++)
+        {
+            graph.add(i);
+            dense.add(i);
+        }
+        // Vertex 0 is a hub, so intersecting it with the others gallops
+        for (int i = 1; i < 60; i++)
+        {
+            graph.connect(0, i);
+            dense.connect(0, i);
+        }
+        for (int i = 0; i < 150; i++)
+        {
+            int u = random.nextInt(60);
+            int v = random.nextInt(60);
+            if (u != v && !graph.isVertexAdjacent(u, v))
+            {
+                graph.connect(u, v);
+                dense.connect(u, v);
+            }
+        }
+
+        List<Graph<Integer>> graphs = new ArrayList<>();
+        graphs.add(graph);
+        graphs.add(dense);
+        graphs.add(graph.snapshot());
+        graphs.add(new CompressedSparseRowGraph<>(graph, true));
+        graphs.add(new CompressedSparseRowGraph<>(graph, true).transposedView());
+        graphs.add(graph.transposedView());
+        for (Graph<Integer> g : graphs)
+        {
+            System.out.println(g.getClass().getSimpleName() + " agrees: " + agrees(graph, g) + ", triangles: "
+                               + triangles(g));
+        }
+
+        Graph<Integer> sorted = new CompressedSparseRowGraph<>(graph, true);
+        boolean adjacency = true;
+        for (int u = 0; u < 60; u++)
+        {
+            for (int v = 0; v < 60; v++)
+            {
+                adjacency &= sorted.isVertexAdjacent(u, v) == graph.isVertexAdjacent(u, v);
+                adjacency &= sorted.existsEdgeWithDirection(u, v) == graph.existsEdgeWithDirection(u, v);
+            }
+        }
+        System.out.println("Sorted snapshot adjacency agrees: " + adjacency);
+    }
+
+    private static boolean agrees(Graph<Integer> expected, Graph<Integer> graph)
+    {
+        for (int u = 0; u < 60; u++)
+        {
+            for (int v = 0; v < 60; v++)
+            {
+                Set<Integer> common = neighbors(expected, u);
+                common.retainAll(neighbors(expected, v));
+                List<Integer> found = new ArrayList<>();
+                graph.intersectNeighbors(u, v, found::add);
+                if (found.size() != common.size() || !common.containsAll(found))
+                {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    private static Set<Integer> neighbors(Graph<Integer> graph, int u)
+    {
+        Set<Integer> result = new HashSet<>();
+        graph.forEachOutNeighbor(u, result::add);
+        graph.forEachInNeighbor(u, result::add);
+        return result;
+    }
+
+    private static int triangles(Graph<Integer> graph)
+    {
+        int[] count = new int[1];
+        for (int u : graph.getLabels())
+        {
+            graph.forEachOutNeighbor(u, v -> graph.intersectNeighbors(u, v, w -> ++count[0]));
+        }
+        // Every triangle is found once per edge and common neighbor
+        return count[0] / 3;
+    }
+
+}
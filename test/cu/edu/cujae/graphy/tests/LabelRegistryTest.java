@@ -0,0 +1,87 @@
+/*
+ * Copyright (C) 2022 CUJAE.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+package cu.edu.cujae.graphy.tests;
+
+import cu.edu.cujae.graphy.core.Graph;
+import cu.edu.cujae.graphy.core.utility.GraphBuilders;
+import cu.edu.cujae.graphy.utils.IntIntHashMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Checks the primitive label map against a {@link HashMap} and the recycling of labels by the graphs.
+ *
+ * @author Javier Marrero
+ */
+public class LabelRegistryTest
+{
+
+    public static void main(String[] args)
+    {
+        IntIntHashMap map = new IntIntHashMap();
+        Map<Integer, Integer> reference = new HashMap<>();
+        Random random = new Random(42);
+        for (int i = 0; i < 200000; ++i)
+        {
+            int key = random.nextInt(5000) - 2500;
+            if (random.nextInt(3) == 0)
+            {
+                Integer expected = reference.remove(key);
+                if (map.remove(key) != (expected == null ? -1 : expected))
+                {
+                    throw new AssertionError("Mismatch removing key " + key);
+                }
+            }
+            else
+            {
+                reference.put(key, i);
+                map.put(key, i);
+            }
+        }
+        for (int key = -2500; key < 2500; ++key)
+        {
+            Integer expected = reference.get(key);
+            if (map.get(key) != (expected == null ? -1 : expected) || map.containsKey(key) != (expected != null))
+            {
+                throw new AssertionError("Mismatch looking up key " + key);
+            }
+        }
+        System.out.println("Map size: " + map.size() + ", reference size: " + reference.size());
+
+        Graph<Integer> graph = GraphBuilders.makeSimpleGraph(false);
+        graph.add(0, 0);
+        graph.add(2, 2);
+        graph.add(1);
+        graph.add(3);
+        graph.add(4);
+        System.out.println("Labels: " + graph.getLabels());
+
+        graph.removeAt(1);
+        graph.add(5);
+        System.out.println("Labels after recycling: " + graph.getLabels());
+
+        Graph<Integer> big = GraphBuilders.makeSimpleGraph(true);
+        for (int i = 0; i < 1000000; ++i)
+        {
+            big.add(i);
+        }
+        System.out.println("Bulk inserted vertices: " + big.size() + ", last label contained: " + big.getLabels().contains(999999));
+    }
+}
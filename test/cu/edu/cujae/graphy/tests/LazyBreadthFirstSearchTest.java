@@ -0,0 +1,171 @@
+/*
+ * Copyright (C) 2022 CUJAE.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+package cu.edu.cujae.graphy.tests;
+
+import cu.edu.cujae.graphy.core.Graph;
+import cu.edu.cujae.graphy.core.iterators.GraphIterator;
+import cu.edu.cujae.graphy.core.utility.GraphBuilders;
+import cu.edu.cujae.graphy.core.utility.Graphs;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Queue;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Checks that the lazy breadth-first iterators visit the vertices in the same order as a plain breadth-first search,
+ * that stopping early works on a long chain, and that backtracking is only available when requested.
+ *
+ * @author Javier Marrero
+ */
+public class LazyBreadthFirstSearchTest
+{
+
+    public static void main(String[] args)
+    {
+        Random random = new Random(3);
+        Graph<Integer> graph = GraphBuilders.makeSimpleGraph(true);
+        Graph<Integer> dense = GraphBuilders.makeDenseGraph(true, false);
+        Graph<Integer> concurrent = GraphBuilders.makeConcurrentGraph(true, false);
+        for (int i = 0; i < 300; i++)
+        {
+            graph.add(i, i);
+            dense.add(i, i);
+            concurrent.add(i, i);
+        }
+        for (int i = 0; i < 600; i++)
+        {
+            int u = random.nextInt(300);
+            int v = random.nextInt(300);
+            if (!graph.isVertexAdjacent(u, v))
+            {
+                graph.connect(u, v);
+                dense.connect(u, v);
+                concurrent.connect(u, v);
+            }
+        }
+
+        for (boolean includeDisconnected : new boolean[]
+        {
+            false, true
+        })
+        {
+            String suffix = includeDisconnected ? " (with disconnected vertices): " : ": ";
+            System.out.println("Simple graph" + suffix + check(graph, includeDisconnected));
+            System.out.println("Dense graph" + suffix + check(dense, includeDisconnected));
+            System.out.println("Concurrent graph" + suffix + check(concurrent, includeDisconnected));
+            System.out.println("Compressed graph" + suffix + check(Graphs.makeCompressedGraph(graph),
+                                                                    includeDisconnected));
+            System.out.println("Transposed view" + suffix + check(graph.transposedView(), includeDisconnected));
+        }
+
+        // Only the first vertices of a long chain are requested
+        Graph<Integer> chain = GraphBuilders.makeSimpleGraph(true);
+        for (int i = 0; i < 200000; i++)
+        {
+            chain.add(i, i);
+            if (i > 0)
+            {
+                chain.connect(i - 1, i);
+            }
+        }
+        Iterator<Integer> it = chain.breadthFirstSearchIterator(0, false);
+        List<Integer> first = new ArrayList<>();
+        while (it.hasNext() && first.size() < 10)
+        {
+            first.add(it.next());
+        }
+        System.out.println("First vertices of the chain: " + first);
+
+        // Backtracking
+        GraphIterator<Integer> bfs = (GraphIterator<Integer>) chain.breadthFirstSearchIterator(0, false, true);
+        bfs.next();
+        bfs.next();
+        bfs.next();
+        System.out.println("Back from " + bfs.back() + " to " + bfs.getLabel() + ", back from " + bfs.back() + " to "
+                           + bfs.getLabel() + ", next: " + bfs.next() + ", next: " + bfs.next() + ", next: "
+                           + bfs.next());
+        try
+        {
+            GraphIterator<Integer> plain = (GraphIterator<Integer>) chain.breadthFirstSearchIterator(0, false);
+            plain.next();
+            plain.back();
+            System.out.println("Backtracking was not requested but is supported");
+        }
+        catch (UnsupportedOperationException ex)
+        {
+            System.out.println("Backtracking not requested: " + ex.getMessage());
+        }
+    }
+
+    private static boolean check(Graph<Integer> graph, boolean includeDisconnected)
+    {
+        for (int start : new int[]
+        {
+            0, 17, 299
+        })
+        {
+            List<Integer> expected = new ArrayList<>();
+            Set<Integer> visited = new HashSet<>();
+            Queue<Integer> queue = new ArrayDeque<>();
+            queue.add(start);
+            visited.add(start);
+            while (!queue.isEmpty())
+            {
+                int u = queue.poll();
+                expected.add(u);
+                graph.forEachOutNeighbor(u, v ->
+                {
+                    if (visited.add(v))
+                    {
+                        queue.add(v);
+                    }
+                });
+            }
+            if (includeDisconnected)
+            {
+                for (int u : graph.getLabels())
+                {
+                    if (!visited.contains(u))
+                    {
+                        expected.add(u);
+                    }
+                }
+            }
+
+            List<Integer> actual = new ArrayList<>();
+            GraphIterator<Integer> it = (GraphIterator<Integer>) graph.breadthFirstSearchIterator(start,
+                                                                                                 includeDisconnected);
+            while (it.hasNext())
+            {
+                it.next();
+                actual.add(it.getLabel());
+            }
+            if (!expected.equals(actual))
+            {
+                return false;
+            }
+        }
+        return true;
+    }
+
+}
@@ -0,0 +1,191 @@
+/*
+ * Copyright (C) 2022 CUJAE.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+package cu.edu.cujae.graphy.tests;
+
+import cu.edu.cujae.graphy.algorithms.BridgeFinderAlgorithm;
+import cu.edu.cujae.graphy.algorithms.KosarajuAlgorithm;
+import cu.edu.cujae.graphy.core.Graph;
+import cu.edu.cujae.graphy.core.iterators.DepthFirstTraversal;
+import cu.edu.cujae.graphy.core.iterators.DepthFirstTraversal.Event;
+import cu.edu.cujae.graphy.core.iterators.GraphIterator;
+import cu.edu.cujae.graphy.core.utility.GraphBuilders;
+import cu.edu.cujae.graphy.core.utility.Graphs;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Checks that the lazy depth-first iterators visit the vertices in the same order as a recursive depth-first search,
+ * that the traversal reports its events consistently, and that long chains are walked without exhausting the stack.
+ *
+ * @author Javier Marrero
+ */
+public class LazyDepthFirstSearchTest
+{
+
+    public static void main(String[] args)
+    {
+        Random random = new Random(5);
+        Graph<Integer> graph = GraphBuilders.makeSimpleGraph(true);
+        Graph<Integer> dense = GraphBuilders.makeDenseGraph(true, false);
+        Graph<Integer> concurrent = GraphBuilders.makeConcurrentGraph(true, false);
+        for (int i = 0; i < 300; i++)
+        {
+            graph.add(i, i);
+            dense.add(i, i);
+            concurrent.add(i, i);
+        }
+        for (int i = 0; i < 500; i++)
+        {
+            int u = random.nextInt(300);
+            int v = random.nextInt(300);
+            if (!graph.isVertexAdjacent(u, v))
+            {
+                graph.connect(u, v);
+                dense.connect(u, v);
+                concurrent.connect(u, v);
+            }
+        }
+
+        for (boolean includeDisconnected : new boolean[]
+        {
+            false, true
+        })
+        {
+            String suffix = includeDisconnected ? " (with disconnected vertices): " : ": ";
+            System.out.println("Simple graph" + suffix + check(graph, includeDisconnected));
+            System.out.println("Dense graph" + suffix + check(dense, includeDisconnected));
+            System.out.println("Concurrent graph" + suffix + check(concurrent, includeDisconnected));
+            System.out.println("Compressed graph" + suffix + check(Graphs.makeCompressedGraph(graph),
+                                                                    includeDisconnected));
+            System.out.println("Transposed view" + suffix + check(graph.transposedView(), includeDisconnected));
+        }
+
+        // Every vertex is discovered and finished once, every edge is followed once
+        DepthFirstTraversal traversal = new DepthFirstTraversal(graph);
+        int[] events = new int[Event.values().length];
+        int roots = 0;
+        for (int u : graph.getLabels())
+        {
+            if (!traversal.isDiscovered(u))
+            {
+                roots++;
+                traversal.start(u);
+                for (Event event = traversal.advance(); event != null; event = traversal.advance())
+                {
+                    events[event.ordinal()]++;
+                }
+            }
+        }
+        System.out.println("Events: " + events[Event.PRE_ORDER.ordinal()] + " discovered, "
+                           + events[Event.POST_ORDER.ordinal()] + " finished, "
+                           + (events[Event.PRE_ORDER.ordinal()] - roots + events[Event.NON_TREE_EDGE.ordinal()])
+                           + " edges followed of " + graph.edgeCount());
+
+        // A long chain, which a recursive traversal could not walk
+        Graph<Integer> chain = GraphBuilders.makeSimpleGraph(true);
+        Graph<Integer> path = GraphBuilders.makeSimpleGraph(false);
+        for (int i = 0; i < 200000; i++)
+        {
+            chain.add(i, i);
+            path.add(i, i);
+            if (i > 0)
+            {
+                chain.connect(i - 1, i);
+                path.connect(i - 1, i);
+            }
+        }
+        GraphIterator<Integer> it = (GraphIterator<Integer>) chain.depthFirstSearchIterator(0, false);
+        int count = 0;
+        int last = -1;
+        while (it.hasNext())
+        {
+            last = it.next();
+            count++;
+        }
+        System.out.println("Chain: " + count + " vertices, last " + last);
+        System.out.println("Bridges of the path: " + new BridgeFinderAlgorithm(path).apply().get().size());
+        System.out.println("Components of the chain: "
+                           + new KosarajuAlgorithm<>(chain, chain.iterator(0)).apply().get().size());
+
+        // Backtracking
+        GraphIterator<Integer> dfs = (GraphIterator<Integer>) chain.depthFirstSearchIterator(0, false, true);
+        dfs.next();
+        dfs.next();
+        dfs.next();
+        System.out.println("Back from " + dfs.back() + " to " + dfs.getLabel() + ", back from " + dfs.back() + " to "
+                           + dfs.getLabel() + ", next: " + dfs.next() + ", next: " + dfs.next() + ", next: "
+                           + dfs.next());
+    }
+
+    private static boolean check(Graph<Integer> graph, boolean includeDisconnected)
+    {
+        for (int start : new int[]
+        {
+            0, 17, 299
+        })
+        {
+            List<Integer> expected = new ArrayList<>();
+            Set<Integer> visited = new HashSet<>();
+            walk(graph, start, visited, expected);
+            if (includeDisconnected)
+            {
+                for (int u : graph.getLabels())
+                {
+                    if (!visited.contains(u))
+                    {
+                        expected.add(u);
+                    }
+                }
+            }
+
+            List<Integer> actual = new ArrayList<>();
+            GraphIterator<Integer> it = (GraphIterator<Integer>) graph.depthFirstSearchIterator(start,
+                                                                                               includeDisconnected);
+            while (it.hasNext())
+            {
+                it.next();
+                actual.add(it.getLabel());
+            }
+            if (!expected.equals(actual))
+            {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static void walk(Graph<Integer> graph, int u, Set<Integer> visited, List<Integer> order)
+    {
+        visited.add(u);
+        order.add(u);
+        List<Integer> neighbors = new ArrayList<>();
+        graph.forEachOutNeighbor(u, neighbors::add);
+        for (int v : neighbors)
+        {
+            if (!visited.contains(v))
+            {
+                walk(graph, v, visited, order);
+            }
+        }
+    }
+
+}
@@ -0,0 +1,79 @@
+/*
+ * Copyright (C) 2022 CUJAE.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+package cu.edu.cujae.graphy.tests;
+
+import cu.edu.cujae.graphy.algorithms.ConnectivityDetection;
+import cu.edu.cujae.graphy.algorithms.CycleDetection;
+import cu.edu.cujae.graphy.core.Edge;
+import cu.edu.cujae.graphy.core.Graph;
+import cu.edu.cujae.graphy.core.iterators.GraphIterator;
+import cu.edu.cujae.graphy.core.utility.GraphBuilders;
+import java.util.Iterator;
+
+/**
+ * Checks that a graph with lazy edges behaves as a graph that builds its edges eagerly.
+ *
+ * @author Javier Marrero
+ */
+public class LazyEdgesTest
+{
+
+    public static void main(String[] args)
+    {
+        for (boolean lazy : new boolean[]
+        {
+            false, true
+        })
+        {
+            Graph<Integer> graph = GraphBuilders.makeSimpleGraph(false, lazy);
+            for (int i = 0; i < 6; ++i)
+            {
+                graph.add(i);
+            }
+            graph.connect(0, 1);
+            graph.connect(1, 2);
+            graph.connect(2, 3);
+            graph.connect(3, 4);
+            graph.connect(4, 5);
+            System.out.println("Lazy edges: " + lazy);
+            System.out.println("Duplicate connection accepted: " + graph.connect(1, 2));
+            System.out.println(graph);
+
+            System.out.print("BFS: ");
+            for (Iterator<Integer> it = graph.breadthFirstSearchIterator(0, false); it.hasNext();)
+            {
+                System.out.print(it.next() + " ");
+            }
+            System.out.println();
+            System.out.println("Connected: " + new ConnectivityDetection<>(graph).apply().get());
+            System.out.println("Cycle: " + new CycleDetection<>(graph).apply().get());
+
+            GraphIterator<Integer> it = graph.iterator(2);
+            Edge edge = it.getAdjacentEdge(3);
+            System.out.println("Edge: " + edge + ", same instance on a second request: "
+                               + (edge == graph.iterator(3).getAdjacentEdge(2)));
+            System.out.println("Departing 2: " + it.getEdgesDepartingSelf() + ", arriving 2: "
+                               + it.getEdgesArrivingSelf());
+
+            graph.disconnect(2, 3);
+            System.out.println("Connected after removing (2, 3): " + new ConnectivityDetection<>(graph).apply().get());
+            System.out.println(graph);
+        }
+    }
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright (C) 2022 CUJAE.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+package cu.edu.cujae.graphy.tests;
+
+import cu.edu.cujae.graphy.algorithms.DijkstraShortestPath;
+import cu.edu.cujae.graphy.algorithms.KosarajuAlgorithm;
+import cu.edu.cujae.graphy.core.Graph;
+import cu.edu.cujae.graphy.core.WeightedGraph;
+import cu.edu.cujae.graphy.core.defaults.MappedCompressedGraph;
+import cu.edu.cujae.graphy.core.utility.GraphBuilders;
+import cu.edu.cujae.graphy.core.utility.Weights;
+import java.io.File;
+import java.io.IOException;
+
+/**
+ * Writes graphs to memory-mapped files and runs some algorithms over them.
+ *
+ * @author Javier Marrero
+ */
+public class MappedGraphTest
+{
+
+    public static void main(String[] args) throws IOException
+    {
+        WeightedGraph<Integer> graph = GraphBuilders.makeSimpleWeightedGraph(false);
+        for (int i = 0; i < 9; ++i)
+        {
+            graph.add(i * 10, i);
+        }
+
+        graph.connect(0, 10, Weights.makeWeight(4));
+        graph.connect(0, 70, Weights.makeWeight(8));
+        graph.connect(10, 20, Weights.makeWeight(8));
+        graph.connect(10, 70, Weights.makeWeight(11));
+        graph.connect(20, 30, Weights.makeWeight(7));
+        graph.connect(20, 80, Weights.makeWeight(2));
+        graph.connect(20, 50, Weights.makeWeight(4));
+        graph.connect(30, 40, Weights.makeWeight(9));
+        graph.connect(30, 50, Weights.makeWeight(14));
+        graph.connect(40, 50, Weights.makeWeight(10));
+        graph.connect(50, 60, Weights.makeWeight(2));
+        graph.connect(60, 70, Weights.makeWeight(1));
+        graph.connect(60, 80, Weights.makeWeight(6));
+        graph.connect(70, 80, Weights.makeWeight(7));
+
+        File file = File.createTempFile("graphy", ".graph");
+        file.deleteOnExit();
+
+        MappedCompressedGraph<Integer> mapped = MappedCompressedGraph.write(graph, file);
+        System.out.println(mapped);
+
+        System.out.println("Dijkstra (original): ");
+        System.out.println(new DijkstraShortestPath(graph, graph.iterator(0)).apply().get());
+        System.out.println("Dijkstra (mapped): ");
+        System.out.println(new DijkstraShortestPath(mapped, mapped.iterator(0)).apply().get());
+
+        MappedCompressedGraph<Integer> reopened = MappedCompressedGraph.open(file);
+        System.out.println("Dijkstra (reopened): ");
+        System.out.println(new DijkstraShortestPath(reopened, reopened.iterator(0)).apply().get());
+
+        // A directed ring written straight from a stream of edges
+        final int n = 200;
+        File ringFile = File.createTempFile("graphy", ".graph");
+        ringFile.deleteOnExit();
+
+        Graph<Object> ring = MappedCompressedGraph.write(ringFile, true, n, false, sink ->
+                                                 {
+                                                     for (int i = 0; i < n; ++i)
+                                                     {
+                                                         sink.accept(i, (i + 1) % n, Double.NaN);
+                                                     }
+                                                 });
+        System.out.println("Ring vertices: " + ring.size());
+        System.out.println("Ring neighbors of 199: " + ring.iterator(199).getAllAdjacentVertices());
+        System.out.println("Ring components (mapped): "
+                           + new KosarajuAlgorithm<>(ring, ring.iterator(0)).apply().get().size());
+
+        try
+        {
+            ring.connect(0, 2);
+        }
+        catch (UnsupportedOperationException ex)
+        {
+            System.out.println("Mapped graph rejected modification: " + ex.getMessage());
+        }
+    }
+}
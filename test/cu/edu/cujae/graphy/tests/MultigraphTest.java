@@ -0,0 +1,126 @@
+/*
+ * Copyright (C) 2022 CUJAE.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+package cu.edu.cujae.graphy.tests;
+
+import cu.edu.cujae.graphy.algorithms.KargerMinimumCut;
+import cu.edu.cujae.graphy.core.defaults.DefaultMultigraph;
+import cu.edu.cujae.graphy.core.utility.GraphBuilders;
+import cu.edu.cujae.graphy.core.utility.Weights;
+import java.util.Arrays;
+
+/**
+ * Adds, removes and contracts parallel edges and self loops of multigraphs.
+ *
+ * @author Javier Marrero
+ */
+public class MultigraphTest
+{
+
+    public static void main(String[] args) throws CloneNotSupportedException
+    {
+        DefaultMultigraph<String> links = GraphBuilders.makeMultigraph(true, true);
+        links.add(0, "Havana");
+        links.add(1, "Matanzas");
+        links.add(2, "Cienfuegos");
+
+        int road = links.addEdge(0, 1, Weights.makeWeight(100));
+        int rail = links.addEdge(0, 1, Weights.makeWeight(90));
+        links.addEdge(1, 0, Weights.makeWeight(100));
+        links.addEdge(1, 2, Weights.makeWeight(180));
+        links.addEdge(2, 2, Weights.makeWeight(5));
+        System.out.println(links);
+        System.out.println("Edges: " + links.edgeCount() + ", between 0 and 1: " + Arrays.toString(links.edgesBetween(0,
+                                                                                                                    1)));
+        System.out.println("Departing 0: " + links.findNodeByLabel(0).getEdgesDepartingSelf().size());
+
+        links.removeEdge(road);
+        System.out.println("After removing the road: " + Arrays.toString(links.edgesBetween(0, 1)) + ", weight "
+                           + links.weightOf(0, 1) + ", edge " + rail + " goes from " + links.sourceOf(rail) + " to "
+                           + links.targetOf(rail));
+
+        DefaultMultigraph<String> copy = (DefaultMultigraph<String>) links.duplicate();
+        links.disconnect(1, 2);
+        System.out.println("Adjacent (1, 2): " + links.isVertexAdjacent(1, 2) + " in the graph, "
+                           + copy.isVertexAdjacent(1, 2) + " in the copy");
+
+        copy.reverse();
+        System.out.println(copy);
+
+        // Contracting merges the edges of both vertices and drops the loops
+        DefaultMultigraph<Integer> ring = GraphBuilders.makeMultigraph(false, false);
+        for (int i = 0; i < 4; i++)
+        {
+            ring.add(i);
+        }
+        for (int i = 0; i < 4; i++)
+        {
+            ring.addEdge(i, (i + 1) % 4);
+        }
+        ring.addEdge(0, 1);
+        ring.contract(0, 1);
+        System.out.println("Contracted: " + ring.size() + " vertices, " + ring.edgeCount() + " edges");
+        System.out.println(ring);
+
+        // Two triangles joined by two parallel edges
+        DefaultMultigraph<Integer> bridge = GraphBuilders.makeMultigraph(false, false);
+        for (int i = 0; i < 6; i++)
+        {
+            bridge.add(i);
+        }
+        int[][] edges =
+        {
+            {
+                0, 1
+            },
+            {
+                1, 2
+            },
+            {
+                2, 0
+            },
+            {
+                3, 4
+            },
+            {
+                4, 5
+            },
+            {
+                5, 3
+            },
+            {
+                2, 3
+            },
+            {
+                2, 3
+            }
+        };
+        for (int[] edge : edges)
+        {
+            bridge.addEdge(edge[0], edge[1]);
+        }
+        int best = Integer.MAX_VALUE;
+        KargerMinimumCut karger = new KargerMinimumCut(bridge);
+        for (int run = 0; run < 50; run++)
+        {
+            best = Math.min(best, karger.apply().get());
+        }
+        System.out.println("Minimum cut: " + best);
+    }
+
+}
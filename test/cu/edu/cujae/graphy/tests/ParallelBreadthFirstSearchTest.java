@@ -0,0 +1,130 @@
+/*
+ * Copyright (C) 2022 CUJAE.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+package cu.edu.cujae.graphy.tests;
+
+import cu.edu.cujae.graphy.core.Graph;
+import cu.edu.cujae.graphy.core.iterators.DirectionOptimizingSearch;
+import cu.edu.cujae.graphy.core.iterators.ParallelBreadthFirstSearch;
+import cu.edu.cujae.graphy.core.properties.IntVertexProperty;
+import cu.edu.cujae.graphy.core.utility.GraphBuilders;
+import java.util.Random;
+
+/**
+ * Checks that the parallel breadth-first search finds the same levels as a sequential one on a graph large enough for
+ * its frontiers to be split among several tasks, that every parent it reports is a neighbor one level closer to the
+ * source, and that the levels and parents are exported as vertex properties.
+ *
+ * @author Javier Marrero
+ */
+public class ParallelBreadthFirstSearchTest
+{
+
+    public static void main(String[] args)
+    {
+        Random random = new Random(23);
+        Graph<Integer> directed = GraphBuilders.makeSimpleGraph(true);
+        Graph<Integer> undirected = GraphBuilders.makeSimpleGraph(false);
+        Graph<Integer> concurrent = GraphBuilders.makeConcurrentGraph(true, false);
+        int n = 40000;
+        for (int i = 0; i < n; i++)
+        {
+            directed.add(i, i);
+            undirected.add(i, i);
+            concurrent.add(i, i);
+        }
+        for (int i = 0; i < 200000; i++)
+        {
+            int u = random.nextInt(n);
+            int v = random.nextInt(n - 1000);
+            if (u != v && !directed.isVertexAdjacent(u, v))
+            {
+                directed.connect(u, v);
+                concurrent.connect(u, v);
+            }
+            if (u != v && !undirected.isVertexAdjacent(u, v) && !undirected.isVertexAdjacent(v, u))
+            {
+                undirected.connect(u, v);
+            }
+        }
+
+        System.out.println("Directed graph: " + check(directed, directed.parallelBreadthFirstSearch(0)));
+        System.out.println("Undirected graph: " + check(undirected, undirected.parallelBreadthFirstSearch(0)));
+        System.out.println("Concurrent graph: " + check(concurrent, concurrent.parallelBreadthFirstSearch(0)));
+
+        // The same search is started again from other sources
+        ParallelBreadthFirstSearch search = new ParallelBreadthFirstSearch(directed);
+        boolean reused = true;
+        for (int source : new int[]
+        {
+            17, n - 1, 5
+        })
+        {
+            search.search(source);
+            reused &= check(directed, search);
+        }
+        System.out.println("Reused search: " + reused);
+
+        // Levels and parents as vertex properties
+        IntVertexProperty levels = search.levels();
+        IntVertexProperty parents = search.parents();
+        int[] path = search.pathTo(42);
+        boolean consistent = path.length == levels.get(42) + 1 && path[0] == 5 && path[path.length - 1] == 42;
+        for (int i = 1; i < path.length; i++)
+        {
+            consistent &= parents.get(path[i]) == path[i - 1] && levels.get(path[i]) == i;
+        }
+        System.out.println("Properties: " + consistent + ", source is its own parent: " + (parents.get(5) == 5)
+                           + ", unreached vertex level: " + levels.get(n - 2));
+    }
+
+    private static boolean check(Graph<Integer> graph, ParallelBreadthFirstSearch search)
+    {
+        // The direction-optimizing search computes the levels sequentially
+        DirectionOptimizingSearch reference = new DirectionOptimizingSearch(graph);
+        int source = -1;
+        for (int v : graph.getLabels())
+        {
+            if (search.level(v) == 0)
+            {
+                source = v;
+            }
+        }
+        reference.search(source);
+
+        for (int v : graph.getLabels())
+        {
+            if (search.level(v) != reference.level(v))
+            {
+                return false;
+            }
+            if (search.level(v) > 0)
+            {
+                int p = search.parent(v);
+                if (search.level(p) != search.level(v) - 1
+                    || !(graph.existsEdgeWithDirection(p, v)
+                         || (!graph.isDirected() && graph.existsEdgeWithDirection(v, p))))
+                {
+                    return false;
+                }
+            }
+        }
+        return search.reached() == reference.reached() && search.parent(source) == source;
+    }
+
+}
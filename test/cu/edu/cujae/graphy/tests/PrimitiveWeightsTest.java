@@ -0,0 +1,62 @@
+/*
+ * Copyright (C) 2022 CUJAE.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+package cu.edu.cujae.graphy.tests;
+
+import cu.edu.cujae.graphy.core.Weight;
+import cu.edu.cujae.graphy.core.WeightedGraph;
+import cu.edu.cujae.graphy.core.utility.GraphBuilders;
+import cu.edu.cujae.graphy.core.utility.Graphs;
+import cu.edu.cujae.graphy.core.utility.Weights;
+
+/**
+ * Checks that weights stored as primitive values keep their numeric type and can be modified in place.
+ *
+ * @author Javier Marrero
+ */
+public class PrimitiveWeightsTest
+{
+
+    @SuppressWarnings ("unchecked")
+    public static void main(String[] args)
+    {
+        WeightedGraph<Integer> graph = GraphBuilders.makeSimpleWeightedGraph(false);
+        for (int i = 0; i < 4; ++i)
+        {
+            graph.add(i);
+        }
+
+        graph.connect(0, 1, Weights.makeWeight(3));
+        graph.connect(1, 2, Weights.makeWeight(1));
+        graph.connect(2, 3, Weights.makeWeight(2.5f));
+        graph.connect(3, 0, Weights.makeWeight(7L));
+        graph.connect(0, 2, Weights.makeWeight(4.0));
+        System.out.println(graph);
+
+        System.out.println("w(0, 1) = " + graph.weightOf(0, 1) + ", w(1, 0) = " + graph.weightOf(1, 0));
+        System.out.println("w(2, 3) = " + graph.weightOf(2, 3) + ", w(0, 3) = " + graph.weightOf(0, 3));
+        System.out.println("Type of w(0, 3): " + graph.iterator(0).getAdjacentEdge(3).getWeight().getValue().getClass().
+                getSimpleName());
+
+        Weight<Float> w = (Weight<Float>) graph.iterator(2).getAdjacentEdge(3).getWeight();
+        w.setValue(w.getValue() - 2.0f);
+        System.out.println("w(2, 3) after update = " + graph.weightOf(2, 3));
+
+        System.out.println("Snapshot w(3, 2) = " + Graphs.makeCompressedGraph(graph).weightOf(3, 2));
+    }
+}
@@ -0,0 +1,170 @@
+/*
+ * Copyright (C) 2022 CUJAE.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+package cu.edu.cujae.graphy.tests;
+
+import cu.edu.cujae.graphy.algorithms.KosarajuAlgorithm;
+import cu.edu.cujae.graphy.core.Graph;
+import cu.edu.cujae.graphy.core.Weight;
+import cu.edu.cujae.graphy.core.WeightedGraph;
+import cu.edu.cujae.graphy.core.utility.GraphBuilders;
+import cu.edu.cujae.graphy.core.utility.Weights;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Takes snapshots of graphs and checks that later modifications do not reach them.
+ *
+ * @author Javier Marrero
+ */
+public class SnapshotTest
+{
+
+    public static void main(String[] args)
+    {
+        Graph<Integer> graph = GraphBuilders.makeSimpleGraph(true);
+        for (int i = 0; i < 5; i++)
+        {
+            graph.add(i);
+        }
+        graph.connect(0, 3);
+        graph.connect(0, 2);
+        graph.connect(1, 0);
+        graph.connect(2, 1);
+        graph.connect(3, 4);
+
+        Graph<Integer> snapshot = graph.snapshot();
+        graph.connect(4, 0);
+        graph.disconnect(2, 1);
+        System.out.println("Snapshot: " + new KosarajuAlgorithm<>(snapshot, snapshot.iterator(0)).apply().get());
+        System.out.println("Adjacent (2, 1): " + snapshot.isVertexAdjacent(2, 1) + " in the snapshot, "
+                           + graph.isVertexAdjacent(2, 1) + " in the graph");
+        System.out.println("Snapshot of a snapshot is itself: " + (snapshot.snapshot() == snapshot));
+
+        // Concurrent graphs share a snapshot until the next modification
+        WeightedGraph<Integer> concurrent = GraphBuilders.makeConcurrentGraph(false, true);
+        for (int i = 0; i < 4; i++)
+        {
+            concurrent.add(i);
+        }
+        concurrent.connect(0, 1, Weights.makeWeight(1));
+        concurrent.connect(1, 2, Weights.makeWeight(2));
+
+        Graph<Integer> first = concurrent.snapshot();
+        System.out.println("Shared while unmodified: " + (first == concurrent.snapshot()));
+        concurrent.connect(2, 3, Weights.makeWeight(3));
+        Graph<Integer> second = concurrent.snapshot();
+        System.out.println("Renewed after a modification: " + (first != second));
+        System.out.println("Adjacent (2, 3): " + first.isVertexAdjacent(2, 3) + " before, "
+                           + second.isVertexAdjacent(2, 3) + " after");
+        System.out.println(second);
+
+        try
+        {
+            second.connect(0, 3);
+        }
+        catch (UnsupportedOperationException ex)
+        {
+            System.out.println("Snapshots are immutable: " + ex.getMessage());
+        }
+
+        // Weights changed in place after a snapshot was taken do not reach it
+        WeightedGraph<Integer> weights = GraphBuilders.makeConcurrentGraph(true, true);
+        weights.add(0, 0);
+        weights.add(1, 1);
+        weights.connect(0, 1, Weights.makeWeight(5));
+        Graph<Integer> before = weights.snapshot();
+        @SuppressWarnings ("unchecked")
+        Weight<Number> weight = (Weight<Number>) weights.iterator(0).getAdjacentEdge(1).getWeight();
+        weight.setValue(99);
+        System.out.println("Weight of (0, 1): " + ((WeightedGraph<Integer>) before).weightOf(0, 1)
+                           + " in the snapshot, " + weights.weightOf(0, 1) + " in the graph");
+
+        // Every version keeps the graph it was taken from, whatever is done to the graph afterwards
+        for (boolean directed : new boolean[]
+        {
+            true, false
+        })
+        {
+            WeightedGraph<Integer> versioned = GraphBuilders.makeConcurrentGraph(directed, true);
+            Random random = new Random(7);
+            List<Graph<Integer>> versions = new ArrayList<>();
+            List<Set<String>> descriptions = new ArrayList<>();
+            boolean matching = true;
+            for (int round = 0; round < 60; round++)
+            {
+                for (int k = 0; k < 20; k++)
+                {
+                    int u = random.nextInt(40);
+                    int v = random.nextInt(40);
+                    int operation = random.nextInt(10);
+                    if (!versioned.getLabels().contains(u))
+                    {
+                        versioned.add(u, u);
+                    }
+                    else if (operation == 0)
+                    {
+                        versioned.removeAt(u);
+                    }
+                    else if (operation < 3 && versioned.getLabels().contains(v) && versioned.isVertexAdjacent(u, v))
+                    {
+                        versioned.disconnect(u, v);
+                    }
+                    else if (versioned.getLabels().contains(v))
+                    {
+                        versioned.connect(u, v, Weights.makeWeight(k));
+                    }
+                }
+                if (round % 20 == 19)
+                {
+                    versioned.reverse();
+                }
+                versions.add(versioned.snapshot());
+                descriptions.add(describe(versioned));
+                matching &= descriptions.get(round).equals(describe(versions.get(round)));
+            }
+            boolean untouched = true;
+            for (int round = 0; round < versions.size(); round++)
+            {
+                untouched &= descriptions.get(round).equals(describe(versions.get(round)));
+            }
+            System.out.println((directed ? "Directed" : "Undirected") + " versions match the graph: " + matching
+                               + ", and keep it: " + untouched);
+        }
+    }
+
+    private static Set<String> describe(Graph<Integer> graph)
+    {
+        Set<String> description = new TreeSet<>();
+        description.add("edges " + graph.edgeCount());
+        for (int u : graph.getLabels())
+        {
+            description.add("vertex " + u + ":" + graph.iterator(u).get());
+            graph.forEachOutEdge(u, (a, b, edge) -> 
+            {
+                boolean ordered = graph.isDirected() || a < b;
+                description.add((ordered ? a + "-" + b : b + "-" + a) + ":" + edge.getWeight());
+            });
+        }
+        return description;
+    }
+
+}
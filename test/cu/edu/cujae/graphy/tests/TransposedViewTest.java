@@ -0,0 +1,81 @@
+/*
+ * Copyright (C) 2022 CUJAE.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+package cu.edu.cujae.graphy.tests;
+
+import cu.edu.cujae.graphy.core.Graph;
+import cu.edu.cujae.graphy.core.utility.GraphBuilders;
+
+/**
+ * Checks the transposed views of adjacency list and compressed graphs, and in place reversal.
+ *
+ * @author Javier Marrero
+ */
+public class TransposedViewTest
+{
+
+    public static void main(String[] args) throws CloneNotSupportedException
+    {
+        Graph<Integer> graph = GraphBuilders.makeSimpleGraph(true);
+        for (int i = 0; i < 4; i++)
+        {
+            graph.add(i);
+        }
+        graph.connect(0, 1);
+        graph.connect(1, 2);
+        graph.connect(2, 1);
+        graph.connect(3, 1);
+
+        Graph<Integer> view = graph.transposedView();
+        System.out.println(view);
+        System.out.println("Adjacent (1, 0): " + view.isVertexAdjacent(1, 0) + " in the view, "
+                           + graph.isVertexAdjacent(1, 0) + " in the graph");
+        System.out.println("Transpose of the view is the graph: " + (view.transposedView() == graph));
+
+        // The view follows the graph
+        graph.connect(3, 0);
+        System.out.println("Sees later edges: " + view.isVertexAdjacent(0, 3));
+
+        Graph<Integer> compressed = graph.snapshot();
+        Graph<Integer> transposed = compressed.transposedView();
+        System.out.println(transposed);
+        System.out.println("Cached: " + (transposed == compressed.transposedView()));
+        System.out.println("Transpose of the transpose is the graph: " + (transposed.transposedView() == compressed));
+
+        Graph<Integer> copy = view.duplicate();
+        System.out.println(copy);
+        graph.reverse();
+        System.out.println(graph);
+
+        // Views of concurrent graphs are views of the live graph
+        Graph<Integer> concurrent = GraphBuilders.makeConcurrentGraph(true, false);
+        for (int i = 0; i < 4; i++)
+        {
+            concurrent.add(i, i);
+        }
+        concurrent.connect(0, 1);
+        concurrent.connect(1, 2);
+        Graph<Integer> concurrentView = concurrent.transposedView();
+        concurrent.connect(2, 0);
+        concurrent.removeAt(3);
+        System.out.println("Concurrent view sees later edges: " + concurrentView.isVertexAdjacent(0, 2)
+                           + ", and removals: " + concurrentView.size());
+        System.out.println(concurrentView);
+    }
+
+}
@@ -0,0 +1,119 @@
+/*
+ * Copyright (C) 2022 CUJAE.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+package cu.edu.cujae.graphy.tests;
+
+import cu.edu.cujae.graphy.core.Graph;
+import cu.edu.cujae.graphy.core.iterators.TraversalContext;
+import cu.edu.cujae.graphy.core.properties.MarkVertexProperty;
+import cu.edu.cujae.graphy.core.utility.GraphBuilders;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Checks that traversals reusing a context visit the same vertices as traversals allocating their own state, that the
+ * marks of a context are reset between traversals, and that contexts are pooled per thread.
+ *
+ * @author Javier Marrero
+ */
+public class TraversalContextTest
+{
+
+    public static void main(String[] args)
+    {
+        Random random = new Random(11);
+        Graph<Integer> graph = GraphBuilders.makeSimpleGraph(true);
+        Graph<Integer> concurrent = GraphBuilders.makeConcurrentGraph(true, false);
+        for (int i = 0; i < 500; i++)
+        {
+            graph.add(i, i);
+            concurrent.add(i, i);
+        }
+        for (int i = 0; i < 700; i++)
+        {
+            int u = random.nextInt(500);
+            int v = random.nextInt(500);
+            if (!graph.isVertexAdjacent(u, v))
+            {
+                graph.connect(u, v);
+                concurrent.connect(u, v);
+            }
+        }
+
+        System.out.println("Simple graph: " + check(graph, random));
+        System.out.println("Concurrent graph: " + check(concurrent, random));
+
+        // Marks are cleared in constant time
+        MarkVertexProperty marks = graph.newMarkVertexProperty();
+        marks.set(3, 2);
+        System.out.print("Marks: " + marks.get(3) + " " + marks.visit(3) + " " + marks.visit(4));
+        marks.clear();
+        System.out.println(", after clearing: " + marks.get(3) + " " + marks.isMarked(4) + " " + marks.visit(4));
+
+        // Pooling
+        TraversalContext first;
+        try (TraversalContext context = TraversalContext.acquire())
+        {
+            first = context;
+            try (TraversalContext nested = TraversalContext.acquire())
+            {
+                System.out.println("Nested contexts are distinct: " + (nested != context));
+            }
+        }
+        try (TraversalContext context = TraversalContext.acquire())
+        {
+            System.out.println("Closed contexts are reused: " + (context == first));
+        }
+    }
+
+    private static boolean check(Graph<Integer> graph, Random random)
+    {
+        try (TraversalContext context = TraversalContext.acquire())
+        {
+            for (int i = 0; i < 200; i++)
+            {
+                int start = random.nextInt(500);
+                boolean includeDisconnected = random.nextBoolean();
+                if (!drain(graph.breadthFirstSearchIterator(start, includeDisconnected, context)).equals(
+                        drain(graph.breadthFirstSearchIterator(start, includeDisconnected))))
+                {
+                    return false;
+                }
+                if (!drain(graph.depthFirstSearchIterator(start, includeDisconnected, context)).equals(
+                        drain(graph.depthFirstSearchIterator(start, includeDisconnected))))
+                {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    private static List<Integer> drain(Iterator<Integer> it)
+    {
+        List<Integer> result = new ArrayList<>();
+        while (it.hasNext())
+        {
+            result.add(it.next());
+        }
+        return result;
+    }
+
+}
@@ -0,0 +1,99 @@
+/*
+ * Copyright (C) 2022 CUJAE.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+package cu.edu.cujae.graphy.tests;
+
+import cu.edu.cujae.graphy.core.Graph;
+import cu.edu.cujae.graphy.core.exceptions.InvalidOperationException;
+import cu.edu.cujae.graphy.core.properties.DoubleVertexProperty;
+import cu.edu.cujae.graphy.core.properties.IntVertexProperty;
+import cu.edu.cujae.graphy.core.properties.ObjectVertexProperty;
+import cu.edu.cujae.graphy.core.utility.GraphBuilders;
+
+/**
+ * Stores per-vertex state in vertex properties of adjacency list and compressed graphs.
+ *
+ * @author Javier Marrero
+ */
+public class VertexPropertyTest
+{
+
+    public static void main(String[] args)
+    {
+        Graph<Integer> graph = GraphBuilders.makeSimpleGraph(true);
+        graph.add(7, 70);
+        graph.add(3, 30);
+        graph.add(100, 1000);
+        graph.connect(7, 3);
+        graph.connect(3, 100);
+
+        IntVertexProperty levels = graph.newIntVertexProperty(-1);
+        levels.set(7, 0);
+        graph.forEachOutNeighbor(7, v -> levels.set(v, levels.get(7) + 1));
+        System.out.println("Levels: " + levels.get(7) + " " + levels.get(3) + " " + levels.get(100));
+
+        // Vertices added after the property was created are seen as well
+        graph.add(5, 50);
+        DoubleVertexProperty scores = graph.newDoubleVertexProperty(0.5);
+        scores.set(5, 2.25);
+        System.out.println("Scores: " + scores.get(5) + " " + scores.get(7));
+        levels.set(5, 9);
+        System.out.println("Level of a new vertex: " + levels.get(5));
+
+        levels.clear();
+        System.out.println("After clear: " + levels.get(7) + " " + levels.get(5));
+
+        try
+        {
+            levels.get(42);
+        }
+        catch (InvalidOperationException ex)
+        {
+            System.out.println("Missing vertex: " + ex.getMessage());
+        }
+
+        Graph<Integer> compressed = graph.snapshot();
+        ObjectVertexProperty<String> names = compressed.newObjectVertexProperty("none");
+        names.set(100, "sink");
+        System.out.println("Names: " + names.get(100) + " " + names.get(3));
+
+        System.out.println("Attributes of a fresh node: " + graph.iterator(3).getAllAttributes());
+        graph.iterator(3).setAttribute("color", "red");
+        System.out.println("Attributes after a set: " + graph.iterator(3).getAllAttributes());
+
+        // Removing most of the vertices leaves the survivors where the property expects them
+        Graph<Integer> shrinking = GraphBuilders.makeSimpleGraph(false);
+        IntVertexProperty values = shrinking.newIntVertexProperty(-1);
+        for (int i = 0; i < 100; ++i)
+        {
+            shrinking.add(i, i);
+            values.set(i, i);
+        }
+        for (int i = 0; i < 90; ++i)
+        {
+            shrinking.removeAt(i);
+        }
+        boolean kept = true;
+        for (int i = 90; i < 100; ++i)
+        {
+            kept &= values.get(i) == i;
+        }
+        System.out.println("Values kept after removals: " + kept + " (" + values.get(95) + ")");
+    }
+
+}
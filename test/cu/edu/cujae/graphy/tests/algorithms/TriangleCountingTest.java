@@ -0,0 +1,88 @@
+/*
+ * Copyright (C) 2022 CUJAE.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+package cu.edu.cujae.graphy.tests.algorithms;
+
+import cu.edu.cujae.graphy.algorithms.TriangleCounting;
+import cu.edu.cujae.graphy.core.Graph;
+import cu.edu.cujae.graphy.core.defaults.CompressedSparseRowGraph;
+import cu.edu.cujae.graphy.core.utility.GraphBuilders;
+
+/**
+ *
+ * @author Javier Marrero
+ */
+public class TriangleCountingTest
+{
+
+    public static void countTriangles(String name, Graph<Integer> graph)
+    {
+        System.out.println(name + ": " + new TriangleCounting<>(graph).apply().get() + " triangles, "
+                           + new TriangleCounting<>(new CompressedSparseRowGraph<>(graph, true)).apply().get()
+                           + " in its sorted snapshot");
+    }
+
+    /**
+     * @param args the command line arguments
+     */
+    public static void main(String[] args)
+    {
+        // The complete graph on five vertices has C(5, 3) triangles
+        Graph<Integer> complete = GraphBuilders.makeSimpleGraph(false);
+        for (int i = 0; i < 5; i++)
+        {
+            complete.add(i, i);
+        }
+        for (int i = 0; i < 5; i++)
+        {
+            for (int j = i + 1; j < 5; j++)
+            {
+                complete.connect(i, j);
+            }
+        }
+        countTriangles("Complete graph K5", complete);
+
+        // Arcs in both directions between the same vertices close a single triangle
+        Graph<Integer> directed = GraphBuilders.makeSimpleGraph(true);
+        for (int i = 0; i < 5; i++)
+        {
+            directed.add(i, i);
+        }
+        directed.connect(0, 1);
+        directed.connect(1, 0);
+        directed.connect(1, 2);
+        directed.connect(0, 2);
+        directed.connect(2, 0);
+        directed.connect(3, 4);
+        directed.connect(4, 2);
+        countTriangles("Directed graph", directed);
+
+        // A cycle of six vertices has no triangles
+        Graph<Integer> cycle = GraphBuilders.makeSimpleGraph(false);
+        for (int i = 0; i < 6; i++)
+        {
+            cycle.add(i, i);
+        }
+        for (int i = 0; i < 6; i++)
+        {
+            cycle.connect(i, (i + 1) % 6);
+        }
+        countTriangles("Cycle C6", cycle);
+    }
+
+}